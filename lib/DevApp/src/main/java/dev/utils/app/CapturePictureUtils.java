@@ -9,6 +9,7 @@ import android.graphics.Paint;
 import android.graphics.Picture;
 import android.graphics.Rect;
 import android.os.Build;
+import android.util.SparseArray;
 import android.view.View;
 import android.webkit.WebView;
 import android.widget.FrameLayout;
@@ -20,6 +21,14 @@ import android.widget.ListView;
 import android.widget.RelativeLayout;
 import android.widget.ScrollView;
 
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
 import androidx.annotation.ColorInt;
 import androidx.core.widget.NestedScrollView;
 import androidx.recyclerview.widget.GridLayoutManager;
@@ -30,6 +39,7 @@ import androidx.recyclerview.widget.StaggeredGridLayoutManager;
 import dev.utils.LogPrintUtils;
 import dev.utils.app.image.BitmapUtils;
 import dev.utils.common.ArrayUtils;
+import dev.utils.common.CloseUtils;
 import dev.utils.common.NumberUtils;
 
 /**
@@ -1492,6 +1502,818 @@ public final class CapturePictureUtils {
         return null;
     }
 
+    // ============
+    // = 分段截图 =
+    // ============
+
+    /**
+     * detail: 分段截图接收接口
+     * @author Ttt
+     * <pre>
+     *     长图按固定高度分段绘制到同一个复用的 Bitmap, 每段绘制完成后回调
+     *     内存占用与内容长度无关, 可直接写入文件 {@link PNGStripSink}、{@link BMPStripSink} 或自行处理
+     * </pre>
+     */
+    public interface StripSink {
+
+        /**
+         * 开始截图
+         * @param width  完整内容宽度
+         * @param height 完整内容高度
+         * @param config {@link Bitmap.Config}
+         * @return {@code true} 继续, {@code false} 取消
+         */
+        boolean onStart(
+                int width,
+                int height,
+                Bitmap.Config config
+        );
+
+        /**
+         * 分段绘制完成
+         * <pre>
+         *     strip 为复用对象, 仅 [0, height) 行有效, 回调结束后内容将被覆盖
+         * </pre>
+         * @param strip  分段 Bitmap
+         * @param top    分段对应完整内容的起始 Y 坐标
+         * @param height 分段有效高度
+         * @return {@code true} 继续, {@code false} 取消
+         */
+        boolean onStrip(
+                Bitmap strip,
+                int top,
+                int height
+        );
+
+        /**
+         * 截图结束
+         * @param success 是否成功
+         */
+        void onEnd(boolean success);
+    }
+
+    /**
+     * 通过 View 分段绘制
+     * @param view        {@link View}
+     * @param stripHeight 分段高度
+     * @param config      {@link Bitmap.Config}
+     * @param sink        {@link StripSink}
+     * @return {@code true} success, {@code false} fail
+     */
+    public static boolean snapshotByViewToStrip(
+            final View view,
+            final int stripHeight,
+            final Bitmap.Config config,
+            final StripSink sink
+    ) {
+        if (view == null || config == null || sink == null) return false;
+        try {
+            view.layout(view.getLeft(), view.getTop(), view.getRight(), view.getBottom());
+            final Picture picture = recordPicture(view, view.getWidth(), view.getHeight());
+            return renderStrips(
+                    view.getWidth(), view.getHeight(), stripHeight, config, sink,
+                    (canvas, top, height) -> picture.draw(canvas)
+            );
+        } catch (Exception e) {
+            LogPrintUtils.eTag(TAG, e, "snapshotByViewToStrip");
+        }
+        return false;
+    }
+
+    /**
+     * 通过 ScrollView 分段绘制
+     * @param scrollView  {@link ScrollView}
+     * @param stripHeight 分段高度
+     * @param config      {@link Bitmap.Config}
+     * @param sink        {@link StripSink}
+     * @return {@code true} success, {@code false} fail
+     */
+    public static boolean snapshotByScrollViewToStrip(
+            final ScrollView scrollView,
+            final int stripHeight,
+            final Bitmap.Config config,
+            final StripSink sink
+    ) {
+        if (scrollView == null || config == null || sink == null) return false;
+        try {
+            View view = scrollView.getChildAt(0);
+            scrollView.layout(0, 0, scrollView.getMeasuredWidth(),
+                    scrollView.getMeasuredHeight()
+            );
+            final Picture picture = recordPicture(scrollView, view.getWidth(), view.getHeight());
+            return renderStrips(
+                    view.getWidth(), view.getHeight(), stripHeight, config, sink,
+                    (canvas, top, height) -> picture.draw(canvas)
+            );
+        } catch (Exception e) {
+            LogPrintUtils.eTag(TAG, e, "snapshotByScrollViewToStrip");
+        }
+        return false;
+    }
+
+    /**
+     * 通过 NestedScrollView 分段绘制
+     * @param scrollView  {@link NestedScrollView}
+     * @param stripHeight 分段高度
+     * @param config      {@link Bitmap.Config}
+     * @param sink        {@link StripSink}
+     * @return {@code true} success, {@code false} fail
+     */
+    public static boolean snapshotByNestedScrollViewToStrip(
+            final NestedScrollView scrollView,
+            final int stripHeight,
+            final Bitmap.Config config,
+            final StripSink sink
+    ) {
+        if (scrollView == null || config == null || sink == null) return false;
+        try {
+            View view = scrollView.getChildAt(0);
+            scrollView.layout(0, 0, scrollView.getMeasuredWidth(),
+                    scrollView.getMeasuredHeight()
+            );
+            final Picture picture = recordPicture(scrollView, view.getWidth(), view.getHeight());
+            return renderStrips(
+                    view.getWidth(), view.getHeight(), stripHeight, config, sink,
+                    (canvas, top, height) -> picture.draw(canvas)
+            );
+        } catch (Exception e) {
+            LogPrintUtils.eTag(TAG, e, "snapshotByNestedScrollViewToStrip");
+        }
+        return false;
+    }
+
+    /**
+     * 通过 WebView 分段绘制
+     * <pre>
+     *     与 {@link #snapshotByWebView(WebView, int, Bitmap.Config, float)} 相同, 需调用 {@link #enableSlowWholeDocumentDraw}
+     * </pre>
+     * @param webView     {@link WebView}
+     * @param maxHeight   最大高度
+     * @param scale       缩放比例
+     * @param stripHeight 分段高度
+     * @param config      {@link Bitmap.Config}
+     * @param sink        {@link StripSink}
+     * @return {@code true} success, {@code false} fail
+     */
+    public static boolean snapshotByWebViewToStrip(
+            final WebView webView,
+            final int maxHeight,
+            final float scale,
+            final int stripHeight,
+            final Bitmap.Config config,
+            final StripSink sink
+    ) {
+        if (webView == null || config == null || sink == null) return false;
+        try {
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
+                float   newScale = (scale <= 0) ? webView.getScale() : scale;
+                int     height   = (int) (webView.getContentHeight() * newScale + 0.5);
+                int     width    = webView.getWidth();
+                int     length   = Math.min(height, maxHeight);
+                Picture picture  = recordPicture(webView, width, length);
+                return renderStrips(
+                        width, length, stripHeight, config, sink,
+                        (canvas, top, stripLength) -> picture.draw(canvas)
+                );
+            }
+            final Picture picture = webView.capturePicture();
+            return renderStrips(
+                    picture.getWidth(), Math.min(picture.getHeight(), maxHeight), stripHeight, config, sink,
+                    (canvas, top, height) -> picture.draw(canvas)
+            );
+        } catch (Exception e) {
+            LogPrintUtils.eTag(TAG, e, "snapshotByWebViewToStrip");
+        }
+        return false;
+    }
+
+    /**
+     * 通过 ListView 分段绘制
+     * <pre>
+     *     先测量全部 Item 计算高度, 绘制时仅创建与当前分段相交的 Item ( 按 ViewType 复用 convertView )
+     * </pre>
+     * @param listView    {@link ListView}
+     * @param stripHeight 分段高度
+     * @param config      {@link Bitmap.Config}
+     * @param sink        {@link StripSink}
+     * @return {@code true} success, {@code false} fail
+     */
+    public static boolean snapshotByListViewToStrip(
+            final ListView listView,
+            final int stripHeight,
+            final Bitmap.Config config,
+            final StripSink sink
+    ) {
+        if (listView == null || config == null || sink == null) return false;
+        try {
+            final ListAdapter       listAdapter  = listView.getAdapter();
+            final SparseArray<View> convertViews = new SparseArray<>();
+            ItemCells cells = new ItemCells(listAdapter.getCount()) {
+                @Override
+                View getView(final int position) {
+                    int  viewType = listAdapter.getItemViewType(position);
+                    View view     = listAdapter.getView(position, convertViews.get(viewType), listView);
+                    if (viewType >= 0) convertViews.put(viewType, view);
+                    WidgetUtils.measureView(view, listView.getWidth());
+                    return view;
+                }
+            };
+            if (cells.itemCount == 0) return false;
+            cells.layoutVertical(listView.getDividerHeight());
+            return renderStrips(
+                    listView.getMeasuredWidth(), cells.height, stripHeight, config, sink, cells
+            );
+        } catch (Exception e) {
+            LogPrintUtils.eTag(TAG, e, "snapshotByListViewToStrip");
+        }
+        return false;
+    }
+
+    /**
+     * 通过 RecyclerView 分段绘制
+     * <pre>
+     *     支持竖向 LinearLayoutManager、GridLayoutManager, 不支持含 ItemDecoration 截图
+     *     先测量全部 Item 计算高度, 绘制时仅绑定与当前分段相交的 Item ( 按 ViewType 复用 ViewHolder )
+     * </pre>
+     * @param recyclerView      {@link RecyclerView}
+     * @param stripHeight       分段高度
+     * @param config            {@link Bitmap.Config}
+     * @param verticalSpacing   每行之间的间隔 -
+     * @param horizontalSpacing 每列之间的间隔 |
+     * @param sink              {@link StripSink}
+     * @return {@code true} success, {@code false} fail
+     */
+    public static boolean snapshotByRecyclerViewToStrip(
+            final RecyclerView recyclerView,
+            final int stripHeight,
+            final Bitmap.Config config,
+            final int verticalSpacing,
+            final int horizontalSpacing,
+            final StripSink sink
+    ) {
+        if (recyclerView == null || config == null || sink == null) return false;
+        try {
+            final RecyclerView.Adapter       adapter       = recyclerView.getAdapter();
+            final RecyclerView.LayoutManager layoutManager = recyclerView.getLayoutManager();
+            if (adapter == null || layoutManager == null) {
+                throw new Exception("Adapter or LayoutManager is null");
+            }
+            if (!(layoutManager instanceof LinearLayoutManager)
+                    || !RecyclerViewUtils.canScrollVertically(layoutManager)) {
+                throw new Exception(
+                        String.format(
+                                "Not Supported %s LayoutManager",
+                                layoutManager.getClass().getSimpleName()
+                        )
+                );
+            }
+            final int spanCount = (layoutManager instanceof GridLayoutManager)
+                    ? ((GridLayoutManager) layoutManager).getSpanCount() : 1;
+            final int childWidth = (spanCount == 1) ? recyclerView.getWidth()
+                    : (recyclerView.getWidth() - (spanCount - 1) * horizontalSpacing) / spanCount;
+            final SparseArray<RecyclerView.ViewHolder> holders = new SparseArray<>();
+            ItemCells cells = new ItemCells(adapter.getItemCount()) {
+                @Override
+                View getView(final int position) {
+                    int                     viewType = adapter.getItemViewType(position);
+                    RecyclerView.ViewHolder holder   = holders.get(viewType);
+                    if (holder == null) {
+                        holder = adapter.createViewHolder(recyclerView, viewType);
+                        holders.put(viewType, holder);
+                    }
+                    adapter.onBindViewHolder(holder, position);
+                    View view = holder.itemView;
+                    WidgetUtils.measureView(view, childWidth);
+                    return view;
+                }
+            };
+            if (cells.itemCount == 0) return false;
+            if (spanCount == 1) {
+                cells.layoutVertical(verticalSpacing);
+            } else {
+                cells.layoutGrid(spanCount, childWidth, verticalSpacing, horizontalSpacing);
+            }
+            return renderStrips(
+                    recyclerView.getMeasuredWidth(), cells.height, stripHeight, config, sink, cells
+            );
+        } catch (Exception e) {
+            LogPrintUtils.eTag(TAG, e, "snapshotByRecyclerViewToStrip");
+        }
+        return false;
+    }
+
+    // =
+
+    /**
+     * detail: 分段绘制实现
+     * @author Ttt
+     */
+    private interface StripRenderer {
+
+        /**
+         * 绘制完整内容 ( Canvas 已平移到分段位置并裁剪 )
+         * @param canvas {@link Canvas}
+         * @param top    分段对应完整内容的起始 Y 坐标
+         * @param height 分段有效高度
+         */
+        void draw(
+                Canvas canvas,
+                int top,
+                int height
+        );
+    }
+
+    /**
+     * 录制 View 绘制内容
+     * <pre>
+     *     只遍历一次 View 树, 各分段回放 Picture ( 裁剪外的绘制指令直接跳过 )
+     * </pre>
+     * @param view   {@link View}
+     * @param width  录制宽度
+     * @param height 录制高度
+     * @return {@link Picture}
+     */
+    private static Picture recordPicture(
+            final View view,
+            final int width,
+            final int height
+    ) {
+        Picture picture = new Picture();
+        Canvas  canvas  = picture.beginRecording(Math.max(1, width), Math.max(1, height));
+        try {
+            view.draw(canvas);
+        } finally {
+            picture.endRecording();
+        }
+        return picture;
+    }
+
+    /**
+     * 分段绘制
+     * @param width       完整内容宽度
+     * @param height      完整内容高度
+     * @param stripHeight 分段高度
+     * @param config      {@link Bitmap.Config}
+     * @param sink        {@link StripSink}
+     * @param renderer    {@link StripRenderer}
+     * @return {@code true} success, {@code false} fail
+     */
+    private static boolean renderStrips(
+            final int width,
+            final int height,
+            final int stripHeight,
+            final Bitmap.Config config,
+            final StripSink sink,
+            final StripRenderer renderer
+    ) {
+        if (width <= 0 || height <= 0) return false;
+        Bitmap  strip   = null;
+        boolean success = false;
+        try {
+            if (!sink.onStart(width, height, config)) return false;
+            int tile = Math.max(1, Math.min(stripHeight, height));
+            strip = Bitmap.createBitmap(width, tile, config);
+            Canvas canvas = new Canvas(strip);
+            for (int top = 0; top < height; top += tile) {
+                int length = Math.min(tile, height - top);
+                // 与整图绘制保持一致: 初始像素为 0 再绘制背景色
+                strip.eraseColor(Color.TRANSPARENT);
+                canvas.drawColor(BACKGROUND_COLOR);
+                canvas.save();
+                canvas.clipRect(0, 0, width, length);
+                canvas.translate(0, -top);
+                renderer.draw(canvas, top, length);
+                canvas.restore();
+                if (!sink.onStrip(strip, top, length)) return false;
+            }
+            success = true;
+        } catch (Exception e) {
+            LogPrintUtils.eTag(TAG, e, "renderStrips");
+        } finally {
+            sink.onEnd(success);
+            BitmapUtils.recycle(strip);
+        }
+        return success;
+    }
+
+    /**
+     * detail: Item 布局信息 ( 列表分段绘制 )
+     * @author Ttt
+     * <pre>
+     *     记录每个 Item 的位置, 绘制时仅重新获取与分段相交的 Item
+     * </pre>
+     */
+    private abstract static class ItemCells
+            implements StripRenderer {
+
+        // Item 总条数
+        final int   itemCount;
+        // Item 左边、顶部坐标及高度
+        final int[] lefts;
+        final int[] tops;
+        final int[] heights;
+        // 完整内容高度
+        int         height;
+        // 每行 Item 数量 ( 用于二分查找起始行 )
+        private int rowStride = 1;
+
+        ItemCells(final int itemCount) {
+            this.itemCount = itemCount;
+            this.lefts     = new int[itemCount];
+            this.tops      = new int[itemCount];
+            this.heights   = new int[itemCount];
+        }
+
+        /**
+         * 获取测量后的 Item View
+         * @param position 索引
+         * @return {@link View}
+         */
+        abstract View getView(int position);
+
+        /**
+         * 竖向单列布局
+         * @param spacing 每行之间的间隔
+         */
+        void layoutVertical(final int spacing) {
+            int top = 0;
+            for (int i = 0; i < itemCount; i++) {
+                heights[i] = getView(i).getMeasuredHeight();
+                tops[i]    = top;
+                top += heights[i] + spacing;
+            }
+            height = top - spacing;
+        }
+
+        /**
+         * 竖向网格布局
+         * @param spanCount         列数
+         * @param childWidth        Item 宽度
+         * @param verticalSpacing   每行之间的间隔
+         * @param horizontalSpacing 每列之间的间隔
+         */
+        void layoutGrid(
+                final int spanCount,
+                final int childWidth,
+                final int verticalSpacing,
+                final int horizontalSpacing
+        ) {
+            rowStride = spanCount;
+            int top = 0;
+            for (int row = 0; row * spanCount < itemCount; row++) {
+                int rowHeight = 0;
+                for (int j = 0; j < spanCount; j++) {
+                    int position = row * spanCount + j;
+                    if (position >= itemCount) break;
+                    heights[position] = getView(position).getMeasuredHeight();
+                    lefts[position]   = j * (horizontalSpacing + childWidth);
+                    tops[position]    = top;
+                    rowHeight = Math.max(rowHeight, heights[position]);
+                }
+                top += rowHeight + verticalSpacing;
+            }
+            height = top - verticalSpacing;
+        }
+
+        @Override
+        public void draw(
+                final Canvas canvas,
+                final int top,
+                final int height
+        ) {
+            int bottom = top + height;
+            // 二分查找首个可能相交的行
+            int low = 0, high = (itemCount - 1) / rowStride;
+            while (low < high) {
+                int mid = (low + high + 1) >>> 1;
+                if (tops[mid * rowStride] <= top) {
+                    low = mid;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            for (int i = low * rowStride; i < itemCount && tops[i] < bottom; i++) {
+                if (tops[i] + heights[i] <= top) continue;
+                View view = getView(i);
+                canvas.save();
+                canvas.translate(lefts[i], tops[i]);
+                canvas.clipRect(0, 0, view.getMeasuredWidth(), view.getMeasuredHeight());
+                canvas.drawColor(BACKGROUND_COLOR);
+                view.draw(canvas);
+                canvas.restore();
+            }
+        }
+    }
+
+    /**
+     * detail: 分段写入 BMP 文件
+     * @author Ttt
+     * <pre>
+     *     24 位 BMP ( 自上而下存储 ), 逐行写入, 不需要持有完整图片
+     * </pre>
+     */
+    public static class BMPStripSink
+            implements StripSink {
+
+        // 输出流
+        private final OutputStream mOutputStream;
+        // 行像素
+        private       int[]        mPixels;
+        // 行字节
+        private       byte[]       mRow;
+
+        public BMPStripSink(final File file)
+                throws IOException {
+            this(new FileOutputStream(file));
+        }
+
+        public BMPStripSink(final OutputStream outputStream) {
+            this.mOutputStream = new BufferedOutputStream(outputStream, 64 * 1024);
+        }
+
+        @Override
+        public boolean onStart(
+                final int width,
+                final int height,
+                final Bitmap.Config config
+        ) {
+            int  rowSize  = (width * 3 + 3) & ~3;
+            long fileSize = 54L + (long) rowSize * height;
+            if (fileSize > 0xFFFFFFFFL) return false;
+            mPixels = new int[width];
+            mRow    = new byte[rowSize];
+            byte[] header = new byte[54];
+            // = 文件头 =
+            header[0] = 0x42;
+            header[1] = 0x4D;
+            writeInt(header, 2, (int) fileSize);
+            writeInt(header, 10, 54);
+            // = 信息头 ( 高度为负数表示自上而下存储 ) =
+            writeInt(header, 14, 40);
+            writeInt(header, 18, width);
+            writeInt(header, 22, -height);
+            header[26] = 1;
+            header[28] = 24;
+            writeInt(header, 34, (int) (fileSize - 54L));
+            try {
+                mOutputStream.write(header);
+                return true;
+            } catch (IOException e) {
+                LogPrintUtils.eTag(TAG, e, "BMPStripSink onStart");
+            }
+            return false;
+        }
+
+        @Override
+        public boolean onStrip(
+                final Bitmap strip,
+                final int top,
+                final int height
+        ) {
+            int width = mPixels.length;
+            try {
+                for (int y = 0; y < height; y++) {
+                    strip.getPixels(mPixels, 0, width, 0, y, width, 1);
+                    for (int x = 0, i = 0; x < width; x++, i += 3) {
+                        int pixel = mPixels[x];
+                        mRow[i]     = (byte) pixel;
+                        mRow[i + 1] = (byte) (pixel >> 8);
+                        mRow[i + 2] = (byte) (pixel >> 16);
+                    }
+                    mOutputStream.write(mRow);
+                }
+                return true;
+            } catch (IOException e) {
+                LogPrintUtils.eTag(TAG, e, "BMPStripSink onStrip");
+            }
+            return false;
+        }
+
+        @Override
+        public void onEnd(final boolean success) {
+            CloseUtils.flushCloseIOQuietly(mOutputStream);
+        }
+
+        /**
+         * 写入 int ( 小端 )
+         * @param buffer byte[]
+         * @param offset 偏移
+         * @param value  值
+         */
+        private static void writeInt(
+                final byte[] buffer,
+                final int offset,
+                final int value
+        ) {
+            buffer[offset]     = (byte) value;
+            buffer[offset + 1] = (byte) (value >> 8);
+            buffer[offset + 2] = (byte) (value >> 16);
+            buffer[offset + 3] = (byte) (value >> 24);
+        }
+    }
+
+    /**
+     * detail: 分段写入 PNG 文件
+     * @author Ttt
+     * <pre>
+     *     逐行 Sub 过滤后通过 {@link Deflater} 流式压缩, 压缩输出每满 64KB 写入一个 IDAT 块
+     *     不需要持有完整图片, RGB_565 输出 24 位 RGB, 其他 Config 输出 32 位 RGBA
+     * </pre>
+     */
+    public static class PNGStripSink
+            implements StripSink {
+
+        // PNG 文件签名
+        private static final byte[] SIGNATURE = {
+                (byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'
+        };
+        // 数据块类型
+        private static final byte[] IHDR      = {'I', 'H', 'D', 'R'};
+        private static final byte[] IDAT      = {'I', 'D', 'A', 'T'};
+        private static final byte[] IEND      = {'I', 'E', 'N', 'D'};
+
+        // 输出流
+        private final OutputStream mOutputStream;
+        // 压缩器
+        private final Deflater     mDeflater;
+        // 数据块校验
+        private final CRC32        mCRC    = new CRC32();
+        // 数据块长度、CRC 字节
+        private final byte[]       mInt    = new byte[4];
+        // 压缩输出 ( IDAT 数据 )
+        private final byte[]       mBuffer = new byte[64 * 1024];
+        // 压缩输出长度
+        private       int          mLength;
+        // 每像素字节数
+        private       int          mChannels;
+        // 行像素
+        private       int[]        mPixels;
+        // 行字节 ( 过滤类型 + 像素 )
+        private       byte[]       mRow;
+
+        public PNGStripSink(final File file)
+                throws IOException {
+            this(new FileOutputStream(file));
+        }
+
+        public PNGStripSink(final OutputStream outputStream) {
+            this(outputStream, Deflater.DEFAULT_COMPRESSION);
+        }
+
+        /**
+         * 初始化 PNG 分段写入
+         * @param outputStream 输出流
+         * @param level        压缩级别 ( 0-9, {@link Deflater#DEFAULT_COMPRESSION} )
+         */
+        public PNGStripSink(
+                final OutputStream outputStream,
+                final int level
+        ) {
+            this.mOutputStream = new BufferedOutputStream(outputStream, 64 * 1024);
+            this.mDeflater     = new Deflater(level);
+        }
+
+        @Override
+        public boolean onStart(
+                final int width,
+                final int height,
+                final Bitmap.Config config
+        ) {
+            mChannels = (config == Bitmap.Config.RGB_565) ? 3 : 4;
+            if ((long) width * mChannels + 1L > Integer.MAX_VALUE) return false;
+            mPixels = new int[width];
+            mRow    = new byte[width * mChannels + 1];
+            byte[] header = new byte[13];
+            writeInt(header, 0, width);
+            writeInt(header, 4, height);
+            header[8]  = 8; // 位深
+            header[9]  = (byte) ((mChannels == 3) ? 2 : 6); // 颜色类型 ( 2 RGB、6 RGBA )
+            header[10] = 0; // 压缩方式
+            header[11] = 0; // 过滤方式
+            header[12] = 0; // 不隔行扫描
+            try {
+                mOutputStream.write(SIGNATURE);
+                writeChunk(IHDR, header, header.length);
+                return true;
+            } catch (IOException e) {
+                LogPrintUtils.eTag(TAG, e, "PNGStripSink onStart");
+            }
+            return false;
+        }
+
+        @Override
+        public boolean onStrip(
+                final Bitmap strip,
+                final int top,
+                final int height
+        ) {
+            int width    = mPixels.length;
+            int channels = mChannels;
+            try {
+                for (int y = 0; y < height; y++) {
+                    strip.getPixels(mPixels, 0, width, 0, y, width, 1);
+                    byte[] row = mRow;
+                    for (int x = 0, i = 1; x < width; x++, i += channels) {
+                        int pixel = mPixels[x];
+                        row[i]     = (byte) (pixel >> 16);
+                        row[i + 1] = (byte) (pixel >> 8);
+                        row[i + 2] = (byte) pixel;
+                        if (channels == 4) row[i + 3] = (byte) (pixel >>> 24);
+                    }
+                    // Sub 过滤: 与左侧像素同通道差值 ( 从右往左计算, 不覆盖未使用的原值 )
+                    row[0] = 1;
+                    for (int i = row.length - 1; i > channels; i--) {
+                        row[i] -= row[i - channels];
+                    }
+                    mDeflater.setInput(row);
+                    while (!mDeflater.needsInput()) {
+                        deflate();
+                    }
+                }
+                return true;
+            } catch (IOException e) {
+                LogPrintUtils.eTag(TAG, e, "PNGStripSink onStrip");
+            }
+            return false;
+        }
+
+        @Override
+        public void onEnd(final boolean success) {
+            try {
+                if (success) {
+                    mDeflater.finish();
+                    while (!mDeflater.finished()) {
+                        deflate();
+                    }
+                    if (mLength > 0) {
+                        writeChunk(IDAT, mBuffer, mLength);
+                        mLength = 0;
+                    }
+                    writeChunk(IEND, mBuffer, 0);
+                }
+            } catch (IOException e) {
+                LogPrintUtils.eTag(TAG, e, "PNGStripSink onEnd");
+            } finally {
+                mDeflater.end();
+                CloseUtils.flushCloseIOQuietly(mOutputStream);
+            }
+        }
+
+        /**
+         * 压缩数据, 输出缓存已满则写入 IDAT 块
+         * @throws IOException 写入异常
+         */
+        private void deflate()
+                throws IOException {
+            mLength += mDeflater.deflate(mBuffer, mLength, mBuffer.length - mLength);
+            if (mLength == mBuffer.length) {
+                writeChunk(IDAT, mBuffer, mLength);
+                mLength = 0;
+            }
+        }
+
+        /**
+         * 写入数据块 ( 长度 + 类型 + 数据 + CRC )
+         * @param type   数据块类型
+         * @param data   数据
+         * @param length 数据长度
+         * @throws IOException 写入异常
+         */
+        private void writeChunk(
+                final byte[] type,
+                final byte[] data,
+                final int length
+        )
+                throws IOException {
+            writeInt(mInt, 0, length);
+            mOutputStream.write(mInt);
+            mOutputStream.write(type);
+            mOutputStream.write(data, 0, length);
+            mCRC.reset();
+            mCRC.update(type);
+            mCRC.update(data, 0, length);
+            writeInt(mInt, 0, (int) mCRC.getValue());
+            mOutputStream.write(mInt);
+        }
+
+        /**
+         * 写入 int ( 大端 )
+         * @param buffer byte[]
+         * @param offset 偏移
+         * @param value  值
+         */
+        private static void writeInt(
+                final byte[] buffer,
+                final int offset,
+                final int value
+        ) {
+            buffer[offset]     = (byte) (value >> 24);
+            buffer[offset + 1] = (byte) (value >> 16);
+            buffer[offset + 2] = (byte) (value >> 8);
+            buffer[offset + 3] = (byte) value;
+        }
+    }
+
     // =============
     // = 内部私有方法 =
     // =============
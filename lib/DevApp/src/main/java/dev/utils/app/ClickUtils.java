@@ -4,11 +4,13 @@ import android.graphics.Rect;
 import android.view.TouchDelegate;
 import android.view.View;
 
-import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import dev.utils.LogPrintUtils;
+import dev.utils.common.assist.ThrottleRegistry;
 
 /**
  * detail: 点击 ( 双击 ) 工具类
@@ -23,15 +25,25 @@ public final class ClickUtils {
     private static final String TAG = ClickUtils.class.getSimpleName();
 
     // 通用间隔时间
-    public static final  long                     INTERVAL_TIME       = 1000L;
+    public static final  long                                   INTERVAL_TIME       = 1000L;
+    // 功能模块 ClickAssist 数量上限
+    public static final  int                                    ASSIST_CAPACITY     = 64;
+    // 每个 ClickAssist 点击记录初始容量
+    public static final  int                                    RECORD_CAPACITY     = 256;
+    // 每个 ClickAssist 点击记录数量上限
+    public static final  int                                    RECORD_MAX_CAPACITY = 4096;
+    // 点击记录、功能模块 ClickAssist 过期时间
+    public static final  long                                   EXPIRE_TIME         = 5 * 60 * 1000L;
     // 是否校验 viewId
-    private static       boolean                  sCheckViewId        = true;
+    private static       boolean                                sCheckViewId        = true;
     // 双击间隔时间
-    private static       long                     sGlobalIntervalTime = 1000L;
+    private static       long                                   sGlobalIntervalTime = 1000L;
     // 全局共用的点击辅助类
-    private static final ClickAssist              sGlobalClickAssist  = new ClickAssist();
+    private static final ClickAssist                            sGlobalClickAssist  = new ClickAssist();
     // 功能模块 ClickAssist Maps
-    private static final Map<Object, ClickAssist> sClickAssistMaps    = new HashMap<>();
+    private static final ConcurrentHashMap<Object, ClickAssist> sClickAssistMaps    = new ConcurrentHashMap<>();
+    // null 功能模块 Key ( ConcurrentHashMap 不支持 null Key )
+    private static final Object                                 NULL_KEY            = new Object();
 
     /**
      * 增加控件的触摸范围, 最大范围只能是父布局所包含的的区域
@@ -122,18 +134,26 @@ public final class ClickUtils {
 
     /**
      * 获取对应功能模块点击辅助类
+     * <pre>
+     *     超过 {@link #ASSIST_CAPACITY} 时移除超过 {@link #EXPIRE_TIME} 未使用的辅助类
+     *     未过期的辅助类不会被移除 ( 调用方可能仍持有并配置了间隔时间 )
+     * </pre>
      * @param object key by Object
      * @return {@link ClickAssist}
      */
     public static ClickAssist get(final Object object) {
+        Object key = (object != null) ? object : NULL_KEY;
         // 获取对应模块点击辅助类
-        ClickAssist clickAssist = sClickAssistMaps.get(object);
+        ClickAssist clickAssist = sClickAssistMaps.get(key);
         if (clickAssist != null) {
             return clickAssist;
         }
+        if (sClickAssistMaps.size() >= ASSIST_CAPACITY) {
+            trimClickAssist();
+        }
         clickAssist = new ClickAssist();
-        sClickAssistMaps.put(object, clickAssist);
-        return clickAssist;
+        ClickAssist previous = sClickAssistMaps.putIfAbsent(key, clickAssist);
+        return (previous != null) ? previous : clickAssist;
     }
 
     /**
@@ -141,7 +161,20 @@ public final class ClickUtils {
      * @param object key by Object
      */
     public static void remove(final Object object) {
-        sClickAssistMaps.remove(object);
+        sClickAssistMaps.remove((object != null) ? object : NULL_KEY);
+    }
+
+    /**
+     * 移除过期功能模块点击辅助类
+     */
+    private static void trimClickAssist() {
+        long curTime = System.currentTimeMillis();
+        Iterator<ClickAssist> iterator = sClickAssistMaps.values().iterator();
+        while (iterator.hasNext()) {
+            if (curTime - iterator.next().mAccessTime > EXPIRE_TIME) {
+                iterator.remove();
+            }
+        }
     }
 
     // ==================
@@ -206,6 +239,36 @@ public final class ClickUtils {
         return sGlobalClickAssist.isFastDoubleClick(object, intervalTime);
     }
 
+    /**
+     * 判断是否超出点击频率限制 ( 令牌桶 )
+     * @param object     key by Object
+     * @param permits    允许连续点击次数
+     * @param refillTime 恢复一次点击耗时
+     * @return {@code true} yes, {@code false} no
+     */
+    public static boolean isRateLimited(
+            final Object object,
+            final int permits,
+            final long refillTime
+    ) {
+        return sGlobalClickAssist.isRateLimited(object, permits, refillTime);
+    }
+
+    /**
+     * 判断是否超出点击频率限制 ( 滑动窗口 )
+     * @param object     key by Object
+     * @param limit      窗口内允许点击次数
+     * @param windowTime 窗口时长
+     * @return {@code true} yes, {@code false} no
+     */
+    public static boolean isWindowLimited(
+            final Object object,
+            final int limit,
+            final long windowTime
+    ) {
+        return sGlobalClickAssist.isWindowLimited(object, limit, windowTime);
+    }
+
     // =
 
     /**
@@ -303,20 +366,28 @@ public final class ClickUtils {
      *     ps: 该辅助类, 主要避免全局共用一个双击控制类, 容易出现冲突, 方便控制某个 Activity 或功能模块 双击处理
      *     使用 Key(Tag-Object) 获取指定的 {@link ClickAssist}, 能够实现不同 Activity 或功能模块 单独使用 {@link ClickAssist}
      *     并且可以进行销毁处理
+     *     <p></p>
+     *     点击记录使用 {@link ThrottleRegistry} 存储, 初始容量为 {@link #RECORD_CAPACITY}, 有效记录已满时扩容
+     *     达到 {@link #RECORD_MAX_CAPACITY} 后不再扩容, 淘汰最久未点击的记录
+     *     超过 {@link #EXPIRE_TIME} 未点击的记录过期, 记录以 Object hashCode 区分
      * </pre>
      */
     public static class ClickAssist {
 
         // 最后一次点击的标识 id
-        private       int               mLastTagId     = -1;
+        private          int               mLastTagId     = -1;
         // 最后一次点击时间
-        private       long              mLastClickTime = 0L;
+        private          long              mLastClickTime = 0L;
         // 双击间隔时间
-        private       long              mIntervalTime;
+        private          long              mIntervalTime;
+        // 最后一次使用时间
+        private volatile long              mAccessTime    = System.currentTimeMillis();
         // 配置数据
-        private final Map<String, Long> mConfigMaps    = new HashMap<>();
+        private final    Map<String, Long> mConfigMaps    = new ConcurrentHashMap<>();
         // 点击记录数据
-        private final Map<String, Long> mRecordMaps    = new HashMap<>();
+        private final    ThrottleRegistry  mRecords       = new ThrottleRegistry(
+                RECORD_CAPACITY, RECORD_MAX_CAPACITY, EXPIRE_TIME
+        );
 
         public ClickAssist() {
             this(ClickUtils.sGlobalIntervalTime);
@@ -355,11 +426,12 @@ public final class ClickUtils {
          * @param intervalTime 双击间隔时间
          * @return {@code true} yes, {@code false} no
          */
-        public boolean isFastDoubleClick(
+        public synchronized boolean isFastDoubleClick(
                 final int tagId,
                 final long intervalTime
         ) {
             long curTime  = System.currentTimeMillis();
+            mAccessTime = curTime;
             long diffTime = curTime - mLastClickTime;
             // 判断时间是否超过
             if (mLastTagId == tagId && mLastClickTime > 0 && diffTime < intervalTime) {
@@ -405,17 +477,10 @@ public final class ClickUtils {
                 final Object object,
                 final long intervalTime
         ) {
-            // 获取 TAG
-            String tag = ((object != null) ? ("obj_" + object.hashCode()) : "obj_null");
-            // 获取上次点击的时间
-            Long lastTime = mRecordMaps.get(tag);
-            if (lastTime == null) {
-                lastTime = 0L;
-            }
-            long curTime  = System.currentTimeMillis();
-            long diffTime = curTime - lastTime;
-            // 判断时间是否超过
-            if (lastTime > 0 && diffTime < intervalTime) {
+            long curTime = System.currentTimeMillis();
+            mAccessTime = curTime;
+            // 判断时间是否超过, 未超过则保存本次点击时间
+            if (!mRecords.tryAcquire(recordKey(object), intervalTime, curTime)) {
                 LogPrintUtils.dTag(
                         TAG,
                         "isFastDoubleClick 无效点击 object: %s, intervalTime: %s",
@@ -428,8 +493,62 @@ public final class ClickUtils {
                     "isFastDoubleClick 有效点击 object: %s, intervalTime: %s",
                     object, intervalTime
             );
-            // 保存上次点击时间
-            mRecordMaps.put(tag, curTime);
+            return false;
+        }
+
+        /**
+         * 判断是否超出点击频率限制 ( 令牌桶 )
+         * <pre>
+         *     允许连续点击 permits 次, 之后每 refillTime 毫秒恢复一次
+         * </pre>
+         * @param object     key by Object
+         * @param permits    允许连续点击次数
+         * @param refillTime 恢复一次点击耗时
+         * @return {@code true} yes, {@code false} no
+         */
+        public boolean isRateLimited(
+                final Object object,
+                final int permits,
+                final long refillTime
+        ) {
+            long curTime = System.currentTimeMillis();
+            mAccessTime = curTime;
+            if (!mRecords.tryAcquireToken(recordKey(object), permits, refillTime, curTime)) {
+                LogPrintUtils.dTag(
+                        TAG,
+                        "isRateLimited 无效点击 object: %s, permits: %s, refillTime: %s",
+                        object, permits, refillTime
+                );
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * 判断是否超出点击频率限制 ( 滑动窗口 )
+         * <pre>
+         *     最近 windowTime 毫秒内最多允许点击 limit 次
+         * </pre>
+         * @param object     key by Object
+         * @param limit      窗口内允许点击次数
+         * @param windowTime 窗口时长
+         * @return {@code true} yes, {@code false} no
+         */
+        public boolean isWindowLimited(
+                final Object object,
+                final int limit,
+                final long windowTime
+        ) {
+            long curTime = System.currentTimeMillis();
+            mAccessTime = curTime;
+            if (!mRecords.tryAcquireWindow(recordKey(object), limit, windowTime, curTime)) {
+                LogPrintUtils.dTag(
+                        TAG,
+                        "isWindowLimited 无效点击 object: %s, limit: %s, windowTime: %s",
+                        object, limit, windowTime
+                );
+                return true;
+            }
             return false;
         }
 
@@ -442,7 +561,9 @@ public final class ClickUtils {
          */
         public ClickAssist initConfig(final Map<String, Long> mapConfigs) {
             if (mapConfigs != null) {
-                mConfigMaps.putAll(mapConfigs);
+                for (Map.Entry<String, Long> entry : mapConfigs.entrySet()) {
+                    putConfig(entry.getKey(), entry.getValue());
+                }
             }
             return this;
         }
@@ -457,7 +578,12 @@ public final class ClickUtils {
                 final String key,
                 final Long value
         ) {
-            mConfigMaps.put(key, value);
+            if (key == null) return this;
+            if (value != null) {
+                mConfigMaps.put(key, value);
+            } else {
+                mConfigMaps.remove(key);
+            }
             return this;
         }
 
@@ -467,7 +593,7 @@ public final class ClickUtils {
          * @return {@link ClickAssist}
          */
         public ClickAssist removeConfig(final String key) {
-            mConfigMaps.remove(key);
+            if (key != null) mConfigMaps.remove(key);
             return this;
         }
 
@@ -478,7 +604,7 @@ public final class ClickUtils {
          */
         public Long getConfigTime(final String key) {
             // 获取配置时间
-            Long configTime = mConfigMaps.get(key);
+            Long configTime = (key != null) ? mConfigMaps.get(key) : null;
             // 判断是否为 null
             return (configTime != null) ? configTime : mIntervalTime;
         }
@@ -487,11 +613,20 @@ public final class ClickUtils {
 
         /**
          * 移除点击记录
-         * @param key tag Key
+         * @param key tag Key ( obj_ + hashCode、obj_null )
          * @return {@link ClickAssist}
          */
         public ClickAssist removeRecord(final String key) {
-            mRecordMaps.remove(key);
+            if (key == null || !key.startsWith("obj_")) return this;
+            String value = key.substring(4);
+            if ("null".equals(value)) {
+                mRecords.remove(recordKey(null));
+                return this;
+            }
+            try {
+                mRecords.remove(Integer.parseInt(value));
+            } catch (NumberFormatException ignored) {
+            }
             return this;
         }
 
@@ -500,7 +635,7 @@ public final class ClickUtils {
          * @return {@link ClickAssist}
          */
         public ClickAssist clearRecord() {
-            mRecordMaps.clear();
+            mRecords.clear();
             return this;
         }
 
@@ -528,7 +663,7 @@ public final class ClickUtils {
          * 重置处理
          * @return {@link ClickAssist}
          */
-        public ClickAssist reset() {
+        public synchronized ClickAssist reset() {
             // 重置最后一次点击的标识 id
             mLastTagId = -1;
             // 重置最后一次点击时间
@@ -538,9 +673,19 @@ public final class ClickUtils {
             // 清空配置信息
             mConfigMaps.clear();
             // 清空点击记录
-            mRecordMaps.clear();
+            mRecords.clear();
             return this;
         }
+
+        /**
+         * 获取点击记录 Key
+         * @param object key by Object
+         * @return 点击记录 Key
+         */
+        private static long recordKey(final Object object) {
+            // 与 hashCode 取值范围错开
+            return (object != null) ? object.hashCode() : Long.MIN_VALUE;
+        }
     }
 
     // ==========
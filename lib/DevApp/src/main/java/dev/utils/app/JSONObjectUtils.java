@@ -7,6 +7,10 @@ import org.json.JSONArray;
 import org.json.JSONObject;
 import org.json.JSONTokener;
 
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
 import java.lang.reflect.Array;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -17,6 +21,8 @@ import java.util.Map;
 
 import dev.utils.LogPrintUtils;
 import dev.utils.common.ConvertUtils;
+import dev.utils.common.assist.json.JsonStream;
+import dev.utils.common.assist.json.JsonVisitor;
 
 /**
  * detail: Android 原生 JSONObject 工具类
@@ -629,4 +635,138 @@ public final class JSONObjectUtils {
         }
         return null;
     }
-}
\ No newline at end of file
+
+    // ==========
+    // = 流式处理 =
+    // ==========
+
+    /**
+     * 流式读取 JSON ( 无需构建 JSONObject、JSONArray )
+     * <pre>
+     *     JSON null 值转为 {@link JSONObject#NULL}, 与 {@link #jsonToMap(JSONObject)} 一致
+     *     严格遵循 RFC 8259 ( 不支持 org.json 宽松格式 ), 不会关闭 Reader
+     * </pre>
+     * @param reader {@link Reader}
+     * @return Map、List、String、Number、Boolean、JSONObject.NULL
+     */
+    public static Object readJson(final Reader reader) {
+        if (reader == null) return null;
+        try {
+            return JsonStream.read(reader, JSONObject.NULL);
+        } catch (Exception e) {
+            LogPrintUtils.eTag(TAG, e, "readJson");
+        }
+        return null;
+    }
+
+    /**
+     * 流式读取 JSON 对象转化为 Map
+     * @param reader {@link Reader}
+     * @return {@link Map}
+     */
+    public static Map<String, Object> jsonToMap(final Reader reader) {
+        Object value = readJson(reader);
+        return (value instanceof Map) ? (Map<String, Object>) value : null;
+    }
+
+    /**
+     * 流式读取 JSON 数组转化为 List
+     * @param reader {@link Reader}
+     * @return {@link List}
+     */
+    public static List<Object> jsonToList(final Reader reader) {
+        Object value = readJson(reader);
+        return (value instanceof List) ? (List<Object>) value : null;
+    }
+
+    /**
+     * 流式遍历 JSON
+     * @param reader  {@link Reader}
+     * @param visitor {@link JsonVisitor}
+     * @return {@code true} 遍历完成, {@code false} 中途停止或失败
+     */
+    public static boolean visitJson(
+            final Reader reader,
+            final JsonVisitor visitor
+    ) {
+        if (reader == null || visitor == null) return false;
+        try {
+            return JsonStream.visit(reader, visitor);
+        } catch (Exception e) {
+            LogPrintUtils.eTag(TAG, e, "visitJson");
+        }
+        return false;
+    }
+
+    /**
+     * 流式查询指定路径的值 ( 只构建目标值 )
+     * @param json JSON String
+     * @param path 路径 ( 如 $.data.list[2].name )
+     * @param <T>  泛型
+     * @return 指定路径的值
+     */
+    public static <T> T queryJson(
+            final String json,
+            final String path
+    ) {
+        if (json == null) return null;
+        return queryJson(new StringReader(json), path);
+    }
+
+    /**
+     * 流式查询指定路径的值 ( 只构建目标值, 仍读取并校验完整文档, 格式错误返回 null )
+     * @param reader {@link Reader}
+     * @param path   路径 ( 如 $.data.list[2].name )
+     * @param <T>    泛型
+     * @return 指定路径的值
+     */
+    public static <T> T queryJson(
+            final Reader reader,
+            final String path
+    ) {
+        if (reader == null || path == null) return null;
+        try {
+            return (T) JsonStream.query(reader, path, JSONObject.NULL);
+        } catch (Exception e) {
+            LogPrintUtils.eTag(TAG, e, "queryJson");
+        }
+        return null;
+    }
+
+    /**
+     * 流式格式化 JSON ( 单次遍历 )
+     * @param json       JSON String
+     * @param jsonIndent JSON 缩进间隔 ( 小于等于 0 则压缩 )
+     * @return JSON String
+     */
+    public static String formatJson(
+            final String json,
+            final int jsonIndent
+    ) {
+        if (json == null) return null;
+        StringWriter writer = new StringWriter(json.length());
+        return formatJson(new StringReader(json), writer, jsonIndent) ? writer.toString() : null;
+    }
+
+    /**
+     * 流式格式化 JSON ( 单次遍历 Reader 写入 Writer )
+     * @param reader     {@link Reader}
+     * @param writer     {@link Writer}
+     * @param jsonIndent JSON 缩进间隔 ( 小于等于 0 则压缩 )
+     * @return {@code true} success, {@code false} fail
+     */
+    public static boolean formatJson(
+            final Reader reader,
+            final Writer writer,
+            final int jsonIndent
+    ) {
+        if (reader == null || writer == null) return false;
+        try {
+            JsonStream.format(reader, writer, jsonIndent);
+            return true;
+        } catch (Exception e) {
+            LogPrintUtils.eTag(TAG, e, "formatJson");
+        }
+        return false;
+    }
+}
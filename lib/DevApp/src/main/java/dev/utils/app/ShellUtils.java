@@ -3,15 +3,22 @@ package dev.utils.app;
 import java.io.BufferedReader;
 import java.io.DataOutputStream;
 import java.io.InputStreamReader;
+import java.util.ArrayList;
 import java.util.List;
 
 import dev.utils.DevFinal;
 import dev.utils.LogPrintUtils;
 import dev.utils.common.CloseUtils;
+import dev.utils.common.assist.ShellSession;
 
 /**
  * detail: Shell 命令工具类
  * @author Ttt
+ * <pre>
+ *     默认每次执行创建 sh、su 进程
+ *     开启 {@link #setUseSession(boolean)} 后 execCmd 复用常驻会话 {@link ShellSession} 执行
+ *     每次执行在子 Shell 中运行, 结果与创建进程执行一致 ( 命令无法读取输入流 )
+ * </pre>
  */
 public final class ShellUtils {
 
@@ -24,6 +31,43 @@ public final class ShellUtils {
     // 操作成功状态码
     private static final int SUCCESS = 0;
 
+    // 最大空闲会话数量
+    private static final    int               MAX_IDLE_SESSION = 2;
+    // sh 会话池
+    private static final    ShellSession.Pool SHELL_POOL       = new ShellSession.Pool("sh", MAX_IDLE_SESSION);
+    // su 会话池
+    private static final    ShellSession.Pool ROOT_POOL        = new ShellSession.Pool("su", MAX_IDLE_SESSION);
+    // execCmd 是否使用常驻会话执行
+    private static volatile boolean           sUseSession      = false;
+
+    /**
+     * 是否使用常驻会话执行
+     * @return {@code true} yes, {@code false} no
+     */
+    public static boolean isUseSession() {
+        return sUseSession;
+    }
+
+    /**
+     * 设置是否使用常驻会话执行
+     * <pre>
+     *     关闭时同时销毁空闲会话
+     * </pre>
+     * @param useSession 是否使用常驻会话执行
+     */
+    public static void setUseSession(final boolean useSession) {
+        ShellUtils.sUseSession = useSession;
+        if (!useSession) closeSession();
+    }
+
+    /**
+     * 销毁全部空闲会话
+     */
+    public static void closeSession() {
+        SHELL_POOL.close();
+        ROOT_POOL.close();
+    }
+
     /**
      * 执行 shell 命令
      * @param command 待执行命令
@@ -109,6 +153,9 @@ public final class ShellUtils {
         if (commands == null || commands.length == 0) {
             return new CommandResult(result, null, null);
         }
+        if (sUseSession) {
+            return execCmdBySession(commands, isRoot, isNeedResultMsg, 0L);
+        }
         Process          process    = null;
         DataOutputStream dos        = null;
         String           successMsg = null;
@@ -150,6 +197,53 @@ public final class ShellUtils {
         return new CommandResult(result, successMsg, errorMsg);
     }
 
+    // ============
+    // = 常驻会话执行 =
+    // ============
+
+    /**
+     * 通过常驻会话执行 shell 命令
+     * @param commands        多条待执行命令
+     * @param isRoot          是否以 root 权限执行
+     * @param isNeedResultMsg 是否需要结果消息 (error、success message)
+     * @param timeout         超时时间 ( 毫秒 ), 小于等于 0 则不超时
+     * @return {@link CommandResult}
+     */
+    public static CommandResult execCmdBySession(
+            final String[] commands,
+            final boolean isRoot,
+            final boolean isNeedResultMsg,
+            final long timeout
+    ) {
+        ShellSession.Pool   pool   = isRoot ? ROOT_POOL : SHELL_POOL;
+        ShellSession.Result result = pool.exec(commands, isNeedResultMsg, timeout);
+        return new CommandResult(result.result, result.successMsg, result.errorMsg);
+    }
+
+    /**
+     * 通过常驻会话批量执行 shell 命令 ( 每条命令单独返回结果 )
+     * <pre>
+     *     全部命令一次性写入同一会话, 超时或会话退出后剩余命令状态码为 {@link ShellSession#RESULT_FAIL}
+     * </pre>
+     * @param commands 多条待执行命令
+     * @param isRoot   是否以 root 权限执行
+     * @param timeout  全部命令超时时间 ( 毫秒 ), 小于等于 0 则不超时
+     * @return 每条命令执行结果
+     */
+    public static List<CommandResult> execBatch(
+            final List<String> commands,
+            final boolean isRoot,
+            final long timeout
+    ) {
+        ShellSession.Pool         pool    = isRoot ? ROOT_POOL : SHELL_POOL;
+        List<ShellSession.Result> results = pool.execBatch(commands, true, timeout);
+        List<CommandResult>       lists   = new ArrayList<>(results.size());
+        for (ShellSession.Result result : results) {
+            lists.add(new CommandResult(result.result, result.successMsg, result.errorMsg));
+        }
+        return lists;
+    }
+
     /**
      * 消费 InputStream 并且返回字符串
      * @param reader {@link InputStreamReader}
@@ -47,6 +47,9 @@ import java.io.InputStreamReader;
 import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 import dev.DevUtils;
 import dev.utils.DevFinal;
@@ -89,10 +92,15 @@ public final class ResourceAssist {
     // 空实现 ResourceAssist ( 用于 ResourcePluginUtils 简化判断代码 )
     public static final ResourceAssist EMPTY_IMPL = new ResourceAssist(null, null);
 
+    // 资源 id 缓存 ( 按 AssetManager 区分, 同一资源表共用 )
+    private static final Map<AssetManager, IdentifierCache> sIdentifierCaches = new WeakHashMap<>();
+
     // Resources
-    private Resources mResource;
+    private          Resources       mResource;
     // 应用包名
-    private String    mPackageName;
+    private          String          mPackageName;
+    // 资源 id 缓存
+    private volatile IdentifierCache mIdentifierCache;
 
     // ==========
     // = 构造函数 =
@@ -369,11 +377,28 @@ public final class ResourceAssist {
             final String packageName
     ) {
         if (this == EMPTY_IMPL) return this;
-        this.mResource    = resource;
-        this.mPackageName = packageName;
+        this.mResource        = resource;
+        this.mPackageName     = packageName;
+        this.mIdentifierCache = null;
         return this;
     }
 
+    /**
+     * 清空全部资源 id 缓存
+     * <pre>
+     *     资源 id 与 Configuration 无关, 切换语言、横竖屏无需调用
+     *     通过 ResourcesLoader、插件等方式变更已加载的资源后调用
+     * </pre>
+     */
+    public static void clearIdentifierCache() {
+        synchronized (sIdentifierCaches) {
+            for (IdentifierCache cache : sIdentifierCaches.values()) {
+                cache.clear();
+            }
+            sIdentifierCaches.clear();
+        }
+    }
+
     /**
      * 获取应用包名
      * @return 应用包名
@@ -453,6 +478,10 @@ public final class ResourceAssist {
 
     /**
      * 获取资源 id
+     * <pre>
+     *     按包名、资源类型缓存查找结果 ( 包含未找到的资源 )
+     *     避免重复调用 {@link Resources#getIdentifier(String, String, String)}
+     * </pre>
      * @param resName 资源名
      * @param defType 资源类型
      * @return 资源 id
@@ -461,8 +490,17 @@ public final class ResourceAssist {
             final String resName,
             final String defType
     ) {
+        Map<String, Integer> identifiers = getIdentifiers(defType);
+        if (identifiers != null && resName != null) {
+            Integer id = identifiers.get(resName);
+            if (id != null) return id;
+        }
         try {
-            return mResource.getIdentifier(resName, defType, mPackageName);
+            int id = mResource.getIdentifier(resName, defType, mPackageName);
+            if (identifiers != null && resName != null) {
+                identifiers.put(resName, id);
+            }
+            return id;
         } catch (Exception e) {
             LogPrintUtils.eTag(
                     TAG, e, "getIdentifier - %s %s: %s",
@@ -472,6 +510,53 @@ public final class ResourceAssist {
         return 0;
     }
 
+    /**
+     * 批量获取资源 id ( 预加载缓存 )
+     * <pre>
+     *     一次获取同类型资源缓存后依次查找, 适用于启动、列表绑定前提前解析
+     * </pre>
+     * @param defType  资源类型
+     * @param resNames 资源名
+     * @return 资源 id 数组 ( 与资源名顺序一致, 未找到为 0 )
+     */
+    public int[] prewarmIdentifiers(
+            final String defType,
+            final String... resNames
+    ) {
+        if (resNames == null) return new int[0];
+        int[]                ids         = new int[resNames.length];
+        Map<String, Integer> identifiers = getIdentifiers(defType);
+        for (int i = 0; i < resNames.length; i++) {
+            String  resName = resNames[i];
+            Integer id      = (identifiers != null && resName != null) ? identifiers.get(resName) : null;
+            ids[i] = (id != null) ? id : getIdentifier(resName, defType);
+        }
+        return ids;
+    }
+
+    /**
+     * 获取指定资源类型 id 缓存
+     * @param defType 资源类型
+     * @return 资源名 - 资源 id 缓存, 无法缓存则返回 null
+     */
+    private Map<String, Integer> getIdentifiers(final String defType) {
+        if (defType == null || mPackageName == null || mResource == null) return null;
+        IdentifierCache cache = mIdentifierCache;
+        if (cache == null) {
+            AssetManager assets = getAssets();
+            if (assets == null) return null;
+            synchronized (sIdentifierCaches) {
+                cache = sIdentifierCaches.get(assets);
+                if (cache == null) {
+                    cache = new IdentifierCache();
+                    sIdentifierCaches.put(assets, cache);
+                }
+            }
+            mIdentifierCache = cache;
+        }
+        return cache.get(mPackageName, defType);
+    }
+
     /**
      * 获取给定资源标识符的全名
      * @param id resource identifier
@@ -1752,4 +1837,53 @@ public final class ResourceAssist {
         }
         return false;
     }
-}
\ No newline at end of file
+
+    // ==========
+    // = 内部缓存 =
+    // ==========
+
+    /**
+     * detail: 资源 id 缓存
+     * @author Ttt
+     * <pre>
+     *     包名 - 资源类型 - 资源名 - 资源 id, 未找到的资源缓存为 0
+     * </pre>
+     */
+    private static final class IdentifierCache {
+
+        // 缓存数据
+        private final ConcurrentHashMap<String, ConcurrentHashMap<String, Map<String, Integer>>> mPackages = new ConcurrentHashMap<>();
+
+        /**
+         * 获取指定包名、资源类型缓存
+         * @param packageName 应用包名
+         * @param defType     资源类型
+         * @return 资源名 - 资源 id 缓存
+         */
+        Map<String, Integer> get(
+                final String packageName,
+                final String defType
+        ) {
+            ConcurrentHashMap<String, Map<String, Integer>> types = mPackages.get(packageName);
+            if (types == null) {
+                types = new ConcurrentHashMap<>();
+                ConcurrentHashMap<String, Map<String, Integer>> previous = mPackages.putIfAbsent(packageName, types);
+                if (previous != null) types = previous;
+            }
+            Map<String, Integer> identifiers = types.get(defType);
+            if (identifiers == null) {
+                identifiers = new ConcurrentHashMap<>();
+                Map<String, Integer> previous = types.putIfAbsent(defType, identifiers);
+                if (previous != null) identifiers = previous;
+            }
+            return identifiers;
+        }
+
+        /**
+         * 清空缓存
+         */
+        void clear() {
+            mPackages.clear();
+        }
+    }
+}
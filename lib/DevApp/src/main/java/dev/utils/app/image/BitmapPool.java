@@ -0,0 +1,383 @@
+package dev.utils.app.image;
+
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.Color;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * detail: Bitmap 复用池
+ * @author Ttt
+ * <pre>
+ *     按 Bitmap.Config + 内存字节数分组存储可复用 Bitmap, 超出字节上限时按最近最少使用释放
+ *     配合 {@link BitmapFactory.Options#inBitmap} 使用, 避免每次解码都重新分配 Bitmap
+ *     <p></p>
+ *     复用条件 ( API 19+ ): 相同 Config 且内存字节数不小于所需字节数
+ *     ( 不超过所需字节数 {@link #MAX_SIZE_MULTIPLE} 倍, 避免小图长期占用大块内存 )
+ *     <p></p>
+ *     BitmapPool pool = new BitmapPool(maxSize);
+ *     Bitmap bitmap = ImageUtils.getBitmap(filePath, maxWidth, maxHeight, pool);
+ *     // 不再使用时放回复用池 ( 放回后禁止再使用该 Bitmap )
+ *     pool.put(bitmap);
+ * </pre>
+ */
+public final class BitmapPool {
+
+    // 复用 Bitmap 内存字节数最大倍数
+    public static final int MAX_SIZE_MULTIPLE = 8;
+
+    // 字节上限
+    private       long                                                   mMaxSize;
+    // 当前字节数
+    private       long                                                   mCurrentSize;
+    // 分组存储 ( Config -> 内存字节数 -> Bitmap )
+    private final Map<Bitmap.Config, TreeMap<Integer, ArrayDeque<Bitmap>>> mGroups = new HashMap<>();
+    // 放入顺序 ( 最近最少使用在前 )
+    private final LinkedHashMap<Bitmap, Integer>                         mLruMap = new LinkedHashMap<>();
+
+    // 命中次数
+    private long mHitCount;
+    // 未命中次数
+    private long mMissCount;
+    // 放入次数
+    private long mPutCount;
+    // 释放次数
+    private long mEvictionCount;
+
+    /**
+     * 构造函数
+     * @param maxSize 字节上限
+     */
+    public BitmapPool(final long maxSize) {
+        this.mMaxSize = Math.max(maxSize, 0L);
+    }
+
+    // =============
+    // = 对外公开方法 =
+    // =============
+
+    /**
+     * 放入 Bitmap
+     * <pre>
+     *     放入后禁止再使用该 Bitmap, 无法复用的 Bitmap 会直接 recycle
+     * </pre>
+     * @param bitmap 待复用 Bitmap
+     * @return {@code true} 放入成功, {@code false} 无法复用 ( 已 recycle )
+     */
+    public synchronized boolean put(final Bitmap bitmap) {
+        if (bitmap == null || bitmap.isRecycled()) return false;
+        // 已存在复用池中
+        if (mLruMap.containsKey(bitmap)) return false;
+        int size = bitmap.getAllocationByteCount();
+        if (!bitmap.isMutable() || size > mMaxSize || !isReusable(bitmap.getConfig())) {
+            bitmap.recycle();
+            return false;
+        }
+        TreeMap<Integer, ArrayDeque<Bitmap>> group = mGroups.get(bitmap.getConfig());
+        if (group == null) {
+            group = new TreeMap<>();
+            mGroups.put(bitmap.getConfig(), group);
+        }
+        ArrayDeque<Bitmap> deque = group.get(size);
+        if (deque == null) {
+            deque = new ArrayDeque<>();
+            group.put(size, deque);
+        }
+        deque.addLast(bitmap);
+        mLruMap.put(bitmap, size);
+        mCurrentSize += size;
+        mPutCount++;
+        trimToSize(mMaxSize);
+        return true;
+    }
+
+    /**
+     * 获取可复用 Bitmap ( 像素已清空为透明 )
+     * @param width  宽度
+     * @param height 高度
+     * @param config {@link Bitmap.Config}
+     * @return 可复用 Bitmap, 无可复用则新建
+     */
+    public Bitmap get(
+            final int width,
+            final int height,
+            final Bitmap.Config config
+    ) {
+        Bitmap bitmap = getDirty(width, height, config);
+        if (bitmap != null) {
+            bitmap.eraseColor(Color.TRANSPARENT);
+            return bitmap;
+        }
+        return Bitmap.createBitmap(width, height, getConfig(config));
+    }
+
+    /**
+     * 获取可复用 Bitmap ( 保留原有像素, 用于解码覆盖 )
+     * @param width  宽度
+     * @param height 高度
+     * @param config {@link Bitmap.Config}
+     * @return 可复用 Bitmap, 无可复用则返回 null
+     */
+    public synchronized Bitmap getDirty(
+            final int width,
+            final int height,
+            final Bitmap.Config config
+    ) {
+        if (width <= 0 || height <= 0) return null;
+        Bitmap.Config newConfig = getConfig(config);
+        Bitmap        bitmap    = take(newConfig, getByteCount(width, height, newConfig));
+        if (bitmap == null) {
+            mMissCount++;
+            return null;
+        }
+        mHitCount++;
+        try {
+            bitmap.reconfigure(width, height, newConfig);
+        } catch (Exception e) {
+            bitmap.recycle();
+            return null;
+        }
+        return bitmap;
+    }
+
+    /**
+     * 设置解码复用 Bitmap
+     * <pre>
+     *     需在 inJustDecodeBounds 获取宽高并设置 inSampleSize 后调用
+     *     解码失败 ( 不支持复用 ) 时需将 inBitmap 置为 null 并重新解码
+     * </pre>
+     * @param options {@link BitmapFactory.Options}
+     * @return {@code true} 已设置复用 Bitmap, {@code false} 无可复用
+     */
+    public boolean setInBitmap(final BitmapFactory.Options options) {
+        if (options == null || options.outWidth <= 0 || options.outHeight <= 0) {
+            return false;
+        }
+        int sampleSize = Math.max(options.inSampleSize, 1);
+        options.inMutable = true;
+        options.inBitmap  = getDirty(
+                ceilDivide(options.outWidth, sampleSize),
+                ceilDivide(options.outHeight, sampleSize),
+                options.inPreferredConfig
+        );
+        return options.inBitmap != null;
+    }
+
+    /**
+     * 释放至指定字节数
+     * @param size 字节数
+     */
+    public synchronized void trimToSize(final long size) {
+        Iterator<Map.Entry<Bitmap, Integer>> iterator = mLruMap.entrySet().iterator();
+        while (mCurrentSize > size && iterator.hasNext()) {
+            Map.Entry<Bitmap, Integer> entry = iterator.next();
+            Bitmap                     bitmap = entry.getKey();
+            iterator.remove();
+            removeFromGroup(bitmap, entry.getValue());
+            mCurrentSize -= entry.getValue();
+            mEvictionCount++;
+            bitmap.recycle();
+        }
+    }
+
+    /**
+     * 清空复用池
+     */
+    public void clear() {
+        trimToSize(0L);
+    }
+
+    /**
+     * 设置字节上限
+     * @param maxSize 字节上限
+     */
+    public synchronized void setMaxSize(final long maxSize) {
+        this.mMaxSize = Math.max(maxSize, 0L);
+        trimToSize(mMaxSize);
+    }
+
+    /**
+     * 获取字节上限
+     * @return 字节上限
+     */
+    public synchronized long getMaxSize() {
+        return mMaxSize;
+    }
+
+    /**
+     * 获取当前字节数
+     * @return 当前字节数
+     */
+    public synchronized long getCurrentSize() {
+        return mCurrentSize;
+    }
+
+    /**
+     * 获取复用 Bitmap 数量
+     * @return 复用 Bitmap 数量
+     */
+    public synchronized int getCount() {
+        return mLruMap.size();
+    }
+
+    /**
+     * 获取命中次数
+     * @return 命中次数
+     */
+    public synchronized long getHitCount() {
+        return mHitCount;
+    }
+
+    /**
+     * 获取未命中次数
+     * @return 未命中次数
+     */
+    public synchronized long getMissCount() {
+        return mMissCount;
+    }
+
+    /**
+     * 获取放入次数
+     * @return 放入次数
+     */
+    public synchronized long getPutCount() {
+        return mPutCount;
+    }
+
+    /**
+     * 获取释放次数
+     * @return 释放次数
+     */
+    public synchronized long getEvictionCount() {
+        return mEvictionCount;
+    }
+
+    /**
+     * 获取命中率
+     * @return 命中率 [0, 1]
+     */
+    public synchronized float getHitRate() {
+        long total = mHitCount + mMissCount;
+        return total == 0L ? 0F : (float) mHitCount / total;
+    }
+
+    // =
+
+    /**
+     * 获取 Bitmap 所需内存字节数
+     * @param width  宽度
+     * @param height 高度
+     * @param config {@link Bitmap.Config}
+     * @return 所需内存字节数
+     */
+    public static int getByteCount(
+            final int width,
+            final int height,
+            final Bitmap.Config config
+    ) {
+        return width * height * getBytesPerPixel(config);
+    }
+
+    /**
+     * 获取每像素字节数
+     * @param config {@link Bitmap.Config}
+     * @return 每像素字节数
+     */
+    public static int getBytesPerPixel(final Bitmap.Config config) {
+        if (config == null) return 4;
+        switch (config) {
+            case ALPHA_8:
+                return 1;
+            case RGB_565:
+            case ARGB_4444:
+                return 2;
+            case ARGB_8888:
+                return 4;
+            default:
+                // RGBA_F16 ( API 26 )
+                return "RGBA_F16".equals(config.name()) ? 8 : 4;
+        }
+    }
+
+    // ==========
+    // = 内部方法 =
+    // ==========
+
+    /**
+     * 取出满足所需字节数的 Bitmap
+     * @param config    {@link Bitmap.Config}
+     * @param byteCount 所需字节数
+     * @return 可复用 Bitmap
+     */
+    private Bitmap take(
+            final Bitmap.Config config,
+            final int byteCount
+    ) {
+        TreeMap<Integer, ArrayDeque<Bitmap>> group = mGroups.get(config);
+        if (group == null) return null;
+        Map.Entry<Integer, ArrayDeque<Bitmap>> entry = group.ceilingEntry(byteCount);
+        if (entry == null || entry.getKey() > (long) byteCount * MAX_SIZE_MULTIPLE) {
+            return null;
+        }
+        Bitmap bitmap = entry.getValue().pollLast();
+        if (entry.getValue().isEmpty()) group.remove(entry.getKey());
+        mLruMap.remove(bitmap);
+        mCurrentSize -= entry.getKey();
+        return bitmap;
+    }
+
+    /**
+     * 从分组中移除 Bitmap
+     * @param bitmap 复用 Bitmap
+     * @param size   内存字节数
+     */
+    private void removeFromGroup(
+            final Bitmap bitmap,
+            final int size
+    ) {
+        TreeMap<Integer, ArrayDeque<Bitmap>> group = mGroups.get(bitmap.getConfig());
+        if (group == null) return;
+        ArrayDeque<Bitmap> deque = group.get(size);
+        if (deque == null) return;
+        deque.remove(bitmap);
+        if (deque.isEmpty()) group.remove(size);
+    }
+
+    /**
+     * 是否可复用 Config
+     * @param config {@link Bitmap.Config}
+     * @return {@code true} yes, {@code false} no
+     */
+    private static boolean isReusable(final Bitmap.Config config) {
+        // HARDWARE ( API 26 ) 无法复用
+        return config != null && !"HARDWARE".equals(config.name());
+    }
+
+    /**
+     * 获取 Config ( 默认 ARGB_8888 )
+     * @param config {@link Bitmap.Config}
+     * @return {@link Bitmap.Config}
+     */
+    private static Bitmap.Config getConfig(final Bitmap.Config config) {
+        return config != null ? config : Bitmap.Config.ARGB_8888;
+    }
+
+    /**
+     * 向上取整除法
+     * @param value   被除数
+     * @param divisor 除数
+     * @return 向上取整结果
+     */
+    private static int ceilDivide(
+            final int value,
+            final int divisor
+    ) {
+        return (value + divisor - 1) / divisor;
+    }
+}
@@ -1425,6 +1425,10 @@ public final class BitmapUtils {
 
     /**
      * 按质量压缩 ( 图片大小 )
+     * <pre>
+     *     优先降低质量, 最低质量仍超出最大字节数时, 会同时缩小宽高直至满足
+     *     ( 宽高无法继续缩小时返回最小编码结果 )
+     * </pre>
      * @param bitmap      待操作源图片
      * @param format      图片压缩格式
      * @param maxByteSize 允许最大值字节数
@@ -1437,43 +1441,13 @@ public final class BitmapUtils {
             final long maxByteSize,
             final BitmapFactory.Options options
     ) {
-        if (isEmpty(bitmap) || maxByteSize <= 0) return null;
+        if (isEmpty(bitmap) || format == null || maxByteSize <= 0) return null;
         try {
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            bitmap.compress(format, 100, baos);
-            byte[] data;
-            if (baos.size() <= maxByteSize) { // 最好质量的不大于最大字节, 则返回最佳质量
-                data = baos.toByteArray();
-            } else {
-                baos.reset();
-                bitmap.compress(format, 0, baos);
-                if (baos.size() >= maxByteSize) { // 最差质量不小于最大字节, 则返回最差质量
-                    data = baos.toByteArray();
-                } else { // 二分法寻找最佳质量
-                    int start = 0;
-                    int end   = 100;
-                    int mid   = 0;
-                    while (start < end) {
-                        mid = (start + end) / 2;
-                        baos.reset();
-                        bitmap.compress(format, mid, baos);
-                        int len = baos.size();
-                        if (len == maxByteSize) {
-                            break;
-                        } else if (len > maxByteSize) {
-                            end = mid - 1;
-                        } else {
-                            start = mid + 1;
-                        }
-                    }
-                    if (end == mid - 1) {
-                        baos.reset();
-                        bitmap.compress(format, start, baos);
-                    }
-                    data = baos.toByteArray();
-                }
-            }
-            return BitmapFactory.decodeByteArray(data, 0, data.length, options);
+            SizeEncoder encoder = new SizeEncoder(bitmap, format, maxByteSize);
+            encoder.encodeScaled(bitmap);
+            return BitmapFactory.decodeByteArray(
+                    encoder.getData(), 0, encoder.getSize(), options
+            );
         } catch (Exception e) {
             LogPrintUtils.eTag(TAG, e, "compressByByteSize");
         }
@@ -1619,40 +1593,11 @@ public final class BitmapUtils {
             final Bitmap.CompressFormat format,
             final long maxByteSize
     ) {
-        if (isEmpty(bitmap) || maxByteSize <= 0) return -1;
+        if (isEmpty(bitmap) || format == null || maxByteSize <= 0) return -1;
         try {
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            bitmap.compress(format, 100, baos);
-            if (baos.size() <= maxByteSize) { // 最好质量的不大于最大字节, 则返回最佳质量
-                return 100;
-            } else {
-                baos.reset();
-                bitmap.compress(format, 0, baos);
-                if (baos.size() >= maxByteSize) { // 最差质量不小于最大字节, 则返回最差质量
-                    return 0;
-                } else { // 二分法寻找最佳质量
-                    int start = 0;
-                    int end   = 100;
-                    int mid   = 0;
-                    while (start < end) {
-                        mid = (start + end) / 2;
-                        baos.reset();
-                        bitmap.compress(format, mid, baos);
-                        int len = baos.size();
-                        if (len == maxByteSize) {
-                            return mid;
-                        } else if (len > maxByteSize) {
-                            end = mid - 1;
-                        } else {
-                            start = mid + 1;
-                        }
-                    }
-                    if (end == mid - 1) {
-                        return start;
-                    }
-                    return mid;
-                }
-            }
+            SizeEncoder encoder = new SizeEncoder(bitmap, format, maxByteSize);
+            // 最差质量仍超出最大字节, 则返回最差质量
+            return Math.max(encoder.encode(bitmap), 0);
         } catch (Exception e) {
             LogPrintUtils.eTag(TAG, e, "calculateQuality");
         }
@@ -1709,4 +1654,228 @@ public final class BitmapUtils {
         }
         return null;
     }
+
+    // ==========
+    // = 内部方法 =
+    // ==========
+
+    /**
+     * detail: 可复用编码缓存
+     * @author Ttt
+     * <pre>
+     *     直接读取内部数组, 避免 toByteArray 拷贝
+     * </pre>
+     */
+    private static final class EncodeBuffer
+            extends ByteArrayOutputStream {
+
+        EncodeBuffer(final int size) {
+            super(size);
+        }
+
+        byte[] getBuffer() {
+            return buf;
+        }
+    }
+
+    /**
+     * detail: 指定大小编码器
+     * @author Ttt
+     * <pre>
+     *     首次以最高质量编码并记录每像素字节数, 通过质量大小比例经验曲线预测目标质量
+     *     后续在 ( 满足质量, 超出质量 ) 区间内根据实测大小修正预测, 预测未能使区间减半时改用二分
+     *     最低质量仍超出时, 根据每像素字节数计算缩放比例缩小宽高后重新查找
+     *     探测结果使用两个缓存交替写入, 满足条件的结果无需重新编码
+     * </pre>
+     */
+    private static final class SizeEncoder {
+
+        // 各质量 ( 0, 10 .. 100 ) 编码大小与最高质量编码大小比例经验值
+        private static final float[] QUALITY_RATIO = {
+                0.04F, 0.06F, 0.085F, 0.11F, 0.135F, 0.155F,
+                0.18F, 0.21F, 0.27F, 0.40F, 1.0F
+        };
+
+        // 最多缩小宽高次数
+        private static final int   MAX_SCALE_COUNT = 8;
+        // 缩小宽高预留比例 ( 避免缩小后仍略微超出 )
+        private static final float SCALE_RESERVE   = 0.9F;
+
+        // 图片压缩格式
+        private final Bitmap.CompressFormat mFormat;
+        // 允许最大值字节数
+        private final long                  mMaxByteSize;
+        // 是否无损格式 ( 质量参数不影响大小 )
+        private final boolean               mLossless;
+
+        // 当前探测编码缓存
+        private EncodeBuffer mCurrent;
+        // 最佳编码缓存
+        private EncodeBuffer mBest;
+        // 最高质量每像素字节数 ( 首次编码后计算 )
+        private float        mBytesPerPixel = -1F;
+
+        SizeEncoder(
+                final Bitmap bitmap,
+                final Bitmap.CompressFormat format,
+                final long maxByteSize
+        ) {
+            this.mFormat      = format;
+            this.mMaxByteSize = maxByteSize;
+            this.mLossless    = format == Bitmap.CompressFormat.PNG
+                    || "WEBP_LOSSLESS".equals(format.name());
+            // 初始容量不超过允许最大值字节数
+            int capacity = (int) Math.min(
+                    maxByteSize, Math.max(bitmap.getByteCount() >> 2, 1024)
+            ) + 1024;
+            this.mCurrent = new EncodeBuffer(capacity);
+            this.mBest    = new EncodeBuffer(capacity);
+        }
+
+        /**
+         * 获取最佳编码数据
+         * @return 最佳编码数据 ( 有效长度为 {@link #getSize()} )
+         */
+        byte[] getData() {
+            return mBest.getBuffer();
+        }
+
+        /**
+         * 获取最佳编码数据长度
+         * @return 最佳编码数据长度
+         */
+        int getSize() {
+            return mBest.size();
+        }
+
+        /**
+         * 编码至允许最大值字节数内 ( 必要时缩小宽高 )
+         * @param bitmap 待操作源图片
+         * @return {@code true} success, {@code false} fail ( 保留最小编码结果 )
+         */
+        boolean encodeScaled(final Bitmap bitmap) {
+            Bitmap current = bitmap;
+            try {
+                for (int i = 0; ; i++) {
+                    if (encode(current) >= 0) return true;
+                    if (i >= MAX_SCALE_COUNT) return false;
+                    // 编码大小与像素数近似成正比
+                    double scale = Math.sqrt(
+                            (double) mMaxByteSize / mBest.size()
+                    ) * SCALE_RESERVE;
+                    int width  = Math.max((int) (current.getWidth() * scale), 1);
+                    int height = Math.max((int) (current.getHeight() * scale), 1);
+                    if (width == current.getWidth() && height == current.getHeight()) {
+                        return false;
+                    }
+                    Bitmap scaled = Bitmap.createScaledBitmap(current, width, height, true);
+                    if (current != bitmap) current.recycle();
+                    current = scaled;
+                }
+            } finally {
+                if (current != bitmap) current.recycle();
+            }
+        }
+
+        /**
+         * 查找允许最大值字节数内的最佳质量并编码
+         * @param bitmap 待操作源图片
+         * @return 最佳质量, 最低质量仍超出则返回 -1 ( 保留最低质量编码结果 )
+         */
+        int encode(final Bitmap bitmap) {
+            long pixels = (long) bitmap.getWidth() * bitmap.getHeight();
+            // 预测最高质量编码大小
+            float anchor;
+            int   fit  = -1;
+            int   over = 101;
+            if (mBytesPerPixel < 0F || mLossless
+                    || mBytesPerPixel * pixels <= mMaxByteSize * 2F) {
+                int size = compress(bitmap, 100);
+                if (mBytesPerPixel < 0F) mBytesPerPixel = (float) size / pixels;
+                keep();
+                if (size <= mMaxByteSize) return 100;
+                if (mLossless) return -1;
+                anchor = size;
+                over   = 100;
+            } else {
+                anchor = mBytesPerPixel * pixels;
+            }
+            boolean bisect = false;
+            while (over - fit > 1) {
+                int quality;
+                if (bisect) {
+                    quality = (fit + over) / 2;
+                } else {
+                    quality = predictQuality(mMaxByteSize / anchor);
+                    quality = Math.max(fit + 1, Math.min(over - 1, quality));
+                }
+                int size = compress(bitmap, quality);
+                // 根据实测大小修正最高质量编码大小
+                anchor = size / qualityRatio(quality);
+                int width = over - fit;
+                if (size <= mMaxByteSize) {
+                    fit = quality;
+                    keep();
+                    if (size == mMaxByteSize) break;
+                } else {
+                    over = quality;
+                    if (quality == 0) keep();
+                }
+                bisect = (over - fit) * 2 > width;
+            }
+            return fit;
+        }
+
+        /**
+         * 编码至当前探测缓存
+         * @param bitmap  待操作源图片
+         * @param quality 质量
+         * @return 编码大小
+         */
+        private int compress(
+                final Bitmap bitmap,
+                final int quality
+        ) {
+            mCurrent.reset();
+            bitmap.compress(mFormat, quality, mCurrent);
+            return mCurrent.size();
+        }
+
+        /**
+         * 保存当前探测编码结果
+         */
+        private void keep() {
+            EncodeBuffer temp = mBest;
+            mBest    = mCurrent;
+            mCurrent = temp;
+        }
+
+        /**
+         * 获取质量对应编码大小比例
+         * @param quality 质量
+         * @return 与最高质量编码大小比例
+         */
+        private static float qualityRatio(final int quality) {
+            int index = Math.min(quality / 10, QUALITY_RATIO.length - 2);
+            float offset = (quality - index * 10) / 10F;
+            // 对数插值
+            return (float) Math.exp(
+                    Math.log(QUALITY_RATIO[index]) * (1F - offset)
+                            + Math.log(QUALITY_RATIO[index + 1]) * offset
+            );
+        }
+
+        /**
+         * 根据编码大小比例预测质量
+         * @param ratio 与最高质量编码大小比例
+         * @return 预测质量
+         */
+        private static int predictQuality(final float ratio) {
+            if (ratio <= QUALITY_RATIO[0]) return 0;
+            for (int quality = 100; quality > 0; quality--) {
+                if (qualityRatio(quality) <= ratio) return quality;
+            }
+            return 0;
+        }
+    }
 }
\ No newline at end of file
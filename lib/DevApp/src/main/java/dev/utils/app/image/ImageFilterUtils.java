@@ -868,6 +868,8 @@ public final class ImageFilterUtils {
      * 将 YUV 格式的图片的源数据从横屏模式转为竖屏模式
      * <pre>
      *     注: 将源图片的宽高互换就是新图片的宽高
+     *     完整 NV21 帧数据同时旋转 VU 平面, 否则仅旋转 Y 平面
+     *     需要复用 buffer、旋转其他角度可使用 {@link YUVUtils#rotate}
      * </pre>
      * @param sourceData YUV 格式的图片的源数据
      * @param width      宽
@@ -880,12 +882,15 @@ public final class ImageFilterUtils {
             final int height
     ) {
         if (sourceData == null || sourceData.length == 0) return null;
-        byte[] rotatedData = new byte[sourceData.length];
-        for (int y = 0; y < height; y++) {
-            for (int x = 0; x < width; x++) {
-                rotatedData[x * height + height - y - 1] = sourceData[x + y * width];
-            }
+        if (YUVUtils.isFrame(sourceData, width, height)) {
+            byte[] rotatedData = new byte[sourceData.length];
+            return YUVUtils.rotate(
+                    sourceData, width, height, 90, YUVUtils.NV21, rotatedData
+            );
         }
-        return rotatedData;
+        if (width <= 0 || height <= 0 || sourceData.length < width * height) return null;
+        return YUVUtils.rotatePlane(
+                sourceData, width, height, 90, new byte[sourceData.length]
+        );
     }
 }
\ No newline at end of file
@@ -4,10 +4,12 @@ import android.content.Context;
 import android.content.res.Resources;
 import android.graphics.Bitmap;
 import android.graphics.BitmapFactory;
+import android.graphics.BitmapRegionDecoder;
 import android.graphics.Canvas;
 import android.graphics.ColorFilter;
 import android.graphics.PixelFormat;
 import android.graphics.PorterDuff;
+import android.graphics.Rect;
 import android.graphics.drawable.BitmapDrawable;
 import android.graphics.drawable.Drawable;
 import android.graphics.drawable.NinePatchDrawable;
@@ -23,6 +25,7 @@ import java.io.File;
 import java.io.FileDescriptor;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 
@@ -1134,6 +1137,86 @@ public final class ImageUtils {
 
     // =
 
+    /**
+     * 获取 Bitmap ( 复用 Bitmap 解码 )
+     * @param filePath  文件路径
+     * @param maxWidth  最大宽度
+     * @param maxHeight 最大高度
+     * @param pool      {@link BitmapPool}
+     * @return {@link Bitmap}
+     */
+    public static Bitmap getBitmap(
+            final String filePath,
+            final int maxWidth,
+            final int maxHeight,
+            final BitmapPool pool
+    ) {
+        if (filePath == null) return null;
+        try {
+            return decodeSampled(
+                    options -> BitmapFactory.decodeFile(filePath, options),
+                    maxWidth, maxHeight, pool
+            );
+        } catch (Exception e) {
+            LogPrintUtils.eTag(TAG, e, "getBitmap");
+            return null;
+        }
+    }
+
+    /**
+     * 获取 Bitmap ( 复用 Bitmap 解码 )
+     * @param fd        文件描述
+     * @param maxWidth  最大宽度
+     * @param maxHeight 最大高度
+     * @param pool      {@link BitmapPool}
+     * @return {@link Bitmap}
+     */
+    public static Bitmap getBitmap(
+            final FileDescriptor fd,
+            final int maxWidth,
+            final int maxHeight,
+            final BitmapPool pool
+    ) {
+        if (fd == null) return null;
+        try {
+            return decodeSampled(
+                    options -> BitmapFactory.decodeFileDescriptor(fd, null, options),
+                    maxWidth, maxHeight, pool
+            );
+        } catch (Exception e) {
+            LogPrintUtils.eTag(TAG, e, "getBitmap");
+            return null;
+        }
+    }
+
+    /**
+     * 获取 Bitmap ( 复用 Bitmap 解码 )
+     * @param data      byte[]
+     * @param maxWidth  最大宽度
+     * @param maxHeight 最大高度
+     * @param pool      {@link BitmapPool}
+     * @return {@link Bitmap}
+     */
+    public static Bitmap getBitmap(
+            final byte[] data,
+            final int maxWidth,
+            final int maxHeight,
+            final BitmapPool pool
+    ) {
+        if (data == null) return null;
+        try {
+            return decodeSampled(
+                    options -> BitmapFactory.decodeByteArray(data, 0, data.length, options),
+                    maxWidth, maxHeight, pool
+            );
+        } catch (Exception e) {
+            LogPrintUtils.eTag(TAG, e, "getBitmap");
+            return null;
+        }
+    }
+
+    // =
+
     /**
      * 通过 View 绘制为 Bitmap
      * @param view {@link View}
@@ -1200,6 +1283,182 @@ public final class ImageUtils {
         return null;
     }
 
+    // ==========
+    // = 区域解码 =
+    // ==========
+
+    /**
+     * detail: 分块解码回调
+     * @author Ttt
+     */
+    public interface TileCallback {
+
+        /**
+         * 分块解码完成
+         * <pre>
+         *     传入 {@link BitmapPool} 时, 回调结束后 tile 会放回复用池, 禁止在回调外持有
+         * </pre>
+         * @param tile   分块 Bitmap
+         * @param region 分块在原图中的区域
+         * @return {@code true} 继续解码, {@code false} 停止解码
+         */
+        boolean onTile(
+                Bitmap tile,
+                Rect region
+        );
+    }
+
+    /**
+     * 解码指定区域 ( 无需解码整张图片 )
+     * @param filePath   文件路径
+     * @param region     原图中的区域
+     * @param sampleSize 采样率大小
+     * @param pool       {@link BitmapPool}
+     * @return {@link Bitmap}
+     */
+    public static Bitmap decodeRegion(
+            final String filePath,
+            final Rect region,
+            final int sampleSize,
+            final BitmapPool pool
+    ) {
+        if (filePath == null || region == null) return null;
+        BitmapRegionDecoder decoder = null;
+        try {
+            decoder = newRegionDecoder(filePath);
+            return decodeRegion(decoder, region, sampleSize, pool);
+        } catch (Exception e) {
+            LogPrintUtils.eTag(TAG, e, "decodeRegion");
+            return null;
+        } finally {
+            if (decoder != null) decoder.recycle();
+        }
+    }
+
+    /**
+     * 解码指定区域 ( 无需解码整张图片 )
+     * <pre>
+     *     最大宽高只是阀值, 实际解码出来的图片将小于等于这个值
+     * </pre>
+     * @param filePath  文件路径
+     * @param region    原图中的区域
+     * @param maxWidth  最大宽度
+     * @param maxHeight 最大高度
+     * @param pool      {@link BitmapPool}
+     * @return {@link Bitmap}
+     */
+    public static Bitmap decodeRegion(
+            final String filePath,
+            final Rect region,
+            final int maxWidth,
+            final int maxHeight,
+            final BitmapPool pool
+    ) {
+        if (region == null) return null;
+        return decodeRegion(
+                filePath, region,
+                calculateInSampleSize(region.width(), region.height(), maxWidth, maxHeight),
+                pool
+        );
+    }
+
+    /**
+     * 获取居中裁剪缩略图 ( 只解码裁剪区域 )
+     * <pre>
+     *     按目标宽高比例裁剪原图居中区域, 适用于超大图片生成缩略图
+     *     实际解码出来的图片将小于等于目标宽高
+     * </pre>
+     * @param filePath 文件路径
+     * @param width    目标宽度
+     * @param height   目标高度
+     * @param pool     {@link BitmapPool}
+     * @return {@link Bitmap}
+     */
+    public static Bitmap getCenterCropThumbnail(
+            final String filePath,
+            final int width,
+            final int height,
+            final BitmapPool pool
+    ) {
+        if (filePath == null || width <= 0 || height <= 0) return null;
+        BitmapRegionDecoder decoder = null;
+        try {
+            decoder = newRegionDecoder(filePath);
+            int imageWidth  = decoder.getWidth();
+            int imageHeight = decoder.getHeight();
+            // 按目标宽高比例计算裁剪区域
+            int cropWidth  = imageWidth;
+            int cropHeight = (int) ((long) imageWidth * height / width);
+            if (cropHeight > imageHeight) {
+                cropHeight = imageHeight;
+                cropWidth  = (int) ((long) imageHeight * width / height);
+            }
+            int  left   = (imageWidth - cropWidth) / 2;
+            int  top    = (imageHeight - cropHeight) / 2;
+            Rect region = new Rect(left, top, left + cropWidth, top + cropHeight);
+            return decodeRegion(
+                    decoder, region,
+                    calculateInSampleSize(cropWidth, cropHeight, width, height),
+                    pool
+            );
+        } catch (Exception e) {
+            LogPrintUtils.eTag(TAG, e, "getCenterCropThumbnail");
+            return null;
+        } finally {
+            if (decoder != null) decoder.recycle();
+        }
+    }
+
+    /**
+     * 分块解码整张图片
+     * <pre>
+     *     同一 BitmapRegionDecoder 依次解码各分块, 内存占用只与分块大小相关
+     *     传入 {@link BitmapPool} 时各分块 Bitmap 循环复用
+     * </pre>
+     * @param filePath   文件路径
+     * @param tileSize   分块大小 ( 原图像素 )
+     * @param sampleSize 采样率大小
+     * @param pool       {@link BitmapPool}
+     * @param callback   分块解码回调
+     * @return {@code true} 全部分块解码完成, {@code false} 失败或中途停止
+     */
+    public static boolean decodeTiles(
+            final String filePath,
+            final int tileSize,
+            final int sampleSize,
+            final BitmapPool pool,
+            final TileCallback callback
+    ) {
+        if (filePath == null || tileSize <= 0 || callback == null) return false;
+        BitmapRegionDecoder decoder = null;
+        try {
+            decoder = newRegionDecoder(filePath);
+            int  imageWidth  = decoder.getWidth();
+            int  imageHeight = decoder.getHeight();
+            Rect region      = new Rect();
+            for (int top = 0; top < imageHeight; top += tileSize) {
+                for (int left = 0; left < imageWidth; left += tileSize) {
+                    region.set(
+                            left, top,
+                            Math.min(left + tileSize, imageWidth),
+                            Math.min(top + tileSize, imageHeight)
+                    );
+                    Bitmap tile = decodeRegion(decoder, region, sampleSize, pool);
+                    if (tile == null) return false;
+                    boolean next = callback.onTile(tile, new Rect(region));
+                    if (pool != null) pool.put(tile);
+                    if (!next) return false;
+                }
+            }
+            return true;
+        } catch (Exception e) {
+            LogPrintUtils.eTag(TAG, e, "decodeTiles");
+            return false;
+        } finally {
+            if (decoder != null) decoder.recycle();
+        }
+    }
+
     // =======================
     // = Bitmap、Drawable 转换 =
     // =======================
@@ -1430,4 +1689,131 @@ public final class ImageUtils {
         }
         return drawable;
     }
+
+    // ==========
+    // = 内部方法 =
+    // ==========
+
+    /**
+     * detail: Bitmap 解码方式
+     * @author Ttt
+     */
+    private interface BitmapDecoder {
+
+        /**
+         * 解码 Bitmap
+         * @param options {@link BitmapFactory.Options}
+         * @return {@link Bitmap}
+         */
+        Bitmap decode(BitmapFactory.Options options);
+    }
+
+    /**
+     * 按采样率解码 ( 复用 Bitmap )
+     * @param decoder   Bitmap 解码方式
+     * @param maxWidth  最大宽度
+     * @param maxHeight 最大高度
+     * @param pool      {@link BitmapPool}
+     * @return {@link Bitmap}
+     */
+    private static Bitmap decodeSampled(
+            final BitmapDecoder decoder,
+            final int maxWidth,
+            final int maxHeight,
+            final BitmapPool pool
+    ) {
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inJustDecodeBounds = true;
+        decoder.decode(options);
+        options.inSampleSize       = BitmapUtils.calculateInSampleSize(
+                options, maxWidth, maxHeight
+        );
+        options.inJustDecodeBounds = false;
+        if (pool == null || !pool.setInBitmap(options)) {
+            return decoder.decode(options);
+        }
+        Bitmap inBitmap = options.inBitmap;
+        try {
+            Bitmap bitmap = decoder.decode(options);
+            if (bitmap != null) return bitmap;
+        } catch (IllegalArgumentException ignored) {
+            // Problem decoding into existing bitmap
+        }
+        // 无法复用则放回复用池并重新解码
+        options.inBitmap = null;
+        pool.put(inBitmap);
+        return decoder.decode(options);
+    }
+
+    /**
+     * 创建区域解码器
+     * @param filePath 文件路径
+     * @return {@link BitmapRegionDecoder}
+     * @throws IOException 不支持的图片格式
+     */
+    @SuppressWarnings("deprecation")
+    private static BitmapRegionDecoder newRegionDecoder(final String filePath)
+            throws IOException {
+        return BitmapRegionDecoder.newInstance(filePath, false);
+    }
+
+    /**
+     * 解码指定区域 ( 复用 Bitmap )
+     * @param decoder    {@link BitmapRegionDecoder}
+     * @param region     原图中的区域
+     * @param sampleSize 采样率大小
+     * @param pool       {@link BitmapPool}
+     * @return {@link Bitmap}
+     */
+    private static Bitmap decodeRegion(
+            final BitmapRegionDecoder decoder,
+            final Rect region,
+            final int sampleSize,
+            final BitmapPool pool
+    ) {
+        // 限制在原图范围内
+        Rect rect = new Rect(region);
+        if (!rect.intersect(0, 0, decoder.getWidth(), decoder.getHeight())) return null;
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inSampleSize = Math.max(sampleSize, 1);
+        if (pool == null) return decoder.decodeRegion(rect, options);
+        options.inMutable = true;
+        options.inBitmap  = pool.getDirty(
+                (rect.width() + options.inSampleSize - 1) / options.inSampleSize,
+                (rect.height() + options.inSampleSize - 1) / options.inSampleSize,
+                options.inPreferredConfig
+        );
+        if (options.inBitmap == null) return decoder.decodeRegion(rect, options);
+        Bitmap inBitmap = options.inBitmap;
+        try {
+            Bitmap bitmap = decoder.decodeRegion(rect, options);
+            if (bitmap != null) return bitmap;
+        } catch (IllegalArgumentException ignored) {
+            // Problem decoding into existing bitmap
+        }
+        // 无法复用则放回复用池并重新解码
+        options.inBitmap = null;
+        pool.put(inBitmap);
+        return decoder.decodeRegion(rect, options);
+    }
+
+    /**
+     * 计算采样大小
+     * @param width     宽度
+     * @param height    高度
+     * @param maxWidth  最大宽度
+     * @param maxHeight 最大高度
+     * @return 采样大小
+     */
+    private static int calculateInSampleSize(
+            final int width,
+            final int height,
+            final int maxWidth,
+            final int maxHeight
+    ) {
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.outWidth  = width;
+        options.outHeight = height;
+        return BitmapUtils.calculateInSampleSize(options, maxWidth, maxHeight);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,860 @@
+package dev.utils.app.image;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import dev.utils.LogPrintUtils;
+
+/**
+ * detail: YUV 帧数据处理工具类
+ * @author Ttt
+ * <pre>
+ *     支持 NV21 ( Y + VU 交错 ) 与 I420 ( Y + U + V ) 格式
+ *     旋转 ( 90、180、270 )、裁剪、缩放、转 ARGB、格式互转
+ *     <p></p>
+ *     宽高必须为偶数 ( 4:2:0 采样 ), 输出 buffer 长度足够时直接复用, 否则创建新数组
+ *     旋转使用分块遍历, 减少列方向写入导致的缓存失效
+ *     传入 {@link Executor} 时按行拆分并行处理, 传入 null 则在当前线程处理
+ *     <p></p>
+ *     相机预览帧可搭配 {@link BufferPool} 复用输出 buffer, 避免每帧创建数组
+ * </pre>
+ */
+public final class YUVUtils {
+
+    private YUVUtils() {
+    }
+
+    // 日志 TAG
+    private static final String TAG = YUVUtils.class.getSimpleName();
+
+    // NV21 格式 ( Y + VU 交错 )
+    public static final int NV21 = 0;
+    // I420 格式 ( Y + U + V )
+    public static final int I420 = 1;
+
+    // 分块边长
+    private static final int TILE = 32;
+
+    // 亮度查找表 ( max(0, Y - 16) * 1192 )
+    private static final int[] LUMA  = new int[256];
+    // 取值限制查找表 ( 偏移 512, 避免分支预测失败 )
+    private static final int[] CLAMP = new int[1536];
+
+    static {
+        for (int i = 0; i < LUMA.length; i++) {
+            LUMA[i] = Math.max(0, i - 16) * 1192;
+        }
+        for (int i = 0; i < CLAMP.length; i++) {
+            CLAMP[i] = Math.min(255, Math.max(0, i - 512));
+        }
+    }
+
+    // ==========
+    // = 通用方法 =
+    // ==========
+
+    /**
+     * 获取 YUV420 帧数据长度
+     * @param width  宽
+     * @param height 高
+     * @return 帧数据长度, 宽高不合法则返回 -1
+     */
+    public static int getFrameSize(
+            final int width,
+            final int height
+    ) {
+        if (width <= 0 || height <= 0 || (width & 1) != 0 || (height & 1) != 0) {
+            return -1;
+        }
+        return width * height * 3 / 2;
+    }
+
+    /**
+     * 判断是否有效的 YUV420 帧数据
+     * @param data   YUV 帧数据
+     * @param width  宽
+     * @param height 高
+     * @return {@code true} yes, {@code false} no
+     */
+    public static boolean isFrame(
+            final byte[] data,
+            final int width,
+            final int height
+    ) {
+        int frameSize = getFrameSize(width, height);
+        return data != null && frameSize > 0 && data.length >= frameSize;
+    }
+
+    /**
+     * 获取可用 buffer ( 长度足够则复用, 否则创建新数组 )
+     * @param buffer 待复用 buffer
+     * @param size   所需长度
+     * @return byte[]
+     */
+    public static byte[] obtain(
+            final byte[] buffer,
+            final int size
+    ) {
+        if (buffer != null && buffer.length >= size) return buffer;
+        return new byte[size];
+    }
+
+    // ==========
+    // = 旋转处理 =
+    // ==========
+
+    /**
+     * 旋转 YUV420 帧数据 ( 顺时针 )
+     * <pre>
+     *     旋转 90、270 度后宽高互换
+     * </pre>
+     * @param data    YUV 帧数据
+     * @param width   宽
+     * @param height  高
+     * @param degrees 旋转角度 ( 0、90、180、270 )
+     * @param format  {@link #NV21}、{@link #I420}
+     * @param dst     输出 buffer ( 可为 null )
+     * @return 旋转后的帧数据
+     */
+    public static byte[] rotate(
+            final byte[] data,
+            final int width,
+            final int height,
+            final int degrees,
+            final int format,
+            final byte[] dst
+    ) {
+        return rotate(data, width, height, degrees, format, dst, null);
+    }
+
+    /**
+     * 旋转 YUV420 帧数据 ( 顺时针 )
+     * <pre>
+     *     旋转 90、270 度后宽高互换
+     * </pre>
+     * @param data     YUV 帧数据
+     * @param width    宽
+     * @param height   高
+     * @param degrees  旋转角度 ( 0、90、180、270 )
+     * @param format   {@link #NV21}、{@link #I420}
+     * @param dst      输出 buffer ( 可为 null )
+     * @param executor 并行处理 {@link Executor} ( 可为 null )
+     * @return 旋转后的帧数据
+     */
+    public static byte[] rotate(
+            final byte[] data,
+            final int width,
+            final int height,
+            final int degrees,
+            final int format,
+            final byte[] dst,
+            final Executor executor
+    ) {
+        if (!isFrame(data, width, height)) return null;
+        final int angle = ((degrees % 360) + 360) % 360;
+        if (angle % 90 != 0 || data == dst) return null;
+        final byte[] out        = obtain(dst, getFrameSize(width, height));
+        final int    ySize      = width * height;
+        final int    chromaW    = width >> 1;
+        final int    chromaH    = height >> 1;
+        final int    chromaSize = chromaW * chromaH;
+        boolean result = runRows(executor, height, (from, to) -> rotatePlane(
+                data, 0, width, height, out, 0, angle, 1, from, to
+        ));
+        if (format == NV21) {
+            result &= runRows(executor, chromaH, (from, to) -> rotatePlane(
+                    data, ySize, chromaW, chromaH, out, ySize, angle, 2, from, to
+            ));
+        } else if (format == I420) {
+            result &= runRows(executor, chromaH, (from, to) -> {
+                rotatePlane(data, ySize, chromaW, chromaH, out, ySize, angle, 1, from, to);
+                rotatePlane(
+                        data, ySize + chromaSize, chromaW, chromaH,
+                        out, ySize + chromaSize, angle, 1, from, to
+                );
+            });
+        } else {
+            return null;
+        }
+        return result ? out : null;
+    }
+
+    /**
+     * 旋转单通道数据 ( 如 Y 平面、灰度图 )
+     * @param data    单通道数据
+     * @param width   宽
+     * @param height  高
+     * @param degrees 旋转角度 ( 0、90、180、270 )
+     * @param dst     输出 buffer ( 可为 null )
+     * @return 旋转后的数据
+     */
+    public static byte[] rotatePlane(
+            final byte[] data,
+            final int width,
+            final int height,
+            final int degrees,
+            final byte[] dst
+    ) {
+        if (data == null || width <= 0 || height <= 0) return null;
+        int angle = ((degrees % 360) + 360) % 360;
+        int size  = width * height;
+        if (angle % 90 != 0 || data.length < size || data == dst) return null;
+        byte[] out = obtain(dst, size);
+        rotatePlane(data, 0, width, height, out, 0, angle, 1, 0, height);
+        return out;
+    }
+
+    // ==========
+    // = 裁剪处理 =
+    // ==========
+
+    /**
+     * 裁剪 YUV420 帧数据
+     * <pre>
+     *     left、top、cropWidth、cropHeight 必须为偶数
+     * </pre>
+     * @param data       YUV 帧数据
+     * @param width      宽
+     * @param height     高
+     * @param left       裁剪起始 X 坐标
+     * @param top        裁剪起始 Y 坐标
+     * @param cropWidth  裁剪宽度
+     * @param cropHeight 裁剪高度
+     * @param format     {@link #NV21}、{@link #I420}
+     * @param dst        输出 buffer ( 可为 null )
+     * @return 裁剪后的帧数据
+     */
+    public static byte[] crop(
+            final byte[] data,
+            final int width,
+            final int height,
+            final int left,
+            final int top,
+            final int cropWidth,
+            final int cropHeight,
+            final int format,
+            final byte[] dst
+    ) {
+        if (!isFrame(data, width, height)) return null;
+        int cropSize = getFrameSize(cropWidth, cropHeight);
+        if (cropSize < 0 || ((left | top) & 1) != 0 || left < 0 || top < 0
+                || left + cropWidth > width || top + cropHeight > height
+                || data == dst) {
+            return null;
+        }
+        if (format != NV21 && format != I420) return null;
+        byte[] out   = obtain(dst, cropSize);
+        int    ySize = width * height;
+        // Y 平面
+        copyRows(data, top * width + left, width, out, 0, cropWidth, cropWidth, cropHeight);
+        int chromaH   = cropHeight >> 1;
+        int cropYSize = cropWidth * cropHeight;
+        if (format == NV21) {
+            copyRows(
+                    data, ySize + (top >> 1) * width + left, width,
+                    out, cropYSize, cropWidth, cropWidth, chromaH
+            );
+        } else {
+            int chromaW     = width >> 1;
+            int cropChromaW = cropWidth >> 1;
+            int offset      = (top >> 1) * chromaW + (left >> 1);
+            int chromaSize  = chromaW * (height >> 1);
+            copyRows(
+                    data, ySize + offset, chromaW,
+                    out, cropYSize, cropChromaW, cropChromaW, chromaH
+            );
+            copyRows(
+                    data, ySize + chromaSize + offset, chromaW,
+                    out, cropYSize + cropChromaW * chromaH, cropChromaW, cropChromaW, chromaH
+            );
+        }
+        return out;
+    }
+
+    // ==========
+    // = 缩放处理 =
+    // ==========
+
+    /**
+     * 缩放 YUV420 帧数据 ( 最近邻采样 )
+     * <pre>
+     *     适用于预览帧缩小后识别、分析等场景
+     * </pre>
+     * @param data      YUV 帧数据
+     * @param width     宽
+     * @param height    高
+     * @param dstWidth  缩放后宽度 ( 偶数 )
+     * @param dstHeight 缩放后高度 ( 偶数 )
+     * @param format    {@link #NV21}、{@link #I420}
+     * @param dst       输出 buffer ( 可为 null )
+     * @return 缩放后的帧数据
+     */
+    public static byte[] scale(
+            final byte[] data,
+            final int width,
+            final int height,
+            final int dstWidth,
+            final int dstHeight,
+            final int format,
+            final byte[] dst
+    ) {
+        if (!isFrame(data, width, height)) return null;
+        int dstSize = getFrameSize(dstWidth, dstHeight);
+        if (dstSize < 0 || data == dst) return null;
+        if (format != NV21 && format != I420) return null;
+        byte[] out = obtain(dst, dstSize);
+        // Y 平面
+        scalePlane(data, 0, width, height, out, 0, dstWidth, dstHeight, 1);
+        int ySize      = width * height;
+        int dstYSize   = dstWidth * dstHeight;
+        int chromaW    = width >> 1;
+        int chromaH    = height >> 1;
+        int dstChromaW = dstWidth >> 1;
+        int dstChromaH = dstHeight >> 1;
+        if (format == NV21) {
+            scalePlane(data, ySize, chromaW, chromaH, out, dstYSize, dstChromaW, dstChromaH, 2);
+        } else {
+            int chromaSize    = chromaW * chromaH;
+            int dstChromaSize = dstChromaW * dstChromaH;
+            scalePlane(data, ySize, chromaW, chromaH, out, dstYSize, dstChromaW, dstChromaH, 1);
+            scalePlane(
+                    data, ySize + chromaSize, chromaW, chromaH,
+                    out, dstYSize + dstChromaSize, dstChromaW, dstChromaH, 1
+            );
+        }
+        return out;
+    }
+
+    // ==========
+    // = 格式转换 =
+    // ==========
+
+    /**
+     * YUV420 帧数据转 ARGB
+     * @param data   YUV 帧数据
+     * @param width  宽
+     * @param height 高
+     * @param format {@link #NV21}、{@link #I420}
+     * @param dst    输出 buffer ( 可为 null )
+     * @return ARGB int[]
+     */
+    public static int[] toARGB(
+            final byte[] data,
+            final int width,
+            final int height,
+            final int format,
+            final int[] dst
+    ) {
+        return toARGB(data, width, height, format, dst, null);
+    }
+
+    /**
+     * YUV420 帧数据转 ARGB ( BT.601 )
+     * <pre>
+     *     可通过 Bitmap.createBitmap(int[], width, height, Bitmap.Config.ARGB_8888) 创建图片
+     * </pre>
+     * @param data     YUV 帧数据
+     * @param width    宽
+     * @param height   高
+     * @param format   {@link #NV21}、{@link #I420}
+     * @param dst      输出 buffer ( 可为 null )
+     * @param executor 并行处理 {@link Executor} ( 可为 null )
+     * @return ARGB int[]
+     */
+    public static int[] toARGB(
+            final byte[] data,
+            final int width,
+            final int height,
+            final int format,
+            final int[] dst,
+            final Executor executor
+    ) {
+        if (!isFrame(data, width, height)) return null;
+        if (format != NV21 && format != I420) return null;
+        final int   size = width * height;
+        final int[] out  = (dst != null && dst.length >= size) ? dst : new int[size];
+        boolean result = runRows(executor, height >> 1, (from, to) -> {
+            if (format == NV21) {
+                nv21RowsToARGB(data, width, height, out, from, to);
+            } else {
+                i420RowsToARGB(data, width, height, out, from, to);
+            }
+        });
+        return result ? out : null;
+    }
+
+    /**
+     * NV21 转 I420
+     * @param data   NV21 帧数据
+     * @param width  宽
+     * @param height 高
+     * @param dst    输出 buffer ( 可为 null )
+     * @return I420 帧数据
+     */
+    public static byte[] nv21ToI420(
+            final byte[] data,
+            final int width,
+            final int height,
+            final byte[] dst
+    ) {
+        if (!isFrame(data, width, height) || data == dst) return null;
+        byte[] out        = obtain(dst, getFrameSize(width, height));
+        int    ySize      = width * height;
+        int    chromaSize = ySize >> 2;
+        System.arraycopy(data, 0, out, 0, ySize);
+        for (int i = 0, uv = ySize; i < chromaSize; i++, uv += 2) {
+            out[ySize + chromaSize + i] = data[uv];
+            out[ySize + i]              = data[uv + 1];
+        }
+        return out;
+    }
+
+    /**
+     * I420 转 NV21
+     * @param data   I420 帧数据
+     * @param width  宽
+     * @param height 高
+     * @param dst    输出 buffer ( 可为 null )
+     * @return NV21 帧数据
+     */
+    public static byte[] i420ToNV21(
+            final byte[] data,
+            final int width,
+            final int height,
+            final byte[] dst
+    ) {
+        if (!isFrame(data, width, height) || data == dst) return null;
+        byte[] out        = obtain(dst, getFrameSize(width, height));
+        int    ySize      = width * height;
+        int    chromaSize = ySize >> 2;
+        System.arraycopy(data, 0, out, 0, ySize);
+        for (int i = 0, uv = ySize; i < chromaSize; i++, uv += 2) {
+            out[uv]     = data[ySize + chromaSize + i];
+            out[uv + 1] = data[ySize + i];
+        }
+        return out;
+    }
+
+    // ==========
+    // = 内部方法 =
+    // ==========
+
+    /**
+     * detail: 按行处理任务
+     * @author Ttt
+     */
+    private interface RowTask {
+
+        /**
+         * 处理 [from, to) 行
+         * @param from 起始行 ( 包含 )
+         * @param to   结束行 ( 不包含 )
+         */
+        void run(
+                int from,
+                int to
+        );
+    }
+
+    /**
+     * 按行拆分执行任务
+     * <pre>
+     *     各分块由当前线程与 executor 线程共同领取, 当前线程不等待未被领取的分块
+     *     在 executor 自身线程中调用 ( 线程池已满 ) 时由当前线程处理全部分块, 不会死锁
+     * </pre>
+     * @param executor 并行处理 {@link Executor} ( 为 null 则在当前线程处理 )
+     * @param rows     总行数
+     * @param task     {@link RowTask}
+     * @return {@code true} success, {@code false} fail
+     */
+    private static boolean runRows(
+            final Executor executor,
+            final int rows,
+            final RowTask task
+    ) {
+        int parts = (executor == null) ? 1 : Math.min(
+                Runtime.getRuntime().availableProcessors(), rows / TILE
+        );
+        if (parts <= 1) {
+            try {
+                task.run(0, rows);
+                return true;
+            } catch (Exception e) {
+                LogPrintUtils.eTag(TAG, e, "runRows");
+                return false;
+            }
+        }
+        // 按分块边长对齐, 保证各任务写入区域不重叠
+        final int            step    = ((rows + parts - 1) / parts + TILE - 1) / TILE * TILE;
+        final int            count   = (rows + step - 1) / step;
+        final AtomicInteger  next    = new AtomicInteger();
+        final CountDownLatch latch   = new CountDownLatch(count);
+        final AtomicBoolean  failure = new AtomicBoolean();
+        final Runnable       worker  = () -> runChunks(task, rows, step, count, next, latch, failure);
+        for (int i = 1; i < count; i++) {
+            try {
+                executor.execute(worker);
+            } catch (Exception e) {
+                // 提交失败则由当前线程领取
+                break;
+            }
+        }
+        worker.run();
+        try {
+            // 全部分块均已被领取且正在处理, 等待不会阻塞于排队任务
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        return !failure.get();
+    }
+
+    /**
+     * 循环领取并处理分块
+     * @param task    {@link RowTask}
+     * @param rows    总行数
+     * @param step    分块行数
+     * @param count   分块数量
+     * @param next    下一个待领取分块
+     * @param latch   分块完成计数
+     * @param failure 是否处理失败
+     */
+    private static void runChunks(
+            final RowTask task,
+            final int rows,
+            final int step,
+            final int count,
+            final AtomicInteger next,
+            final CountDownLatch latch,
+            final AtomicBoolean failure
+    ) {
+        int index;
+        while ((index = next.getAndIncrement()) < count) {
+            int from = index * step;
+            try {
+                task.run(from, Math.min(from + step, rows));
+            } catch (Exception e) {
+                failure.set(true);
+                LogPrintUtils.eTag(TAG, e, "runRows");
+            } finally {
+                latch.countDown();
+            }
+        }
+    }
+
+    /**
+     * 分块旋转平面数据
+     * <pre>
+     *     源坐标 (x, y) 对应目标索引 base + x * dx + y * dy
+     * </pre>
+     * @param src     源数据
+     * @param srcOff  源数据偏移
+     * @param width   平面宽 ( 像素 )
+     * @param height  平面高 ( 像素 )
+     * @param dst     目标数据
+     * @param dstOff  目标数据偏移
+     * @param degrees 旋转角度
+     * @param pixel   每像素字节数 ( 1、2 )
+     * @param rowFrom 起始行 ( 包含 )
+     * @param rowTo   结束行 ( 不包含 )
+     */
+    private static void rotatePlane(
+            final byte[] src,
+            final int srcOff,
+            final int width,
+            final int height,
+            final byte[] dst,
+            final int dstOff,
+            final int degrees,
+            final int pixel,
+            final int rowFrom,
+            final int rowTo
+    ) {
+        if (degrees == 0) {
+            int rowBytes = width * pixel;
+            System.arraycopy(
+                    src, srcOff + rowFrom * rowBytes,
+                    dst, dstOff + rowFrom * rowBytes,
+                    (rowTo - rowFrom) * rowBytes
+            );
+            return;
+        }
+        int base, dx, dy;
+        if (degrees == 90) {
+            base = height - 1;
+            dx   = height;
+            dy   = -1;
+        } else if (degrees == 180) {
+            base = width * height - 1;
+            dx   = -1;
+            dy   = -width;
+        } else {
+            base = (width - 1) * height;
+            dx   = -height;
+            dy   = 1;
+        }
+        for (int ty = rowFrom; ty < rowTo; ty += TILE) {
+            int yEnd = Math.min(ty + TILE, rowTo);
+            for (int tx = 0; tx < width; tx += TILE) {
+                int xEnd = Math.min(tx + TILE, width);
+                for (int y = ty; y < yEnd; y++) {
+                    int s = y * width + tx;
+                    int d = base + tx * dx + y * dy;
+                    if (pixel == 1) {
+                        s += srcOff;
+                        d += dstOff;
+                        for (int x = tx; x < xEnd; x++, s++, d += dx) {
+                            dst[d] = src[s];
+                        }
+                    } else {
+                        s = srcOff + (s << 1);
+                        d = dstOff + (d << 1);
+                        int step = dx << 1;
+                        for (int x = tx; x < xEnd; x++, s += 2, d += step) {
+                            dst[d]     = src[s];
+                            dst[d + 1] = src[s + 1];
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * 逐行拷贝
+     * @param src       源数据
+     * @param srcOff    源数据偏移
+     * @param srcStride 源数据行跨度
+     * @param dst       目标数据
+     * @param dstOff    目标数据偏移
+     * @param dstStride 目标数据行跨度
+     * @param rowBytes  每行拷贝字节数
+     * @param rows      行数
+     */
+    private static void copyRows(
+            final byte[] src,
+            final int srcOff,
+            final int srcStride,
+            final byte[] dst,
+            final int dstOff,
+            final int dstStride,
+            final int rowBytes,
+            final int rows
+    ) {
+        for (int i = 0, s = srcOff, d = dstOff; i < rows; i++, s += srcStride, d += dstStride) {
+            System.arraycopy(src, s, dst, d, rowBytes);
+        }
+    }
+
+    /**
+     * 最近邻缩放平面数据
+     * @param src       源数据
+     * @param srcOff    源数据偏移
+     * @param width     源平面宽 ( 像素 )
+     * @param height    源平面高 ( 像素 )
+     * @param dst       目标数据
+     * @param dstOff    目标数据偏移
+     * @param dstWidth  目标平面宽 ( 像素 )
+     * @param dstHeight 目标平面高 ( 像素 )
+     * @param pixel     每像素字节数 ( 1、2 )
+     */
+    private static void scalePlane(
+            final byte[] src,
+            final int srcOff,
+            final int width,
+            final int height,
+            final byte[] dst,
+            final int dstOff,
+            final int dstWidth,
+            final int dstHeight,
+            final int pixel
+    ) {
+        // 预计算每列对应的源数据偏移
+        int[] columns = new int[dstWidth];
+        for (int x = 0; x < dstWidth; x++) {
+            columns[x] = (int) ((long) x * width / dstWidth) * pixel;
+        }
+        int rowBytes = width * pixel;
+        int d        = dstOff;
+        for (int y = 0; y < dstHeight; y++) {
+            int row = srcOff + (int) ((long) y * height / dstHeight) * rowBytes;
+            if (pixel == 1) {
+                for (int x = 0; x < dstWidth; x++) {
+                    dst[d++] = src[row + columns[x]];
+                }
+            } else {
+                for (int x = 0; x < dstWidth; x++) {
+                    int s = row + columns[x];
+                    dst[d++] = src[s];
+                    dst[d++] = src[s + 1];
+                }
+            }
+        }
+    }
+
+    /**
+     * NV21 转 ARGB ( 按色度行处理, 每个色度行对应两行像素 )
+     * @param data    NV21 帧数据
+     * @param width   宽
+     * @param height  高
+     * @param out     ARGB 输出
+     * @param rowFrom 起始色度行 ( 包含 )
+     * @param rowTo   结束色度行 ( 不包含 )
+     */
+    private static void nv21RowsToARGB(
+            final byte[] data,
+            final int width,
+            final int height,
+            final int[] out,
+            final int rowFrom,
+            final int rowTo
+    ) {
+        int ySize = width * height;
+        for (int cy = rowFrom; cy < rowTo; cy++) {
+            int y0 = (cy << 1) * width;
+            int y1 = y0 + width;
+            int uv = ySize + cy * width;
+            for (int x = 0; x < width; x += 2, uv += 2) {
+                int v = (data[uv] & 0xFF) - 128;
+                int u = (data[uv + 1] & 0xFF) - 128;
+                writeARGB(data, out, y0 + x, y1 + x, u, v);
+            }
+        }
+    }
+
+    /**
+     * I420 转 ARGB ( 按色度行处理, 每个色度行对应两行像素 )
+     * @param data    I420 帧数据
+     * @param width   宽
+     * @param height  高
+     * @param out     ARGB 输出
+     * @param rowFrom 起始色度行 ( 包含 )
+     * @param rowTo   结束色度行 ( 不包含 )
+     */
+    private static void i420RowsToARGB(
+            final byte[] data,
+            final int width,
+            final int height,
+            final int[] out,
+            final int rowFrom,
+            final int rowTo
+    ) {
+        int ySize      = width * height;
+        int chromaW    = width >> 1;
+        int chromaSize = ySize >> 2;
+        for (int cy = rowFrom; cy < rowTo; cy++) {
+            int y0 = (cy << 1) * width;
+            int y1 = y0 + width;
+            int c  = ySize + cy * chromaW;
+            for (int x = 0; x < width; x += 2, c++) {
+                int u = (data[c] & 0xFF) - 128;
+                int v = (data[c + chromaSize] & 0xFF) - 128;
+                writeARGB(data, out, y0 + x, y1 + x, u, v);
+            }
+        }
+    }
+
+    /**
+     * 写入共用同一色度的 2x2 像素
+     * @param data   帧数据
+     * @param out    ARGB 输出
+     * @param top    上方像素索引
+     * @param bottom 下方像素索引
+     * @param u      U 分量 ( 已减 128 )
+     * @param v      V 分量 ( 已减 128 )
+     */
+    private static void writeARGB(
+            final byte[] data,
+            final int[] out,
+            final int top,
+            final int bottom,
+            final int u,
+            final int v
+    ) {
+        // BT.601 系数 ( 放大 1024 倍 )
+        int r = 1634 * v;
+        int g = -833 * v - 400 * u;
+        int b = 2066 * u;
+        out[top]        = toARGB(data[top], r, g, b);
+        out[top + 1]    = toARGB(data[top + 1], r, g, b);
+        out[bottom]     = toARGB(data[bottom], r, g, b);
+        out[bottom + 1] = toARGB(data[bottom + 1], r, g, b);
+    }
+
+    /**
+     * 计算 ARGB 像素值
+     * @param y Y 分量
+     * @param r 红色色度项
+     * @param g 绿色色度项
+     * @param b 蓝色色度项
+     * @return ARGB 像素值
+     */
+    private static int toARGB(
+            final byte y,
+            final int r,
+            final int g,
+            final int b
+    ) {
+        int luma = LUMA[y & 0xFF];
+        return 0xFF000000 | (CLAMP[((luma + r) >> 10) + 512] << 16)
+                | (CLAMP[((luma + g) >> 10) + 512] << 8)
+                | CLAMP[((luma + b) >> 10) + 512];
+    }
+
+    // ==============
+    // = BufferPool =
+    // ==============
+
+    /**
+     * detail: 帧数据 buffer 复用池
+     * @author Ttt
+     * <pre>
+     *     预览帧尺寸固定, 取出的 buffer 长度不足时直接丢弃
+     * </pre>
+     */
+    public static final class BufferPool {
+
+        // buffer 队列
+        private final ArrayDeque<byte[]> mBuffers = new ArrayDeque<>();
+        // 最大缓存数量
+        private final int                mMaxCount;
+
+        public BufferPool(final int maxCount) {
+            this.mMaxCount = Math.max(1, maxCount);
+        }
+
+        /**
+         * 获取 buffer
+         * @param size 所需长度
+         * @return byte[]
+         */
+        public synchronized byte[] acquire(final int size) {
+            byte[] buffer;
+            while ((buffer = mBuffers.pollFirst()) != null) {
+                if (buffer.length >= size) return buffer;
+            }
+            return new byte[Math.max(0, size)];
+        }
+
+        /**
+         * 回收 buffer
+         * @param buffer 待回收 buffer
+         */
+        public synchronized void release(final byte[] buffer) {
+            if (buffer != null && mBuffers.size() < mMaxCount) {
+                mBuffers.offerFirst(buffer);
+            }
+        }
+
+        /**
+         * 清空全部缓存 buffer
+         */
+        public synchronized void clear() {
+            mBuffers.clear();
+        }
+    }
+}
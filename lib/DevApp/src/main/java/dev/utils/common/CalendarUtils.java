@@ -1,6 +1,7 @@
 package dev.utils.common;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.List;
 
@@ -70,38 +71,11 @@ public final class CalendarUtils {
         // 不支持的公历年份, 则返回 null
         if (!isSupportSolar(year)) return null;
 
+        int[] state    = solarToLunarState(year, month, day);
+        int   leap     = getBitInt(LUNAR_MONTH_DAYS[state[0]], 4, 13);
+        int   lunarM   = state[1] + 1;
         int[] lunarInt = new int[4];
-        int   index    = year - SOLAR[0];
-        int   data     = (year << 9) | (month << 5) | (day);
-        int   solar11;
-        if (SOLAR[index] > data) {
-            index--;
-        }
-        solar11 = SOLAR[index];
-        int  y      = getBitInt(solar11, 12, 9);
-        int  m      = getBitInt(solar11, 4, 5);
-        int  d      = getBitInt(solar11, 5, 0);
-        long offset = solarToInt(year, month, day) - solarToInt(y, m, d);
-
-        int days = LUNAR_MONTH_DAYS[index];
-        int leap = getBitInt(days, 4, 13);
-
-        int lunarY = index + SOLAR[0];
-        int lunarM = 1;
-        int lunarD;
-        offset += 1;
-
-        for (int i = 0; i < 13; i++) {
-            int dm = getBitInt(days, 1, 12 - i) == 1 ? 30 : 29;
-            if (offset > dm) {
-                lunarM++;
-                offset -= dm;
-            } else {
-                break;
-            }
-        }
-        lunarD      = (int) (offset);
-        lunarInt[0] = lunarY;
+        lunarInt[0] = state[0] + SOLAR[0];
         lunarInt[1] = lunarM;
         lunarInt[3] = 0;
 
@@ -111,7 +85,7 @@ public final class CalendarUtils {
                 lunarInt[3] = 1;
             }
         }
-        lunarInt[2] = lunarD;
+        lunarInt[2] = state[2];
         return lunarInt;
     }
 
@@ -272,15 +246,8 @@ public final class CalendarUtils {
             final int month,
             final int day
     ) {
-        if (month > 12 || month < 1) return -1;
-        int   start     = (month - 2) >= 0 ? month - 2 : 11;
-        int   leftIndex = start * 2; // 左边节气索引
-        int[] dates     = solarTermsDateSplit(leftIndex);
-        if (dates != null && day >= dates[0] && day <= dates[1]) return leftIndex;
-        int rightIndex = leftIndex + 1; // 右边节气索引
-        dates = solarTermsDateSplit(rightIndex);
-        if (dates != null && day >= dates[0] && day <= dates[1]) return rightIndex;
-        return -1;
+        if (month > 12 || month < 1 || day > 31 || day < 1) return -1;
+        return SOLAR_TERMS_TABLE[(month - 1) * 32 + day];
     }
 
     /**
@@ -429,6 +396,244 @@ public final class CalendarUtils {
         return getFestival(LUNAR_FESTIVAL_LIST, year, month, day);
     }
 
+    // ==========
+    // = 批量计算 =
+    // ==========
+
+    /**
+     * 获取公历月份每日信息
+     * <pre>
+     *     每日信息为 int 打包数据, 通过 getDayInfoXxx 方法读取, 不支持的日期为 0
+     *     按天递推农历, 避免逐日调用 {@link #solarToLunar} 重复解码
+     * </pre>
+     * @param year  公历年
+     * @param month 公历月
+     * @return 每日信息 ( 长度为该月天数 )
+     */
+    public static int[] getMonthDayInfos(
+            final int year,
+            final int month
+    ) {
+        if (month < 1 || month > 12) return null;
+        return getDayInfos(year, month, 1, DateUtils.getMonthDayNumberAll(year, month));
+    }
+
+    /**
+     * 获取公历年份每日信息
+     * @param year 公历年
+     * @return 每日信息 ( 长度为该年天数 )
+     */
+    public static int[] getYearDayInfos(final int year) {
+        return getDayInfos(year, 1, 1, DateUtils.isLeapYear(year) ? 366 : 365);
+    }
+
+    /**
+     * 获取连续日期每日信息
+     * @param year  公历年
+     * @param month 公历月
+     * @param day   公历日
+     * @param count 天数 ( 如月视图 42 天 )
+     * @return 每日信息
+     */
+    public static int[] getDayInfos(
+            final int year,
+            final int month,
+            final int day,
+            final int count
+    ) {
+        if (count < 0) return null;
+        int[] infos = new int[count];
+        fillDayInfos(year, month, day, infos, 0, count);
+        return infos;
+    }
+
+    /**
+     * 填充连续日期每日信息
+     * @param year   公历年
+     * @param month  公历月
+     * @param day    公历日
+     * @param infos  待填充数组
+     * @param offset 填充起始索引
+     * @param count  天数
+     * @return 成功填充天数 ( 超出支持范围后填充 0 )
+     */
+    public static int fillDayInfos(
+            final int year,
+            final int month,
+            final int day,
+            final int[] infos,
+            final int offset,
+            final int count
+    ) {
+        if (infos == null || offset < 0 || count < 0 || offset + count > infos.length) return 0;
+        if (month < 1 || month > 12 || day < 1 || day > DateUtils.getMonthDayNumberAll(year, month)
+                || !isSupportSolar(year)) {
+            Arrays.fill(infos, offset, offset + count, 0);
+            return 0;
+        }
+        int[] table = sDayTable;
+        if (table != null) {
+            int start = (int) (solarToInt(year, month, day) - DAY_TABLE_START);
+            int size  = Math.max(Math.min(count, table.length - start), 0);
+            System.arraycopy(table, start, infos, offset, size);
+            Arrays.fill(infos, offset + size, offset + count, 0);
+            return size;
+        }
+        // 农历状态 [0] 农历年索引 [1] 当年第几个月 ( 含闰月, 从 0 开始 ) [2] 农历日
+        int[] state      = solarToLunarState(year, month, day);
+        int   yearIndex  = state[0];
+        int   slot       = state[1];
+        int   lunarDay   = state[2];
+        int   monthData  = LUNAR_MONTH_DAYS[yearIndex];
+        int   leap       = getBitInt(monthData, 4, 13);
+        int   slotCount  = leap != 0 ? 13 : 12;
+        int   slotDays   = getBitInt(monthData, 1, 12 - slot) == 1 ? 30 : 29;
+        int   solarYear  = year;
+        int   solarMonth = month;
+        int   solarDay   = day;
+        int   monthDays  = DateUtils.getMonthDayNumberAll(year, month);
+        for (int i = 0; i < count; i++) {
+            if (solarYear > MAX_YEAR) {
+                Arrays.fill(infos, offset + i, offset + count, 0);
+                return i;
+            }
+            infos[offset + i] = packDayInfo(
+                    solarMonth, solarDay, yearIndex + LUNAR_MONTH_DAYS[0], slot, lunarDay, leap
+            );
+            // 公历下一天
+            if (++solarDay > monthDays) {
+                solarDay = 1;
+                if (++solarMonth > 12) {
+                    solarMonth = 1;
+                    solarYear++;
+                }
+                monthDays = DateUtils.getMonthDayNumberAll(solarYear, solarMonth);
+            }
+            // 农历下一天
+            if (++lunarDay > slotDays) {
+                lunarDay = 1;
+                if (++slot >= slotCount) {
+                    slot = 0;
+                    yearIndex++;
+                    if (yearIndex >= LUNAR_MONTH_DAYS.length) {
+                        Arrays.fill(infos, offset + i + 1, offset + count, 0);
+                        return i + 1;
+                    }
+                    monthData = LUNAR_MONTH_DAYS[yearIndex];
+                    leap      = getBitInt(monthData, 4, 13);
+                    slotCount = leap != 0 ? 13 : 12;
+                }
+                slotDays = getBitInt(monthData, 1, 12 - slot) == 1 ? 30 : 29;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 获取公历日期信息
+     * <pre>
+     *     已调用 {@link #prepareDayTable()} 则直接查表
+     * </pre>
+     * @param year  公历年
+     * @param month 公历月
+     * @param day   公历日
+     * @return 每日信息, 不支持的日期为 0
+     */
+    public static int getDayInfo(
+            final int year,
+            final int month,
+            final int day
+    ) {
+        int[] table = sDayTable;
+        if (table != null && isSupportSolar(year) && month >= 1 && month <= 12
+                && day >= 1 && day <= DateUtils.getMonthDayNumberAll(year, month)) {
+            return table[(int) (solarToInt(year, month, day) - DAY_TABLE_START)];
+        }
+        int[] infos = new int[1];
+        fillDayInfos(year, month, day, infos, 0, 1);
+        return infos[0];
+    }
+
+    /**
+     * 预先生成 1900 - 2099 每日信息表
+     * <pre>
+     *     约 7.3 万天 ( 290 KB ), 生成后 {@link #getDayInfo}、{@link #fillDayInfos} 直接查表
+     * </pre>
+     */
+    public static void prepareDayTable() {
+        if (sDayTable != null) return;
+        synchronized (CalendarUtils.class) {
+            if (sDayTable != null) return;
+            int   size  = (int) (solarToInt(MAX_YEAR, 12, 31) - DAY_TABLE_START + 1);
+            int[] table = new int[size];
+            fillDayInfos(MIN_SOLAR_YEAR, 1, 1, table, 0, size);
+            sDayTable = table;
+        }
+    }
+
+    /**
+     * 释放每日信息表
+     */
+    public static void releaseDayTable() {
+        sDayTable = null;
+    }
+
+    // =
+
+    /**
+     * 获取每日信息农历年
+     * @param info 每日信息
+     * @return 农历年
+     */
+    public static int getDayInfoLunarYear(final int info) {
+        return info == 0 ? 0 : ((info >>> 10) & 0x1FF) + DAY_INFO_YEAR_BASE;
+    }
+
+    /**
+     * 获取每日信息农历月
+     * @param info 每日信息
+     * @return 农历月
+     */
+    public static int getDayInfoLunarMonth(final int info) {
+        return (info >>> 5) & 0xF;
+    }
+
+    /**
+     * 获取每日信息农历日
+     * @param info 每日信息
+     * @return 农历日
+     */
+    public static int getDayInfoLunarDay(final int info) {
+        return info & 0x1F;
+    }
+
+    /**
+     * 获取每日信息农历月是否闰月
+     * @param info 每日信息
+     * @return {@code true} yes, {@code false} no
+     */
+    public static boolean isDayInfoLunarLeap(final int info) {
+        return ((info >>> 9) & 0x1) == 1;
+    }
+
+    /**
+     * 获取每日信息二十四节气 ( 公历 ) 索引
+     * @param info 每日信息
+     * @return 二十四节气 ( 公历 ) 索引, 非节气返回 -1
+     */
+    public static int getDayInfoSolarTermsIndex(final int info) {
+        return ((info >>> 19) & 0x1F) - 1;
+    }
+
+    /**
+     * 获取每日信息公历日
+     * @param info 每日信息
+     * @return 公历日
+     */
+    public static int getDayInfoSolarDay(final int info) {
+        return (info >>> 24) & 0x1F;
+    }
+
     // =======
     // = 常量 =
     // =======
@@ -495,6 +700,14 @@ public final class CalendarUtils {
     private static final List<Festival> SOLAR_FESTIVAL_LIST = new ArrayList<>();
     // 部分农历节日集合
     private static final List<Festival> LUNAR_FESTIVAL_LIST = new ArrayList<>();
+    // 二十四节气 ( 公历 ) 索引表 [(月 - 1) * 32 + 日], 非节气为 -1
+    private static final byte[]         SOLAR_TERMS_TABLE   = new byte[12 * 32];
+    // 每日信息农历年起始值
+    private static final int            DAY_INFO_YEAR_BASE  = 1800;
+    // 每日信息表起始日期 ( 1900-01-01 )
+    private static final long           DAY_TABLE_START     = solarToInt(MIN_SOLAR_YEAR, 1, 1);
+    // 每日信息表 ( 1900 - 2099 )
+    private static volatile int[]       sDayTable           = null;
 
     private static final long[] LUNAR_INFO = {
             0x4bd8, 0x4ae0, 0xa570, 0x54d5, 0xd260, 0xd950, 0x5554, 0x56af, 0x9ad0, 0x55d2,
@@ -624,6 +837,17 @@ public final class CalendarUtils {
         LUNAR_FESTIVAL_LIST.add(new Festival("腊八节", 12, 8, false));
         LUNAR_FESTIVAL_LIST.add(new Festival("小年", 12, 23, false));
         // LUNAR_FESTIVAL_LIST.add(new Festival("除夕", 12, 30, false)); // 除夕得判断是 29 还是 30 需要特殊判断
+
+        // 二十四节气 ( 公历 ) 索引表
+        Arrays.fill(SOLAR_TERMS_TABLE, (byte) -1);
+        for (int i = 0, len = SOLAR_TERMS_DATE.length; i < len; i++) {
+            int[] dates = solarTermsDateSplit(i);
+            if (dates == null) continue;
+            int month = (i / 2 + 1) % 12 + 1;
+            for (int day = dates[0]; day <= dates[1]; day++) {
+                SOLAR_TERMS_TABLE[(month - 1) * 32 + day] = (byte) i;
+            }
+        }
     }
 
     // ==========
@@ -648,6 +872,76 @@ public final class CalendarUtils {
         return 365L * y + y / 4 - y / 100 + y / 400 + (m * 306 + 5) / 10 + (d - 1);
     }
 
+    /**
+     * 公历转农历状态
+     * @param year  公历年
+     * @param month 公历月
+     * @param day   公历日
+     * @return [0] 农历年索引 [1] 当年第几个月 ( 含闰月, 从 0 开始 ) [2] 农历日
+     */
+    private static int[] solarToLunarState(
+            int year,
+            int month,
+            int day
+    ) {
+        int index = year - SOLAR[0];
+        int data  = (year << 9) | (month << 5) | (day);
+        if (SOLAR[index] > data) {
+            index--;
+        }
+        int  solar11 = SOLAR[index];
+        int  y       = getBitInt(solar11, 12, 9);
+        int  m       = getBitInt(solar11, 4, 5);
+        int  d       = getBitInt(solar11, 5, 0);
+        long offset  = solarToInt(year, month, day) - solarToInt(y, m, d) + 1;
+        int  days    = LUNAR_MONTH_DAYS[index];
+        int  slot    = 0;
+        for (int i = 0; i < 13; i++) {
+            int dm = getBitInt(days, 1, 12 - i) == 1 ? 30 : 29;
+            if (offset > dm) {
+                slot++;
+                offset -= dm;
+            } else {
+                break;
+            }
+        }
+        return new int[]{index, slot, (int) offset};
+    }
+
+    /**
+     * 打包每日信息
+     * <pre>
+     *     [0-4] 农历日 [5-8] 农历月 [9] 是否闰月 [10-18] 农历年 - 1800
+     *     [19-23] 节气索引 + 1 [24-28] 公历日
+     * </pre>
+     * @param solarMonth 公历月
+     * @param solarDay   公历日
+     * @param lunarYear  农历年
+     * @param slot       当年第几个月 ( 含闰月, 从 0 开始 )
+     * @param lunarDay   农历日
+     * @param leap       当年闰月 ( 无闰月为 0 )
+     * @return 每日信息
+     */
+    private static int packDayInfo(
+            int solarMonth,
+            int solarDay,
+            int lunarYear,
+            int slot,
+            int lunarDay,
+            int leap
+    ) {
+        int lunarMonth = slot + 1;
+        int isLeap     = 0;
+        if (leap != 0 && lunarMonth > leap) {
+            isLeap = lunarMonth == leap + 1 ? 1 : 0;
+            lunarMonth--;
+        }
+        int terms = SOLAR_TERMS_TABLE[(solarMonth - 1) * 32 + solarDay] + 1;
+        return lunarDay | (lunarMonth << 5) | (isLeap << 9)
+                | ((lunarYear - DAY_INFO_YEAR_BASE) << 10)
+                | (terms << 19) | (solarDay << 24);
+    }
+
     private static int[] solarFromInt(long g) {
         long y   = (10000 * g + 14780) / 3652425;
         long ddd = g - (365 * y + y / 4 - y / 100 + y / 400);
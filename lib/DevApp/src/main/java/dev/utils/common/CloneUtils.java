@@ -8,6 +8,7 @@ import java.util.Iterator;
 import java.util.Map;
 
 import dev.utils.JCLogUtils;
+import dev.utils.common.assist.DeepCopier;
 
 /**
  * detail: 克隆工具类
@@ -23,15 +24,34 @@ public final class CloneUtils {
 
     /**
      * 进行克隆
+     * <pre>
+     *     对象图可保证与序列化结果一致时使用 {@link DeepCopier#copySerializable} 逐字段拷贝
+     *     ( 不执行构造函数、transient 变量为默认值、保持引用关系 ), 否则使用序列化克隆
+     * </pre>
      * @param data Object implements {@link Serializable}
      * @param <T>  泛型
      * @return 克隆后的对象
      */
     public static <T> T deepClone(final Serializable data) {
         if (data == null) return null;
+        Object copy = DeepCopier.copySerializable(data);
+        if (copy != null) return (T) copy;
         return (T) ConvertUtils.bytesToObject(serializableToBytes(data));
     }
 
+    /**
+     * 进行克隆 ( 无需实现 {@link Serializable} )
+     * <pre>
+     *     集合 Comparator 与原对象共享, 无法逐字段拷贝时 Serializable 对象整体使用序列化克隆
+     * </pre>
+     * @param data 待克隆对象
+     * @param <T>  泛型
+     * @return 克隆后的对象
+     */
+    public static <T> T deepCopy(final T data) {
+        return DeepCopier.copy(data);
+    }
+
     /**
      * 通过序列化实体类, 获取对应的 byte[] 数据
      * @param serializable Object implements {@link Serializable}
@@ -75,9 +95,7 @@ public final class CloneUtils {
                     // 获取 key
                     K key = entry.getKey();
                     // 克隆对象
-                    V cloneObj = (V) ConvertUtils.bytesToObject(
-                            serializableToBytes((Serializable) entry.getValue())
-                    );
+                    V cloneObj = deepClone((Serializable) entry.getValue());
                     if (cloneObj != null) {
                         // 保存到集合
                         map.put(key, cloneObj);
@@ -107,9 +125,7 @@ public final class CloneUtils {
             while (iterator.hasNext()) {
                 try {
                     // 克隆对象
-                    T cloneObj = (T) ConvertUtils.bytesToObject(
-                            serializableToBytes((Serializable) iterator.next())
-                    );
+                    T cloneObj = deepClone((Serializable) iterator.next());
                     if (cloneObj != null) {
                         collection.add(cloneObj);
                     }
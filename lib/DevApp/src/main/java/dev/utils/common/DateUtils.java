@@ -11,6 +11,7 @@ import java.util.Map;
 
 import dev.utils.DevFinal;
 import dev.utils.JCLogUtils;
+import dev.utils.common.format.FastDateFormatter;
 
 /**
  * detail: 日期工具类
@@ -57,6 +58,18 @@ public final class DateUtils {
         return format;
     }
 
+    /**
+     * 获取对应时间格式线程安全 FastDateFormatter
+     * <pre>
+     *     全局共享, 纯数字格式直接计算不经过 Calendar, 结果与 SimpleDateFormat 一致
+     * </pre>
+     * @param pattern 时间格式
+     * @return {@link FastDateFormatter}
+     */
+    public static FastDateFormatter getFastDateFormat(final String pattern) {
+        return FastDateFormatter.getInstance(pattern);
+    }
+
     // =
 
     /**
@@ -97,7 +110,7 @@ public final class DateUtils {
      * @return {@link Calendar}
      */
     public static Calendar getCalendar(final String time) {
-        return getCalendar(parseLong(time, getDefaultFormat()));
+        return getCalendar(parseLong(time));
     }
 
     /**
@@ -110,7 +123,7 @@ public final class DateUtils {
             final String time,
             final String pattern
     ) {
-        return getCalendar(parseLong(time, getSafeDateFormat(pattern)));
+        return getCalendar(parseLong(time, pattern));
     }
 
     /**
@@ -161,7 +174,7 @@ public final class DateUtils {
      * @return 当前时间的字符串
      */
     public static String getDateNow() {
-        return formatTime(getCurrentTimeMillis(), getDefaultFormat());
+        return formatTime(getCurrentTimeMillis());
     }
 
     /**
@@ -170,7 +183,7 @@ public final class DateUtils {
      * @return 当前时间的字符串
      */
     public static String getDateNow(final String pattern) {
-        return formatTime(getCurrentTimeMillis(), getSafeDateFormat(pattern));
+        return formatTime(getCurrentTimeMillis(), pattern);
     }
 
     /**
@@ -190,7 +203,7 @@ public final class DateUtils {
      * @return 按照指定格式的日期字符串
      */
     public static String formatDate(final Date date) {
-        return formatTime(getDateTime(date), getDefaultFormat());
+        return formatTime(getDateTime(date));
     }
 
     /**
@@ -203,7 +216,7 @@ public final class DateUtils {
             final Date date,
             final String pattern
     ) {
-        return formatTime(getDateTime(date), getSafeDateFormat(pattern));
+        return formatTime(getDateTime(date), pattern);
     }
 
     /**
@@ -227,7 +240,7 @@ public final class DateUtils {
      * @return 按照指定格式的日期字符串
      */
     public static String formatTime(final long millis) {
-        return formatTime(millis, getDefaultFormat());
+        return formatTime(millis, DevFinal.TIME.yyyyMMddHHmmss_HYPHEN);
     }
 
     /**
@@ -240,7 +253,15 @@ public final class DateUtils {
             final long millis,
             final String pattern
     ) {
-        return formatTime(millis, getSafeDateFormat(pattern));
+        if (millis == -1L) return null;
+        FastDateFormatter formatter = getFastDateFormat(pattern);
+        if (formatter == null) return null;
+        try {
+            return formatter.format(millis);
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "formatTime");
+        }
+        return null;
     }
 
     /**
@@ -280,7 +301,7 @@ public final class DateUtils {
      * @return {@link Date}
      */
     public static Date parseDate(final String time) {
-        return parseDate(parseLong(time, getDefaultFormat()));
+        return parseDate(parseLong(time));
     }
 
     /**
@@ -293,7 +314,7 @@ public final class DateUtils {
             final String time,
             final String pattern
     ) {
-        return parseDate(parseLong(time, getSafeDateFormat(pattern)));
+        return parseDate(parseLong(time, pattern));
     }
 
     /**
@@ -317,7 +338,7 @@ public final class DateUtils {
      * @return 毫秒时间
      */
     public static long parseLong(final String time) {
-        return parseLong(time, getDefaultFormat());
+        return parseLong(time, DevFinal.TIME.yyyyMMddHHmmss_HYPHEN);
     }
 
     /**
@@ -330,7 +351,15 @@ public final class DateUtils {
             final String time,
             final String pattern
     ) {
-        return parseLong(time, getSafeDateFormat(pattern));
+        if (time == null) return -1L;
+        FastDateFormatter formatter = getFastDateFormat(pattern);
+        if (formatter == null) return -1L;
+        try {
+            return formatter.parse(time);
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "parseLong");
+        }
+        return -1L;
     }
 
     /**
@@ -365,8 +394,7 @@ public final class DateUtils {
             final String pattern
     ) {
         return parseString(
-                time, getDefaultFormat(),
-                getSafeDateFormat(pattern)
+                time, DevFinal.TIME.yyyyMMddHHmmss_HYPHEN, pattern
         );
     }
 
@@ -397,10 +425,8 @@ public final class DateUtils {
             final String timePattern,
             final String pattern
     ) {
-        return parseString(
-                time, getSafeDateFormat(timePattern),
-                getSafeDateFormat(pattern)
-        );
+        if (time == null || timePattern == null || pattern == null) return null;
+        return formatTime(parseLong(time, timePattern), pattern);
     }
 
     /**
@@ -21,6 +21,7 @@ import java.util.List;
 
 import dev.utils.DevFinal;
 import dev.utils.JCLogUtils;
+import dev.utils.common.file.FileLineReader;
 
 /**
  * detail: 文件 ( IO 流 ) 工具类
@@ -623,6 +624,81 @@ public final class FileIOUtils {
 
     // =
 
+    /**
+     * 按行流式读取文件内容
+     * @param filePath 文件路径
+     * @param visitor  {@link FileLineReader.LineVisitor}
+     * @return 读取的行数, 失败则返回 -1
+     */
+    public static long forEachLine(
+            final String filePath,
+            final FileLineReader.LineVisitor visitor
+    ) {
+        return forEachLine(FileUtils.getFileByPath(filePath), null, visitor);
+    }
+
+    /**
+     * 按行流式读取文件内容
+     * @param filePath    文件路径
+     * @param charsetName 字符编码
+     * @param visitor     {@link FileLineReader.LineVisitor}
+     * @return 读取的行数, 失败则返回 -1
+     */
+    public static long forEachLine(
+            final String filePath,
+            final String charsetName,
+            final FileLineReader.LineVisitor visitor
+    ) {
+        return forEachLine(FileUtils.getFileByPath(filePath), charsetName, visitor);
+    }
+
+    /**
+     * 按行流式读取文件内容
+     * @param file    文件
+     * @param visitor {@link FileLineReader.LineVisitor}
+     * @return 读取的行数, 失败则返回 -1
+     */
+    public static long forEachLine(
+            final File file,
+            final FileLineReader.LineVisitor visitor
+    ) {
+        return forEachLine(file, null, visitor);
+    }
+
+    /**
+     * 按行流式读取文件内容
+     * <pre>
+     *     不会一次性读取整个文件, 回调的行内容为复用对象, 需保存则调用 toString()
+     *     仅支持换行符为单字节的编码, 详见 {@link FileLineReader}
+     * </pre>
+     * @param file        文件
+     * @param charsetName 字符编码
+     * @param visitor     {@link FileLineReader.LineVisitor}
+     * @return 读取的行数, 失败则返回 -1
+     */
+    public static long forEachLine(
+            final File file,
+            final String charsetName,
+            final FileLineReader.LineVisitor visitor
+    ) {
+        if (!FileUtils.isFileExists(file) || visitor == null) return -1L;
+        FileLineReader reader = null;
+        try {
+            reader = new FileLineReader(
+                    file, StringUtils.isEmpty(charsetName) ? null : charsetName,
+                    FileLineReader.DEFAULT_BUFFER_SIZE
+            );
+            return reader.forEach(visitor);
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "forEachLine");
+            return -1L;
+        } finally {
+            CloseUtils.closeIOQuietly(reader);
+        }
+    }
+
+    // =
+
     /**
      * 读取文件内容, 返回字符串
      * @param filePath 文件路径
@@ -5,6 +5,7 @@ import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 
 import dev.utils.JCLogUtils;
+import dev.utils.common.assist.ReflectCache;
 
 /**
  * detail: 反射相关工具类
@@ -45,7 +46,7 @@ public final class Reflect2Utils {
     ) {
         if (object == null || fieldName == null) return false;
         try {
-            Field field = object.getClass().getDeclaredField(fieldName);
+            Field field = ReflectCache.getDeclaredField(object.getClass(), fieldName);
             field.setAccessible(true);
             field.set(object, value);
             return true;
@@ -68,7 +69,7 @@ public final class Reflect2Utils {
     ) {
         if (object == null || fieldName == null) return null;
         try {
-            Field field = object.getClass().getDeclaredField(fieldName);
+            Field field = ReflectCache.getDeclaredField(object.getClass(), fieldName);
             field.setAccessible(true);
             return (T) field.get(object);
         } catch (Exception e) {
@@ -125,7 +126,7 @@ public final class Reflect2Utils {
         if (className == null || fieldName == null) return null;
         try {
             Class<?> clazz = Class.forName(className);
-            Field    field = clazz.getDeclaredField(fieldName);
+            Field    field = ReflectCache.getDeclaredField(clazz, fieldName);
             field.setAccessible(true);
             return (T) field.get(clazz);
         } catch (Exception e) {
@@ -188,14 +189,14 @@ public final class Reflect2Utils {
             Class<?> clazz = object.getClass();
             if (args != null && argsClass != null) { // 参数、参数类型不为 null, 并且数量相等
                 if (args.length == argsClass.length && args.length != 0) {
-                    Method method = clazz.getDeclaredMethod(methodName, argsClass);
+                    Method method = ReflectCache.getDeclaredMethod(clazz, methodName, argsClass);
                     method.setAccessible(true);
                     return (T) method.invoke(object, args);
                 }
             } else {
                 // 无参数、参数类型, 才执行
                 if (args == null && argsClass == null) {
-                    Method method = clazz.getDeclaredMethod(methodName);
+                    Method method = ReflectCache.getDeclaredMethod(clazz, methodName);
                     method.setAccessible(true);
                     return (T) method.invoke(object);
                 }
@@ -368,14 +369,14 @@ public final class Reflect2Utils {
             Class<?> clazz = Class.forName(className);
             if (args != null && argsClass != null) { // 参数、参数类型不为 null, 并且数量相等
                 if (args.length == argsClass.length && args.length != 0) {
-                    Method method = clazz.getDeclaredMethod(methodName, argsClass);
+                    Method method = ReflectCache.getDeclaredMethod(clazz, methodName, argsClass);
                     method.setAccessible(true);
                     return (T) method.invoke(clazz, args);
                 }
             } else {
                 // 无参数、参数类型, 才执行
                 if (args == null && argsClass == null) {
-                    Method method = clazz.getDeclaredMethod(methodName);
+                    Method method = ReflectCache.getDeclaredMethod(clazz, methodName);
                     method.setAccessible(true);
                     return (T) method.invoke(clazz);
                 }
@@ -677,7 +678,7 @@ public final class Reflect2Utils {
             Class<?> clazz = object.getClass();
             for (; clazz != Object.class; clazz = clazz.getSuperclass()) {
                 try {
-                    field = clazz.getDeclaredField(fieldName);
+                    field = ReflectCache.getDeclaredField(clazz, fieldName);
                     number++;
                 } catch (Exception e) {
                     // 这里甚么都不要做, 并且这里的异常必须这样写, 不能抛出去
@@ -16,6 +16,7 @@ import java.util.List;
 import java.util.Map;
 
 import dev.utils.JCLogUtils;
+import dev.utils.common.assist.ReflectCache;
 
 /**
  * detail: 反射相关工具类
@@ -154,11 +155,11 @@ public final class ReflectUtils {
             throws ReflectException {
         Class<?>[] types = getArgsType(args);
         try {
-            Constructor<?> constructor = type().getDeclaredConstructor(types);
+            Constructor<?> constructor = ReflectCache.getDeclaredConstructor(type(), types);
             return newInstance(constructor, args);
         } catch (NoSuchMethodException e) {
             List<Constructor<?>> list = new ArrayList<>();
-            for (Constructor<?> constructor : type().getDeclaredConstructors()) {
+            for (Constructor<?> constructor : ReflectCache.getDeclaredConstructors(type())) {
                 if (match(constructor.getParameterTypes(), types)) {
                     list.add(constructor);
                 }
@@ -294,6 +295,8 @@ public final class ReflectUtils {
         Field field = getAccessibleField(name);
         if ((field.getModifiers() & Modifier.FINAL) == Modifier.FINAL) {
             try {
+                // 缓存的 Field 为共享对象, 在新获取的 Field 上移除 final 修饰
+                field = accessible(field.getDeclaringClass().getDeclaredField(name));
                 Field modifiersField = Field.class.getDeclaredField("modifiers");
                 modifiersField.setAccessible(true);
                 modifiersField.setInt(field, field.getModifiers() & ~Modifier.FINAL);
@@ -314,19 +317,8 @@ public final class ReflectUtils {
      */
     private Field getAccessibleField(final String name)
             throws ReflectException {
-        Class<?> type = type();
         try {
-            return accessible(type.getField(name));
-        } catch (NoSuchFieldException e) {
-            do {
-                try {
-                    return accessible(type.getDeclaredField(name));
-                } catch (NoSuchFieldException ignore) {
-                }
-                type = type.getSuperclass();
-            } while (type != null);
-            JCLogUtils.eTag(TAG, e, "getAccessibleField");
-            throw new ReflectException(e);
+            return accessible(ReflectCache.getField(type(), name));
         } catch (Exception e) {
             JCLogUtils.eTag(TAG, e, "getAccessibleField");
             throw new ReflectException(e);
@@ -449,17 +441,9 @@ public final class ReflectUtils {
             final Class<?>[] types
     )
             throws ReflectException {
-        Class<?> type = type();
         try {
-            return type.getMethod(name, types);
+            return ReflectCache.getMethod(type(), name, types);
         } catch (Exception e) {
-            do {
-                try {
-                    return type.getDeclaredMethod(name, types);
-                } catch (Exception ignore) {
-                }
-                type = type.getSuperclass();
-            } while (type != null);
             JCLogUtils.eTag(TAG, e, "exactMethod");
             throw new ReflectException(e);
         }
@@ -475,11 +459,33 @@ public final class ReflectUtils {
     private Method similarMethod(
             final String name,
             final Class<?>[] types
+    )
+            throws ReflectException {
+        Map<ReflectCache.MemberKey, Method> cache = ReflectCache.getSimilarMethods(type());
+        ReflectCache.MemberKey              key   = new ReflectCache.MemberKey(name, types);
+        Method                              method = cache.get(key);
+        if (method == null) {
+            method = findSimilarMethod(name, types);
+            cache.put(key, method);
+        }
+        return method;
+    }
+
+    /**
+     * 查找相似参数的方法
+     * @param name  方法
+     * @param types 参数类型
+     * @return {@link Method}
+     * @throws ReflectException 反射异常
+     */
+    private Method findSimilarMethod(
+            final String name,
+            final Class<?>[] types
     )
             throws ReflectException {
         Class<?>     type    = type();
         List<Method> methods = new ArrayList<>();
-        for (Method method : type.getMethods()) {
+        for (Method method : ReflectCache.getMethods(type)) {
             if (isSimilarSignature(method, name, types)) {
                 methods.add(method);
             }
@@ -489,7 +495,7 @@ public final class ReflectUtils {
             return methods.get(0);
         }
         do {
-            for (Method method : type.getDeclaredMethods()) {
+            for (Method method : ReflectCache.getDeclaredMethods(type)) {
                 if (isSimilarSignature(method, name, types)) {
                     methods.add(method);
                 }
@@ -0,0 +1,698 @@
+package dev.utils.common.assist;
+
+import java.io.Externalizable;
+import java.io.File;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import dev.utils.JCLogUtils;
+import dev.utils.common.CloneUtils;
+import dev.utils.common.ConvertUtils;
+
+/**
+ * detail: 深拷贝引擎
+ * @author Ttt
+ * <pre>
+ *     每个 Class 首次拷贝时构建拷贝计划并缓存, 后续直接按计划逐字段复制
+ *     - 不可变类型 ( String、包装类、Enum 等 ) 直接复用
+ *     - 基本类型数组使用 System.arraycopy
+ *     - 常用 JDK 集合 ( 仅限精确类型, 保留 Comparator、accessOrder ) 按元素拷贝
+ *     - 使用 IdentityHashMap 保持引用关系 ( 支持循环引用 )
+ *     <p></p>
+ *     对象通过 Unsafe#allocateInstance 创建 ( 不执行构造函数 ), transient 变量保持默认值, 与反序列化一致
+ *     Unsafe 不可用时 {@link #copy} 使用无参构造函数创建并将 transient 变量重置为默认值
+ *     <p></p>
+ *     对象图中存在无法逐字段拷贝的对象 ( 自定义序列化、未知 Collection / Map 子类等 ) 时
+ *     不对其单独序列化 ( 会破坏与其他对象的引用关系 ), 而是整体回退为序列化拷贝
+ * </pre>
+ */
+public final class DeepCopier {
+
+    private DeepCopier() {
+    }
+
+    // 日志 TAG
+    private static final String TAG = DeepCopier.class.getSimpleName();
+
+    // 拷贝计划缓存
+    private static final Map<Class<?>, Plan> sPlans = new ConcurrentHashMap<>();
+
+    // 不可变类型
+    private static final Set<Class<?>> IMMUTABLE_TYPES = new HashSet<>();
+
+    static {
+        Class<?>[] types = {
+                String.class, Boolean.class, Character.class, Byte.class, Short.class,
+                Integer.class, Long.class, Float.class, Double.class, Void.class,
+                BigInteger.class, BigDecimal.class, Class.class,
+                UUID.class, Locale.class, File.class, Pattern.class
+        };
+        for (Class<?> type : types) {
+            IMMUTABLE_TYPES.add(type);
+        }
+    }
+
+    // 按元素拷贝的集合类型 ( 精确类型 )
+    private static final Set<Class<?>> CONTAINER_TYPES = new HashSet<>();
+
+    static {
+        Class<?>[] types = {
+                ArrayList.class, LinkedList.class, HashSet.class, LinkedHashSet.class,
+                TreeSet.class, ArrayDeque.class, PriorityQueue.class,
+                HashMap.class, LinkedHashMap.class, TreeMap.class, ConcurrentHashMap.class
+        };
+        for (Class<?> type : types) {
+            CONTAINER_TYPES.add(type);
+        }
+    }
+
+    // LinkedHashMap accessOrder 变量 ( 无法访问时 LinkedHashMap 使用序列化拷贝 )
+    private static final Field ACCESS_ORDER_FIELD = getAccessOrderField();
+
+    // sun.misc.Unsafe 实例及 allocateInstance 方法 ( 不可用时为 null )
+    private static final Object UNSAFE            = getUnsafe();
+    private static final Method ALLOCATE_INSTANCE = getAllocateInstance(UNSAFE);
+
+    // 计划类型
+    private static final int KIND_IMMUTABLE       = 0;
+    private static final int KIND_PRIMITIVE_ARRAY = 1;
+    private static final int KIND_OBJECT_ARRAY    = 2;
+    private static final int KIND_COLLECTION      = 3;
+    private static final int KIND_MAP             = 4;
+    private static final int KIND_FIELDS          = 5;
+    private static final int KIND_SERIALIZE       = 6;
+    private static final int KIND_UNSUPPORTED     = 7;
+
+    // =============
+    // = 对外公开方法 =
+    // =============
+
+    /**
+     * 深拷贝对象 ( 无需实现 {@link Serializable} )
+     * <pre>
+     *     无法逐字段拷贝时, Serializable 对象整体使用序列化拷贝, 否则返回 null
+     * </pre>
+     * @param object 待拷贝对象
+     * @param <T>    泛型
+     * @return 拷贝后的对象, 失败则返回 null
+     */
+    public static <T> T copy(final T object) {
+        if (object == null) return null;
+        try {
+            return cast(copy(object, new IdentityHashMap<Object, Object>(), false));
+        } catch (FallbackException ignore) {
+            // 整体回退为序列化拷贝
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "copy");
+        }
+        if (object instanceof Serializable) {
+            return cast(ConvertUtils.bytesToObject(
+                    CloneUtils.serializableToBytes((Serializable) object)
+            ));
+        }
+        return null;
+    }
+
+    /**
+     * 按序列化语义深拷贝对象
+     * <pre>
+     *     仅在拷贝结果与序列化、反序列化一致时逐字段拷贝:
+     *     对象图中全部对象均可序列化、无自定义序列化, 且首个不可序列化父类为 Object ( 无需执行其构造函数 )
+     *     否则 ( 含 Unsafe 不可用 ) 返回 null, 由调用方使用序列化克隆
+     * </pre>
+     * @param object 待拷贝对象
+     * @param <T>    泛型
+     * @return 拷贝后的对象, 无法保证与序列化一致时返回 null
+     */
+    public static <T> T copySerializable(final Serializable object) {
+        if (object == null || ALLOCATE_INSTANCE == null) return null;
+        try {
+            return cast(copy(object, new IdentityHashMap<Object, Object>(), true));
+        } catch (FallbackException ignore) {
+            // 由调用方使用序列化克隆
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "copySerializable");
+        }
+        return null;
+    }
+
+    /**
+     * 判断指定类型是否可以逐字段深拷贝
+     * @param clazz {@link Class}
+     * @return {@code true} yes, {@code false} no
+     */
+    public static boolean isSupport(final Class<?> clazz) {
+        if (clazz == null) return false;
+        int kind = plan(clazz).kind;
+        return kind != KIND_SERIALIZE && kind != KIND_UNSUPPORTED;
+    }
+
+    /**
+     * 清空拷贝计划缓存
+     */
+    public static void clearCache() {
+        sPlans.clear();
+    }
+
+    // ==========
+    // = 拷贝处理 =
+    // ==========
+
+    /**
+     * 深拷贝对象
+     * @param object 待拷贝对象
+     * @param copies 已拷贝对象 ( 原对象 - 拷贝对象 )
+     * @param strict 是否按序列化语义拷贝
+     * @return 拷贝后的对象
+     * @throws Exception 拷贝异常, 需整体回退时抛出 {@link FallbackException}
+     */
+    private static Object copy(
+            final Object object,
+            final IdentityHashMap<Object, Object> copies,
+            final boolean strict
+    )
+            throws Exception {
+        if (object == null) return null;
+        Plan plan = plan(object.getClass());
+        if (strict && !plan.serialSafe) throw FallbackException.INSTANCE;
+        if (plan.kind == KIND_IMMUTABLE) return object;
+
+        Object copy = copies.get(object);
+        if (copy != null) return copy;
+
+        switch (plan.kind) {
+            case KIND_PRIMITIVE_ARRAY: {
+                int length = Array.getLength(object);
+                copy = Array.newInstance(plan.componentType, length);
+                System.arraycopy(object, 0, copy, 0, length);
+                copies.put(object, copy);
+                return copy;
+            }
+            case KIND_OBJECT_ARRAY: {
+                Object[] source = (Object[]) object;
+                Object[] target = (Object[]) Array.newInstance(plan.componentType, source.length);
+                copies.put(object, target);
+                for (int i = 0, len = source.length; i < len; i++) {
+                    target[i] = copy(source[i], copies, strict);
+                }
+                return target;
+            }
+            case KIND_COLLECTION: {
+                Collection<Object> target = newCollection(plan, object, copies, strict);
+                copies.put(object, target);
+                for (Object value : (Collection<?>) object) {
+                    target.add(copy(value, copies, strict));
+                }
+                return target;
+            }
+            case KIND_MAP: {
+                Map<Object, Object> target = newMap(plan, object, copies, strict);
+                copies.put(object, target);
+                for (Map.Entry<?, ?> entry : ((Map<?, ?>) object).entrySet()) {
+                    target.put(copy(entry.getKey(), copies, strict), copy(entry.getValue(), copies, strict));
+                }
+                return target;
+            }
+            case KIND_FIELDS: {
+                Object target = allocate(plan);
+                copies.put(object, target);
+                copyPrimitiveFields(plan.primitiveFields, object, target);
+                for (Field field : plan.objectFields) {
+                    field.set(target, copy(field.get(object), copies, strict));
+                }
+                return target;
+            }
+            default:
+                // 单独序列化会破坏引用关系, 整体回退
+                throw FallbackException.INSTANCE;
+        }
+    }
+
+    /**
+     * 创建对象 ( 不执行构造函数, 不可用时使用无参构造函数并重置 transient 变量 )
+     * @param plan 拷贝计划
+     * @return 新对象
+     * @throws Exception 实例化异常
+     */
+    private static Object allocate(final Plan plan)
+            throws Exception {
+        if (ALLOCATE_INSTANCE != null) {
+            return ALLOCATE_INSTANCE.invoke(UNSAFE, plan.type);
+        }
+        Object target = plan.constructor.newInstance();
+        for (Field field : plan.transientFields) {
+            resetField(field, target);
+        }
+        return target;
+    }
+
+    /**
+     * 复制基本类型变量 ( 避免装箱 )
+     * @param fields 基本类型变量
+     * @param source 原对象
+     * @param target 拷贝对象
+     * @throws IllegalAccessException 访问异常
+     */
+    private static void copyPrimitiveFields(
+            final Field[] fields,
+            final Object source,
+            final Object target
+    )
+            throws IllegalAccessException {
+        for (Field field : fields) {
+            Class<?> type = field.getType();
+            if (type == int.class) {
+                field.setInt(target, field.getInt(source));
+            } else if (type == long.class) {
+                field.setLong(target, field.getLong(source));
+            } else if (type == boolean.class) {
+                field.setBoolean(target, field.getBoolean(source));
+            } else if (type == double.class) {
+                field.setDouble(target, field.getDouble(source));
+            } else if (type == float.class) {
+                field.setFloat(target, field.getFloat(source));
+            } else if (type == byte.class) {
+                field.setByte(target, field.getByte(source));
+            } else if (type == short.class) {
+                field.setShort(target, field.getShort(source));
+            } else if (type == char.class) {
+                field.setChar(target, field.getChar(source));
+            }
+        }
+    }
+
+    /**
+     * 重置变量为默认值
+     * @param field  变量
+     * @param target 对象
+     * @throws IllegalAccessException 访问异常
+     */
+    private static void resetField(
+            final Field field,
+            final Object target
+    )
+            throws IllegalAccessException {
+        Class<?> type = field.getType();
+        if (!type.isPrimitive()) {
+            field.set(target, null);
+        } else if (type == boolean.class) {
+            field.setBoolean(target, false);
+        } else if (type == char.class) {
+            field.setChar(target, (char) 0);
+        } else {
+            field.setByte(target, (byte) 0); // 宽化转换为 0
+        }
+    }
+
+    /**
+     * 创建同类型 Collection
+     * @param plan   拷贝计划
+     * @param object 原集合
+     * @param copies 已拷贝对象
+     * @param strict 是否按序列化语义拷贝
+     * @return {@link Collection}
+     * @throws Exception 实例化异常
+     */
+    private static Collection<Object> newCollection(
+            final Plan plan,
+            final Object object,
+            final IdentityHashMap<Object, Object> copies,
+            final boolean strict
+    )
+            throws Exception {
+        Class<?> type = plan.type;
+        int      size = ((Collection<?>) object).size();
+        if (type == ArrayList.class) return new ArrayList<>(size);
+        if (type == HashSet.class) return new HashSet<>(Math.max(16, (int) (size / .75f) + 1));
+        if (type == LinkedHashSet.class) return new LinkedHashSet<>(Math.max(16, (int) (size / .75f) + 1));
+        if (type == LinkedList.class) return new LinkedList<>();
+        if (type == ArrayDeque.class) return new ArrayDeque<>(size);
+        if (type == TreeSet.class) {
+            return new TreeSet<>(copyComparator(((TreeSet<?>) object).comparator(), copies, strict));
+        }
+        if (type == PriorityQueue.class) {
+            return new PriorityQueue<>(
+                    Math.max(1, size), copyComparator(((PriorityQueue<?>) object).comparator(), copies, strict)
+            );
+        }
+        throw new IllegalStateException("unsupported collection type: " + type.getName());
+    }
+
+    /**
+     * 创建同类型 Map
+     * @param plan   拷贝计划
+     * @param object 原 Map
+     * @param copies 已拷贝对象
+     * @param strict 是否按序列化语义拷贝
+     * @return {@link Map}
+     * @throws Exception 实例化异常
+     */
+    private static Map<Object, Object> newMap(
+            final Plan plan,
+            final Object object,
+            final IdentityHashMap<Object, Object> copies,
+            final boolean strict
+    )
+            throws Exception {
+        Class<?> type     = plan.type;
+        int      capacity = Math.max(16, (int) (((Map<?, ?>) object).size() / .75f) + 1);
+        if (type == HashMap.class) return new HashMap<>(capacity);
+        if (type == LinkedHashMap.class) {
+            return new LinkedHashMap<>(capacity, .75f, ACCESS_ORDER_FIELD.getBoolean(object));
+        }
+        if (type == ConcurrentHashMap.class) return new ConcurrentHashMap<>(capacity);
+        if (type == TreeMap.class) {
+            return new TreeMap<>(copyComparator(((TreeMap<?, ?>) object).comparator(), copies, strict));
+        }
+        throw new IllegalStateException("unsupported map type: " + type.getName());
+    }
+
+    /**
+     * 获取拷贝后的 Comparator
+     * <pre>
+     *     按序列化语义拷贝时与集合一同深拷贝, 否则共享原 Comparator
+     * </pre>
+     * @param comparator 原 Comparator
+     * @param copies     已拷贝对象
+     * @param strict     是否按序列化语义拷贝
+     * @return {@link Comparator}
+     * @throws Exception 拷贝异常
+     */
+    private static Comparator<Object> copyComparator(
+            final Comparator<?> comparator,
+            final IdentityHashMap<Object, Object> copies,
+            final boolean strict
+    )
+            throws Exception {
+        return cast(strict ? copy(comparator, copies, true) : comparator);
+    }
+
+    /**
+     * 类型转换 ( 仅在此处忽略 unchecked 警告 )
+     * @param object 对象
+     * @param <T>    泛型
+     * @return 转换后的对象
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T cast(final Object object) {
+        return (T) object;
+    }
+
+    // ==========
+    // = 拷贝计划 =
+    // ==========
+
+    /**
+     * 获取拷贝计划
+     * @param clazz {@link Class}
+     * @return {@link Plan}
+     */
+    private static Plan plan(final Class<?> clazz) {
+        Plan plan = sPlans.get(clazz);
+        if (plan == null) {
+            plan = createPlan(clazz);
+            sPlans.put(clazz, plan);
+        }
+        return plan;
+    }
+
+    /**
+     * 构建拷贝计划
+     * @param clazz {@link Class}
+     * @return {@link Plan}
+     */
+    private static Plan createPlan(final Class<?> clazz) {
+        boolean serializable = Serializable.class.isAssignableFrom(clazz);
+        if (isImmutable(clazz)) {
+            return new Plan(clazz, KIND_IMMUTABLE, serializable);
+        }
+        if (clazz.isArray()) {
+            Plan plan = new Plan(
+                    clazz, clazz.getComponentType().isPrimitive()
+                    ? KIND_PRIMITIVE_ARRAY : KIND_OBJECT_ARRAY, true
+            );
+            plan.componentType = clazz.getComponentType();
+            return plan;
+        }
+        boolean collection = Collection.class.isAssignableFrom(clazz);
+        boolean map        = Map.class.isAssignableFrom(clazz);
+        if (collection || map) {
+            // 子类可能存在额外状态 ( 如 LRU 淘汰策略 ), 仅对已知类型按元素拷贝
+            if (CONTAINER_TYPES.contains(clazz)
+                    && (clazz != LinkedHashMap.class || ACCESS_ORDER_FIELD != null)) {
+                return new Plan(clazz, collection ? KIND_COLLECTION : KIND_MAP, true);
+            }
+            return new Plan(clazz, serializable ? KIND_SERIALIZE : KIND_UNSUPPORTED, false);
+        }
+        if (serializable && (hasCustomSerialization(clazz) || Proxy.isProxyClass(clazz))) {
+            return new Plan(clazz, KIND_SERIALIZE, false);
+        }
+        // Lambda 等合成类无法逐字段创建
+        if (clazz.isSynthetic() || clazz.isInterface() || Modifier.isAbstract(clazz.getModifiers())) {
+            return new Plan(clazz, serializable ? KIND_SERIALIZE : KIND_UNSUPPORTED, false);
+        }
+        Constructor<?> constructor = null;
+        if (ALLOCATE_INSTANCE == null) {
+            constructor = getConstructor(clazz);
+            if (constructor == null) {
+                return new Plan(clazz, serializable ? KIND_SERIALIZE : KIND_UNSUPPORTED, false);
+            }
+        }
+        List<Field> primitiveFields = new ArrayList<>();
+        List<Field> objectFields    = new ArrayList<>();
+        List<Field> transientFields = new ArrayList<>();
+        for (Class<?> type = clazz; type != null && type != Object.class; type = type.getSuperclass()) {
+            for (Field field : type.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                if (Modifier.isStatic(modifiers)) continue;
+                try {
+                    field.setAccessible(true);
+                } catch (Exception e) {
+                    return new Plan(clazz, serializable ? KIND_SERIALIZE : KIND_UNSUPPORTED, false);
+                }
+                if (Modifier.isTransient(modifiers)) {
+                    transientFields.add(field);
+                } else if (field.getType().isPrimitive()) {
+                    primitiveFields.add(field);
+                } else {
+                    objectFields.add(field);
+                }
+            }
+        }
+        Plan plan = new Plan(clazz, KIND_FIELDS, serializable && isSerializableUpToObject(clazz));
+        plan.constructor     = constructor;
+        plan.primitiveFields = primitiveFields.toArray(new Field[0]);
+        plan.objectFields    = objectFields.toArray(new Field[0]);
+        plan.transientFields = transientFields.toArray(new Field[0]);
+        return plan;
+    }
+
+    /**
+     * 判断是否不可变类型
+     * @param clazz {@link Class}
+     * @return {@code true} yes, {@code false} no
+     */
+    private static boolean isImmutable(final Class<?> clazz) {
+        return clazz.isPrimitive() || clazz.isEnum() || IMMUTABLE_TYPES.contains(clazz)
+                || (clazz.getSuperclass() != null && clazz.getSuperclass().isEnum());
+    }
+
+    /**
+     * 判断父类是否均可序列化 ( 首个不可序列化父类为 Object )
+     * <pre>
+     *     反序列化会执行首个不可序列化父类的无参构造函数, 为 Object 时才与不执行构造函数等价
+     * </pre>
+     * @param clazz {@link Class}
+     * @return {@code true} yes, {@code false} no
+     */
+    private static boolean isSerializableUpToObject(final Class<?> clazz) {
+        for (Class<?> type = clazz; type != Object.class; type = type.getSuperclass()) {
+            if (!Serializable.class.isAssignableFrom(type)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * 获取 LinkedHashMap accessOrder 变量
+     * @return {@link Field}
+     */
+    private static Field getAccessOrderField() {
+        try {
+            Field field = LinkedHashMap.class.getDeclaredField("accessOrder");
+            field.setAccessible(true);
+            return field;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * 获取 sun.misc.Unsafe 实例
+     * @return Unsafe 实例, 不可用时返回 null
+     */
+    private static Object getUnsafe() {
+        try {
+            Field field = Class.forName("sun.misc.Unsafe").getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            return field.get(null);
+        } catch (Throwable e) {
+            return null;
+        }
+    }
+
+    /**
+     * 获取 Unsafe#allocateInstance 方法
+     * @param unsafe Unsafe 实例
+     * @return {@link Method}, 不可用时返回 null
+     */
+    private static Method getAllocateInstance(final Object unsafe) {
+        if (unsafe == null) return null;
+        try {
+            return unsafe.getClass().getMethod("allocateInstance", Class.class);
+        } catch (Throwable e) {
+            return null;
+        }
+    }
+
+    /**
+     * 获取无参构造函数
+     * @param clazz {@link Class}
+     * @return {@link Constructor}
+     */
+    private static Constructor<?> getConstructor(final Class<?> clazz) {
+        // 非静态内部类、匿名类无法通过无参构造函数正确创建
+        if (clazz.isAnonymousClass()
+                || (clazz.isMemberClass() && !Modifier.isStatic(clazz.getModifiers()))) {
+            return null;
+        }
+        try {
+            Constructor<?> constructor = clazz.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            return constructor;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * 判断是否存在自定义序列化处理
+     * @param clazz {@link Class}
+     * @return {@code true} yes, {@code false} no
+     */
+    private static boolean hasCustomSerialization(final Class<?> clazz) {
+        for (Class<?> type = clazz; type != null && type != Object.class; type = type.getSuperclass()) {
+            if (hasMethod(type, "writeObject", ObjectOutputStream.class)
+                    || hasMethod(type, "readObject", ObjectInputStream.class)
+                    || hasMethod(type, "readObjectNoData")
+                    || hasMethod(type, "writeReplace")
+                    || hasMethod(type, "readResolve")) {
+                return true;
+            }
+            try {
+                type.getDeclaredField("serialPersistentFields");
+                return true;
+            } catch (Exception ignore) {
+            }
+        }
+        return Externalizable.class.isAssignableFrom(clazz);
+    }
+
+    /**
+     * 判断类自身是否声明指定方法
+     * @param clazz {@link Class}
+     * @param name  方法名
+     * @param types 参数类型
+     * @return {@code true} yes, {@code false} no
+     */
+    private static boolean hasMethod(
+            final Class<?> clazz,
+            final String name,
+            final Class<?>... types
+    ) {
+        try {
+            Method method = clazz.getDeclaredMethod(name, types);
+            return method != null;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    // ==========
+    // = 内部类 =
+    // ==========
+
+    /**
+     * detail: 拷贝计划
+     * @author Ttt
+     */
+    private static final class Plan {
+
+        final Class<?> type;
+        final int      kind;
+        // 逐字段拷贝结果是否与序列化一致
+        final boolean  serialSafe;
+
+        Class<?>       componentType;
+        Constructor<?> constructor;
+        Field[]        primitiveFields;
+        Field[]        objectFields;
+        Field[]        transientFields;
+
+        Plan(
+                final Class<?> type,
+                final int kind,
+                final boolean serialSafe
+        ) {
+            this.type       = type;
+            this.kind       = kind;
+            this.serialSafe = serialSafe;
+        }
+    }
+
+    /**
+     * detail: 整体回退为序列化拷贝 ( 无堆栈 )
+     * @author Ttt
+     */
+    private static final class FallbackException
+            extends Exception {
+
+        static final FallbackException INSTANCE = new FallbackException();
+
+        private FallbackException() {
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,1111 @@
+package dev.utils.common.assist;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import dev.utils.JCLogUtils;
+import dev.utils.common.BigDecimalUtils;
+
+/**
+ * detail: 定点小数运算 ( 可变累加器 )
+ * @author Ttt
+ * <pre>
+ *     使用 long 存储未缩放值 ( unscaled ) + scale 表示小数, 运算结果与 {@link BigDecimal} 保持一致
+ *     计算溢出时自动提升为 {@link BigDecimal} 继续运算
+ *     <p></p>
+ *     运算直接修改自身数值, 未溢出时 add、subtract、multiply、divide 等不产生新对象
+ *     非线程安全, 适用于列表价格汇总等高频计算场景
+ *     配置信息 {@link BigDecimalUtils.Config} 与 {@link BigDecimalUtils.Operation} 语义一致
+ * </pre>
+ */
+public final class FixedDecimal {
+
+    // 日志 TAG
+    private static final String TAG = FixedDecimal.class.getSimpleName();
+
+    // 10 的 N 次方 ( N = 0-18 )
+    private static final long[] POW10 = new long[19];
+
+    // 10 的 N 次方 double 精确值 ( N = 0-22 )
+    private static final double[] POW10_DOUBLE = new double[23];
+
+    // double 可精确表示的最大整数
+    private static final long MAX_EXACT_DOUBLE = 1L << 53;
+
+    static {
+        POW10[0] = 1L;
+        for (int i = 1; i < POW10.length; i++) {
+            POW10[i] = POW10[i - 1] * 10L;
+        }
+        POW10_DOUBLE[0] = 1D;
+        for (int i = 1; i < POW10_DOUBLE.length; i++) {
+            POW10_DOUBLE[i] = POW10_DOUBLE[i - 1] * 10D;
+        }
+    }
+
+    // 未缩放值
+    private long       mUnscaled;
+    // 小数点位数
+    private int        mScale;
+    // 溢出后的数值 ( 不为 null 表示已提升为 BigDecimal )
+    private BigDecimal mBig;
+    // 配置信息
+    private BigDecimalUtils.Config mConfig;
+    // 是否抛出异常
+    private boolean    mThrowError = false;
+
+    // 参数解析结果
+    private long       mArgUnscaled;
+    private int        mArgScale;
+    private BigDecimal mArgBig;
+
+    // 数字字符缓存
+    private final char[] mDigits = new char[20];
+
+    public FixedDecimal() {
+        this(0L, 0);
+    }
+
+    /**
+     * 初始化定点小数
+     * @param unscaled 未缩放值
+     * @param scale    小数点位数
+     */
+    public FixedDecimal(
+            final long unscaled,
+            final int scale
+    ) {
+        this.mUnscaled = unscaled;
+        this.mScale    = scale;
+    }
+
+    /**
+     * 获取定点小数
+     * @param value Value
+     * @return {@link FixedDecimal} 无法解析则返回 null
+     */
+    public static FixedDecimal of(final Object value) {
+        return of(value, null);
+    }
+
+    /**
+     * 获取定点小数
+     * @param value  Value
+     * @param config {@link BigDecimalUtils.Config}
+     * @return {@link FixedDecimal} 无法解析则返回 null
+     */
+    public static FixedDecimal of(
+            final Object value,
+            final BigDecimalUtils.Config config
+    ) {
+        FixedDecimal decimal = new FixedDecimal();
+        if (!decimal.parse(value)) return null;
+        decimal.assignArg();
+        decimal.mConfig = config;
+        return decimal;
+    }
+
+    /**
+     * 内部抛出异常方法
+     */
+    private void throwException() {
+        if (mThrowError) throw new BigDecimalUtils.CalculateException();
+    }
+
+    // ===========
+    // = get/set =
+    // ===========
+
+    /**
+     * 是否使用 long 紧凑存储 ( 未提升为 BigDecimal )
+     * @return {@code true} yes, {@code false} no
+     */
+    public boolean isCompact() {
+        return mBig == null;
+    }
+
+    /**
+     * 获取小数点位数
+     * @return 小数点位数
+     */
+    public int scale() {
+        return (mBig != null) ? mBig.scale() : mScale;
+    }
+
+    /**
+     * 获取配置信息
+     * @return {@link BigDecimalUtils.Config}
+     */
+    public BigDecimalUtils.Config getConfig() {
+        return mConfig;
+    }
+
+    /**
+     * 设置配置信息
+     * @param config {@link BigDecimalUtils.Config}
+     * @return {@link FixedDecimal}
+     */
+    public FixedDecimal setConfig(final BigDecimalUtils.Config config) {
+        this.mConfig = config;
+        return this;
+    }
+
+    /**
+     * 是否抛出异常
+     * @return {@code true} yes, {@code false} no
+     */
+    public boolean isThrowError() {
+        return mThrowError;
+    }
+
+    /**
+     * 设置是否抛出异常
+     * @param throwError 是否抛出异常
+     * @return {@link FixedDecimal}
+     */
+    public FixedDecimal setThrowError(final boolean throwError) {
+        this.mThrowError = throwError;
+        return this;
+    }
+
+    /**
+     * 设置数值
+     * @param unscaled 未缩放值
+     * @param scale    小数点位数
+     * @return {@link FixedDecimal}
+     */
+    public FixedDecimal set(
+            final long unscaled,
+            final int scale
+    ) {
+        this.mUnscaled = unscaled;
+        this.mScale    = scale;
+        this.mBig      = null;
+        return this;
+    }
+
+    /**
+     * 设置数值
+     * @param value {@link FixedDecimal}
+     * @return {@link FixedDecimal}
+     */
+    public FixedDecimal set(final FixedDecimal value) {
+        if (value != null) {
+            this.mUnscaled = value.mUnscaled;
+            this.mScale    = value.mScale;
+            this.mBig      = value.mBig;
+        } else {
+            throwException();
+        }
+        return this;
+    }
+
+    /**
+     * 设置数值
+     * @param value Value
+     * @return {@link FixedDecimal}
+     */
+    public FixedDecimal set(final Object value) {
+        if (parse(value)) {
+            assignArg();
+        } else {
+            throwException();
+        }
+        return this;
+    }
+
+    /**
+     * 清零 ( 保留配置信息 )
+     * @return {@link FixedDecimal}
+     */
+    public FixedDecimal reset() {
+        return set(0L, 0);
+    }
+
+    // =======
+    // = 运算 =
+    // =======
+
+    /**
+     * 加法运算
+     * @param unscaled 未缩放值
+     * @param scale    小数点位数
+     * @return {@link FixedDecimal}
+     */
+    public FixedDecimal add(
+            final long unscaled,
+            final int scale
+    ) {
+        if (mBig == null) {
+            try {
+                if (mScale == scale) {
+                    mUnscaled = addExact(mUnscaled, unscaled);
+                } else if (mScale > scale) {
+                    mUnscaled = addExact(mUnscaled, rescale(unscaled, mScale - scale));
+                } else {
+                    mUnscaled = addExact(rescale(mUnscaled, scale - mScale), unscaled);
+                    mScale    = scale;
+                }
+                return this;
+            } catch (ArithmeticException ignore) {
+                promote();
+            }
+        }
+        mBig = mBig.add(BigDecimal.valueOf(unscaled, scale));
+        return this;
+    }
+
+    /**
+     * 加法运算
+     * @param value 加数
+     * @return {@link FixedDecimal}
+     */
+    public FixedDecimal add(final long value) {
+        return add(value, 0);
+    }
+
+    /**
+     * 加法运算
+     * @param value 加数
+     * @return {@link FixedDecimal}
+     */
+    public FixedDecimal add(final FixedDecimal value) {
+        if (value == null) {
+            throwException();
+            return this;
+        }
+        if (value.mBig == null) return add(value.mUnscaled, value.mScale);
+        promote();
+        mBig = mBig.add(value.mBig);
+        return this;
+    }
+
+    /**
+     * 加法运算
+     * @param value 加数
+     * @return {@link FixedDecimal}
+     */
+    public FixedDecimal add(final Object value) {
+        if (!parse(value)) {
+            throwException();
+            return this;
+        }
+        if (mArgBig == null) return add(mArgUnscaled, mArgScale);
+        promote();
+        mBig = mBig.add(mArgBig);
+        return this;
+    }
+
+    // =
+
+    /**
+     * 减法运算
+     * @param unscaled 未缩放值
+     * @param scale    小数点位数
+     * @return {@link FixedDecimal}
+     */
+    public FixedDecimal subtract(
+            final long unscaled,
+            final int scale
+    ) {
+        if (unscaled != Long.MIN_VALUE) return add(-unscaled, scale);
+        promote();
+        mBig = mBig.subtract(BigDecimal.valueOf(unscaled, scale));
+        return this;
+    }
+
+    /**
+     * 减法运算
+     * @param value 减数
+     * @return {@link FixedDecimal}
+     */
+    public FixedDecimal subtract(final long value) {
+        return subtract(value, 0);
+    }
+
+    /**
+     * 减法运算
+     * @param value 减数
+     * @return {@link FixedDecimal}
+     */
+    public FixedDecimal subtract(final FixedDecimal value) {
+        if (value == null) {
+            throwException();
+            return this;
+        }
+        if (value.mBig == null) return subtract(value.mUnscaled, value.mScale);
+        promote();
+        mBig = mBig.subtract(value.mBig);
+        return this;
+    }
+
+    /**
+     * 减法运算
+     * @param value 减数
+     * @return {@link FixedDecimal}
+     */
+    public FixedDecimal subtract(final Object value) {
+        if (!parse(value)) {
+            throwException();
+            return this;
+        }
+        if (mArgBig == null) return subtract(mArgUnscaled, mArgScale);
+        promote();
+        mBig = mBig.subtract(mArgBig);
+        return this;
+    }
+
+    // =
+
+    /**
+     * 乘法运算
+     * @param unscaled 未缩放值
+     * @param scale    小数点位数
+     * @return {@link FixedDecimal}
+     */
+    public FixedDecimal multiply(
+            final long unscaled,
+            final int scale
+    ) {
+        if (mBig == null) {
+            try {
+                mUnscaled = multiplyExact(mUnscaled, unscaled);
+                mScale    = mScale + scale;
+                return this;
+            } catch (ArithmeticException ignore) {
+                promote();
+            }
+        }
+        mBig = mBig.multiply(BigDecimal.valueOf(unscaled, scale));
+        return this;
+    }
+
+    /**
+     * 乘法运算
+     * @param value 乘数
+     * @return {@link FixedDecimal}
+     */
+    public FixedDecimal multiply(final long value) {
+        return multiply(value, 0);
+    }
+
+    /**
+     * 乘法运算
+     * @param value 乘数
+     * @return {@link FixedDecimal}
+     */
+    public FixedDecimal multiply(final FixedDecimal value) {
+        if (value == null) {
+            throwException();
+            return this;
+        }
+        if (value.mBig == null) return multiply(value.mUnscaled, value.mScale);
+        promote();
+        mBig = mBig.multiply(value.mBig);
+        return this;
+    }
+
+    /**
+     * 乘法运算
+     * @param value 乘数
+     * @return {@link FixedDecimal}
+     */
+    public FixedDecimal multiply(final Object value) {
+        if (!parse(value)) {
+            throwException();
+            return this;
+        }
+        if (mArgBig == null) return multiply(mArgUnscaled, mArgScale);
+        promote();
+        mBig = mBig.multiply(mArgBig);
+        return this;
+    }
+
+    // =
+
+    /**
+     * 除法运算 ( 使用配置信息 )
+     * @param value 除数
+     * @return {@link FixedDecimal}
+     */
+    public FixedDecimal divide(final Object value) {
+        return divide(value, mConfig);
+    }
+
+    /**
+     * 除法运算
+     * @param value  除数
+     * @param config {@link BigDecimalUtils.Config}
+     * @return {@link FixedDecimal}
+     */
+    public FixedDecimal divide(
+            final Object value,
+            final BigDecimalUtils.Config config
+    ) {
+        BigDecimalUtils.Config divideConfig = (config != null) ? config : new BigDecimalUtils.Config();
+        return divide(value, divideConfig.getScale(), divideConfig.getRoundingMode());
+    }
+
+    /**
+     * 除法运算
+     * @param value        除数
+     * @param scale        保留 scale 位小数
+     * @param roundingMode 舍入模式
+     * @return {@link FixedDecimal}
+     */
+    public FixedDecimal divide(
+            final Object value,
+            final int scale,
+            final int roundingMode
+    ) {
+        if (value instanceof FixedDecimal) {
+            FixedDecimal decimal = (FixedDecimal) value;
+            mArgUnscaled = decimal.mUnscaled;
+            mArgScale    = decimal.mScale;
+            mArgBig      = decimal.mBig;
+        } else if (!parse(value)) {
+            throwException();
+            return this;
+        }
+        try {
+            if (mBig == null && mArgBig == null) {
+                try {
+                    mUnscaled = divideCompact(
+                            mUnscaled, mScale, mArgUnscaled, mArgScale, scale, roundingMode
+                    );
+                    mScale    = scale;
+                    return this;
+                } catch (ArithmeticException ignore) {
+                    // 溢出或需要 BigDecimal 判断异常, 提升后重新计算
+                }
+            }
+            BigDecimal divisor = (mArgBig != null) ? mArgBig : BigDecimal.valueOf(mArgUnscaled, mArgScale);
+            BigDecimal result  = toBigDecimal().divide(divisor, scale, roundingMode);
+            assign(result);
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "divide");
+            throwException();
+        }
+        return this;
+    }
+
+    // =
+
+    /**
+     * 取余运算
+     * @param value 除数
+     * @return {@link FixedDecimal}
+     */
+    public FixedDecimal remainder(final Object value) {
+        if (value instanceof FixedDecimal) {
+            FixedDecimal decimal = (FixedDecimal) value;
+            mArgUnscaled = decimal.mUnscaled;
+            mArgScale    = decimal.mScale;
+            mArgBig      = decimal.mBig;
+        } else if (!parse(value)) {
+            throwException();
+            return this;
+        }
+        try {
+            if (mBig == null && mArgBig == null && mArgUnscaled != 0L) {
+                try {
+                    int  scale    = Math.max(mScale, mArgScale);
+                    long dividend = rescale(mUnscaled, scale - mScale);
+                    long divisor  = rescale(mArgUnscaled, scale - mArgScale);
+                    long quotient = dividend / divisor;
+                    // 结果 scale 与 BigDecimal#remainder 保持一致 ( 商为整数部分, 首选 scale 为 s1 - s2 )
+                    int preferredScale = mScale - mArgScale;
+                    int quotientScale  = preferredScale;
+                    if (preferredScale < 0 && quotient != 0L) {
+                        quotientScale = Math.max(preferredScale, -trailingZeros(quotient));
+                    }
+                    int resultScale = Math.max(mScale, quotientScale + mArgScale);
+                    mUnscaled = rescaleTo(dividend % divisor, scale, resultScale);
+                    mScale    = resultScale;
+                    return this;
+                } catch (ArithmeticException ignore) {
+                    // 溢出提升后重新计算
+                }
+            }
+            BigDecimal divisor = (mArgBig != null) ? mArgBig : BigDecimal.valueOf(mArgUnscaled, mArgScale);
+            assign(toBigDecimal().remainder(divisor));
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "remainder");
+            throwException();
+        }
+        return this;
+    }
+
+    // =
+
+    /**
+     * 设置小数点保留位数、舍入模式 ( 使用配置信息 )
+     * @return {@link FixedDecimal}
+     */
+    public FixedDecimal setScaleByConfig() {
+        return setScale(mConfig);
+    }
+
+    /**
+     * 设置小数点保留位数、舍入模式
+     * @param config {@link BigDecimalUtils.Config}
+     * @return {@link FixedDecimal}
+     */
+    public FixedDecimal setScale(final BigDecimalUtils.Config config) {
+        if (config == null) {
+            throwException();
+            return this;
+        }
+        return setScale(config.getScale(), config.getRoundingMode());
+    }
+
+    /**
+     * 设置小数点保留位数、舍入模式
+     * <pre>
+     *     等同于 {@link BigDecimalUtils.Operation#round(int, int)}
+     * </pre>
+     * @param scale        小数点保留位数
+     * @param roundingMode 舍入模式
+     * @return {@link FixedDecimal}
+     */
+    public FixedDecimal setScale(
+            final int scale,
+            final int roundingMode
+    ) {
+        try {
+            if (mBig == null) {
+                try {
+                    if (scale >= mScale) {
+                        mUnscaled = rescale(mUnscaled, scale - mScale);
+                    } else {
+                        int diff = mScale - scale;
+                        if (diff >= POW10.length) throw new ArithmeticException("overflow");
+                        mUnscaled = divideAndRound(mUnscaled, POW10[diff], roundingMode);
+                    }
+                    mScale = scale;
+                    return this;
+                } catch (ArithmeticException ignore) {
+                    // 溢出提升后重新计算
+                }
+            }
+            assign(toBigDecimal().setScale(scale, roundingMode));
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "setScale");
+            throwException();
+        }
+        return this;
+    }
+
+    /**
+     * 取反
+     * @return {@link FixedDecimal}
+     */
+    public FixedDecimal negate() {
+        if (mBig == null && mUnscaled != Long.MIN_VALUE) {
+            mUnscaled = -mUnscaled;
+        } else {
+            promote();
+            mBig = mBig.negate();
+        }
+        return this;
+    }
+
+    // ==========
+    // = 比较大小 =
+    // ==========
+
+    /**
+     * 获取正负符号
+     * @return -1, 0, 1
+     */
+    public int signum() {
+        return (mBig != null) ? mBig.signum() : Long.signum(mUnscaled);
+    }
+
+    /**
+     * 比较大小
+     * @param value 被比较的数字
+     * @return [1 = v1 > v2]、[-1 = v1 < v2]、[0 = v1 = v2]
+     */
+    private int compareFixed(final FixedDecimal value) {
+        if (mBig == null && value.mBig == null) {
+            Integer result = compareCompact(mUnscaled, mScale, value.mUnscaled, value.mScale);
+            if (result != null) return result;
+        }
+        return toBigDecimal().compareTo(value.toBigDecimal());
+    }
+
+    /**
+     * 比较大小
+     * @param value 被比较的数字
+     * @return [1 = v1 > v2]、[-1 = v1 < v2]、[0 = v1 = v2]、[-2 = error]
+     */
+    public int compareTo(final Object value) {
+        if (value instanceof FixedDecimal) return compareFixed((FixedDecimal) value);
+        if (!parse(value)) {
+            throwException();
+            return -2;
+        }
+        if (mBig == null && mArgBig == null) {
+            Integer result = compareCompact(mUnscaled, mScale, mArgUnscaled, mArgScale);
+            if (result != null) return result;
+        }
+        BigDecimal other = (mArgBig != null) ? mArgBig : BigDecimal.valueOf(mArgUnscaled, mArgScale);
+        return toBigDecimal().compareTo(other);
+    }
+
+    // ==========
+    // = 获取方法 =
+    // ==========
+
+    /**
+     * 复制对象
+     * @return {@link FixedDecimal}
+     */
+    public FixedDecimal copy() {
+        FixedDecimal decimal = new FixedDecimal(mUnscaled, mScale);
+        decimal.mBig        = mBig;
+        decimal.mConfig     = mConfig;
+        decimal.mThrowError = mThrowError;
+        return decimal;
+    }
+
+    /**
+     * 转换为 {@link BigDecimal}
+     * @return {@link BigDecimal}
+     */
+    public BigDecimal toBigDecimal() {
+        return (mBig != null) ? mBig : BigDecimal.valueOf(mUnscaled, mScale);
+    }
+
+    /**
+     * 转换为 {@link BigDecimalUtils.Operation}
+     * @return {@link BigDecimalUtils.Operation}
+     */
+    public BigDecimalUtils.Operation toOperation() {
+        return new BigDecimalUtils.Operation(toBigDecimal(), mConfig)
+                .setThrowError(mThrowError);
+    }
+
+    /**
+     * 获取指定类型值
+     * @return 指定类型值
+     */
+    public double doubleValue() {
+        if (mBig == null && Math.abs(mUnscaled) <= MAX_EXACT_DOUBLE) {
+            // 两个精确 double 运算一次, 结果为正确舍入值, 与 BigDecimal#doubleValue 一致
+            if (mScale == 0) {
+                return (double) mUnscaled;
+            } else if (mScale > 0 && mScale < POW10_DOUBLE.length) {
+                return (double) mUnscaled / POW10_DOUBLE[mScale];
+            } else if (mScale < 0 && -mScale < POW10_DOUBLE.length) {
+                return (double) mUnscaled * POW10_DOUBLE[-mScale];
+            }
+        }
+        return toBigDecimal().doubleValue();
+    }
+
+    /**
+     * 获取指定类型值 ( 舍弃小数 )
+     * @return 指定类型值
+     */
+    public long longValue() {
+        if (mBig == null) {
+            if (mScale == 0) return mUnscaled;
+            if (mScale > 0) return (mScale < POW10.length) ? mUnscaled / POW10[mScale] : 0L;
+        }
+        return toBigDecimal().longValue();
+    }
+
+    /**
+     * 获取此数值的字符串表示形式不带指数字段
+     * @return 此数值的字符串表示形式不带指数字段
+     */
+    public String toPlainString() {
+        if (mBig != null || mScale < 0) return toBigDecimal().toPlainString();
+        return appendPlainString(new StringBuilder(22)).toString();
+    }
+
+    /**
+     * 追加不带指数字段的字符串表示形式
+     * @param builder {@link StringBuilder}
+     * @return {@link StringBuilder}
+     */
+    public StringBuilder appendPlainString(final StringBuilder builder) {
+        if (mBig != null || mScale < 0) {
+            return builder.append(toBigDecimal().toPlainString());
+        }
+        long   value  = mUnscaled;
+        char[] digits = mDigits;
+        int    pos    = digits.length;
+        // 使用负数计算, 兼容 Long.MIN_VALUE
+        long negative = (value < 0) ? value : -value;
+        do {
+            digits[--pos] = (char) ('0' - (negative % 10));
+            negative /= 10;
+        } while (negative != 0);
+        int length = digits.length - pos;
+        if (value < 0) builder.append('-');
+        if (mScale == 0) {
+            return builder.append(digits, pos, length);
+        }
+        if (length <= mScale) {
+            builder.append('0').append('.');
+            for (int i = length; i < mScale; i++) {
+                builder.append('0');
+            }
+            return builder.append(digits, pos, length);
+        }
+        int integerLength = length - mScale;
+        return builder.append(digits, pos, integerLength).append('.')
+                .append(digits, pos + integerLength, mScale);
+    }
+
+    /**
+     * 获取此数值的字符串表示形式
+     * @return 与 {@link BigDecimal#toString()} 一致
+     */
+    @Override
+    public String toString() {
+        return toBigDecimal().toString();
+    }
+
+    // ==========
+    // = 内部方法 =
+    // ==========
+
+    /**
+     * 解析参数 ( 结果存储于 mArgXxx )
+     * <pre>
+     *     解析规则与 {@link BigDecimalUtils#getBigDecimal(Object)} 一致
+     * </pre>
+     * @param value Value
+     * @return {@code true} success, {@code false} fail
+     */
+    private boolean parse(final Object value) {
+        mArgBig = null;
+        if (value == null) return false;
+        if (value instanceof Integer || value instanceof Long) {
+            mArgUnscaled = ((Number) value).longValue();
+            mArgScale    = 0;
+            return true;
+        }
+        if (value instanceof FixedDecimal) {
+            FixedDecimal decimal = (FixedDecimal) value;
+            mArgUnscaled = decimal.mUnscaled;
+            mArgScale    = decimal.mScale;
+            mArgBig      = decimal.mBig;
+            return true;
+        }
+        try {
+            if (value instanceof Double || value instanceof Float) {
+                // BigDecimal.valueOf(double) 使用 Double.toString
+                double number = ((Number) value).doubleValue();
+                if (Double.isNaN(number) || Double.isInfinite(number)) return false;
+                return parse(Double.toString(number));
+            }
+            if (value instanceof BigDecimal) {
+                return parseBigDecimal((BigDecimal) value);
+            }
+            if (value instanceof CharSequence) {
+                CharSequence chars = (CharSequence) value;
+                if (parseChars(chars)) return true;
+                return parseBigDecimal(new BigDecimal(chars.toString()));
+            }
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "parse");
+            return false;
+        }
+        BigDecimal bigDecimal = BigDecimalUtils.getBigDecimal(value);
+        return bigDecimal != null && parseBigDecimal(bigDecimal);
+    }
+
+    /**
+     * 解析 BigDecimal 参数
+     * @param value {@link BigDecimal}
+     * @return {@code true} success
+     */
+    private boolean parseBigDecimal(final BigDecimal value) {
+        BigInteger unscaled = value.unscaledValue();
+        if (unscaled.bitLength() < 64) {
+            mArgUnscaled = unscaled.longValue();
+            mArgScale    = value.scale();
+            mArgBig      = null;
+        } else {
+            mArgBig = value;
+        }
+        return true;
+    }
+
+    /**
+     * 快速解析 [+-]digits[.digits] 格式字符串
+     * @param chars 待解析字符串
+     * @return {@code true} success, {@code false} 需使用 BigDecimal 解析
+     */
+    private boolean parseChars(final CharSequence chars) {
+        int length = chars.length();
+        if (length == 0) return false;
+        int     index    = 0;
+        boolean negative = false;
+        char    first    = chars.charAt(0);
+        if (first == '-' || first == '+') {
+            negative = (first == '-');
+            index++;
+        }
+        long    unscaled    = 0L;
+        int     scale       = 0;
+        int     digits      = 0;
+        int     significant = 0;
+        boolean point       = false;
+        for (; index < length; index++) {
+            char ch = chars.charAt(index);
+            if (ch >= '0' && ch <= '9') {
+                digits++;
+                if (point) scale++;
+                if (unscaled != 0L || ch != '0') {
+                    // 超过 18 位有效数字交由 BigDecimal 处理
+                    if (++significant > 18) return false;
+                }
+                unscaled = unscaled * 10L + (ch - '0');
+            } else if (ch == '.' && !point) {
+                point = true;
+            } else {
+                return false;
+            }
+        }
+        if (digits == 0) return false;
+        mArgUnscaled = negative ? -unscaled : unscaled;
+        mArgScale    = scale;
+        return true;
+    }
+
+    /**
+     * 使用参数解析结果赋值
+     */
+    private void assignArg() {
+        if (mArgBig != null) {
+            mBig = mArgBig;
+        } else {
+            set(mArgUnscaled, mArgScale);
+        }
+    }
+
+    /**
+     * 使用 BigDecimal 赋值 ( 可压缩则恢复 long 存储 )
+     * @param value {@link BigDecimal}
+     */
+    private void assign(final BigDecimal value) {
+        parseBigDecimal(value);
+        assignArg();
+    }
+
+    /**
+     * 提升为 BigDecimal 存储
+     */
+    private void promote() {
+        if (mBig == null) mBig = BigDecimal.valueOf(mUnscaled, mScale);
+    }
+
+    /**
+     * 比较两个紧凑数值
+     * @param u1 未缩放值 1
+     * @param s1 小数点位数 1
+     * @param u2 未缩放值 2
+     * @param s2 小数点位数 2
+     * @return 比较结果, 溢出则返回 null
+     */
+    private static Integer compareCompact(
+            final long u1,
+            final int s1,
+            final long u2,
+            final int s2
+    ) {
+        try {
+            if (s1 == s2) return Long.compare(u1, u2);
+            if (s1 > s2) return Long.compare(u1, rescale(u2, s1 - s2));
+            return Long.compare(rescale(u1, s2 - s1), u2);
+        } catch (ArithmeticException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 紧凑除法运算
+     * @param u1           被除数未缩放值
+     * @param s1           被除数小数点位数
+     * @param u2           除数未缩放值
+     * @param s2           除数小数点位数
+     * @param scale        结果小数点位数
+     * @param roundingMode 舍入模式
+     * @return 结果未缩放值
+     * @throws ArithmeticException 溢出、除数为 0 或需要舍入 ( ROUND_UNNECESSARY )
+     */
+    private static long divideCompact(
+            final long u1,
+            final int s1,
+            final long u2,
+            final int s2,
+            final int scale,
+            final int roundingMode
+    ) {
+        if (u2 == 0L) throw new ArithmeticException("Division by zero");
+        // result = u1 * 10^(scale - s1 + s2) / u2
+        long exponent = (long) scale - s1 + s2;
+        if (exponent >= 0) {
+            if (exponent >= POW10.length) throw new ArithmeticException("overflow");
+            return divideAndRound(multiplyExact(u1, POW10[(int) exponent]), u2, roundingMode);
+        }
+        if (-exponent >= POW10.length) throw new ArithmeticException("overflow");
+        return divideAndRound(u1, multiplyExact(u2, POW10[(int) -exponent]), roundingMode);
+    }
+
+    /**
+     * 除法并按舍入模式处理
+     * @param dividend     被除数
+     * @param divisor      除数
+     * @param roundingMode 舍入模式
+     * @return 舍入后的商
+     * @throws ArithmeticException 溢出或需要舍入 ( ROUND_UNNECESSARY )
+     */
+    private static long divideAndRound(
+            final long dividend,
+            final long divisor,
+            final int roundingMode
+    ) {
+        if (dividend == Long.MIN_VALUE || divisor == Long.MIN_VALUE) {
+            throw new ArithmeticException("overflow");
+        }
+        long quotient  = dividend / divisor;
+        long remainder = dividend % divisor;
+        if (remainder == 0L) return quotient;
+        int sign = ((dividend < 0) == (divisor < 0)) ? 1 : -1;
+        boolean increment;
+        switch (roundingMode) {
+            case BigDecimal.ROUND_UP:
+                increment = true;
+                break;
+            case BigDecimal.ROUND_DOWN:
+                increment = false;
+                break;
+            case BigDecimal.ROUND_CEILING:
+                increment = (sign > 0);
+                break;
+            case BigDecimal.ROUND_FLOOR:
+                increment = (sign < 0);
+                break;
+            case BigDecimal.ROUND_HALF_UP:
+            case BigDecimal.ROUND_HALF_DOWN:
+            case BigDecimal.ROUND_HALF_EVEN: {
+                long absRemainder = Math.abs(remainder);
+                int  compare      = Long.compare(absRemainder, Math.abs(divisor) - absRemainder);
+                if (compare != 0) {
+                    increment = (compare > 0);
+                } else if (roundingMode == BigDecimal.ROUND_HALF_UP) {
+                    increment = true;
+                } else if (roundingMode == BigDecimal.ROUND_HALF_DOWN) {
+                    increment = false;
+                } else {
+                    increment = (quotient & 1L) != 0L;
+                }
+                break;
+            }
+            default:
+                // ROUND_UNNECESSARY 或非法模式交由 BigDecimal 抛出对应异常
+                throw new ArithmeticException("rounding necessary");
+        }
+        return increment ? quotient + sign : quotient;
+    }
+
+    /**
+     * 放大 10^power 倍
+     * @param value 数值
+     * @param power 次方
+     * @return 放大后的数值
+     * @throws ArithmeticException 溢出
+     */
+    private static long rescale(
+            final long value,
+            final int power
+    ) {
+        if (power == 0 || value == 0L) return value;
+        if (power < 0 || power >= POW10.length) throw new ArithmeticException("overflow");
+        return multiplyExact(value, POW10[power]);
+    }
+
+    /**
+     * 调整未缩放值的小数点位数 ( 缩小时必须为精确值 )
+     * @param value     未缩放值
+     * @param fromScale 原小数点位数
+     * @param toScale   目标小数点位数
+     * @return 调整后的未缩放值
+     * @throws ArithmeticException 溢出或无法精确调整
+     */
+    private static long rescaleTo(
+            final long value,
+            final int fromScale,
+            final int toScale
+    ) {
+        if (toScale >= fromScale) return rescale(value, toScale - fromScale);
+        int diff = fromScale - toScale;
+        if (value == 0L) return 0L;
+        if (diff >= POW10.length || value % POW10[diff] != 0L) {
+            throw new ArithmeticException("rounding necessary");
+        }
+        return value / POW10[diff];
+    }
+
+    /**
+     * 获取末尾 0 的个数
+     * @param value 数值 ( 非 0 )
+     * @return 末尾 0 的个数
+     */
+    private static int trailingZeros(final long value) {
+        int  count  = 0;
+        long number = value;
+        while (number % 10L == 0L) {
+            number /= 10L;
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * 加法运算 ( 溢出抛出异常 )
+     * @param x 被加数
+     * @param y 加数
+     * @return 和
+     * @throws ArithmeticException 溢出
+     */
+    private static long addExact(
+            final long x,
+            final long y
+    ) {
+        long result = x + y;
+        if (((x ^ result) & (y ^ result)) < 0) {
+            throw new ArithmeticException("long overflow");
+        }
+        return result;
+    }
+
+    /**
+     * 乘法运算 ( 溢出抛出异常 )
+     * @param x 被乘数
+     * @param y 乘数
+     * @return 积
+     * @throws ArithmeticException 溢出
+     */
+    private static long multiplyExact(
+            final long x,
+            final long y
+    ) {
+        long result = x * y;
+        long ax     = Math.abs(x);
+        long ay     = Math.abs(y);
+        if (((ax | ay) >>> 31) != 0) {
+            if ((y != 0 && result / y != x) || (x == Long.MIN_VALUE && y == -1)) {
+                throw new ArithmeticException("long overflow");
+            }
+        }
+        return result;
+    }
+}
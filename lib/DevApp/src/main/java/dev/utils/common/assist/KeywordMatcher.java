@@ -0,0 +1,708 @@
+package dev.utils.common.assist;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * detail: 多关键字匹配器 ( Aho-Corasick )
+ * @author Ttt
+ * <pre>
+ *     关键字集合编译一次后可重复使用 ( 线程安全 ), 单次遍历文本即可完成查找、统计、替换
+ *     与逐个关键字调用 indexOf、replace 相比, 耗时与关键字数量无关
+ *     <p></p>
+ *     查找、统计、替换采用最左最长不重叠匹配 ( 单个关键字时与 indexOf 循环、String.replace 结果一致 )
+ *     忽略大小写时按字符折叠 ( 与 String.equalsIgnoreCase 规则一致 )
+ *     状态数 * 字符种类不超过 {@link #DFA_LIMIT} 时生成完整转移表 ( DFA ), 否则使用 Trie + 失败指针
+ *     空关键字忽略, 重复关键字以首个为准
+ * </pre>
+ */
+public final class KeywordMatcher {
+
+    // 完整转移表最大项数 ( 4 MB )
+    private static final int DFA_LIMIT = 1 << 20;
+
+    // 关键字
+    private final String[] mKeywords;
+    // 是否忽略大小写
+    private final boolean  mIgnoreCase;
+    // 最长关键字长度
+    private final int      mMaxLength;
+    // 子节点起始索引 ( mChildChars、mChildStates ), 长度为状态数 + 1
+    private final int[]    mChildStart;
+    // 子节点字符 ( 按状态分段升序 )
+    private final char[]   mChildChars;
+    // 子节点状态
+    private final int[]    mChildStates;
+    // 根节点 ASCII 转移表
+    private final int[]    mRootAscii;
+    // 失败指针
+    private final int[]    mFail;
+    // 状态对应关键字索引 ( 非结束状态为 -1 )
+    private final int[]    mOutput;
+    // 失败链上最近的结束状态 ( 不存在为 -1 )
+    private final int[]    mDictLink;
+    // ASCII 字符种类 ( 0 为未出现在关键字中的字符 )
+    private final int[]    mAsciiClass;
+    // 非 ASCII 字符 ( 升序, 种类为索引 + 1 + ASCII 种类数 )
+    private final char[]   mOtherChars;
+    // ASCII 种类数 + 1
+    private final int      mAsciiClassCount;
+    // 字符种类数
+    private final int      mClassCount;
+    // 完整转移表 [状态 * 字符种类数 + 种类], 超出 DFA_LIMIT 为 null
+    private final int[]    mDelta;
+
+    /**
+     * 构造函数
+     * @param ignoreCase 是否忽略大小写
+     * @param keywords   关键字
+     */
+    private KeywordMatcher(
+            final boolean ignoreCase,
+            final String[] keywords
+    ) {
+        this.mIgnoreCase = ignoreCase;
+        this.mKeywords   = keywords;
+
+        // 构建 Trie ( 临时使用 Map 存储边 )
+        Map<Long, Integer> edges   = new HashMap<>();
+        IntArray           parents = new IntArray();
+        StringBuilder      labels  = new StringBuilder();
+        IntArray           outputs = new IntArray();
+        parents.add(-1);
+        labels.append('\0');
+        outputs.add(-1);
+        int maxLength = 0;
+        for (int index = 0; index < keywords.length; index++) {
+            String keyword = keywords[index];
+            if (keyword == null || keyword.length() == 0) continue;
+            maxLength = Math.max(maxLength, keyword.length());
+            int state = 0;
+            for (int i = 0, len = keyword.length(); i < len; i++) {
+                char    ch    = fold(keyword.charAt(i));
+                Long    key   = ((long) state << 16) | ch;
+                Integer child = edges.get(key);
+                if (child == null) {
+                    child = parents.size();
+                    edges.put(key, child);
+                    parents.add(state);
+                    labels.append(ch);
+                    outputs.add(-1);
+                }
+                state = child;
+            }
+            if (outputs.get(state) == -1) outputs.set(state, index);
+        }
+        this.mMaxLength = maxLength;
+
+        // 转换为按状态分段、字符升序的紧凑数组
+        int   count      = parents.size();
+        int[] childStart = new int[count + 1];
+        for (int state = 1; state < count; state++) {
+            childStart[parents.get(state) + 1]++;
+        }
+        for (int state = 0; state < count; state++) {
+            childStart[state + 1] += childStart[state];
+        }
+        long[] packed = new long[count - 1];
+        int[]  fill   = Arrays.copyOf(childStart, count);
+        for (int state = 1; state < count; state++) {
+            packed[fill[parents.get(state)]++] = ((long) labels.charAt(state) << 32) | state;
+        }
+        char[] childChars  = new char[count - 1];
+        int[]  childStates = new int[count - 1];
+        for (int state = 0; state < count; state++) {
+            Arrays.sort(packed, childStart[state], childStart[state + 1]);
+        }
+        for (int i = 0; i < packed.length; i++) {
+            childChars[i]  = (char) (packed[i] >>> 32);
+            childStates[i] = (int) packed[i];
+        }
+        this.mChildStart  = childStart;
+        this.mChildChars  = childChars;
+        this.mChildStates = childStates;
+        this.mOutput      = outputs.toArray();
+
+        int[] rootAscii = new int[128];
+        Arrays.fill(rootAscii, -1);
+        for (int i = childStart[0]; i < childStart[1]; i++) {
+            if (childChars[i] < 128) rootAscii[childChars[i]] = childStates[i];
+        }
+        this.mRootAscii = rootAscii;
+
+        // 广度优先计算失败指针
+        int[] fail     = new int[count];
+        int[] dictLink = new int[count];
+        int[] queue    = new int[count];
+        int   head     = 0;
+        int   tail     = 0;
+        dictLink[0] = -1;
+        queue[tail++] = 0;
+        while (head < tail) {
+            int state = queue[head++];
+            for (int i = childStart[state]; i < childStart[state + 1]; i++) {
+                int child = childStates[i];
+                if (state == 0) {
+                    fail[child] = 0;
+                } else {
+                    char ch = childChars[i];
+                    int  f  = fail[state];
+                    int  next;
+                    while ((next = child(f, ch)) == -1 && f != 0) {
+                        f = fail[f];
+                    }
+                    fail[child] = next == -1 ? 0 : next;
+                }
+                int f = fail[child];
+                dictLink[child] = mOutput[f] != -1 ? f : dictLink[f];
+                queue[tail++] = child;
+            }
+        }
+        this.mFail     = fail;
+        this.mDictLink = dictLink;
+
+        // 字符种类 ( 仅关键字中出现的字符 )
+        int[]  asciiClass = new int[128];
+        int    asciiCount = 1;
+        char[] others     = new char[childChars.length];
+        int    otherCount = 0;
+        char[] sorted     = childChars.clone();
+        Arrays.sort(sorted);
+        for (int i = 0; i < sorted.length; i++) {
+            char ch = sorted[i];
+            if (i > 0 && sorted[i - 1] == ch) continue;
+            if (ch < 128) {
+                asciiClass[ch] = asciiCount++;
+            } else {
+                others[otherCount++] = ch;
+            }
+        }
+        this.mAsciiClass      = asciiClass;
+        this.mAsciiClassCount = asciiCount;
+        this.mOtherChars      = Arrays.copyOf(others, otherCount);
+        this.mClassCount      = asciiCount + otherCount;
+
+        // 生成完整转移表 ( 按广度优先顺序, 失败状态先于当前状态计算 )
+        if ((long) count * mClassCount <= DFA_LIMIT) {
+            int   classes = mClassCount;
+            int[] delta   = new int[count * classes];
+            for (int q = 0; q < count; q++) {
+                int state = queue[q];
+                int base  = state * classes;
+                if (state != 0) {
+                    System.arraycopy(delta, fail[state] * classes, delta, base, classes);
+                }
+                for (int i = childStart[state]; i < childStart[state + 1]; i++) {
+                    delta[base + charClass(childChars[i])] = childStates[i];
+                }
+            }
+            this.mDelta = delta;
+        } else {
+            this.mDelta = null;
+        }
+    }
+
+    // ==========
+    // = 创建方法 =
+    // ==========
+
+    /**
+     * 编译关键字 ( 区分大小写 )
+     * @param keywords 关键字
+     * @return {@link KeywordMatcher}
+     */
+    public static KeywordMatcher compile(final String... keywords) {
+        return compile(false, keywords);
+    }
+
+    /**
+     * 编译关键字
+     * @param ignoreCase 是否忽略大小写
+     * @param keywords   关键字
+     * @return {@link KeywordMatcher}
+     */
+    public static KeywordMatcher compile(
+            final boolean ignoreCase,
+            final String... keywords
+    ) {
+        return new KeywordMatcher(
+                ignoreCase, keywords != null ? keywords.clone() : new String[0]
+        );
+    }
+
+    /**
+     * 编译关键字
+     * @param ignoreCase 是否忽略大小写
+     * @param keywords   关键字
+     * @return {@link KeywordMatcher}
+     */
+    public static KeywordMatcher compile(
+            final boolean ignoreCase,
+            final Collection<String> keywords
+    ) {
+        return new KeywordMatcher(
+                ignoreCase, keywords != null ? keywords.toArray(new String[0]) : new String[0]
+        );
+    }
+
+    // =============
+    // = 对外公开方法 =
+    // =============
+
+    /**
+     * 获取关键字
+     * @param index 关键字索引
+     * @return 关键字
+     */
+    public String getKeyword(final int index) {
+        return mKeywords[index];
+    }
+
+    /**
+     * 获取关键字数量 ( 含忽略的空关键字 )
+     * @return 关键字数量
+     */
+    public int getKeywordCount() {
+        return mKeywords.length;
+    }
+
+    /**
+     * 是否忽略大小写
+     * @return {@code true} yes, {@code false} no
+     */
+    public boolean isIgnoreCase() {
+        return mIgnoreCase;
+    }
+
+    // =
+
+    /**
+     * 文本是否包含任意关键字
+     * @param text 待匹配文本
+     * @return {@code true} yes, {@code false} no
+     */
+    public boolean containsAny(final CharSequence text) {
+        if (text == null || mMaxLength == 0) return false;
+        int state = 0;
+        for (int i = 0, len = text.length(); i < len; i++) {
+            state = next(state, fold(text.charAt(i)));
+            if (mOutput[state] != -1 || mDictLink[state] != -1) return true;
+        }
+        return false;
+    }
+
+    /**
+     * 文本是否以任意关键字开头
+     * @param text 待匹配文本
+     * @return {@code true} yes, {@code false} no
+     */
+    public boolean startsWithAny(final CharSequence text) {
+        if (text == null || mMaxLength == 0) return false;
+        int state = 0;
+        for (int i = 0, len = Math.min(text.length(), mMaxLength); i < len; i++) {
+            state = child(state, fold(text.charAt(i)));
+            if (state == -1) return false;
+            if (mOutput[state] != -1) return true;
+        }
+        return false;
+    }
+
+    /**
+     * 文本是否以任意关键字结尾
+     * @param text 待匹配文本
+     * @return {@code true} yes, {@code false} no
+     */
+    public boolean endsWithAny(final CharSequence text) {
+        if (text == null || mMaxLength == 0) return false;
+        int len   = text.length();
+        int state = 0;
+        // 只需遍历末尾最长关键字长度
+        for (int i = Math.max(0, len - mMaxLength); i < len; i++) {
+            state = next(state, fold(text.charAt(i)));
+        }
+        return mOutput[state] != -1 || mDictLink[state] != -1;
+    }
+
+    /**
+     * 获取关键字匹配个数 ( 最左最长不重叠 )
+     * @param text 待匹配文本
+     * @return 关键字匹配个数
+     */
+    public int count(final CharSequence text) {
+        final int[] count = new int[1];
+        scan(text, new Visitor() {
+            @Override
+            public void visit(
+                    int start,
+                    int end,
+                    int index
+            ) {
+                count[0]++;
+            }
+        });
+        return count[0];
+    }
+
+    /**
+     * 获取各关键字匹配个数 ( 最左最长不重叠 )
+     * @param text 待匹配文本
+     * @return 各关键字匹配个数, 索引与关键字一致
+     */
+    public int[] countEach(final CharSequence text) {
+        final int[] counts = new int[mKeywords.length];
+        scan(text, new Visitor() {
+            @Override
+            public void visit(
+                    int start,
+                    int end,
+                    int index
+            ) {
+                counts[index]++;
+            }
+        });
+        return counts;
+    }
+
+    /**
+     * 查找全部关键字 ( 最左最长不重叠 )
+     * @param text 待匹配文本
+     * @return 匹配结果
+     */
+    public List<Match> findAll(final CharSequence text) {
+        final List<Match> matches = new ArrayList<>();
+        scan(text, new Visitor() {
+            @Override
+            public void visit(
+                    int start,
+                    int end,
+                    int index
+            ) {
+                matches.add(new Match(start, end, index));
+            }
+        });
+        return matches;
+    }
+
+    /**
+     * 查找全部关键字 ( 包含重叠匹配 )
+     * <pre>
+     *     按匹配结束位置升序, 同一结束位置按关键字长度降序
+     * </pre>
+     * @param text 待匹配文本
+     * @return 匹配结果
+     */
+    public List<Match> findAllOverlapping(final CharSequence text) {
+        List<Match> matches = new ArrayList<>();
+        if (text == null || mMaxLength == 0) return matches;
+        int state = 0;
+        for (int i = 0, len = text.length(); i < len; i++) {
+            state = next(state, fold(text.charAt(i)));
+            int out = mOutput[state] != -1 ? state : mDictLink[state];
+            while (out != -1) {
+                int index = mOutput[out];
+                matches.add(new Match(i + 1 - mKeywords[index].length(), i + 1, index));
+                out = mDictLink[out];
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * 替换全部关键字 ( 最左最长不重叠 )
+     * @param text        待处理文本
+     * @param replacement 替换内容
+     * @return 处理后的文本
+     */
+    public String replace(
+            final String text,
+            final String replacement
+    ) {
+        if (text == null || replacement == null) return text;
+        String[] replacements = new String[mKeywords.length];
+        Arrays.fill(replacements, replacement);
+        return replace(text, replacements);
+    }
+
+    /**
+     * 替换全部关键字 ( 最左最长不重叠 )
+     * <pre>
+     *     replacements 索引与关键字一致, 对应值为 null 则保留原文
+     * </pre>
+     * @param text         待处理文本
+     * @param replacements 各关键字替换内容
+     * @return 处理后的文本
+     */
+    public String replace(
+            final String text,
+            final String[] replacements
+    ) {
+        if (text == null || replacements == null) return text;
+        final StringBuilder builder = new StringBuilder();
+        final int[]         last    = new int[1];
+        scan(text, new Visitor() {
+            @Override
+            public void visit(
+                    int start,
+                    int end,
+                    int index
+            ) {
+                String replacement = index < replacements.length ? replacements[index] : null;
+                if (replacement == null) return;
+                if (builder.length() == 0 && last[0] == 0) {
+                    builder.ensureCapacity(text.length() + 16);
+                }
+                builder.append(text, last[0], start).append(replacement);
+                last[0] = end;
+            }
+        });
+        // 无匹配直接返回原文本
+        if (last[0] == 0 && builder.length() == 0) return text;
+        return builder.append(text, last[0], text.length()).toString();
+    }
+
+    // ==========
+    // = 内部方法 =
+    // ==========
+
+    /**
+     * detail: 匹配回调
+     * @author Ttt
+     */
+    private interface Visitor {
+
+        /**
+         * 匹配回调
+         * @param start 开始索引
+         * @param end   结束索引 ( 不包含 )
+         * @param index 关键字索引
+         */
+        void visit(
+                int start,
+                int end,
+                int index
+        );
+    }
+
+    /**
+     * 单次遍历获取最左最长不重叠匹配
+     * <pre>
+     *     使用长度为最长关键字长度的环形缓冲区记录各起始位置的最长匹配
+     *     起始位置之后已遍历最长关键字长度时, 该位置的匹配已全部确定
+     * </pre>
+     * @param text    待匹配文本
+     * @param visitor 匹配回调
+     */
+    private void scan(
+            final CharSequence text,
+            final Visitor visitor
+    ) {
+        if (text == null || mMaxLength == 0) return;
+        int   window = mMaxLength;
+        int[] best   = new int[window]; // 起始位置最长匹配关键字索引 + 1
+        int   next   = 0; // 下一个可匹配的起始位置
+        int   state  = 0;
+        int   len    = text.length();
+        for (int i = 0; i < len; i++) {
+            state = next(state, fold(text.charAt(i)));
+            int out = mOutput[state] != -1 ? state : mDictLink[state];
+            while (out != -1) {
+                int index = mOutput[out];
+                int start = i + 1 - mKeywords[index].length();
+                if (start >= next) {
+                    int slot    = start % window;
+                    int current = best[slot];
+                    if (current == 0 || mKeywords[current - 1].length() < mKeywords[index].length()) {
+                        best[slot] = index + 1;
+                    }
+                }
+                out = mDictLink[out];
+            }
+            next = flush(best, next, i + 1 - window, visitor);
+        }
+        flush(best, next, len - 1, visitor);
+    }
+
+    /**
+     * 确定起始位置不超过 limit 的匹配
+     * @param best    起始位置最长匹配
+     * @param next    下一个可匹配的起始位置
+     * @param limit   可确定的最大起始位置
+     * @param visitor 匹配回调
+     * @return 下一个可匹配的起始位置
+     */
+    private int flush(
+            final int[] best,
+            int next,
+            final int limit,
+            final Visitor visitor
+    ) {
+        int window = best.length;
+        while (next <= limit) {
+            int slot  = next % window;
+            int value = best[slot];
+            best[slot] = 0;
+            if (value == 0) {
+                next++;
+                continue;
+            }
+            int index = value - 1;
+            int end   = next + mKeywords[index].length();
+            // 跳过的起始位置不再匹配
+            for (int i = next + 1; i < end; i++) {
+                best[i % window] = 0;
+            }
+            visitor.visit(next, end, index);
+            next = end;
+        }
+        return next;
+    }
+
+    /**
+     * 获取转移状态 ( 含失败跳转 )
+     * @param state 当前状态
+     * @param ch    字符
+     * @return 转移状态
+     */
+    private int next(
+            int state,
+            final char ch
+    ) {
+        if (mDelta != null) return mDelta[state * mClassCount + charClass(ch)];
+        while (true) {
+            int child = child(state, ch);
+            if (child != -1) return child;
+            if (state == 0) return 0;
+            state = mFail[state];
+        }
+    }
+
+    /**
+     * 获取字符种类
+     * @param ch 字符 ( 已折叠 )
+     * @return 字符种类, 未出现在关键字中返回 0
+     */
+    private int charClass(final char ch) {
+        if (ch < 128) return mAsciiClass[ch];
+        int index = Arrays.binarySearch(mOtherChars, ch);
+        return index >= 0 ? mAsciiClassCount + index : 0;
+    }
+
+    /**
+     * 获取子节点状态
+     * @param state 当前状态
+     * @param ch    字符
+     * @return 子节点状态, 不存在返回 -1
+     */
+    private int child(
+            final int state,
+            final char ch
+    ) {
+        if (state == 0 && ch < 128) return mRootAscii[ch];
+        int low  = mChildStart[state];
+        int high = mChildStart[state + 1] - 1;
+        if (high - low < 8) {
+            for (int i = low; i <= high; i++) {
+                if (mChildChars[i] == ch) return mChildStates[i];
+            }
+            return -1;
+        }
+        while (low <= high) {
+            int  mid = (low + high) >>> 1;
+            char c   = mChildChars[mid];
+            if (c < ch) {
+                low = mid + 1;
+            } else if (c > ch) {
+                high = mid - 1;
+            } else {
+                return mChildStates[mid];
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 字符折叠 ( 忽略大小写 )
+     * @param ch 字符
+     * @return 折叠后字符
+     */
+    private char fold(final char ch) {
+        if (!mIgnoreCase) return ch;
+        if (ch < 128) {
+            return (ch >= 'A' && ch <= 'Z') ? (char) (ch + 32) : ch;
+        }
+        return Character.toLowerCase(Character.toUpperCase(ch));
+    }
+
+    /**
+     * detail: int 动态数组
+     * @author Ttt
+     */
+    private static final class IntArray {
+
+        private int[] mValues = new int[16];
+        private int   mSize   = 0;
+
+        void add(final int value) {
+            if (mSize == mValues.length) {
+                mValues = Arrays.copyOf(mValues, mSize << 1);
+            }
+            mValues[mSize++] = value;
+        }
+
+        int get(final int index) {
+            return mValues[index];
+        }
+
+        void set(
+                final int index,
+                final int value
+        ) {
+            mValues[index] = value;
+        }
+
+        int size() {
+            return mSize;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(mValues, mSize);
+        }
+    }
+
+    // ========
+    // = 实体类 =
+    // ========
+
+    /**
+     * detail: 匹配结果
+     * @author Ttt
+     */
+    public static final class Match {
+
+        // 开始索引
+        public final int start;
+        // 结束索引 ( 不包含 )
+        public final int end;
+        // 关键字索引
+        public final int index;
+
+        public Match(
+                final int start,
+                final int end,
+                final int index
+        ) {
+            this.start = start;
+            this.end   = end;
+            this.index = index;
+        }
+
+        @Override
+        public String toString() {
+            return "Match{start=" + start + ", end=" + end + ", index=" + index + "}";
+        }
+    }
+}
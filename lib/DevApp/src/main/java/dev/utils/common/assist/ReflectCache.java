@@ -0,0 +1,413 @@
+package dev.utils.common.assist;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * detail: 反射成员缓存
+ * @author Ttt
+ * <pre>
+ *     按 Class 缓存已解析的 Field、Method、Constructor ( 包含未找到的结果 )
+ *     避免循环调用时重复 getDeclaredXxx 遍历以及数组拷贝
+ *     <p></p>
+ *     返回的 Field、Method、Constructor 及数组均为缓存共享对象, 禁止修改 ( 如反射移除 final 修饰 )
+ *     调用方可自行 setAccessible, 需修改成员状态时应重新 getDeclaredXxx 获取副本
+ *     <p></p>
+ *     Android 不支持 ClassValue, 且缓存的成员强引用所属 Class ( 弱引用 Key 无法释放 )
+ *     因此按 LRU 最多缓存 {@link #MAX_CLASS_COUNT} 个 Class, 超出后移除最久未使用的 Class
+ *     避免长期持有已不再使用的 ClassLoader, 也可调用 {@link #remove(Class)}、{@link #clear()} 主动释放
+ * </pre>
+ */
+public final class ReflectCache {
+
+    private ReflectCache() {
+    }
+
+    // 最大缓存 Class 数量
+    public static final int MAX_CLASS_COUNT = 256;
+
+    // 未找到标记
+    private static final Object NOT_FOUND = new Object();
+
+    // Class 成员信息缓存 ( 访问顺序 LRU, 读写均需同步 )
+    private static final LinkedHashMap<Class<?>, ClassMeta> sClassMetas = new LinkedHashMap<Class<?>, ClassMeta>(
+            16, 0.75F, true
+    ) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Class<?>, ClassMeta> eldest) {
+            return size() > MAX_CLASS_COUNT;
+        }
+    };
+
+    // =============
+    // = 对外公开方法 =
+    // =============
+
+    /**
+     * 获取变量对象 ( public 变量优先, 否则向上查找 DeclaredField )
+     * @param clazz {@link Class}
+     * @param name  变量名
+     * @return {@link Field}
+     * @throws NoSuchFieldException 未找到变量
+     */
+    public static Field getField(
+            final Class<?> clazz,
+            final String name
+    )
+            throws NoSuchFieldException {
+        ClassMeta meta  = meta(clazz);
+        Object    value = meta.fields.get(name);
+        if (value == null) {
+            value = findField(clazz, name);
+            meta.fields.put(name, value);
+        }
+        if (value == NOT_FOUND) {
+            throw new NoSuchFieldException(name);
+        }
+        return (Field) value;
+    }
+
+    /**
+     * 获取类自身声明的变量对象
+     * @param clazz {@link Class}
+     * @param name  变量名
+     * @return {@link Field}
+     * @throws NoSuchFieldException 未找到变量
+     */
+    public static Field getDeclaredField(
+            final Class<?> clazz,
+            final String name
+    )
+            throws NoSuchFieldException {
+        ClassMeta meta  = meta(clazz);
+        Object    value = meta.declaredFields.get(name);
+        if (value == null) {
+            try {
+                value = clazz.getDeclaredField(name);
+            } catch (NoSuchFieldException e) {
+                value = NOT_FOUND;
+            }
+            meta.declaredFields.put(name, value);
+        }
+        if (value == NOT_FOUND) {
+            throw new NoSuchFieldException(name);
+        }
+        return (Field) value;
+    }
+
+    /**
+     * 获取方法 ( public 方法优先, 否则向上查找 DeclaredMethod )
+     * @param clazz {@link Class}
+     * @param name  方法名
+     * @param types 参数类型
+     * @return {@link Method}
+     * @throws NoSuchMethodException 未找到方法
+     */
+    public static Method getMethod(
+            final Class<?> clazz,
+            final String name,
+            final Class<?>... types
+    )
+            throws NoSuchMethodException {
+        ClassMeta meta  = meta(clazz);
+        MemberKey key   = new MemberKey(name, types);
+        Object    value = meta.methods.get(key);
+        if (value == null) {
+            value = findMethod(clazz, name, key.types);
+            meta.methods.put(key, value);
+        }
+        if (value == NOT_FOUND) {
+            throw new NoSuchMethodException(key.toString());
+        }
+        return (Method) value;
+    }
+
+    /**
+     * 获取类自身声明的方法
+     * @param clazz {@link Class}
+     * @param name  方法名
+     * @param types 参数类型
+     * @return {@link Method}
+     * @throws NoSuchMethodException 未找到方法
+     */
+    public static Method getDeclaredMethod(
+            final Class<?> clazz,
+            final String name,
+            final Class<?>... types
+    )
+            throws NoSuchMethodException {
+        ClassMeta meta  = meta(clazz);
+        MemberKey key   = new MemberKey(name, types);
+        Object    value = meta.declaredMethods.get(key);
+        if (value == null) {
+            try {
+                value = clazz.getDeclaredMethod(name, key.types);
+            } catch (NoSuchMethodException e) {
+                value = NOT_FOUND;
+            }
+            meta.declaredMethods.put(key, value);
+        }
+        if (value == NOT_FOUND) {
+            throw new NoSuchMethodException(key.toString());
+        }
+        return (Method) value;
+    }
+
+    /**
+     * 获取类自身声明的构造函数
+     * @param clazz {@link Class}
+     * @param types 参数类型
+     * @return {@link Constructor}
+     * @throws NoSuchMethodException 未找到构造函数
+     */
+    public static Constructor<?> getDeclaredConstructor(
+            final Class<?> clazz,
+            final Class<?>... types
+    )
+            throws NoSuchMethodException {
+        ClassMeta meta  = meta(clazz);
+        MemberKey key   = new MemberKey("<init>", types);
+        Object    value = meta.constructors.get(key);
+        if (value == null) {
+            try {
+                value = clazz.getDeclaredConstructor(key.types);
+            } catch (NoSuchMethodException e) {
+                value = NOT_FOUND;
+            }
+            meta.constructors.put(key, value);
+        }
+        if (value == NOT_FOUND) {
+            throw new NoSuchMethodException(key.toString());
+        }
+        return (Constructor<?>) value;
+    }
+
+    // =
+
+    /**
+     * 获取全部 public 方法 ( 缓存数组, 禁止修改 )
+     * @param clazz {@link Class}
+     * @return {@link Method}[]
+     */
+    public static Method[] getMethods(final Class<?> clazz) {
+        ClassMeta meta   = meta(clazz);
+        Method[]  result = meta.methodArray;
+        if (result == null) {
+            result           = clazz.getMethods();
+            meta.methodArray = result;
+        }
+        return result;
+    }
+
+    /**
+     * 获取类自身声明的全部方法 ( 缓存数组, 禁止修改 )
+     * @param clazz {@link Class}
+     * @return {@link Method}[]
+     */
+    public static Method[] getDeclaredMethods(final Class<?> clazz) {
+        ClassMeta meta   = meta(clazz);
+        Method[]  result = meta.declaredMethodArray;
+        if (result == null) {
+            result                   = clazz.getDeclaredMethods();
+            meta.declaredMethodArray = result;
+        }
+        return result;
+    }
+
+    /**
+     * 获取类自身声明的全部构造函数 ( 缓存数组, 禁止修改 )
+     * @param clazz {@link Class}
+     * @return {@link Constructor}[]
+     */
+    public static Constructor<?>[] getDeclaredConstructors(final Class<?> clazz) {
+        ClassMeta        meta   = meta(clazz);
+        Constructor<?>[] result = meta.constructorArray;
+        if (result == null) {
+            result                = clazz.getDeclaredConstructors();
+            meta.constructorArray = result;
+        }
+        return result;
+    }
+
+    /**
+     * 获取相似参数方法缓存
+     * <pre>
+     *     供 ReflectUtils 按方法名 + 实参类型缓存匹配结果, 随 Class 缓存一同移除
+     * </pre>
+     * @param clazz {@link Class}
+     * @return 相似参数方法缓存
+     */
+    public static Map<MemberKey, Method> getSimilarMethods(final Class<?> clazz) {
+        return meta(clazz).similarMethods;
+    }
+
+    // =
+
+    /**
+     * 获取缓存 Class 数量
+     * @return 缓存 Class 数量
+     */
+    public static int size() {
+        synchronized (sClassMetas) {
+            return sClassMetas.size();
+        }
+    }
+
+    /**
+     * 移除指定 Class 缓存
+     * @param clazz {@link Class}
+     */
+    public static void remove(final Class<?> clazz) {
+        if (clazz == null) return;
+        synchronized (sClassMetas) {
+            sClassMetas.remove(clazz);
+        }
+    }
+
+    /**
+     * 清空全部缓存
+     */
+    public static void clear() {
+        synchronized (sClassMetas) {
+            sClassMetas.clear();
+        }
+    }
+
+    // ==========
+    // = 内部方法 =
+    // ==========
+
+    /**
+     * 获取 Class 成员信息缓存
+     * @param clazz {@link Class}
+     * @return {@link ClassMeta}
+     */
+    private static ClassMeta meta(final Class<?> clazz) {
+        synchronized (sClassMetas) {
+            ClassMeta meta = sClassMetas.get(clazz);
+            if (meta == null) {
+                meta = new ClassMeta();
+                sClassMetas.put(clazz, meta);
+            }
+            return meta;
+        }
+    }
+
+    /**
+     * 查找变量对象
+     * @param clazz {@link Class}
+     * @param name  变量名
+     * @return {@link Field} or {@link #NOT_FOUND}
+     */
+    private static Object findField(
+            final Class<?> clazz,
+            final String name
+    ) {
+        try {
+            return clazz.getField(name);
+        } catch (NoSuchFieldException e) {
+            Class<?> type = clazz;
+            do {
+                try {
+                    return type.getDeclaredField(name);
+                } catch (NoSuchFieldException ignore) {
+                }
+                type = type.getSuperclass();
+            } while (type != null);
+        }
+        return NOT_FOUND;
+    }
+
+    /**
+     * 查找方法
+     * @param clazz {@link Class}
+     * @param name  方法名
+     * @param types 参数类型
+     * @return {@link Method} or {@link #NOT_FOUND}
+     */
+    private static Object findMethod(
+            final Class<?> clazz,
+            final String name,
+            final Class<?>[] types
+    ) {
+        try {
+            return clazz.getMethod(name, types);
+        } catch (NoSuchMethodException e) {
+            Class<?> type = clazz;
+            do {
+                try {
+                    return type.getDeclaredMethod(name, types);
+                } catch (NoSuchMethodException ignore) {
+                }
+                type = type.getSuperclass();
+            } while (type != null);
+        }
+        return NOT_FOUND;
+    }
+
+    // ==========
+    // = 内部类 =
+    // ==========
+
+    /**
+     * detail: Class 成员信息
+     * @author Ttt
+     */
+    private static final class ClassMeta {
+
+        final Map<String, Object>    fields          = new ConcurrentHashMap<>();
+        final Map<String, Object>    declaredFields  = new ConcurrentHashMap<>();
+        final Map<MemberKey, Object> methods         = new ConcurrentHashMap<>();
+        final Map<MemberKey, Object> declaredMethods = new ConcurrentHashMap<>();
+        final Map<MemberKey, Object> constructors    = new ConcurrentHashMap<>();
+        final Map<MemberKey, Method> similarMethods  = new ConcurrentHashMap<>();
+
+        volatile Method[]         methodArray;
+        volatile Method[]         declaredMethodArray;
+        volatile Constructor<?>[] constructorArray;
+    }
+
+    /**
+     * detail: 成员查找 Key ( 名称 + 参数类型 )
+     * @author Ttt
+     */
+    public static final class MemberKey {
+
+        private final String     name;
+        private final Class<?>[] types;
+        private final int        hash;
+
+        public MemberKey(
+                final String name,
+                final Class<?>[] types
+        ) {
+            this.name  = name;
+            this.types = (types == null) ? new Class<?>[0] : types.clone();
+            this.hash  = 31 * name.hashCode() + Arrays.hashCode(this.types);
+        }
+
+        @Override
+        public boolean equals(final Object object) {
+            if (this == object) return true;
+            if (!(object instanceof MemberKey)) return false;
+            MemberKey other = (MemberKey) object;
+            return hash == other.hash && name.equals(other.name)
+                    && Arrays.equals(types, other.types);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public String toString() {
+            return name + Arrays.toString(types);
+        }
+    }
+}
@@ -0,0 +1,681 @@
+package dev.utils.common.assist;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * detail: 限流记录表
+ * @author Ttt
+ * <pre>
+ *     组相联哈希表 ( 每组 2 条记录 ), 每条记录为 4 个 long [ 标记, 有效截止时间, 状态 A, 状态 B ], 不创建包装对象
+ *     Key 依次探测同一写入锁下的多个分组, 优先复用空闲、过期记录
+ *     探测范围内记录均处于有效期 ( 间隔时间、过期时间 ) 内时扩容, 不会淘汰有效记录
+ *     仅达到容量上限时才淘汰探测范围内最早到期的记录 ( 有效时长相同时即最久未访问的记录 )
+ *     <p></p>
+ *     支持三种模式 ( 同一 Key 不同模式互不影响 )
+ *     固定间隔 {@link #tryAcquire(long, long)}
+ *     令牌桶 {@link #tryAcquireToken(long, int, long)}
+ *     滑动窗口 {@link #tryAcquireWindow(long, int, long)}
+ *     <p></p>
+ *     写入按分组加锁, 扩容时获取全部写入锁
+ *     {@link #getLastTime(long)} 不加锁, 读取后校验记录标记、记录表未变化 ( 变化则重试 )
+ *     Key 仅以 64 位哈希标记区分, 极小概率冲突时两个 Key 共用同一条记录
+ * </pre>
+ */
+public final class ThrottleRegistry {
+
+    // 模式种子 ( 参与标记计算 )
+    private static final long MODE_INTERVAL       = 0x9E3779B97F4A7C15L;
+    private static final long MODE_TOKEN          = 0xC2B2AE3D27D4EB4FL;
+    private static final long MODE_WINDOW         = 0x165667B19E3779F9L;
+    // 每条记录 long 数量
+    private static final int  STRIDE              = 4;
+    // 每组记录数量
+    private static final int  WAYS                = 2;
+    // 每个 Key 探测分组数量上限
+    private static final int  PROBE_SETS          = 8;
+    // 写入锁数量上限
+    private static final int  LOCK_COUNT          = 64;
+    // 容量上限
+    private static final int  MAX_CAPACITY        = 1 << 24;
+    // 记录偏移 [ 标记, 有效截止时间, 状态 A, 状态 B ]
+    private static final int  TAG                 = 0;
+    private static final int  DEADLINE            = 1;
+    private static final int  STATE_A             = 2;
+    private static final int  STATE_B             = 3;
+
+    // 记录表
+    private volatile Table    mTable;
+    // 写入锁 ( 分组索引 & ( 锁数量 - 1 ), 扩容后保持不变 )
+    private final    Object[] mLocks;
+    // 容量上限
+    private final    int      mMaxCapacity;
+    // 过期时间 ( 毫秒 )
+    private final    long     mExpireTime;
+
+    /**
+     * 构造函数
+     * @param capacity   初始容量 ( 向上取 2 的幂, 最小 16 )
+     * @param expireTime 过期时间 ( 毫秒 ), 超过该时间未访问的记录视为不存在
+     */
+    public ThrottleRegistry(
+            final int capacity,
+            final long expireTime
+    ) {
+        this(capacity, MAX_CAPACITY, expireTime);
+    }
+
+    /**
+     * 构造函数
+     * @param capacity    初始容量 ( 向上取 2 的幂, 最小 16 )
+     * @param maxCapacity 容量上限 ( 达到上限后淘汰最早到期的记录 )
+     * @param expireTime  过期时间 ( 毫秒 ), 超过该时间未访问的记录视为不存在
+     */
+    public ThrottleRegistry(
+            final int capacity,
+            final int maxCapacity,
+            final long expireTime
+    ) {
+        int size = roundCapacity(capacity);
+        this.mMaxCapacity = Math.max(size, roundCapacity(maxCapacity));
+        this.mExpireTime  = Math.max(0L, expireTime);
+        // 锁数量需整除分组数量, 同一锁下至少保留 PROBE_SETS 个分组用于探测
+        this.mLocks       = new Object[Math.max(1, Math.min(LOCK_COUNT, size / WAYS / PROBE_SETS))];
+        for (int i = 0; i < mLocks.length; i++) {
+            mLocks[i] = new Object();
+        }
+        this.mTable = new Table(size, mLocks.length);
+    }
+
+    // ==========
+    // = 固定间隔 =
+    // ==========
+
+    /**
+     * 尝试获取 ( 固定间隔 )
+     * @param key          Key
+     * @param intervalTime 间隔时间 ( 毫秒 )
+     * @return {@code true} 允许 ( 已记录本次时间 ), {@code false} 距上次允许不足间隔时间
+     */
+    public boolean tryAcquire(
+            final long key,
+            final long intervalTime
+    ) {
+        return tryAcquire(key, intervalTime, System.currentTimeMillis());
+    }
+
+    /**
+     * 尝试获取 ( 固定间隔 )
+     * @param key          Key
+     * @param intervalTime 间隔时间 ( 毫秒 )
+     * @param now          当前时间 ( 毫秒, 需大于 0 )
+     * @return {@code true} 允许 ( 已记录本次时间 ), {@code false} 距上次允许不足间隔时间
+     */
+    public boolean tryAcquire(
+            final long key,
+            final long intervalTime,
+            final long now
+    ) {
+        long tag = tag(key, MODE_INTERVAL);
+        while (true) {
+            Table table;
+            synchronized (lock(tag)) {
+                table = mTable;
+                int slot = locate(table, tag, now, intervalTime);
+                if (slot >= 0) {
+                    AtomicLongArray slots    = table.slots;
+                    long            lastTime = slots.get(slot + STATE_A);
+                    if (lastTime > 0L && now - lastTime < intervalTime) {
+                        return false;
+                    }
+                    slots.set(slot + STATE_A, now);
+                    return true;
+                }
+            }
+            grow(table, now);
+        }
+    }
+
+    /**
+     * 获取最后一次允许时间 ( 固定间隔 )
+     * @param key Key
+     * @return 最后一次允许时间, 无记录返回 0
+     */
+    public long getLastTime(final long key) {
+        long tag = tag(key, MODE_INTERVAL);
+        while (true) {
+            Table table = mTable;
+            int   slot  = find(table, tag);
+            long  value = (slot >= 0) ? table.slots.get(slot + STATE_A) : 0L;
+            // 重置记录先清空状态再修改标记, 标记未变化则读取的状态属于该 Key
+            if (slot >= 0 && table.slots.get(slot + TAG) != tag) continue;
+            // 读取期间扩容则新记录表可能已更新
+            if (table == mTable) return value;
+        }
+    }
+
+    /**
+     * 判断是否处于间隔时间内 ( 固定间隔, 不记录 )
+     * @param key          Key
+     * @param intervalTime 间隔时间 ( 毫秒 )
+     * @return {@code true} yes, {@code false} no
+     */
+    public boolean isThrottled(
+            final long key,
+            final long intervalTime
+    ) {
+        long lastTime = getLastTime(key);
+        return lastTime > 0L && System.currentTimeMillis() - lastTime < intervalTime;
+    }
+
+    // ==========
+    // = 令牌桶 =
+    // ==========
+
+    /**
+     * 尝试获取 ( 令牌桶 )
+     * @param key        Key
+     * @param permits    桶容量 ( 允许连续获取次数 )
+     * @param refillTime 生成一个令牌耗时 ( 毫秒 )
+     * @return {@code true} 允许, {@code false} 令牌不足
+     */
+    public boolean tryAcquireToken(
+            final long key,
+            final int permits,
+            final long refillTime
+    ) {
+        return tryAcquireToken(key, permits, refillTime, System.currentTimeMillis());
+    }
+
+    /**
+     * 尝试获取 ( 令牌桶 )
+     * <pre>
+     *     使用 GCRA 算法, 仅记录理论到达时间 ( 等价于令牌桶 )
+     *     理论到达时间 - 当前时间 <= 生成耗时 * ( 桶容量 - 1 ) 时允许, 并将理论到达时间后移一个生成耗时
+     * </pre>
+     * @param key        Key
+     * @param permits    桶容量 ( 允许连续获取次数 )
+     * @param refillTime 生成一个令牌耗时 ( 毫秒 )
+     * @param now        当前时间 ( 毫秒 )
+     * @return {@code true} 允许, {@code false} 令牌不足
+     */
+    public boolean tryAcquireToken(
+            final long key,
+            final int permits,
+            final long refillTime,
+            final long now
+    ) {
+        if (permits <= 0) return false;
+        long tag       = tag(key, MODE_TOKEN);
+        long tolerance = refillTime * (permits - 1);
+        while (true) {
+            Table table;
+            synchronized (lock(tag)) {
+                table = mTable;
+                int slot = locate(table, tag, now, refillTime * permits);
+                if (slot >= 0) {
+                    AtomicLongArray slots   = table.slots;
+                    long            arrival = slots.get(slot + STATE_A);
+                    if (slots.get(slot + STATE_B) == 0L || arrival < now) {
+                        arrival = now;
+                    }
+                    if (arrival - now > tolerance) {
+                        return false;
+                    }
+                    slots.set(slot + STATE_A, arrival + refillTime);
+                    slots.set(slot + STATE_B, 1L);
+                    return true;
+                }
+            }
+            grow(table, now);
+        }
+    }
+
+    // ==========
+    // = 滑动窗口 =
+    // ==========
+
+    /**
+     * 尝试获取 ( 滑动窗口 )
+     * @param key        Key
+     * @param limit      窗口内允许次数
+     * @param windowTime 窗口时长 ( 毫秒 )
+     * @return {@code true} 允许, {@code false} 超出次数
+     */
+    public boolean tryAcquireWindow(
+            final long key,
+            final int limit,
+            final long windowTime
+    ) {
+        return tryAcquireWindow(key, limit, windowTime, System.currentTimeMillis());
+    }
+
+    /**
+     * 尝试获取 ( 滑动窗口 )
+     * <pre>
+     *     记录当前窗口、上一窗口次数, 按上一窗口剩余占比加权估算最近一个窗口时长内的次数
+     *     状态 A 为当前窗口起始时间, 状态 B 高 32 位为上一窗口次数、低 32 位为当前窗口次数
+     * </pre>
+     * @param key        Key
+     * @param limit      窗口内允许次数
+     * @param windowTime 窗口时长 ( 毫秒 )
+     * @param now        当前时间 ( 毫秒 )
+     * @return {@code true} 允许, {@code false} 超出次数
+     */
+    public boolean tryAcquireWindow(
+            final long key,
+            final int limit,
+            final long windowTime,
+            final long now
+    ) {
+        if (limit <= 0 || windowTime <= 0L) return false;
+        long tag = tag(key, MODE_WINDOW);
+        while (true) {
+            Table table;
+            synchronized (lock(tag)) {
+                table = mTable;
+                int slot = locate(table, tag, now, windowTime * 2);
+                if (slot >= 0) {
+                    return acquireWindow(table.slots, slot, limit, windowTime, now);
+                }
+            }
+            grow(table, now);
+        }
+    }
+
+    /**
+     * 滑动窗口计数 ( 需持有写入锁 )
+     * @param slots      记录数据
+     * @param slot       记录起始下标
+     * @param limit      窗口内允许次数
+     * @param windowTime 窗口时长 ( 毫秒 )
+     * @param now        当前时间 ( 毫秒 )
+     * @return {@code true} 允许, {@code false} 超出次数
+     */
+    private static boolean acquireWindow(
+            final AtomicLongArray slots,
+            final int slot,
+            final int limit,
+            final long windowTime,
+            final long now
+    ) {
+        long startTime = slots.get(slot + STATE_A);
+        long counts    = slots.get(slot + STATE_B);
+        long previous  = counts >>> 32;
+        long current   = counts & 0xFFFFFFFFL;
+        long elapsed   = now - startTime;
+        if (counts == 0L || elapsed >= windowTime * 2 || elapsed < 0L) {
+            startTime = now;
+            previous  = 0L;
+            current   = 0L;
+        } else if (elapsed >= windowTime) {
+            startTime += windowTime;
+            previous = current;
+            current  = 0L;
+        }
+        // 估算次数 = 当前窗口次数 + 上一窗口次数 * 上一窗口剩余占比 ( 两边同乘窗口时长避免取整 )
+        long    weighted = current * windowTime + previous * (windowTime - (now - startTime));
+        boolean allow    = weighted < limit * windowTime;
+        if (allow) current++;
+        slots.set(slot + STATE_A, startTime);
+        slots.set(slot + STATE_B, (previous << 32) | current);
+        return allow;
+    }
+
+    // ==========
+    // = 记录操作 =
+    // ==========
+
+    /**
+     * 移除 Key 全部模式记录
+     * @param key Key
+     * @return {@link ThrottleRegistry}
+     */
+    public ThrottleRegistry remove(final long key) {
+        removeTag(tag(key, MODE_INTERVAL));
+        removeTag(tag(key, MODE_TOKEN));
+        removeTag(tag(key, MODE_WINDOW));
+        return this;
+    }
+
+    /**
+     * 清空全部记录
+     * @return {@link ThrottleRegistry}
+     */
+    public ThrottleRegistry clear() {
+        lockAll(0, new Runnable() {
+            @Override
+            public void run() {
+                Table table = mTable;
+                for (int i = 0, len = table.slots.length(); i < len; i++) {
+                    table.slots.set(i, 0L);
+                }
+            }
+        });
+        return this;
+    }
+
+    /**
+     * 获取未过期记录数量 ( 遍历全部记录, 不加锁 )
+     * @return 未过期记录数量
+     */
+    public int size() {
+        long            now   = System.currentTimeMillis();
+        AtomicLongArray slots = mTable.slots;
+        int             count = 0;
+        for (int slot = 0, len = slots.length(); slot < len; slot += STRIDE) {
+            if (slots.get(slot + TAG) != 0L && now <= slots.get(slot + DEADLINE)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 获取当前容量
+     * @return 当前容量
+     */
+    public int getCapacity() {
+        return mTable.capacity;
+    }
+
+    /**
+     * 获取容量上限
+     * @return 容量上限
+     */
+    public int getMaxCapacity() {
+        return mMaxCapacity;
+    }
+
+    /**
+     * 获取过期时间
+     * @return 过期时间 ( 毫秒 )
+     */
+    public long getExpireTime() {
+        return mExpireTime;
+    }
+
+    // ==========
+    // = 内部方法 =
+    // ==========
+
+    /**
+     * 计算记录标记 ( 非 0 )
+     * @param key  Key
+     * @param mode 模式种子
+     * @return 记录标记
+     */
+    private static long tag(
+            final long key,
+            final long mode
+    ) {
+        long hash = (key ^ mode) * 0xBF58476D1CE4E5B9L;
+        hash ^= hash >>> 31;
+        hash *= 0x94D049BB133111EBL;
+        hash ^= hash >>> 29;
+        return hash | 1L;
+    }
+
+    /**
+     * 容量向上取 2 的幂
+     * @param capacity 容量
+     * @return 容量 ( 16 - {@link #MAX_CAPACITY} )
+     */
+    private static int roundCapacity(final int capacity) {
+        int size = 16;
+        while (size < capacity && size < MAX_CAPACITY) {
+            size <<= 1;
+        }
+        return size;
+    }
+
+    /**
+     * 获取分组索引 ( 首个探测分组 )
+     * @param table 记录表
+     * @param tag   记录标记
+     * @return 分组索引
+     */
+    private static int setIndex(
+            final Table table,
+            final long tag
+    ) {
+        return (int) (tag >>> 33) & table.setMask;
+    }
+
+    /**
+     * 获取写入锁
+     * <pre>
+     *     锁数量整除分组数量, 扩容前后同一标记对应同一写入锁
+     * </pre>
+     * @param tag 记录标记
+     * @return 写入锁
+     */
+    private Object lock(final long tag) {
+        return mLocks[(int) (tag >>> 33) & (mLocks.length - 1)];
+    }
+
+    /**
+     * 查找已有记录
+     * <pre>
+     *     不加锁调用时结果可能已被替换, 需再次校验标记
+     * </pre>
+     * @param table 记录表
+     * @param tag   记录标记
+     * @return 记录起始下标, 不存在返回 -1
+     */
+    private int find(
+            final Table table,
+            final long tag
+    ) {
+        AtomicLongArray slots = table.slots;
+        int             set   = setIndex(table, tag);
+        for (int probe = 0; probe < table.probes; probe++) {
+            int base = ((set + probe * mLocks.length) & table.setMask) * WAYS * STRIDE;
+            for (int i = 0; i < WAYS; i++) {
+                int slot = base + i * STRIDE;
+                if (slots.get(slot + TAG) == tag) return slot;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 查找记录 ( 需持有写入锁 )
+     * <pre>
+     *     探测分组为 set、set + 锁数量、set + 2 * 锁数量 ..., 均由同一写入锁保护
+     *     命中但已超过有效截止时间则清空状态
+     *     未命中时复用空闲或过期记录, 均处于有效期内则返回 -1 ( 需扩容 )
+     *     达到容量上限时淘汰最早到期的记录
+     *     返回前更新有效截止时间 = 当前时间 + max( 过期时间, 有效时长 )
+     * </pre>
+     * @param table      记录表
+     * @param tag        记录标记
+     * @param now        当前时间
+     * @param activeTime 记录有效时长 ( 该时长内不会因过期清空或被淘汰 )
+     * @return 记录起始下标, 需扩容返回 -1
+     */
+    private int locate(
+            final Table table,
+            final long tag,
+            final long now,
+            final long activeTime
+    ) {
+        AtomicLongArray slots      = table.slots;
+        int             set        = setIndex(table, tag);
+        int             free       = -1;
+        int             victim     = -1;
+        long            victimTime = Long.MAX_VALUE;
+        int             result     = -1;
+        for (int probe = 0; probe < table.probes && result < 0; probe++) {
+            int base = ((set + probe * mLocks.length) & table.setMask) * WAYS * STRIDE;
+            for (int i = 0; i < WAYS; i++) {
+                int  slot     = base + i * STRIDE;
+                long slotTag  = slots.get(slot + TAG);
+                long deadline = slots.get(slot + DEADLINE);
+                if (slotTag == tag) {
+                    if (now > deadline) reset(slots, slot, tag);
+                    result = slot;
+                    break;
+                }
+                if (slotTag == 0L || now > deadline) {
+                    if (free < 0) free = slot;
+                } else if (victim < 0 || deadline < victimTime) {
+                    victim     = slot;
+                    victimTime = deadline;
+                }
+            }
+        }
+        if (result < 0) {
+            if (free >= 0) {
+                result = free;
+            } else if (table.capacity >= mMaxCapacity) {
+                result = victim;
+            } else {
+                return -1;
+            }
+            reset(slots, result, tag);
+        }
+        long keepTime = Math.max(mExpireTime, activeTime);
+        slots.set(result + DEADLINE, (now > Long.MAX_VALUE - keepTime) ? Long.MAX_VALUE : now + keepTime);
+        return result;
+    }
+
+    /**
+     * 扩容 ( 容量翻倍, 获取全部写入锁 )
+     * @param expected 触发扩容时的记录表
+     * @param now      当前时间 ( 过期记录不迁移 )
+     */
+    private void grow(
+            final Table expected,
+            final long now
+    ) {
+        lockAll(0, new Runnable() {
+            @Override
+            public void run() {
+                if (mTable != expected) return; // 其他线程已扩容
+                Table table = new Table(expected.capacity << 1, mLocks.length);
+                AtomicLongArray source = expected.slots;
+                for (int slot = 0, len = source.length(); slot < len; slot += STRIDE) {
+                    long tag = source.get(slot + TAG);
+                    if (tag == 0L || now > source.get(slot + DEADLINE)) continue;
+                    int target = place(table, tag, source.get(slot + DEADLINE));
+                    if (target < 0) continue;
+                    for (int i = 0; i < STRIDE; i++) {
+                        table.slots.set(target + i, source.get(slot + i));
+                    }
+                }
+                mTable = table;
+            }
+        });
+    }
+
+    /**
+     * 扩容时查找写入位置
+     * @param table    新记录表
+     * @param tag      记录标记
+     * @param deadline 有效截止时间
+     * @return 记录起始下标, 探测范围内均为更晚到期的记录则返回 -1
+     */
+    private int place(
+            final Table table,
+            final long tag,
+            final long deadline
+    ) {
+        AtomicLongArray slots      = table.slots;
+        int             set        = setIndex(table, tag);
+        int             victim     = -1;
+        long            victimTime = deadline;
+        for (int probe = 0; probe < table.probes; probe++) {
+            int base = ((set + probe * mLocks.length) & table.setMask) * WAYS * STRIDE;
+            for (int i = 0; i < WAYS; i++) {
+                int slot = base + i * STRIDE;
+                if (slots.get(slot + TAG) == 0L) return slot;
+                long time = slots.get(slot + DEADLINE);
+                if (time < victimTime) {
+                    victim     = slot;
+                    victimTime = time;
+                }
+            }
+        }
+        return victim;
+    }
+
+    /**
+     * 按顺序获取全部写入锁后执行
+     * @param index    锁索引
+     * @param runnable 执行任务
+     */
+    private void lockAll(
+            final int index,
+            final Runnable runnable
+    ) {
+        synchronized (mLocks[index]) {
+            if (index + 1 < mLocks.length) {
+                lockAll(index + 1, runnable);
+            } else {
+                runnable.run();
+            }
+        }
+    }
+
+    /**
+     * 重置记录
+     * <pre>
+     *     先清空状态再写入标记, 无锁读取据此校验 ( 见 {@link #getLastTime(long)} )
+     * </pre>
+     * @param slots 记录数据
+     * @param slot  记录起始下标
+     * @param tag   记录标记
+     */
+    private static void reset(
+            final AtomicLongArray slots,
+            final int slot,
+            final long tag
+    ) {
+        slots.set(slot + STATE_A, 0L);
+        slots.set(slot + STATE_B, 0L);
+        slots.set(slot + DEADLINE, 0L);
+        slots.set(slot + TAG, tag);
+    }
+
+    /**
+     * 移除记录
+     * @param tag 记录标记
+     */
+    private void removeTag(final long tag) {
+        synchronized (lock(tag)) {
+            Table table = mTable;
+            int   slot  = find(table, tag);
+            if (slot >= 0) reset(table.slots, slot, 0L);
+        }
+    }
+
+    // ==========
+    // = 内部类 =
+    // ==========
+
+    /**
+     * detail: 记录表
+     * @author Ttt
+     */
+    private static final class Table {
+
+        // 记录数据
+        final AtomicLongArray slots;
+        // 分组掩码
+        final int             setMask;
+        // 容量
+        final int             capacity;
+        // 每个 Key 探测分组数量
+        final int             probes;
+
+        Table(
+                final int capacity,
+                final int lockCount
+        ) {
+            this.capacity = capacity;
+            this.setMask  = capacity / WAYS - 1;
+            this.slots    = new AtomicLongArray(capacity * STRIDE);
+            this.probes   = Math.min(PROBE_SETS, capacity / WAYS / lockCount);
+        }
+    }
+}
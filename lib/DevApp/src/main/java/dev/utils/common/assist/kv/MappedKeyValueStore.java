@@ -0,0 +1,1198 @@
+package dev.utils.common.assist.kv;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+
+import dev.utils.JCLogUtils;
+
+/**
+ * detail: 内存映射 Key-Value 存储
+ * @author Ttt
+ * <pre>
+ *     mmap 追加写日志 + 内存索引, 写入只是内存拷贝, 无需像 SharedPreferences 每次重写整个文件
+ *     <p></p>
+ *     文件结构: [ 文件头 16 byte ] [ 记录 ] [ 记录 ] ... [ 0 填充 ]
+ *     文件头: magic ( int ) + version ( int ) + generation ( int ) + reserved ( int )
+ *     记录: length ( int ) + crc ( int ) + count ( int ) + count 条数据
+ *     数据: type ( byte ) + key 长度 ( short ) + key ( UTF-8 ) + value
+ *     <p></p>
+ *     crc 为 generation + 记录内容的 CRC32, 每条记录 ( 一次提交 ) 要么完整生效要么整体丢弃
+ *     启动时顺序校验记录, 遇到不完整记录则丢弃其后全部内容并立即整理
+ *     无效数据超过有效数据时自动整理: 写入临时文件后 rename 替换, 整理过程崩溃不影响原文件
+ *     <p></p>
+ *     支持多线程 ( 写入串行化, 读取无锁 ), 不支持多进程同时访问
+ *     进程崩溃不会丢失已提交数据, 断电可能丢失最近未 {@link #sync()} 的数据
+ * </pre>
+ */
+public final class MappedKeyValueStore
+        implements Closeable {
+
+    // 日志 TAG
+    private static final String TAG = MappedKeyValueStore.class.getSimpleName();
+
+    // 文件标识 DVKV
+    private static final int MAGIC              = 0x44564B56;
+    // 文件格式版本
+    private static final int VERSION            = 1;
+    // 文件头大小
+    private static final int HEADER_SIZE        = 16;
+    // 记录头大小 ( length + crc )
+    private static final int RECORD_HEADER_SIZE = 8;
+    // 文件最小大小
+    private static final int MIN_FILE_SIZE      = 16 * 1024;
+    // 触发整理的最少无效字节数
+    private static final int MIN_GARBAGE_SIZE   = 16 * 1024;
+    // 整理时单条记录最大字节数
+    private static final int COMPACT_CHUNK_SIZE = 64 * 1024;
+
+    // 数据类型
+    private static final byte TYPE_REMOVE  = 0;
+    private static final byte TYPE_INT     = 1;
+    private static final byte TYPE_LONG    = 2;
+    private static final byte TYPE_FLOAT   = 3;
+    private static final byte TYPE_DOUBLE  = 4;
+    private static final byte TYPE_BOOLEAN = 5;
+    private static final byte TYPE_STRING  = 6;
+    private static final byte TYPE_BYTES   = 7;
+    private static final byte TYPE_CLEAR   = 8;
+
+    // 移除标记
+    private static final Object  REMOVED = new Object();
+    // UTF-8 编码
+    private static final Charset UTF_8   = Charset.forName("UTF-8");
+
+    // 存储文件
+    private final File                              mFile;
+    // 内存索引 ( key -> value )
+    private final ConcurrentHashMap<String, Object> mValues     = new ConcurrentHashMap<>();
+    // 各 key 最新数据编码字节数 ( 用于计算无效数据 )
+    private final HashMap<String, Integer>          mEntrySizes = new HashMap<>();
+    // 写入锁
+    private final Object                            mLock       = new Object();
+    // CRC32
+    private final CRC32                             mCRC        = new CRC32();
+
+    // 文件操作
+    private RandomAccessFile mRandomAccessFile;
+    // 文件映射
+    private MappedByteBuffer mMapped;
+    // 有效数据结束位置
+    private int              mEnd;
+    // 有效数据编码字节数
+    private long             mLiveSize;
+    // 文件代数 ( 整理后递增 )
+    private int              mGeneration;
+    // 记录编码缓存 ( 复用 )
+    private ByteBuffer       mScratch = ByteBuffer.allocate(1024);
+    // 是否已关闭
+    private volatile boolean mClosed;
+
+    /**
+     * 构造函数
+     * @param file 存储文件
+     * @throws IOException 文件创建、映射失败
+     */
+    public MappedKeyValueStore(final File file) throws IOException {
+        if (file == null) throw new NullPointerException("file == null");
+        this.mFile = file;
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.exists()) parent.mkdirs();
+        // 整理过程中崩溃遗留的临时文件
+        getTempFile().delete();
+        synchronized (mLock) {
+            load();
+        }
+    }
+
+    // =============
+    // = 对外公开方法 =
+    // =============
+
+    /**
+     * 获取存储文件
+     * @return 存储文件
+     */
+    public File getFile() {
+        return mFile;
+    }
+
+    /**
+     * 是否存在 key
+     * @param key 保存的 key
+     * @return {@code true} yes, {@code false} no
+     */
+    public boolean contains(final String key) {
+        return key != null && mValues.containsKey(key);
+    }
+
+    /**
+     * 获取数据数量
+     * @return 数据数量
+     */
+    public int size() {
+        return mValues.size();
+    }
+
+    /**
+     * 获取全部数据
+     * @return 全部数据 ( 不可修改副本 )
+     */
+    public Map<String, Object> getAll() {
+        Map<String, Object> map = new HashMap<>(mValues);
+        for (Map.Entry<String, Object> entry : map.entrySet()) {
+            if (entry.getValue() instanceof byte[]) {
+                byte[] bytes = (byte[]) entry.getValue();
+                entry.setValue(Arrays.copyOf(bytes, bytes.length));
+            }
+        }
+        return Collections.unmodifiableMap(map);
+    }
+
+    // =
+
+    /**
+     * 获取 int 类型的数据
+     * @param key          保存的 key
+     * @param defaultValue 默认值
+     * @return 存储的数据, 不存在或类型不符返回默认值
+     */
+    public int getInt(
+            final String key,
+            final int defaultValue
+    ) {
+        Object value = get(key);
+        return (value instanceof Integer) ? (Integer) value : defaultValue;
+    }
+
+    /**
+     * 获取 long 类型的数据
+     * @param key          保存的 key
+     * @param defaultValue 默认值
+     * @return 存储的数据, 不存在或类型不符返回默认值
+     */
+    public long getLong(
+            final String key,
+            final long defaultValue
+    ) {
+        Object value = get(key);
+        return (value instanceof Long) ? (Long) value : defaultValue;
+    }
+
+    /**
+     * 获取 float 类型的数据
+     * @param key          保存的 key
+     * @param defaultValue 默认值
+     * @return 存储的数据, 不存在或类型不符返回默认值
+     */
+    public float getFloat(
+            final String key,
+            final float defaultValue
+    ) {
+        Object value = get(key);
+        return (value instanceof Float) ? (Float) value : defaultValue;
+    }
+
+    /**
+     * 获取 double 类型的数据
+     * @param key          保存的 key
+     * @param defaultValue 默认值
+     * @return 存储的数据, 不存在或类型不符返回默认值
+     */
+    public double getDouble(
+            final String key,
+            final double defaultValue
+    ) {
+        Object value = get(key);
+        return (value instanceof Double) ? (Double) value : defaultValue;
+    }
+
+    /**
+     * 获取 boolean 类型的数据
+     * @param key          保存的 key
+     * @param defaultValue 默认值
+     * @return 存储的数据, 不存在或类型不符返回默认值
+     */
+    public boolean getBoolean(
+            final String key,
+            final boolean defaultValue
+    ) {
+        Object value = get(key);
+        return (value instanceof Boolean) ? (Boolean) value : defaultValue;
+    }
+
+    /**
+     * 获取 String 类型的数据
+     * @param key          保存的 key
+     * @param defaultValue 默认值
+     * @return 存储的数据, 不存在或类型不符返回默认值
+     */
+    public String getString(
+            final String key,
+            final String defaultValue
+    ) {
+        Object value = get(key);
+        return (value instanceof String) ? (String) value : defaultValue;
+    }
+
+    /**
+     * 获取 byte[] 类型的数据
+     * @param key          保存的 key
+     * @param defaultValue 默认值
+     * @return 存储的数据副本, 不存在或类型不符返回默认值
+     */
+    public byte[] getBytes(
+            final String key,
+            final byte[] defaultValue
+    ) {
+        Object value = get(key);
+        if (value instanceof byte[]) {
+            byte[] bytes = (byte[]) value;
+            return Arrays.copyOf(bytes, bytes.length);
+        }
+        return defaultValue;
+    }
+
+    // =
+
+    /**
+     * 保存 int 类型的数据
+     * @param key   保存的 key
+     * @param value 存储的数据
+     * @return {@code true} success, {@code false} fail
+     */
+    public boolean putInt(
+            final String key,
+            final int value
+    ) {
+        return commitSingle(key, value);
+    }
+
+    /**
+     * 保存 long 类型的数据
+     * @param key   保存的 key
+     * @param value 存储的数据
+     * @return {@code true} success, {@code false} fail
+     */
+    public boolean putLong(
+            final String key,
+            final long value
+    ) {
+        return commitSingle(key, value);
+    }
+
+    /**
+     * 保存 float 类型的数据
+     * @param key   保存的 key
+     * @param value 存储的数据
+     * @return {@code true} success, {@code false} fail
+     */
+    public boolean putFloat(
+            final String key,
+            final float value
+    ) {
+        return commitSingle(key, value);
+    }
+
+    /**
+     * 保存 double 类型的数据
+     * @param key   保存的 key
+     * @param value 存储的数据
+     * @return {@code true} success, {@code false} fail
+     */
+    public boolean putDouble(
+            final String key,
+            final double value
+    ) {
+        return commitSingle(key, value);
+    }
+
+    /**
+     * 保存 boolean 类型的数据
+     * @param key   保存的 key
+     * @param value 存储的数据
+     * @return {@code true} success, {@code false} fail
+     */
+    public boolean putBoolean(
+            final String key,
+            final boolean value
+    ) {
+        return commitSingle(key, value);
+    }
+
+    /**
+     * 保存 String 类型的数据
+     * @param key   保存的 key
+     * @param value 存储的数据 ( null 则移除 )
+     * @return {@code true} success, {@code false} fail
+     */
+    public boolean putString(
+            final String key,
+            final String value
+    ) {
+        return commitSingle(key, value != null ? value : REMOVED);
+    }
+
+    /**
+     * 保存 byte[] 类型的数据
+     * @param key   保存的 key
+     * @param value 存储的数据 ( null 则移除 )
+     * @return {@code true} success, {@code false} fail
+     */
+    public boolean putBytes(
+            final String key,
+            final byte[] value
+    ) {
+        return commitSingle(key, value != null ? Arrays.copyOf(value, value.length) : REMOVED);
+    }
+
+    /**
+     * 移除数据
+     * @param key 保存的 key
+     * @return {@code true} success, {@code false} fail
+     */
+    public boolean remove(final String key) {
+        return commitSingle(key, REMOVED);
+    }
+
+    /**
+     * 移除数组的数据 ( 原子操作 )
+     * @param keys 保存的 key 数组
+     * @return {@code true} success, {@code false} fail
+     */
+    public boolean removeForKeys(final String[] keys) {
+        if (keys == null) return false;
+        Editor editor = edit();
+        for (String key : keys) {
+            editor.remove(key);
+        }
+        return editor.commit();
+    }
+
+    /**
+     * 清除全部数据
+     * @return {@code true} success, {@code false} fail
+     */
+    public boolean clear() {
+        return edit().clear().commit();
+    }
+
+    /**
+     * 创建批量编辑
+     * @return {@link Editor}
+     */
+    public Editor edit() {
+        return new Editor();
+    }
+
+    /**
+     * 整理存储文件 ( 移除无效数据 )
+     * @return {@code true} success, {@code false} fail
+     */
+    public boolean compact() {
+        synchronized (mLock) {
+            if (mClosed) return false;
+            try {
+                rewrite(0);
+                return true;
+            } catch (IOException e) {
+                JCLogUtils.eTag(TAG, e, "compact");
+                return false;
+            }
+        }
+    }
+
+    /**
+     * 同步数据至磁盘 ( 防止断电丢失 )
+     */
+    public void sync() {
+        synchronized (mLock) {
+            if (mClosed) return;
+            mMapped.force();
+        }
+    }
+
+    /**
+     * 获取存储文件大小
+     * @return 存储文件大小
+     */
+    public long getFileSize() {
+        synchronized (mLock) {
+            return mMapped != null ? mMapped.capacity() : 0L;
+        }
+    }
+
+    /**
+     * 获取无效数据字节数
+     * @return 无效数据字节数
+     */
+    public long getGarbageSize() {
+        synchronized (mLock) {
+            return Math.max(mEnd - HEADER_SIZE - mLiveSize, 0L);
+        }
+    }
+
+    /**
+     * 关闭存储 ( 关闭后禁止读写 )
+     */
+    @Override
+    public void close() {
+        synchronized (mLock) {
+            if (mClosed) return;
+            mClosed = true;
+            try {
+                mMapped.force();
+                mRandomAccessFile.close();
+            } catch (Exception e) {
+                JCLogUtils.eTag(TAG, e, "close");
+            }
+            mMapped = null;
+            mValues.clear();
+            mEntrySizes.clear();
+        }
+    }
+
+    // ==========
+    // = 批量编辑 =
+    // ==========
+
+    /**
+     * detail: 批量编辑
+     * @author Ttt
+     * <pre>
+     *     全部修改写入同一条记录, 提交后要么全部生效要么全部丢弃
+     *     clear 先于其他修改生效 ( 与 SharedPreferences.Editor 一致 )
+     * </pre>
+     */
+    public final class Editor {
+
+        // 修改内容
+        private final LinkedHashMap<String, Object> mChanges = new LinkedHashMap<>();
+        // 是否清除全部数据
+        private       boolean                       mClear   = false;
+
+        private Editor() {
+        }
+
+        /**
+         * 保存 int 数据
+         * @param key   保存的 key
+         * @param value 存储的数据
+         * @return {@link Editor}
+         */
+        public Editor putInt(
+                final String key,
+                final int value
+        ) {
+            return put(key, value);
+        }
+
+        /**
+         * 保存 long 数据
+         * @param key   保存的 key
+         * @param value 存储的数据
+         * @return {@link Editor}
+         */
+        public Editor putLong(
+                final String key,
+                final long value
+        ) {
+            return put(key, value);
+        }
+
+        /**
+         * 保存 float 数据
+         * @param key   保存的 key
+         * @param value 存储的数据
+         * @return {@link Editor}
+         */
+        public Editor putFloat(
+                final String key,
+                final float value
+        ) {
+            return put(key, value);
+        }
+
+        /**
+         * 保存 double 数据
+         * @param key   保存的 key
+         * @param value 存储的数据
+         * @return {@link Editor}
+         */
+        public Editor putDouble(
+                final String key,
+                final double value
+        ) {
+            return put(key, value);
+        }
+
+        /**
+         * 保存 boolean 数据
+         * @param key   保存的 key
+         * @param value 存储的数据
+         * @return {@link Editor}
+         */
+        public Editor putBoolean(
+                final String key,
+                final boolean value
+        ) {
+            return put(key, value);
+        }
+
+        /**
+         * 保存 String 数据
+         * @param key   保存的 key
+         * @param value 存储的数据 ( null 则移除 )
+         * @return {@link Editor}
+         */
+        public Editor putString(
+                final String key,
+                final String value
+        ) {
+            return put(key, value != null ? value : REMOVED);
+        }
+
+        /**
+         * 保存 byte[] 数据 ( 拷贝保存, 提交前修改原数组不影响写入内容 )
+         * @param key   保存的 key
+         * @param value 存储的数据 ( null 则移除 )
+         * @return {@link Editor}
+         */
+        public Editor putBytes(
+                final String key,
+                final byte[] value
+        ) {
+            return put(key, value != null ? Arrays.copyOf(value, value.length) : REMOVED);
+        }
+
+        /**
+         * 移除数据
+         * @param key 保存的 key
+         * @return {@link Editor}
+         */
+        public Editor remove(final String key) {
+            return put(key, REMOVED);
+        }
+
+        /**
+         * 清除全部数据 ( 提交时先于其他修改生效 )
+         * @return {@link Editor}
+         */
+        public Editor clear() {
+            mClear = true;
+            return this;
+        }
+
+        /**
+         * 提交修改
+         * <pre>
+         *     修改写入 mmap 映射内存后即返回, 不等待落盘 ( 落盘需调用 {@link MappedKeyValueStore#sync()} )
+         * </pre>
+         * @return {@code true} success, {@code false} fail
+         */
+        public boolean commit() {
+            return commitChanges(mClear, mChanges);
+        }
+
+        /**
+         * 提交修改 ( 不关心提交结果 )
+         * <pre>
+         *     与 {@link #commit()} 同步写入 mmap 映射内存, 返回后修改立即可读
+         *     写入为内存拷贝无需像 SharedPreferences.Editor.apply() 切换线程
+         * </pre>
+         */
+        public void apply() {
+            commitChanges(mClear, mChanges);
+        }
+
+        private Editor put(
+                final String key,
+                final Object value
+        ) {
+            if (key != null) mChanges.put(key, value);
+            return this;
+        }
+    }
+
+    // ==========
+    // = 内部方法 =
+    // ==========
+
+    /**
+     * 获取数据
+     * @param key 保存的 key
+     * @return 存储的数据
+     */
+    private Object get(final String key) {
+        return key != null ? mValues.get(key) : null;
+    }
+
+    /**
+     * 获取整理临时文件
+     * @return 整理临时文件
+     */
+    private File getTempFile() {
+        return new File(mFile.getAbsolutePath() + ".tmp");
+    }
+
+    /**
+     * 提交单条修改
+     * @param key   保存的 key
+     * @param value 存储的数据 ( REMOVED 为移除 )
+     * @return {@code true} success, {@code false} fail
+     */
+    private boolean commitSingle(
+            final String key,
+            final Object value
+    ) {
+        if (key == null) return false;
+        synchronized (mLock) {
+            if (mClosed) return false;
+            try {
+                beginRecord();
+                encodeEntry(key, value);
+                appendRecord(1);
+                applyEntry(key, value, mScratch.position());
+                maybeCompact();
+                return true;
+            } catch (Exception e) {
+                JCLogUtils.eTag(TAG, e, "commitSingle");
+                return false;
+            }
+        }
+    }
+
+    /**
+     * 提交批量修改
+     * @param clear   是否清除全部数据
+     * @param changes 修改内容
+     * @return {@code true} success, {@code false} fail
+     */
+    private boolean commitChanges(
+            final boolean clear,
+            final Map<String, Object> changes
+    ) {
+        if (!clear && changes.isEmpty()) return true;
+        synchronized (mLock) {
+            if (mClosed) return false;
+            try {
+                beginRecord();
+                int   count = 0;
+                int[] sizes = new int[changes.size()];
+                if (clear) {
+                    encodeClear();
+                    count++;
+                }
+                int index = 0;
+                for (Map.Entry<String, Object> entry : changes.entrySet()) {
+                    int start = mScratch.position();
+                    encodeEntry(entry.getKey(), entry.getValue());
+                    sizes[index++] = mScratch.position() - start;
+                    count++;
+                }
+                appendRecord(count);
+                if (clear) applyClear();
+                index = 0;
+                for (Map.Entry<String, Object> entry : changes.entrySet()) {
+                    applyEntry(entry.getKey(), entry.getValue(), sizes[index++]);
+                }
+                maybeCompact();
+                return true;
+            } catch (Exception e) {
+                JCLogUtils.eTag(TAG, e, "commitChanges");
+                return false;
+            }
+        }
+    }
+
+    /**
+     * 更新内存索引
+     * @param key   保存的 key
+     * @param value 存储的数据 ( REMOVED 为移除 )
+     * @param size  数据编码字节数 ( 单条提交时为记录内容字节数 )
+     */
+    private void applyEntry(
+            final String key,
+            final Object value,
+            final int size
+    ) {
+        Integer oldSize = (value == REMOVED) ? mEntrySizes.remove(key) : mEntrySizes.put(key, size);
+        if (oldSize != null) mLiveSize -= oldSize;
+        if (value == REMOVED) {
+            mValues.remove(key);
+        } else {
+            mLiveSize += size;
+            mValues.put(key, value);
+        }
+    }
+
+    /**
+     * 清空内存索引
+     */
+    private void applyClear() {
+        mValues.clear();
+        mEntrySizes.clear();
+        mLiveSize = 0L;
+    }
+
+    // =============
+    // = 文件读写处理 =
+    // =============
+
+    /**
+     * 加载存储文件
+     * @throws IOException 文件创建、映射失败
+     */
+    private void load() throws IOException {
+        mRandomAccessFile = new RandomAccessFile(mFile, "rw");
+        long length = mRandomAccessFile.length();
+        if (length < HEADER_SIZE) {
+            mRandomAccessFile.close();
+            initFile();
+            return;
+        }
+        map(length);
+        if (mMapped.getInt(0) != MAGIC || mMapped.getInt(4) != VERSION) {
+            JCLogUtils.dTag(TAG, "load - invalid header, reset %s", mFile);
+            mRandomAccessFile.close();
+            initFile();
+            return;
+        }
+        mGeneration = mMapped.getInt(8);
+        int     position = HEADER_SIZE;
+        boolean torn     = false;
+        while (position + RECORD_HEADER_SIZE <= mMapped.capacity()) {
+            int recordLength = mMapped.getInt(position);
+            if (recordLength == 0) break;
+            int bodyStart = position + RECORD_HEADER_SIZE;
+            if (recordLength < 4 || recordLength > mMapped.capacity() - bodyStart
+                    || mMapped.getInt(position + 4) != crc(bodyStart, recordLength)) {
+                torn = true;
+                break;
+            }
+            try {
+                replay(bodyStart, recordLength);
+            } catch (RuntimeException e) {
+                torn = true;
+                break;
+            }
+            position = bodyStart + recordLength;
+        }
+        mEnd = position;
+        if (torn) {
+            // 丢弃不完整记录, 整理后递增 generation 使残留记录失效
+            JCLogUtils.dTag(TAG, "load - torn record at %d, compact %s", position, mFile);
+            rewrite(0);
+        }
+    }
+
+    /**
+     * 初始化空存储文件
+     * @throws IOException 文件创建、映射失败
+     */
+    private void initFile() throws IOException {
+        applyClear();
+        mGeneration = 0;
+        rewrite(0);
+    }
+
+    /**
+     * 映射存储文件
+     * @param length 文件大小
+     * @throws IOException 映射失败
+     */
+    private void map(final long length) throws IOException {
+        if (length > Integer.MAX_VALUE) throw new IOException("File too large " + length);
+        mMapped = mRandomAccessFile.getChannel().map(
+                FileChannel.MapMode.READ_WRITE, 0, length
+        );
+    }
+
+    /**
+     * 重放记录
+     * @param start  记录内容起始位置
+     * @param length 记录内容长度
+     */
+    private void replay(
+            final int start,
+            final int length
+    ) {
+        ByteBuffer buffer = mMapped.duplicate();
+        buffer.limit(start + length).position(start);
+        int count = buffer.getInt();
+        // 单条数据记录按整条记录计算字节数
+        boolean single = (count == 1);
+        for (int i = 0; i < count; i++) {
+            int    entryStart = buffer.position();
+            byte   type       = buffer.get();
+            byte[] keyBytes   = new byte[buffer.getShort() & 0xFFFF];
+            buffer.get(keyBytes);
+            Object value;
+            switch (type) {
+                case TYPE_CLEAR:
+                    applyClear();
+                    continue;
+                case TYPE_REMOVE:
+                    value = REMOVED;
+                    break;
+                case TYPE_INT:
+                    value = buffer.getInt();
+                    break;
+                case TYPE_LONG:
+                    value = buffer.getLong();
+                    break;
+                case TYPE_FLOAT:
+                    value = buffer.getFloat();
+                    break;
+                case TYPE_DOUBLE:
+                    value = buffer.getDouble();
+                    break;
+                case TYPE_BOOLEAN:
+                    value = buffer.get() != 0;
+                    break;
+                case TYPE_STRING:
+                case TYPE_BYTES:
+                    byte[] bytes = new byte[buffer.getInt()];
+                    buffer.get(bytes);
+                    value = (type == TYPE_STRING) ? new String(bytes, UTF_8) : bytes;
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown type " + type);
+            }
+            int size = single ? length : buffer.position() - entryStart;
+            applyEntry(new String(keyBytes, UTF_8), value, size);
+        }
+        if (buffer.hasRemaining()) throw new IllegalStateException("Trailing bytes");
+    }
+
+    /**
+     * 计算记录 CRC
+     * @param start  记录内容起始位置
+     * @param length 记录内容长度
+     * @return CRC
+     */
+    private int crc(
+            final int start,
+            final int length
+    ) {
+        ByteBuffer buffer = mMapped.duplicate();
+        buffer.limit(start + length).position(start);
+        return crc(buffer);
+    }
+
+    /**
+     * 计算记录 CRC ( generation + 记录内容 )
+     * @param body 记录内容
+     * @return CRC
+     */
+    private int crc(final ByteBuffer body) {
+        CRC32 crc = mCRC;
+        crc.reset();
+        crc.update(mGeneration >>> 24);
+        crc.update(mGeneration >>> 16);
+        crc.update(mGeneration >>> 8);
+        crc.update(mGeneration);
+        if (body.hasArray()) {
+            crc.update(body.array(), body.arrayOffset() + body.position(), body.remaining());
+        } else {
+            byte[] chunk = new byte[Math.min(body.remaining(), 4096)];
+            while (body.hasRemaining()) {
+                int length = Math.min(body.remaining(), chunk.length);
+                body.get(chunk, 0, length);
+                crc.update(chunk, 0, length);
+            }
+        }
+        return (int) crc.getValue();
+    }
+
+    // =
+
+    /**
+     * 开始编码记录 ( 预留 count )
+     */
+    private void beginRecord() {
+        mScratch.clear();
+        mScratch.putInt(0);
+    }
+
+    /**
+     * 编码单条数据
+     * @param key   保存的 key
+     * @param value 存储的数据 ( REMOVED 为移除 )
+     */
+    private void encodeEntry(
+            final String key,
+            final Object value
+    ) {
+        byte[] keyBytes = key.getBytes(UTF_8);
+        if (keyBytes.length > 0xFFFF) throw new IllegalArgumentException("Key too long");
+        byte[] bytes = null;
+        byte   type;
+        int    valueSize;
+        if (value == REMOVED) {
+            type      = TYPE_REMOVE;
+            valueSize = 0;
+        } else if (value instanceof Integer) {
+            type      = TYPE_INT;
+            valueSize = 4;
+        } else if (value instanceof Long) {
+            type      = TYPE_LONG;
+            valueSize = 8;
+        } else if (value instanceof Float) {
+            type      = TYPE_FLOAT;
+            valueSize = 4;
+        } else if (value instanceof Double) {
+            type      = TYPE_DOUBLE;
+            valueSize = 8;
+        } else if (value instanceof Boolean) {
+            type      = TYPE_BOOLEAN;
+            valueSize = 1;
+        } else if (value instanceof String) {
+            type      = TYPE_STRING;
+            bytes     = ((String) value).getBytes(UTF_8);
+            valueSize = 4 + bytes.length;
+        } else if (value instanceof byte[]) {
+            type      = TYPE_BYTES;
+            bytes     = (byte[]) value;
+            valueSize = 4 + bytes.length;
+        } else {
+            throw new IllegalArgumentException("Unsupported value " + value);
+        }
+        ensureScratch(3 + keyBytes.length + valueSize);
+        ByteBuffer buffer = mScratch;
+        buffer.put(type).putShort((short) keyBytes.length).put(keyBytes);
+        switch (type) {
+            case TYPE_INT:
+                buffer.putInt((Integer) value);
+                break;
+            case TYPE_LONG:
+                buffer.putLong((Long) value);
+                break;
+            case TYPE_FLOAT:
+                buffer.putFloat((Float) value);
+                break;
+            case TYPE_DOUBLE:
+                buffer.putDouble((Double) value);
+                break;
+            case TYPE_BOOLEAN:
+                buffer.put((byte) ((Boolean) value ? 1 : 0));
+                break;
+            case TYPE_STRING:
+            case TYPE_BYTES:
+                buffer.putInt(bytes.length).put(bytes);
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * 编码清除全部数据
+     */
+    private void encodeClear() {
+        ensureScratch(3);
+        mScratch.put(TYPE_CLEAR).putShort((short) 0);
+    }
+
+    /**
+     * 确保编码缓存剩余容量
+     * @param size 所需字节数
+     */
+    private void ensureScratch(final int size) {
+        if (mScratch.remaining() >= size) return;
+        int capacity = Math.max(mScratch.capacity() * 2, mScratch.position() + size);
+        ByteBuffer buffer = ByteBuffer.allocate(capacity);
+        mScratch.flip();
+        buffer.put(mScratch);
+        mScratch = buffer;
+    }
+
+    /**
+     * 追加记录至存储文件
+     * @param count 数据条数
+     * @throws IOException 扩容、整理失败
+     */
+    private void appendRecord(final int count) throws IOException {
+        ByteBuffer body = mScratch;
+        body.putInt(0, count);
+        body.flip();
+        int length = body.remaining();
+        if (mEnd + RECORD_HEADER_SIZE + (long) length > mMapped.capacity()) {
+            // 空间不足: 无效数据较多则整理, 否则扩容
+            if (getGarbageSize() >= Math.max(mLiveSize, MIN_GARBAGE_SIZE)) {
+                rewrite(RECORD_HEADER_SIZE + length);
+            }
+            if (mEnd + RECORD_HEADER_SIZE + (long) length > mMapped.capacity()) {
+                grow(mEnd + RECORD_HEADER_SIZE + (long) length);
+            }
+        }
+        int crc = crc(body.duplicate());
+        ByteBuffer mapped = mMapped.duplicate();
+        mapped.position(mEnd + RECORD_HEADER_SIZE);
+        mapped.put(body);
+        // 最后写入记录头
+        mMapped.putInt(mEnd + 4, crc);
+        mMapped.putInt(mEnd, length);
+        mEnd += RECORD_HEADER_SIZE + length;
+        // 恢复编码缓存位置, 便于获取编码字节数
+        body.limit(body.capacity()).position(length);
+    }
+
+    /**
+     * 无效数据过多时整理
+     * @throws IOException 整理失败
+     */
+    private void maybeCompact() throws IOException {
+        long garbage = getGarbageSize();
+        if (garbage >= MIN_GARBAGE_SIZE && garbage > mLiveSize) {
+            rewrite(0);
+        }
+    }
+
+    /**
+     * 扩容存储文件
+     * @param required 所需文件大小
+     * @throws IOException 扩容失败
+     */
+    private void grow(final long required) throws IOException {
+        long size = Math.max(mMapped.capacity(), MIN_FILE_SIZE);
+        while (size < required) size <<= 1;
+        if (size > Integer.MAX_VALUE) throw new IOException("File too large " + size);
+        mMapped.force();
+        mRandomAccessFile.setLength(size);
+        map(size);
+    }
+
+    /**
+     * 重写存储文件 ( 写入临时文件后 rename 替换 )
+     * @param reserve 预留字节数
+     * @throws IOException 重写失败
+     */
+    private void rewrite(final int reserve) throws IOException {
+        int        generation = mGeneration + 1;
+        File       temp       = getTempFile();
+        ByteBuffer buffer     = ByteBuffer.allocate(COMPACT_CHUNK_SIZE + RECORD_HEADER_SIZE);
+        List<String> keys     = new ArrayList<>(mValues.keySet());
+        long written;
+        try (RandomAccessFile file = new RandomAccessFile(temp, "rw")) {
+            FileChannel channel = file.getChannel();
+            file.setLength(0);
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(generation).putInt(0).flip();
+            channel.write(buffer);
+            written = HEADER_SIZE;
+            int previous = mGeneration;
+            // 追加记录时可能触发整理, 保留待追加记录内容
+            ByteBuffer pending = mScratch;
+            mScratch    = ByteBuffer.allocate(pending.capacity());
+            mGeneration = generation;
+            try {
+                int index = 0;
+                while (index < keys.size()) {
+                    beginRecord();
+                    int count = 0;
+                    while (index < keys.size()
+                            && (count == 0 || mScratch.position() < COMPACT_CHUNK_SIZE)) {
+                        String key   = keys.get(index++);
+                        Object value = mValues.get(key);
+                        if (value == null) continue;
+                        encodeEntry(key, value);
+                        count++;
+                    }
+                    if (count == 0) break;
+                    mScratch.putInt(0, count);
+                    mScratch.flip();
+                    int length = mScratch.remaining();
+                    int crc    = crc(mScratch.duplicate());
+                    ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+                    header.putInt(length).putInt(crc).flip();
+                    channel.write(header);
+                    channel.write(mScratch);
+                    written += RECORD_HEADER_SIZE + length;
+                }
+            } finally {
+                mGeneration = previous;
+                mScratch    = pending;
+            }
+            long size = Math.max(MIN_FILE_SIZE, 4096L);
+            while (size < (written + reserve) * 2) size <<= 1;
+            file.setLength(size);
+            channel.force(true);
+        }
+        if (mRandomAccessFile != null) {
+            try {
+                mRandomAccessFile.close();
+            } catch (IOException ignored) {
+            }
+        }
+        if (!temp.renameTo(mFile)) {
+            // rename 失败则保留原文件继续使用
+            mRandomAccessFile = new RandomAccessFile(mFile, "rw");
+            map(mRandomAccessFile.length());
+            temp.delete();
+            throw new IOException("Rename failed " + temp);
+        }
+        mGeneration       = generation;
+        mRandomAccessFile = new RandomAccessFile(mFile, "rw");
+        map(mRandomAccessFile.length());
+        mEnd = (int) written;
+        // 重写后各 key 编码字节数与记录一致, 重新计算
+        recalculateSizes();
+    }
+
+    /**
+     * 重新计算有效数据字节数
+     */
+    private void recalculateSizes() {
+        mEntrySizes.clear();
+        mLiveSize = 0L;
+        int position = HEADER_SIZE;
+        while (position < mEnd) {
+            int length = mMapped.getInt(position);
+            int start  = position + RECORD_HEADER_SIZE;
+            ByteBuffer buffer = mMapped.duplicate();
+            buffer.limit(start + length).position(start);
+            int count = buffer.getInt();
+            for (int i = 0; i < count; i++) {
+                int    entryStart = buffer.position();
+                byte   type       = buffer.get();
+                byte[] keyBytes   = new byte[buffer.getShort() & 0xFFFF];
+                buffer.get(keyBytes);
+                switch (type) {
+                    case TYPE_INT:
+                    case TYPE_FLOAT:
+                        buffer.position(buffer.position() + 4);
+                        break;
+                    case TYPE_LONG:
+                    case TYPE_DOUBLE:
+                        buffer.position(buffer.position() + 8);
+                        break;
+                    case TYPE_BOOLEAN:
+                        buffer.position(buffer.position() + 1);
+                        break;
+                    default:
+                        int valueLength = buffer.getInt();
+                        buffer.position(buffer.position() + valueLength);
+                        break;
+                }
+                int size = buffer.position() - entryStart;
+                mEntrySizes.put(new String(keyBytes, UTF_8), size);
+                mLiveSize += size;
+            }
+            position = start + length;
+        }
+    }
+}
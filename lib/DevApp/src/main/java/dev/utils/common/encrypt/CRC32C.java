@@ -0,0 +1,97 @@
+package dev.utils.common.encrypt;
+
+import java.util.zip.Checksum;
+
+/**
+ * detail: CRC32C ( Castagnoli ) 校验
+ * @author Ttt
+ * <pre>
+ *     java.util.zip.CRC32C 需 JDK 9 ( Android API 26 ) 以上, 此处为纯 Java 实现
+ *     采用 slicing-by-8 查表, 每次处理 8 字节
+ *     多项式 0x1EDC6F41 ( 反射 0x82F63B78 ), 结果与 java.util.zip.CRC32C 一致
+ * </pre>
+ */
+public final class CRC32C
+        implements Checksum {
+
+    // 反射多项式
+    static final int POLY = 0x82F63B78;
+
+    // slicing-by-8 查表 [k * 256 + i]
+    private static final int[] TABLE = new int[8 * 256];
+
+    static {
+        for (int i = 0; i < 256; i++) {
+            int crc = i;
+            for (int j = 0; j < 8; j++) {
+                crc = (crc & 1) != 0 ? (crc >>> 1) ^ POLY : crc >>> 1;
+            }
+            TABLE[i] = crc;
+        }
+        for (int i = 0; i < 256; i++) {
+            int crc = TABLE[i];
+            for (int k = 1; k < 8; k++) {
+                crc = (crc >>> 8) ^ TABLE[crc & 0xFF];
+                TABLE[k * 256 + i] = crc;
+            }
+        }
+    }
+
+    // 当前 CRC ( 已取反 )
+    private int mCrc = 0xFFFFFFFF;
+
+    @Override
+    public void update(int b) {
+        mCrc = (mCrc >>> 8) ^ TABLE[(mCrc ^ b) & 0xFF];
+    }
+
+    @Override
+    public void update(
+            byte[] b,
+            int off,
+            int len
+    ) {
+        if (b == null) throw new NullPointerException();
+        if (off < 0 || len < 0 || off > b.length - len) {
+            throw new ArrayIndexOutOfBoundsException();
+        }
+        int[] t   = TABLE;
+        int   crc = mCrc;
+        while (len >= 8) {
+            crc ^= (b[off] & 0xFF) | (b[off + 1] & 0xFF) << 8
+                    | (b[off + 2] & 0xFF) << 16 | (b[off + 3] & 0xFF) << 24;
+            crc = t[7 * 256 + (crc & 0xFF)]
+                    ^ t[6 * 256 + ((crc >>> 8) & 0xFF)]
+                    ^ t[5 * 256 + ((crc >>> 16) & 0xFF)]
+                    ^ t[4 * 256 + (crc >>> 24)]
+                    ^ t[3 * 256 + (b[off + 4] & 0xFF)]
+                    ^ t[2 * 256 + (b[off + 5] & 0xFF)]
+                    ^ t[256 + (b[off + 6] & 0xFF)]
+                    ^ t[b[off + 7] & 0xFF];
+            off += 8;
+            len -= 8;
+        }
+        while (len-- > 0) {
+            crc = (crc >>> 8) ^ t[(crc ^ b[off++]) & 0xFF];
+        }
+        mCrc = crc;
+    }
+
+    /**
+     * 更新校验数据
+     * @param b 数据
+     */
+    public void update(byte[] b) {
+        update(b, 0, b.length);
+    }
+
+    @Override
+    public long getValue() {
+        return (~mCrc) & 0xFFFFFFFFL;
+    }
+
+    @Override
+    public void reset() {
+        mCrc = 0xFFFFFFFF;
+    }
+}
@@ -1,14 +1,29 @@
 package dev.utils.common.encrypt;
 
+import java.io.Reader;
+import java.io.Writer;
+
+import dev.utils.JCLogUtils;
+
 /**
  * detail: 字符串 ( 编解码 ) 工具类
  * @author Ttt
+ * <pre>
+ *     编码: 安全字符 ( A-Z a-z 0-9 -_.!~*'() ) 原样输出, 其余 ASCII 输出 %XX, 非 ASCII 输出 %uXXXX
+ *     无需处理的字符串直接返回原字符串, 大文本可使用 Reader、Writer 流式处理
+ * </pre>
  */
 public final class EscapeUtils {
 
     private EscapeUtils() {
     }
 
+    // 日志 TAG
+    private static final String TAG = EscapeUtils.class.getSimpleName();
+
+    // 流式处理缓冲区大小
+    private static final int BUFFER_SIZE = 8192;
+
     /**
      * 编码
      * @param data 待编码数据
@@ -16,109 +31,256 @@ public final class EscapeUtils {
      */
     public static String escape(final String data) {
         if (data == null) return null;
-        StringBuilder builder = new StringBuilder();
-        for (int i = 0, len = data.length(); i < len; i++) {
-            int ch = data.charAt(i);
-            if ('A' <= ch && ch <= 'Z') {
-                builder.append((char) ch);
-            } else if ('a' <= ch && ch <= 'z') {
-                builder.append((char) ch);
-            } else if ('0' <= ch && ch <= '9') {
-                builder.append((char) ch);
-            } else if (ch == '-' || ch == '_' || ch == '.' || ch == '!'
-                    || ch == '~' || ch == '*' || ch == '\'' || ch == '('
-                    || ch == ')') {
-                builder.append((char) ch);
+        int len   = data.length();
+        int start = indexOfUnsafe(data, 0, len);
+        // 无需编码直接返回
+        if (start == len) return data;
+
+        // 计算编码后长度, 一次分配
+        int size = start;
+        for (int i = start; i < len; i++) {
+            char ch = data.charAt(i);
+            size += ch < 128 ? (SAFE_CHARS[ch] ? 1 : 3) : 6;
+        }
+        char[] chars = new char[size];
+        data.getChars(0, start, chars, 0);
+        int pos = start;
+        for (int i = start; i < len; i++) {
+            char ch = data.charAt(i);
+            if (ch < 128 && SAFE_CHARS[ch]) {
+                chars[pos++] = ch;
             } else if (ch <= 0x007F) {
-                builder.append('%');
-                builder.append(HEX[ch]);
+                chars[pos++] = '%';
+                chars[pos++] = HEX_DIGITS[ch >>> 4];
+                chars[pos++] = HEX_DIGITS[ch & 0xF];
             } else {
-                builder.append('%');
-                builder.append('u');
-                builder.append(HEX[(ch >>> 8)]);
-                builder.append(HEX[(0x00FF & ch)]);
+                chars[pos++] = '%';
+                chars[pos++] = 'u';
+                chars[pos++] = HEX_DIGITS[ch >>> 12];
+                chars[pos++] = HEX_DIGITS[(ch >>> 8) & 0xF];
+                chars[pos++] = HEX_DIGITS[(ch >>> 4) & 0xF];
+                chars[pos++] = HEX_DIGITS[ch & 0xF];
             }
         }
-        return builder.toString();
+        return new String(chars);
     }
 
     /**
      * 解码
      * <pre>
      *     本方法不论参数 data 是否经过 escape() 编码, 均能获取正确的 ( 解码 ) 结果
+     *     格式错误的 % 转义 ( 长度不足如 %X、%uXXX, 或包含非 ASCII 字符 ) 抛出 ArrayIndexOutOfBoundsException
+     *     长度不足时主动抛出数组越界而非 StringIndexOutOfBoundsException, 调用方只需捕获一种异常
      * </pre>
      * @param data 待解码数据
      * @return 解码后的字符串
+     * @throws ArrayIndexOutOfBoundsException 存在格式错误的 % 转义
      */
     public static String unescape(final String data) {
         if (data == null) return null;
-        StringBuilder builder = new StringBuilder();
-        int           i       = 0;
-        int           len     = data.length();
+        int start = data.indexOf('%');
+        // 无需解码直接返回
+        if (start < 0) return data;
+
+        int    len   = data.length();
+        char[] chars = new char[len];
+        data.getChars(0, start, chars, 0);
+        int pos = start;
+        int i   = start;
         while (i < len) {
-            int ch = data.charAt(i);
-            if ('A' <= ch && ch <= 'Z') {
-                builder.append((char) ch);
-            } else if ('a' <= ch && ch <= 'z') {
-                builder.append((char) ch);
-            } else if ('0' <= ch && ch <= '9') {
-                builder.append((char) ch);
-            } else if (ch == '-' || ch == '_' || ch == '.' || ch == '!'
-                    || ch == '~' || ch == '*' || ch == '\'' || ch == '('
-                    || ch == ')') {
-                builder.append((char) ch);
-            } else if (ch == '%') {
-                int cint = 0;
-                if ('u' != data.charAt(i + 1)) {
-                    cint = (cint << 4) | BYTE_VALUES[data.charAt(i + 1)];
-                    cint = (cint << 4) | BYTE_VALUES[data.charAt(i + 2)];
-                    i += 2;
-                } else {
-                    cint = (cint << 4) | BYTE_VALUES[data.charAt(i + 2)];
-                    cint = (cint << 4) | BYTE_VALUES[data.charAt(i + 3)];
-                    cint = (cint << 4) | BYTE_VALUES[data.charAt(i + 4)];
-                    cint = (cint << 4) | BYTE_VALUES[data.charAt(i + 5)];
-                    i += 5;
-                }
-                builder.append((char) cint);
+            char ch = data.charAt(i);
+            if (ch != '%') {
+                chars[pos++] = ch;
+                i++;
+                continue;
+            }
+            int need = (i + 1 < len && data.charAt(i + 1) == 'u') ? 6 : 3;
+            if (i + need > len) {
+                throw new ArrayIndexOutOfBoundsException("Incomplete escape at index " + i);
+            }
+            if (need == 3) {
+                chars[pos++] = (char) hexValue(data.charAt(i + 1), data.charAt(i + 2));
             } else {
-                builder.append((char) ch);
+                chars[pos++] = (char) ((hexValue(data.charAt(i + 2), data.charAt(i + 3)) << 8)
+                        | hexValue(data.charAt(i + 4), data.charAt(i + 5)));
             }
-            i++;
+            i += need;
         }
-        return builder.toString();
+        return new String(chars, 0, pos);
     }
 
     // =
 
-    // 十六进制 0-255
-    private static final String[] HEX = {
-            "00", "01", "02", "03", "04", "05",
-            "06", "07", "08", "09", "0A", "0B", "0C", "0D", "0E", "0F", "10",
-            "11", "12", "13", "14", "15", "16", "17", "18", "19", "1A", "1B",
-            "1C", "1D", "1E", "1F", "20", "21", "22", "23", "24", "25", "26",
-            "27", "28", "29", "2A", "2B", "2C", "2D", "2E", "2F", "30", "31",
-            "32", "33", "34", "35", "36", "37", "38", "39", "3A", "3B", "3C",
-            "3D", "3E", "3F", "40", "41", "42", "43", "44", "45", "46", "47",
-            "48", "49", "4A", "4B", "4C", "4D", "4E", "4F", "50", "51", "52",
-            "53", "54", "55", "56", "57", "58", "59", "5A", "5B", "5C", "5D",
-            "5E", "5F", "60", "61", "62", "63", "64", "65", "66", "67", "68",
-            "69", "6A", "6B", "6C", "6D", "6E", "6F", "70", "71", "72", "73",
-            "74", "75", "76", "77", "78", "79", "7A", "7B", "7C", "7D", "7E",
-            "7F", "80", "81", "82", "83", "84", "85", "86", "87", "88", "89",
-            "8A", "8B", "8C", "8D", "8E", "8F", "90", "91", "92", "93", "94",
-            "95", "96", "97", "98", "99", "9A", "9B", "9C", "9D", "9E", "9F",
-            "A0", "A1", "A2", "A3", "A4", "A5", "A6", "A7", "A8", "A9", "AA",
-            "AB", "AC", "AD", "AE", "AF", "B0", "B1", "B2", "B3", "B4", "B5",
-            "B6", "B7", "B8", "B9", "BA", "BB", "BC", "BD", "BE", "BF", "C0",
-            "C1", "C2", "C3", "C4", "C5", "C6", "C7", "C8", "C9", "CA", "CB",
-            "CC", "CD", "CE", "CF", "D0", "D1", "D2", "D3", "D4", "D5", "D6",
-            "D7", "D8", "D9", "DA", "DB", "DC", "DD", "DE", "DF", "E0", "E1",
-            "E2", "E3", "E4", "E5", "E6", "E7", "E8", "E9", "EA", "EB", "EC",
-            "ED", "EE", "EF", "F0", "F1", "F2", "F3", "F4", "F5", "F6", "F7",
-            "F8", "F9", "FA", "FB", "FC", "FD", "FE", "FF"
-    };
+    /**
+     * 流式编码
+     * <pre>
+     *     不会关闭 reader、writer
+     * </pre>
+     * @param reader 待编码数据
+     * @param writer 编码输出
+     * @return {@code true} success, {@code false} fail
+     */
+    public static boolean escape(
+            final Reader reader,
+            final Writer writer
+    ) {
+        if (reader == null || writer == null) return false;
+        try {
+            char[] buffer = new char[BUFFER_SIZE];
+            char[] escape = new char[6];
+            int    read;
+            while ((read = reader.read(buffer)) != -1) {
+                int i = 0;
+                while (i < read) {
+                    char ch = buffer[i];
+                    if (ch < 128 && SAFE_CHARS[ch]) {
+                        int end = i + 1;
+                        while (end < read && buffer[end] < 128 && SAFE_CHARS[buffer[end]]) {
+                            end++;
+                        }
+                        writer.write(buffer, i, end - i);
+                        i = end;
+                        continue;
+                    }
+                    escape[0] = '%';
+                    if (ch <= 0x007F) {
+                        escape[1] = HEX_DIGITS[ch >>> 4];
+                        escape[2] = HEX_DIGITS[ch & 0xF];
+                        writer.write(escape, 0, 3);
+                    } else {
+                        escape[1] = 'u';
+                        escape[2] = HEX_DIGITS[ch >>> 12];
+                        escape[3] = HEX_DIGITS[(ch >>> 8) & 0xF];
+                        escape[4] = HEX_DIGITS[(ch >>> 4) & 0xF];
+                        escape[5] = HEX_DIGITS[ch & 0xF];
+                        writer.write(escape, 0, 6);
+                    }
+                    i++;
+                }
+            }
+            writer.flush();
+            return true;
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "escape");
+        }
+        return false;
+    }
+
+    /**
+     * 流式解码
+     * <pre>
+     *     不会关闭 reader、writer
+     *     末尾存在不完整的 %XX、%uXXXX 时返回 false
+     * </pre>
+     * @param reader 待解码数据
+     * @param writer 解码输出
+     * @return {@code true} success, {@code false} fail
+     */
+    public static boolean unescape(
+            final Reader reader,
+            final Writer writer
+    ) {
+        if (reader == null || writer == null) return false;
+        try {
+            char[] buffer = new char[BUFFER_SIZE];
+            // 上一次读取剩余未处理 ( 不完整转义 ) 字符数
+            int    carry  = 0;
+            int    read;
+            while ((read = reader.read(buffer, carry, buffer.length - carry)) != -1) {
+                int end   = carry + read;
+                int i     = 0;
+                int plain = 0;
+                carry = 0;
+                while (i < end) {
+                    if (buffer[i] != '%') {
+                        i++;
+                        continue;
+                    }
+                    // 转义长度不足, 留到下次读取
+                    int need = (i + 1 < end && buffer[i + 1] == 'u') ? 6 : 3;
+                    if (i + 1 >= end || i + need > end) {
+                        carry = end - i;
+                        break;
+                    }
+                    if (i > plain) writer.write(buffer, plain, i - plain);
+                    int cint;
+                    if (need == 3) {
+                        cint = hexValue(buffer[i + 1], buffer[i + 2]);
+                    } else {
+                        cint = (hexValue(buffer[i + 2], buffer[i + 3]) << 8)
+                                | hexValue(buffer[i + 4], buffer[i + 5]);
+                    }
+                    writer.write(cint);
+                    i    += need;
+                    plain = i;
+                }
+                int plainEnd = end - carry;
+                if (plainEnd > plain) writer.write(buffer, plain, plainEnd - plain);
+                if (carry != 0) System.arraycopy(buffer, plainEnd, buffer, 0, carry);
+            }
+            if (carry != 0) {
+                throw new IllegalArgumentException("incomplete escape sequence at end of input");
+            }
+            writer.flush();
+            return true;
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "unescape");
+        }
+        return false;
+    }
+
+    // ==========
+    // = 内部方法 =
+    // ==========
+
+    /**
+     * 获取首个需编码字符索引
+     * @param data  待编码数据
+     * @param start 开始索引
+     * @param end   结束索引
+     * @return 首个需编码字符索引, 不存在则返回 end
+     */
+    private static int indexOfUnsafe(
+            final String data,
+            final int start,
+            final int end
+    ) {
+        for (int i = start; i < end; i++) {
+            char ch = data.charAt(i);
+            if (ch >= 128 || !SAFE_CHARS[ch]) return i;
+        }
+        return end;
+    }
+
+    /**
+     * 两位十六进制字符转值
+     * @param high 高位字符
+     * @param low  低位字符
+     * @return 对应值
+     */
+    private static int hexValue(
+            final char high,
+            final char low
+    ) {
+        return (BYTE_VALUES[high] << 4) | BYTE_VALUES[low];
+    }
+
+    // =
+
+    // 十六进制字符
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+
+    // ASCII 安全字符 ( 无需编码 ) 表
+    private static final boolean[] SAFE_CHARS = new boolean[128];
+
+    static {
+        for (char ch = 'A'; ch <= 'Z'; ch++) SAFE_CHARS[ch] = true;
+        for (char ch = 'a'; ch <= 'z'; ch++) SAFE_CHARS[ch] = true;
+        for (char ch = '0'; ch <= '9'; ch++) SAFE_CHARS[ch] = true;
+        for (char ch : "-_.!~*'()".toCharArray()) SAFE_CHARS[ch] = true;
+    }
 
+    // 十六进制字符对应值 ( 0-255 ), 非十六进制字符为 0x3F
     private static final byte[] BYTE_VALUES = {
             0x3F, 0x3F, 0x3F, 0x3F, 0x3F, 0x3F,
             0x3F, 0x3F, 0x3F, 0x3F, 0x3F, 0x3F, 0x3F, 0x3F, 0x3F, 0x3F, 0x3F,
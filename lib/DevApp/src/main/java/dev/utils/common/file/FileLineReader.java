@@ -0,0 +1,630 @@
+package dev.utils.common.file;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import dev.utils.JCLogUtils;
+import dev.utils.common.CloseUtils;
+
+/**
+ * detail: 文件按行流式读取
+ * @author Ttt
+ * <pre>
+ *     通过 FileChannel 读取到可复用的 DirectByteBuffer, 按字节查找换行符 ( 每次比较 8 字节 )
+ *     不会一次性读取整个文件, 适用于几百 MB 的日志、CSV 文件
+ *     <p></p>
+ *     以 \n 作为行结束符 ( 移除行尾 \r ), 文件末尾无换行符的内容算作一行
+ *     仅支持换行符为单字节 0x0A 的编码 ( UTF-8、GBK、ISO-8859-1 等 ), 不支持 UTF-16、UTF-32
+ *     <p></p>
+ *     {@link #forEach(LineVisitor)} 回调的 CharSequence 为复用对象, 仅在回调内有效, 不创建 String
+ *     {@link #buildIndex(int)} 构建稀疏行索引 ( 每 interval 行记录一次字节偏移 ), 用于按行号快速定位读取
+ *     {@link #count(File, byte, Executor)} 分片统计字节出现次数, 可用于快速获取文件行数
+ * </pre>
+ */
+public final class FileLineReader
+        implements Closeable {
+
+    // 日志 TAG
+    private static final String TAG = FileLineReader.class.getSimpleName();
+
+    // 默认缓冲区大小
+    public static final int DEFAULT_BUFFER_SIZE = 256 * 1024;
+
+    // 换行符
+    private static final byte LF            = '\n';
+    // 回车符
+    private static final byte CR            = '\r';
+    // 每个字节低 7 位掩码
+    private static final long LOW7          = 0x7F7F7F7F7F7F7F7FL;
+    // 每个字节均为 1
+    private static final long ONES          = 0x0101010101010101L;
+    // 分片统计最小分片大小
+    private static final long MIN_PART_SIZE = 1024 * 1024;
+
+    // 文件 Channel
+    private final RandomAccessFile mFile;
+    private final FileChannel      mChannel;
+    // 字符集解码器
+    private final CharsetDecoder   mDecoder;
+    // 读取缓冲区 ( [position, limit) 为未读取数据 )
+    private       ByteBuffer       mBuffer;
+    // 解码使用的缓冲区视图
+    private       ByteBuffer       mView;
+    // 解码结果
+    private       CharBuffer       mChars = CharBuffer.allocate(256);
+    // 缓冲区索引 0 对应的文件偏移
+    private       long             mBufferOffset;
+    // 下一行行号 ( 从 0 开始 )
+    private       long             mLineNumber;
+    // 是否已读取到文件末尾
+    private       boolean          mEOF;
+    // 当前行起始、结束索引 ( 不包含行结束符 )
+    private       int              mLineStart;
+    private       int              mLineEnd;
+    // 当前行起始文件偏移
+    private       long             mLineOffset;
+
+    /**
+     * 构造函数
+     * @param file 文件
+     * @throws IOException 文件不存在、读取失败
+     */
+    public FileLineReader(final File file)
+            throws IOException {
+        this(file, null, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * 构造函数
+     * @param file        文件
+     * @param charsetName 字符编码 ( 为 null 则使用默认编码 )
+     * @param bufferSize  缓冲区大小
+     * @throws IOException 文件不存在、读取失败
+     */
+    public FileLineReader(
+            final File file,
+            final String charsetName,
+            final int bufferSize
+    )
+            throws IOException {
+        Charset charset = (charsetName == null) ? Charset.defaultCharset() : Charset.forName(charsetName);
+        if (!isSupportCharset(charset)) {
+            throw new IllegalArgumentException("unsupported charset " + charset.name());
+        }
+        mDecoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        mBuffer  = allocate(Math.max(1024, bufferSize));
+        mBuffer.limit(0);
+        mView    = mBuffer.duplicate();
+        mFile    = new RandomAccessFile(file, "r");
+        mChannel = mFile.getChannel();
+    }
+
+    // ==========
+    // = 静态方法 =
+    // ==========
+
+    /**
+     * 是否支持该字符编码 ( 换行符、回车符为单字节 )
+     * @param charset {@link Charset}
+     * @return {@code true} yes, {@code false} no
+     */
+    public static boolean isSupportCharset(final Charset charset) {
+        if (charset == null || !charset.canEncode()) return false;
+        byte[] lf = "\n".getBytes(charset);
+        byte[] cr = "\r".getBytes(charset);
+        return lf.length == 1 && lf[0] == LF && cr.length == 1 && cr[0] == CR;
+    }
+
+    /**
+     * 统计文件中指定字节出现次数
+     * <pre>
+     *     每次比较 8 字节, 传入 {@link Executor} 则按文件分片并行统计
+     * </pre>
+     * @param file     文件
+     * @param value    待统计字节
+     * @param executor 并行处理 {@link Executor} ( 可为 null )
+     * @return 出现次数, 失败则返回 -1
+     */
+    public static long count(
+            final File file,
+            final byte value,
+            final Executor executor
+    ) {
+        return count(file, value, executor, new AtomicLong());
+    }
+
+    /**
+     * 统计文件中指定字节出现次数
+     * <pre>
+     *     每次比较 8 字节, 传入 {@link Executor} 则按文件分片并行统计
+     *     counted 实时累加已统计次数, 失败时保留已读取部分的统计结果 ( 串行、并行一致 )
+     * </pre>
+     * @param file     文件
+     * @param value    待统计字节
+     * @param executor 并行处理 {@link Executor} ( 可为 null )
+     * @param counted  已统计次数
+     * @return 出现次数, 失败则返回 -1
+     */
+    public static long count(
+            final File file,
+            final byte value,
+            final Executor executor,
+            final AtomicLong counted
+    ) {
+        if (file == null || !file.isFile()) return -1L;
+        RandomAccessFile raf = null;
+        try {
+            raf = new RandomAccessFile(file, "r");
+            final FileChannel channel = raf.getChannel();
+            long              length  = channel.size();
+            int partCount = (executor == null) ? 1 : (int) Math.min(
+                    Runtime.getRuntime().availableProcessors(), length / MIN_PART_SIZE
+            );
+            if (partCount <= 1) {
+                countPart(channel, value, 0L, length, counted);
+                return counted.get();
+            }
+            List<FilePartItem>   items   = new FilePartAssist(file, partCount).getFilePartItems();
+            final AtomicBoolean  failure = new AtomicBoolean();
+            final CountDownLatch latch   = new CountDownLatch(items.size());
+            for (final FilePartItem item : items) {
+                Runnable runnable = () -> {
+                    try {
+                        countPart(channel, value, item.start, item.end, counted);
+                    } catch (Exception e) {
+                        failure.set(true);
+                        JCLogUtils.eTag(TAG, e, "count");
+                    } finally {
+                        latch.countDown();
+                    }
+                };
+                try {
+                    executor.execute(runnable);
+                } catch (Exception e) {
+                    // 提交失败则在当前线程处理
+                    runnable.run();
+                }
+            }
+            latch.await();
+            return failure.get() ? -1L : counted.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return -1L;
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "count");
+            return -1L;
+        } finally {
+            CloseUtils.closeIOQuietly(raf);
+        }
+    }
+
+    // =============
+    // = 对外公开方法 =
+    // =============
+
+    /**
+     * 读取下一行
+     * @return 行内容, 已读取到文件末尾则返回 null
+     * @throws IOException 读取失败
+     */
+    public String readLine()
+            throws IOException {
+        if (!nextLine()) return null;
+        return decodeLine().toString();
+    }
+
+    /**
+     * 读取指定行数
+     * @param count 读取行数
+     * @return 行内容集合 ( 不足则返回剩余全部行 )
+     * @throws IOException 读取失败
+     */
+    public List<String> readLines(final int count)
+            throws IOException {
+        List<String> lists = new ArrayList<>(Math.max(0, Math.min(count, 1024)));
+        for (int i = 0; i < count && nextLine(); i++) {
+            lists.add(decodeLine().toString());
+        }
+        return lists;
+    }
+
+    /**
+     * 通过行索引读取指定行数
+     * @param index    行索引 {@link #buildIndex(int)}
+     * @param fromLine 起始行号 ( 从 0 开始 )
+     * @param count    读取行数
+     * @return 行内容集合
+     * @throws IOException 读取失败
+     */
+    public List<String> readLines(
+            final LineIndex index,
+            final long fromLine,
+            final int count
+    )
+            throws IOException {
+        seekLine(index, fromLine);
+        return readLines(count);
+    }
+
+    /**
+     * 循环读取剩余行
+     * @param visitor {@link LineVisitor}
+     * @return 读取的行数
+     * @throws IOException 读取失败
+     */
+    public long forEach(final LineVisitor visitor)
+            throws IOException {
+        long count = 0L;
+        while (nextLine()) {
+            count++;
+            if (!visitor.onLine(mLineNumber - 1, decodeLine(), mLineOffset)) break;
+        }
+        return count;
+    }
+
+    /**
+     * 跳过指定行数 ( 不解码 )
+     * @param count 跳过行数
+     * @return 实际跳过的行数
+     * @throws IOException 读取失败
+     */
+    public long skipLines(final long count)
+            throws IOException {
+        long skip = 0L;
+        while (skip < count && nextLine()) {
+            skip++;
+        }
+        return skip;
+    }
+
+    /**
+     * 构建稀疏行索引
+     * <pre>
+     *     从文件开头扫描, 构建完成后重置到文件开头
+     * </pre>
+     * @param interval 每隔多少行记录一次偏移
+     * @return {@link LineIndex}
+     * @throws IOException 读取失败
+     */
+    public LineIndex buildIndex(final int interval)
+            throws IOException {
+        int    step    = Math.max(1, interval);
+        long[] offsets = new long[16];
+        int    size    = 0;
+        seek(0L, 0L);
+        while (nextLine()) {
+            if ((mLineNumber - 1) % step == 0) {
+                if (size == offsets.length) offsets = Arrays.copyOf(offsets, size << 1);
+                offsets[size++] = mLineOffset;
+            }
+        }
+        long lineCount = mLineNumber;
+        seek(0L, 0L);
+        return new LineIndex(step, Arrays.copyOf(offsets, size), lineCount);
+    }
+
+    /**
+     * 通过行索引定位到指定行
+     * @param index 行索引 {@link #buildIndex(int)}
+     * @param line  行号 ( 从 0 开始 )
+     * @throws IOException 读取失败
+     */
+    public void seekLine(
+            final LineIndex index,
+            final long line
+    )
+            throws IOException {
+        if (line <= 0L || index.offsets.length == 0) {
+            seek(0L, 0L);
+            return;
+        }
+        int slot = (int) Math.min(line / index.interval, index.offsets.length - 1);
+        seek(index.offsets[slot], (long) slot * index.interval);
+        skipLines(line - mLineNumber);
+    }
+
+    /**
+     * 定位到指定文件偏移
+     * <pre>
+     *     offset 需为行起始位置, lineNumber 为该行对应的行号 ( 用于回调 )
+     * </pre>
+     * @param offset     文件偏移
+     * @param lineNumber 行号 ( 从 0 开始 )
+     * @throws IOException 读取失败
+     */
+    public void seek(
+            final long offset,
+            final long lineNumber
+    )
+            throws IOException {
+        mChannel.position(Math.max(0L, offset));
+        mBufferOffset = Math.max(0L, offset);
+        mLineNumber   = lineNumber;
+        mEOF          = false;
+        mBuffer.clear();
+        mBuffer.limit(0);
+    }
+
+    /**
+     * 获取下一行行号 ( 从 0 开始 )
+     * @return 下一行行号
+     */
+    public long getLineNumber() {
+        return mLineNumber;
+    }
+
+    /**
+     * 获取下一行起始文件偏移
+     * @return 文件偏移
+     */
+    public long getOffset() {
+        return mBufferOffset + mBuffer.position();
+    }
+
+    @Override
+    public void close() {
+        CloseUtils.closeIOQuietly(mChannel, mFile);
+    }
+
+    // ==========
+    // = 内部方法 =
+    // ==========
+
+    /**
+     * 创建缓冲区
+     * @param capacity 容量
+     * @return {@link ByteBuffer}
+     */
+    private static ByteBuffer allocate(final int capacity) {
+        return ByteBuffer.allocateDirect(capacity).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * 定位下一行
+     * @return {@code true} success, {@code false} 已读取到文件末尾
+     * @throws IOException 读取失败
+     */
+    private boolean nextLine()
+            throws IOException {
+        int start = mBuffer.position();
+        int scan  = start;
+        while (true) {
+            int limit = mBuffer.limit();
+            int end   = indexOf(mBuffer, LF, scan, limit);
+            if (end >= 0) {
+                setLine(start, end, end + 1);
+                return true;
+            }
+            if (mEOF) {
+                if (start < limit) {
+                    setLine(start, limit, limit);
+                    return true;
+                }
+                return false;
+            }
+            int remaining = limit - start;
+            if (remaining == mBuffer.capacity()) {
+                // 单行超出缓冲区大小, 扩容
+                ByteBuffer buffer = allocate(mBuffer.capacity() << 1);
+                mBuffer.position(start);
+                buffer.put(mBuffer);
+                mBuffer = buffer;
+                mView   = mBuffer.duplicate();
+            } else {
+                mBuffer.position(start);
+                mBuffer.compact();
+            }
+            mBufferOffset += start;
+            if (mChannel.read(mBuffer) < 0) mEOF = true;
+            mBuffer.flip();
+            start = 0;
+            scan  = remaining;
+        }
+    }
+
+    /**
+     * 设置当前行信息
+     * @param start 行起始索引
+     * @param end   行结束索引 ( 换行符索引 )
+     * @param next  下一行起始索引
+     */
+    private void setLine(
+            final int start,
+            final int end,
+            final int next
+    ) {
+        mLineStart  = start;
+        mLineEnd    = (end > start && mBuffer.get(end - 1) == CR) ? end - 1 : end;
+        mLineOffset = mBufferOffset + start;
+        mBuffer.position(next);
+        mLineNumber++;
+    }
+
+    /**
+     * 解码当前行
+     * @return 当前行内容 ( 复用对象 )
+     */
+    private CharBuffer decodeLine() {
+        int length   = mLineEnd - mLineStart;
+        int required = (int) (length * (double) mDecoder.maxCharsPerByte()) + 1;
+        if (mChars.capacity() < required) {
+            mChars = CharBuffer.allocate(Math.max(required, mChars.capacity() << 1));
+        }
+        mChars.clear();
+        mView.limit(mLineEnd).position(mLineStart);
+        mDecoder.reset();
+        mDecoder.decode(mView, mChars, true);
+        mDecoder.flush(mChars);
+        mChars.flip();
+        return mChars;
+    }
+
+    /**
+     * 查找字节索引 ( 每次比较 8 字节 )
+     * @param buffer {@link ByteBuffer} ( LITTLE_ENDIAN )
+     * @param value  待查找字节
+     * @param from   起始索引
+     * @param limit  结束索引
+     * @return 字节索引, 不存在则返回 -1
+     */
+    private static int indexOf(
+            final ByteBuffer buffer,
+            final byte value,
+            final int from,
+            final int limit
+    ) {
+        long pattern = ONES * (value & 0xFF);
+        int  i       = from;
+        for (int end = limit - 8; i <= end; i += 8) {
+            long mask = zeroBytes(buffer.getLong(i) ^ pattern);
+            if (mask != 0L) {
+                return i + (Long.numberOfTrailingZeros(mask) >>> 3);
+            }
+        }
+        for (; i < limit; i++) {
+            if (buffer.get(i) == value) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * 统计分片中指定字节出现次数
+     * @param channel {@link FileChannel}
+     * @param value   待统计字节
+     * @param start   分片起始偏移
+     * @param end     分片结束偏移
+     * @param counted 已统计次数 ( 累加 )
+     * @throws IOException 读取失败
+     */
+    private static void countPart(
+            final FileChannel channel,
+            final byte value,
+            final long start,
+            final long end,
+            final AtomicLong counted
+    )
+            throws IOException {
+        ByteBuffer buffer   = ByteBuffer.allocate(64 * 1024).order(ByteOrder.LITTLE_ENDIAN);
+        long       pattern  = ONES * (value & 0xFF);
+        long       position = start;
+        while (position < end) {
+            buffer.clear();
+            buffer.limit((int) Math.min(buffer.capacity(), end - position));
+            int read = channel.read(buffer, position);
+            if (read < 0) break;
+            position += read;
+            int count = 0;
+            int i     = 0;
+            for (int limit = read - 8; i <= limit; i += 8) {
+                count += Long.bitCount(zeroBytes(buffer.getLong(i) ^ pattern));
+            }
+            for (; i < read; i++) {
+                if (buffer.get(i) == value) count++;
+            }
+            // 每个 buffer 累加一次, 失败时保留已统计部分
+            counted.addAndGet(count);
+        }
+    }
+
+    /**
+     * 获取值为 0 的字节掩码 ( 对应字节最高位为 1, 无进位误判 )
+     * @param word 8 字节
+     * @return 掩码
+     */
+    private static long zeroBytes(final long word) {
+        long value = ((word & LOW7) + LOW7) | word;
+        return ~(value | LOW7);
+    }
+
+    // ==========
+    // = 内部类 =
+    // ==========
+
+    /**
+     * detail: 行读取回调
+     * @author Ttt
+     */
+    public interface LineVisitor {
+
+        /**
+         * 读取到一行
+         * @param lineNumber 行号 ( 从 0 开始 )
+         * @param line       行内容 ( 复用对象, 仅在回调内有效 )
+         * @param offset     行起始文件偏移
+         * @return {@code true} 继续读取, {@code false} 停止读取
+         */
+        boolean onLine(
+                long lineNumber,
+                CharSequence line,
+                long offset
+        );
+    }
+
+    /**
+     * detail: 稀疏行索引
+     * @author Ttt
+     */
+    public static final class LineIndex {
+
+        // 索引间隔行数
+        private final int    interval;
+        // 第 i * interval 行的起始文件偏移
+        private final long[] offsets;
+        // 总行数
+        private final long   lineCount;
+
+        LineIndex(
+                final int interval,
+                final long[] offsets,
+                final long lineCount
+        ) {
+            this.interval  = interval;
+            this.offsets   = offsets;
+            this.lineCount = lineCount;
+        }
+
+        /**
+         * 获取索引间隔行数
+         * @return 索引间隔行数
+         */
+        public int getInterval() {
+            return interval;
+        }
+
+        /**
+         * 获取总行数
+         * @return 总行数
+         */
+        public long getLineCount() {
+            return lineCount;
+        }
+
+        /**
+         * 获取不大于指定行号的最近索引行起始文件偏移
+         * @param line 行号 ( 从 0 开始 )
+         * @return 文件偏移
+         */
+        public long getOffset(final long line) {
+            if (offsets.length == 0 || line <= 0L) return 0L;
+            return offsets[(int) Math.min(line / interval, offsets.length - 1)];
+        }
+    }
+}
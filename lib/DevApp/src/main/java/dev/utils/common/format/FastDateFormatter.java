@@ -0,0 +1,678 @@
+package dev.utils.common.format;
+
+import java.text.DecimalFormat;
+import java.text.NumberFormat;
+import java.text.ParsePosition;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * detail: 线程安全快速日期格式化
+ * @author Ttt
+ * <pre>
+ *     支持纯数字格式 ( y、M、d、H、m、s、S 及文本 ), 如 yyyy-MM-dd HH:mm:ss、yyyyMMdd_HHmmss、yyyy年M月d日
+ *     直接由毫秒计算年月日时分秒写入 char[] / StringBuilder, 不经过 Calendar、Date
+ *     同一秒内重复格式化直接复用上次结果 ( 日志时间戳场景 )
+ *     <p></p>
+ *     输出、解析结果与 new SimpleDateFormat(pattern) 一致
+ *     其他格式 ( 如 EEE、MMM、a、Z 等 )、非阿拉伯数字 Locale、非公历 Calendar、1583 年前 / 9999 年后
+ *     以及宽松解析 ( 如 2020-13-01 ) 自动使用 SimpleDateFormat 处理
+ *     时区、Locale 为创建时默认值 ( 与 SimpleDateFormat 相同 )
+ *     缓存按默认时区区分, 切换默认时区后 getInstance 返回对应时区实例
+ * </pre>
+ */
+public final class FastDateFormatter {
+
+    // 缓存 ( 时区 ID -> pattern -> FastDateFormatter )
+    private static final ConcurrentHashMap<String, ConcurrentHashMap<String, FastDateFormatter>> sCaches = new ConcurrentHashMap<>();
+
+    // 格式字段类型
+    private static final int LITERAL = 0;
+    private static final int YEAR    = 1;
+    private static final int MONTH   = 2;
+    private static final int DAY     = 3;
+    private static final int HOUR    = 4;
+    private static final int MINUTE  = 5;
+    private static final int SECOND  = 6;
+    private static final int MILLI   = 7;
+
+    // 一天毫秒数
+    private static final long DAY_MILLIS = 86400000L;
+    // 快速处理年份范围 ( 1582 年前 GregorianCalendar 使用儒略历 )
+    private static final int  MIN_YEAR   = 1583;
+    private static final int  MAX_YEAR   = 9999;
+
+    // 时间格式
+    private final String   mPattern;
+    // 时区
+    private final TimeZone mTimeZone;
+    // 是否支持快速处理
+    private final boolean  mFast;
+    // 是否可复用同一秒格式化结果
+    private final boolean  mCacheable;
+    // 格式字段类型
+    private final int[]    mKinds;
+    // 格式字段长度
+    private final int[]    mCounts;
+    // 文本内容
+    private final String[] mLiterals;
+    // 格式化最大长度
+    private final int      mMaxLength;
+
+    // 最近一秒格式化结果
+    private volatile SecondCache mSecondCache;
+
+    // 格式化缓存 char[]
+    private final ThreadLocal<char[]> mBuffer = new ThreadLocal<char[]>() {
+        @Override
+        protected char[] initialValue() {
+            return new char[mMaxLength];
+        }
+    };
+
+    // SimpleDateFormat ( 不支持快速处理时使用 )
+    private final ThreadLocal<SimpleDateFormat> mFallback = new ThreadLocal<SimpleDateFormat>() {
+        @Override
+        protected SimpleDateFormat initialValue() {
+            SimpleDateFormat format = new SimpleDateFormat(mPattern);
+            format.setTimeZone(mTimeZone);
+            return format;
+        }
+    };
+
+    /**
+     * 构造函数
+     * @param format  已校验的 SimpleDateFormat
+     * @param pattern 时间格式
+     */
+    private FastDateFormatter(
+            final SimpleDateFormat format,
+            final String pattern
+    ) {
+        this.mPattern  = pattern;
+        this.mTimeZone = (TimeZone) format.getTimeZone().clone();
+
+        List<int[]>  fields   = new ArrayList<>();
+        List<String> literals = new ArrayList<>();
+        boolean      fast     = compile(pattern, fields, literals) && isFastSupported(format);
+        int          size     = fields.size();
+
+        this.mKinds    = new int[size];
+        this.mCounts   = new int[size];
+        this.mLiterals = literals.toArray(new String[0]);
+
+        int     maxLength = 0;
+        boolean cacheable = true;
+        for (int i = 0; i < size; i++) {
+            mKinds[i]  = fields.get(i)[0];
+            mCounts[i] = fields.get(i)[1];
+            if (mKinds[i] == LITERAL) {
+                maxLength += mLiterals[i].length();
+            } else {
+                maxLength += Math.max(mCounts[i], mKinds[i] == YEAR ? 4 : (mKinds[i] == MILLI ? 3 : 2));
+                // 毫秒位数不固定时无法替换
+                if (mKinds[i] == MILLI && mCounts[i] < 3) cacheable = false;
+            }
+        }
+        this.mFast      = fast;
+        this.mCacheable = fast && cacheable;
+        this.mMaxLength = maxLength;
+    }
+
+    // =============
+    // = 对外公开方法 =
+    // =============
+
+    /**
+     * 获取 FastDateFormatter ( 按当前默认时区缓存 )
+     * @param pattern 时间格式
+     * @return {@link FastDateFormatter}, 格式错误返回 null
+     */
+    public static FastDateFormatter getInstance(final String pattern) {
+        if (pattern == null) return null;
+        String timeZoneId = TimeZone.getDefault().getID();
+        ConcurrentHashMap<String, FastDateFormatter> caches = sCaches.get(timeZoneId);
+        if (caches == null) {
+            caches = new ConcurrentHashMap<>();
+            ConcurrentHashMap<String, FastDateFormatter> previous = sCaches.putIfAbsent(timeZoneId, caches);
+            if (previous != null) caches = previous;
+        }
+        FastDateFormatter formatter = caches.get(pattern);
+        if (formatter == null) {
+            formatter = create(pattern);
+            if (formatter == null) return null;
+            FastDateFormatter previous = caches.putIfAbsent(pattern, formatter);
+            if (previous != null) formatter = previous;
+        }
+        return formatter;
+    }
+
+    /**
+     * 创建 FastDateFormatter ( 不缓存 )
+     * @param pattern 时间格式
+     * @return {@link FastDateFormatter}, 格式错误返回 null
+     */
+    public static FastDateFormatter create(final String pattern) {
+        if (pattern == null) return null;
+        try {
+            return new FastDateFormatter(new SimpleDateFormat(pattern), pattern);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * 清空缓存 ( 默认 Locale 变更后调用 )
+     */
+    public static void clearCache() {
+        sCaches.clear();
+    }
+
+    // =
+
+    /**
+     * 获取时间格式
+     * @return 时间格式
+     */
+    public String getPattern() {
+        return mPattern;
+    }
+
+    /**
+     * 获取时区
+     * @return {@link TimeZone}
+     */
+    public TimeZone getTimeZone() {
+        return (TimeZone) mTimeZone.clone();
+    }
+
+    /**
+     * 是否支持快速处理
+     * @return {@code true} yes, {@code false} no ( 使用 SimpleDateFormat )
+     */
+    public boolean isFast() {
+        return mFast;
+    }
+
+    /**
+     * 获取格式化最大长度 ( 快速处理时有效 )
+     * @return 格式化最大长度
+     */
+    public int getMaxLength() {
+        return mMaxLength;
+    }
+
+    /**
+     * 格式化时间
+     * @param millis 时间毫秒
+     * @return 格式化后的字符串
+     */
+    public String format(final long millis) {
+        if (!mFast) return mFallback.get().format(new Date(millis));
+        char[] buffer = mBuffer.get();
+        int    length = format(millis, buffer, 0);
+        if (length < 0) return mFallback.get().format(new Date(millis));
+        return new String(buffer, 0, length);
+    }
+
+    /**
+     * 格式化时间并追加到 StringBuilder
+     * <pre>
+     *     StringBuilder 复用时不产生额外对象
+     * </pre>
+     * @param millis  时间毫秒
+     * @param builder 待追加 StringBuilder
+     * @return 追加后的 StringBuilder
+     */
+    public StringBuilder format(
+            final long millis,
+            final StringBuilder builder
+    ) {
+        if (mFast) {
+            char[] buffer = mBuffer.get();
+            int    length = format(millis, buffer, 0);
+            if (length >= 0) return builder.append(buffer, 0, length);
+        }
+        return builder.append(mFallback.get().format(new Date(millis)));
+    }
+
+    /**
+     * 格式化时间并写入 char[]
+     * @param millis 时间毫秒
+     * @param buffer 待写入 char[] ( 剩余长度需不小于 {@link #getMaxLength()} )
+     * @param offset 写入起始位置
+     * @return 写入长度, 不支持快速处理返回 -1
+     */
+    public int format(
+            final long millis,
+            final char[] buffer,
+            final int offset
+    ) {
+        if (!mFast) return -1;
+        SecondCache cache = mSecondCache;
+        if (cache != null && cache.second == floorDiv(millis, 1000L)) {
+            System.arraycopy(cache.chars, 0, buffer, offset, cache.chars.length);
+            int[] positions = cache.millisPositions;
+            if (positions.length != 0) {
+                int ms = (int) floorMod(millis, 1000L);
+                for (int position : positions) {
+                    write3(buffer, offset + position, ms);
+                }
+            }
+            return cache.chars.length;
+        }
+        return formatFast(millis, buffer, offset);
+    }
+
+    /**
+     * 解析时间字符串
+     * @param text 时间字符串
+     * @return 时间毫秒, 解析失败返回 -1
+     */
+    public long parse(final String text) {
+        if (text == null) return -1L;
+        if (mFast) {
+            long millis = parseFast(text);
+            if (millis != Long.MIN_VALUE) return millis;
+        }
+        ParsePosition position = new ParsePosition(0);
+        Date          date     = mFallback.get().parse(text, position);
+        return (date != null) ? date.getTime() : -1L;
+    }
+
+    // ==========
+    // = 内部处理 =
+    // ==========
+
+    /**
+     * detail: 同一秒格式化结果
+     * @author Ttt
+     */
+    private static final class SecondCache {
+
+        // 秒 ( 毫秒 / 1000 )
+        final long   second;
+        // 格式化结果
+        final char[] chars;
+        // 毫秒字段位置 ( 三位 )
+        final int[]  millisPositions;
+
+        SecondCache(
+                final long second,
+                final char[] chars,
+                final int[] millisPositions
+        ) {
+            this.second          = second;
+            this.chars           = chars;
+            this.millisPositions = millisPositions;
+        }
+    }
+
+    /**
+     * 快速格式化
+     * @param millis 时间毫秒
+     * @param buffer 待写入 char[]
+     * @param offset 写入起始位置
+     * @return 写入长度, 超出年份范围返回 -1
+     */
+    private int formatFast(
+            final long millis,
+            final char[] buffer,
+            final int offset
+    ) {
+        long local = millis + mTimeZone.getOffset(millis);
+        long days  = floorDiv(local, DAY_MILLIS);
+        int  time  = (int) (local - days * DAY_MILLIS);
+
+        // 公历日期 ( 以 0000-03-01 为起点计算 )
+        long z   = days + 719468L;
+        long era = floorDiv(z, 146097L);
+        int  doe = (int) (z - era * 146097L);
+        int  yoe = (doe - doe / 1460 + doe / 36524 - doe / 146096) / 365;
+        int  doy = doe - (365 * yoe + yoe / 4 - yoe / 100);
+        int  mp  = (5 * doy + 2) / 153;
+        int  day = doy - (153 * mp + 2) / 5 + 1;
+        int  mon = mp < 10 ? mp + 3 : mp - 9;
+        long yr  = yoe + era * 400L + (mon <= 2 ? 1 : 0);
+        if (yr < MIN_YEAR || yr > MAX_YEAR) return -1;
+        int year = (int) yr;
+
+        int   ms        = time % 1000;
+        int   position  = offset;
+        int   cacheSize = 0;
+        int[] positions = mCacheable ? new int[mKinds.length] : null;
+        for (int i = 0, len = mKinds.length; i < len; i++) {
+            int count = mCounts[i];
+            switch (mKinds[i]) {
+                case LITERAL:
+                    String literal = mLiterals[i];
+                    literal.getChars(0, literal.length(), buffer, position);
+                    position += literal.length();
+                    break;
+                case YEAR:
+                    position = count == 2
+                            ? writeNumber(buffer, position, year % 100, 2)
+                            : writeNumber(buffer, position, year, count);
+                    break;
+                case MONTH:
+                    position = writeNumber(buffer, position, mon, count);
+                    break;
+                case DAY:
+                    position = writeNumber(buffer, position, day, count);
+                    break;
+                case HOUR:
+                    position = writeNumber(buffer, position, time / 3600000, count);
+                    break;
+                case MINUTE:
+                    position = writeNumber(buffer, position, time / 60000 % 60, count);
+                    break;
+                case SECOND:
+                    position = writeNumber(buffer, position, time / 1000 % 60, count);
+                    break;
+                case MILLI:
+                    if (positions != null) positions[cacheSize++] = position - offset + count - 3;
+                    position = writeNumber(buffer, position, ms, count);
+                    break;
+                default:
+                    break;
+            }
+        }
+        int length = position - offset;
+        if (mCacheable) {
+            char[] chars = new char[length];
+            System.arraycopy(buffer, offset, chars, 0, length);
+            int[] millisPositions = new int[cacheSize];
+            System.arraycopy(positions, 0, millisPositions, 0, cacheSize);
+            mSecondCache = new SecondCache(floorDiv(millis, 1000L), chars, millisPositions);
+        }
+        return length;
+    }
+
+    /**
+     * 快速解析
+     * @param text 时间字符串
+     * @return 时间毫秒, 需使用 SimpleDateFormat 处理返回 Long.MIN_VALUE
+     */
+    private long parseFast(final String text) {
+        int year = 1970, month = 1, day = 1, hour = 0, minute = 0, second = 0, milli = 0;
+        int position = 0, length = text.length();
+        for (int i = 0, len = mKinds.length; i < len; i++) {
+            int kind = mKinds[i];
+            if (kind == LITERAL) {
+                String literal = mLiterals[i];
+                if (!text.startsWith(literal, position)) return Long.MIN_VALUE;
+                position += literal.length();
+                continue;
+            }
+            // 紧邻数字字段按格式长度读取, 否则读取全部数字
+            boolean abut  = i + 1 < len && mKinds[i + 1] != LITERAL;
+            int     limit = abut ? Math.min(position + mCounts[i], length) : length;
+            int     start = position;
+            int     value = 0;
+            while (position < limit && position - start < 9) {
+                char ch = text.charAt(position);
+                if (ch < '0' || ch > '9') break;
+                value = value * 10 + (ch - '0');
+                position++;
+            }
+            if (position == start || (abut && position - start != mCounts[i])) {
+                return Long.MIN_VALUE;
+            }
+            switch (kind) {
+                case YEAR:
+                    // 两位年份需按当前时间推算世纪
+                    if (mCounts[i] <= 2) return Long.MIN_VALUE;
+                    year = value;
+                    break;
+                case MONTH:
+                    month = value;
+                    break;
+                case DAY:
+                    day = value;
+                    break;
+                case HOUR:
+                    hour = value;
+                    break;
+                case MINUTE:
+                    minute = value;
+                    break;
+                case SECOND:
+                    second = value;
+                    break;
+                case MILLI:
+                    milli = value;
+                    break;
+                default:
+                    break;
+            }
+        }
+        // 尾部多余内容、超出范围 ( 宽松解析 ) 交由 SimpleDateFormat 处理
+        if (position != length || year < MIN_YEAR || year > MAX_YEAR
+                || month < 1 || month > 12 || day < 1 || day > daysInMonth(year, month)
+                || hour > 23 || minute > 59 || second > 59 || milli > 999) {
+            return Long.MIN_VALUE;
+        }
+        long local = daysFromCivil(year, month, day) * DAY_MILLIS
+                + hour * 3600000L + minute * 60000L + second * 1000L + milli;
+        int  offset = mTimeZone.getOffset(local - mTimeZone.getRawOffset());
+        long millis = local - offset;
+        // 夏令时切换附近 ( 不存在或重复的本地时间 ) 交由 SimpleDateFormat 处理
+        if (mTimeZone.getOffset(millis) != offset
+                || mTimeZone.getOffset(millis - DAY_MILLIS) != mTimeZone.getOffset(millis + DAY_MILLIS)) {
+            return Long.MIN_VALUE;
+        }
+        return millis;
+    }
+
+    /**
+     * 解析时间格式
+     * @param pattern  时间格式
+     * @param fields   字段 ( 类型, 长度 )
+     * @param literals 文本内容
+     * @return {@code true} 支持快速处理, {@code false} 不支持
+     */
+    private static boolean compile(
+            final String pattern,
+            final List<int[]> fields,
+            final List<String> literals
+    ) {
+        StringBuilder literal = new StringBuilder();
+        int           i       = 0;
+        int           length  = pattern.length();
+        while (i < length) {
+            char ch = pattern.charAt(i);
+            if (ch == '\'') {
+                if (i + 1 < length && pattern.charAt(i + 1) == '\'') {
+                    literal.append('\'');
+                    i += 2;
+                    continue;
+                }
+                int end = i + 1;
+                while (true) {
+                    if (end >= length) return false;
+                    if (pattern.charAt(end) == '\'') {
+                        if (end + 1 < length && pattern.charAt(end + 1) == '\'') {
+                            literal.append('\'');
+                            end += 2;
+                            continue;
+                        }
+                        break;
+                    }
+                    literal.append(pattern.charAt(end++));
+                }
+                i = end + 1;
+                continue;
+            }
+            if ((ch >= 'a' && ch <= 'z') || (ch >= 'A' && ch <= 'Z')) {
+                int count = 1;
+                while (i + count < length && pattern.charAt(i + count) == ch) count++;
+                int kind;
+                switch (ch) {
+                    case 'y':
+                        kind = YEAR;
+                        break;
+                    case 'M':
+                        if (count > 2) return false;
+                        kind = MONTH;
+                        break;
+                    case 'd':
+                        kind = DAY;
+                        break;
+                    case 'H':
+                        kind = HOUR;
+                        break;
+                    case 'm':
+                        kind = MINUTE;
+                        break;
+                    case 's':
+                        kind = SECOND;
+                        break;
+                    case 'S':
+                        kind = MILLI;
+                        break;
+                    default:
+                        return false;
+                }
+                if (count > 9) return false;
+                if (literal.length() != 0) {
+                    fields.add(new int[]{LITERAL, 0});
+                    literals.add(literal.toString());
+                    literal.setLength(0);
+                }
+                fields.add(new int[]{kind, count});
+                literals.add(null);
+                i += count;
+                continue;
+            }
+            literal.append(ch);
+            i++;
+        }
+        if (literal.length() != 0) {
+            fields.add(new int[]{LITERAL, 0});
+            literals.add(literal.toString());
+        }
+        return true;
+    }
+
+    /**
+     * 是否可使用快速处理 ( 阿拉伯数字、公历 )
+     * @param format SimpleDateFormat
+     * @return {@code true} yes, {@code false} no
+     */
+    private static boolean isFastSupported(final SimpleDateFormat format) {
+        if (format.getCalendar().getClass() != GregorianCalendar.class) return false;
+        NumberFormat numberFormat = format.getNumberFormat();
+        if (!(numberFormat instanceof DecimalFormat)) return false;
+        return ((DecimalFormat) numberFormat).getDecimalFormatSymbols().getZeroDigit() == '0';
+    }
+
+    /**
+     * 写入数字 ( 不足位数补 0 )
+     * @param buffer   待写入 char[]
+     * @param position 写入位置
+     * @param value    数值 ( 非负数 )
+     * @param width    最少位数
+     * @return 写入后位置
+     */
+    private static int writeNumber(
+            final char[] buffer,
+            final int position,
+            final int value,
+            final int width
+    ) {
+        int digits = value < 10 ? 1 : value < 100 ? 2 : value < 1000 ? 3 : 4;
+        int size   = Math.max(digits, width);
+        int end    = position + size;
+        int v      = value;
+        for (int i = end - 1; i >= position; i--) {
+            buffer[i] = (char) ('0' + v % 10);
+            v /= 10;
+        }
+        return end;
+    }
+
+    /**
+     * 写入三位毫秒
+     * @param buffer   待写入 char[]
+     * @param position 写入位置
+     * @param ms       毫秒
+     */
+    private static void write3(
+            final char[] buffer,
+            final int position,
+            final int ms
+    ) {
+        buffer[position]     = (char) ('0' + ms / 100);
+        buffer[position + 1] = (char) ('0' + ms / 10 % 10);
+        buffer[position + 2] = (char) ('0' + ms % 10);
+    }
+
+    /**
+     * 获取月份天数
+     * @param year  年份
+     * @param month 月份
+     * @return 月份天数
+     */
+    private static int daysInMonth(
+            final int year,
+            final int month
+    ) {
+        if (month == 2) {
+            return ((year % 4 == 0 && year % 100 != 0) || year % 400 == 0) ? 29 : 28;
+        }
+        return (month == 4 || month == 6 || month == 9 || month == 11) ? 30 : 31;
+    }
+
+    /**
+     * 公历日期转换为距 1970-01-01 天数
+     * @param year  年份
+     * @param month 月份
+     * @param day   日期
+     * @return 天数
+     */
+    private static long daysFromCivil(
+            final int year,
+            final int month,
+            final int day
+    ) {
+        int y   = month <= 2 ? year - 1 : year;
+        int era = y / 400;
+        int yoe = y - era * 400;
+        int doy = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        int doe = yoe * 365 + yoe / 4 - yoe / 100 + doy;
+        return era * 146097L + doe - 719468L;
+    }
+
+    /**
+     * 向下取整除法 ( Math.floorDiv 需 Android API 24 )
+     * @param value   被除数
+     * @param divisor 除数
+     * @return 商
+     */
+    private static long floorDiv(
+            final long value,
+            final long divisor
+    ) {
+        long quotient = value / divisor;
+        if ((value % divisor != 0) && ((value ^ divisor) < 0)) quotient--;
+        return quotient;
+    }
+
+    /**
+     * 向下取整取余 ( Math.floorMod 需 Android API 24 )
+     * @param value   被除数
+     * @param divisor 除数
+     * @return 余数
+     */
+    private static long floorMod(
+            final long value,
+            final long divisor
+    ) {
+        return value - floorDiv(value, divisor) * divisor;
+    }
+}
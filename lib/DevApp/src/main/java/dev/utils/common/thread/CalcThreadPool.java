@@ -0,0 +1,235 @@
+package dev.utils.common.thread;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * detail: 计算任务共享线程池
+ * <pre>
+ *     供分块并行计算 ( 文件校验、批量随机数等 ) 共用, 避免每次调用创建、销毁线程池
+ *     线程数为 {@link DevThreadPool#getCalcThreads()}, 守护线程, 空闲超时后自动回收
+ *     <p></p>
+ *     {@link #invokeAll(ExecutorService, List)} 调用线程同时参与执行 ( 在线程池线程中调用也不会死锁 )
+ *     任一任务失败或调用线程中断时, 未开始的任务不再执行, 并等待执行中的任务结束后才抛出异常
+ * </pre>
+ */
+public final class CalcThreadPool {
+
+    private CalcThreadPool() {
+    }
+
+    // 空闲线程存活时间 ( 秒 )
+    private static final    long            KEEP_ALIVE_TIME = 30L;
+    // 共享线程池
+    private static volatile ExecutorService sExecutor;
+
+    /**
+     * 获取线程数
+     * @return 线程数
+     */
+    public static int getThreads() {
+        return DevThreadPool.getCalcThreads();
+    }
+
+    /**
+     * 获取共享线程池
+     * @return {@link ExecutorService}
+     */
+    public static ExecutorService getExecutor() {
+        ExecutorService executor = sExecutor;
+        if (executor == null) {
+            synchronized (CalcThreadPool.class) {
+                executor = sExecutor;
+                if (executor == null) {
+                    int threads = Math.max(1, getThreads());
+                    ThreadPoolExecutor pool = new ThreadPoolExecutor(
+                            threads, threads, KEEP_ALIVE_TIME, TimeUnit.SECONDS,
+                            new LinkedBlockingQueue<Runnable>(), new CalcThreadFactory()
+                    );
+                    pool.allowCoreThreadTimeOut(true);
+                    executor  = pool;
+                    sExecutor = executor;
+                }
+            }
+        }
+        return executor;
+    }
+
+    /**
+     * 并行执行任务并按顺序返回结果
+     * <pre>
+     *     executor 为 null 则在当前线程顺序执行
+     *     失败时抛出首个任务异常 ( 非 Exception 包装为 {@link ExecutionException} )
+     *     调用线程中断时抛出 {@link InterruptedException} 并保留中断标记
+     * </pre>
+     * @param executor 线程池
+     * @param tasks    任务列表
+     * @param <T>      泛型
+     * @return 任务结果 ( 与任务顺序一致 )
+     * @throws Exception 任务异常、中断异常
+     */
+    public static <T> List<T> invokeAll(
+            final ExecutorService executor,
+            final List<? extends Callable<T>> tasks
+    )
+            throws Exception {
+        Batch        batch = new Batch();
+        List<Job<T>> jobs  = new ArrayList<>(tasks.size());
+        for (Callable<T> task : tasks) {
+            jobs.add(new Job<>(task, batch));
+        }
+        if (executor != null) {
+            // 首个任务留给调用线程
+            for (int i = 1, len = jobs.size(); i < len; i++) {
+                try {
+                    executor.execute(jobs.get(i));
+                } catch (RejectedExecutionException ignore) {
+                    // 由调用线程执行
+                }
+            }
+        }
+        // 调用线程执行尚未开始的任务
+        for (Job<T> job : jobs) {
+            if (Thread.currentThread().isInterrupted()) {
+                batch.fail(new InterruptedException());
+                break;
+            }
+            job.run();
+        }
+        try {
+            List<T> results = new ArrayList<>(jobs.size());
+            for (Job<T> job : jobs) {
+                job.done.await();
+                if (batch.error != null) break;
+                results.add(job.result);
+            }
+            if (batch.error == null) return results;
+        } catch (InterruptedException e) {
+            batch.fail(e);
+        }
+        // 取消未开始的任务并等待执行中的任务结束
+        awaitUninterruptibly(jobs);
+        Exception error = batch.error;
+        if (error instanceof InterruptedException) {
+            Thread.currentThread().interrupt();
+        }
+        throw error;
+    }
+
+    // ==========
+    // = 内部方法 =
+    // ==========
+
+    /**
+     * 等待全部任务结束 ( 不响应中断, 结束后恢复中断标记 )
+     * @param jobs 任务列表
+     * @param <T>  泛型
+     */
+    private static <T> void awaitUninterruptibly(final List<Job<T>> jobs) {
+        boolean interrupted = false;
+        for (Job<T> job : jobs) {
+            job.run(); // 未开始的任务直接标记取消
+            while (true) {
+                try {
+                    job.done.await();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted) Thread.currentThread().interrupt();
+    }
+
+    // ==========
+    // = 内部类 =
+    // ==========
+
+    /**
+     * detail: 任务批次状态
+     * @author Ttt
+     */
+    private static final class Batch {
+
+        // 首个异常 ( 非 null 表示已取消 )
+        volatile Exception error;
+
+        /**
+         * 标记失败 ( 仅记录首个异常 )
+         * @param exception 异常
+         */
+        synchronized void fail(final Exception exception) {
+            if (error == null) error = exception;
+        }
+    }
+
+    /**
+     * detail: 任务 ( 线程池线程与调用线程竞争执行, 只执行一次 )
+     * @author Ttt
+     */
+    private static final class Job<T>
+            implements Runnable {
+
+        final Callable<T>    task;
+        final Batch          batch;
+        final AtomicBoolean  claimed = new AtomicBoolean();
+        final CountDownLatch done    = new CountDownLatch(1);
+        T                    result;
+
+        Job(
+                final Callable<T> task,
+                final Batch batch
+        ) {
+            this.task  = task;
+            this.batch = batch;
+        }
+
+        @Override
+        public void run() {
+            if (!claimed.compareAndSet(false, true)) return;
+            try {
+                if (batch.error != null) {
+                    throw new CancellationException();
+                }
+                result = task.call();
+            } catch (CancellationException e) {
+                // 已取消, 保留首个异常
+            } catch (Exception e) {
+                batch.fail(e);
+            } catch (Throwable e) {
+                batch.fail(new ExecutionException(e));
+            } finally {
+                done.countDown();
+            }
+        }
+    }
+
+    /**
+     * detail: 守护线程工厂
+     * @author Ttt
+     */
+    private static final class CalcThreadFactory
+            implements ThreadFactory {
+
+        private final AtomicInteger mCount = new AtomicInteger();
+
+        @Override
+        public Thread newThread(final Runnable runnable) {
+            Thread thread = new Thread(runnable, "DevCalc-" + mCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,278 @@
+package dev.utils.app;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.ScrollView;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+import org.robolectric.annotation.GraphicsMode;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.imageio.ImageIO;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * detail: CapturePictureUtils 分段截图测试
+ * @author Ttt
+ * <pre>
+ *     View 只绘制一次、分段范围、PNG / BMP 输出像素及取消处理
+ * </pre>
+ */
+@RunWith(RobolectricTestRunner.class)
+@GraphicsMode(GraphicsMode.Mode.NATIVE)
+@Config(sdk = 33)
+public class CapturePictureUtilsTest {
+
+    // 内容宽高
+    private static final int WIDTH  = 120;
+    private static final int HEIGHT = 1000;
+    // 分段高度
+    private static final int STRIP  = 64;
+
+    @Test
+    public void viewIsDrawnOnceForAllStrips() {
+        BandView      view = layout(new BandView(context()));
+        RecordingSink sink = new RecordingSink();
+        assertTrue(CapturePictureUtils.snapshotByViewToStrip(view, STRIP, Bitmap.Config.ARGB_8888, sink));
+        assertEquals(1, view.drawCount);
+        assertStrips(sink);
+        assertEquals(Boolean.TRUE, sink.success);
+    }
+
+    @Test
+    public void scrollViewIsDrawnOnceForAllStrips()
+            throws IOException {
+        ScrollView scrollView = new ScrollView(context());
+        BandView   view       = new BandView(context());
+        scrollView.addView(view, new ViewGroup.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, HEIGHT));
+        scrollView.measure(
+                View.MeasureSpec.makeMeasureSpec(WIDTH, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(HEIGHT / 3, View.MeasureSpec.EXACTLY)
+        );
+        scrollView.layout(0, 0, WIDTH, HEIGHT / 3);
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        assertTrue(CapturePictureUtils.snapshotByScrollViewToStrip(
+                scrollView, STRIP, Bitmap.Config.ARGB_8888,
+                new CapturePictureUtils.PNGStripSink(outputStream)
+        ));
+        assertEquals(1, view.drawCount);
+        assertBands(decode(outputStream));
+    }
+
+    @Test
+    public void pngMatchesContent()
+            throws IOException {
+        BandView              view         = layout(new BandView(context()));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        assertTrue(CapturePictureUtils.snapshotByViewToStrip(
+                view, STRIP, Bitmap.Config.ARGB_8888,
+                new CapturePictureUtils.PNGStripSink(outputStream)
+        ));
+        BufferedImage image = decode(outputStream);
+        assertTrue(image.getColorModel().hasAlpha());
+        assertBands(image);
+
+        // RGB_565 输出不含透明通道的 24 位 PNG
+        ByteArrayOutputStream rgbStream = new ByteArrayOutputStream();
+        assertTrue(CapturePictureUtils.snapshotByViewToStrip(
+                view, STRIP, Bitmap.Config.RGB_565,
+                new CapturePictureUtils.PNGStripSink(rgbStream, 9)
+        ));
+        BufferedImage rgb = decode(rgbStream);
+        assertFalse(rgb.getColorModel().hasAlpha());
+        assertEquals(HEIGHT, rgb.getHeight());
+    }
+
+    @Test
+    public void bmpMatchesPng()
+            throws IOException {
+        BandView              view      = layout(new BandView(context()));
+        ByteArrayOutputStream pngStream = new ByteArrayOutputStream();
+        ByteArrayOutputStream bmpStream = new ByteArrayOutputStream();
+        assertTrue(CapturePictureUtils.snapshotByViewToStrip(
+                view, STRIP, Bitmap.Config.ARGB_8888,
+                new CapturePictureUtils.PNGStripSink(pngStream)
+        ));
+        assertTrue(CapturePictureUtils.snapshotByViewToStrip(
+                view, STRIP, Bitmap.Config.ARGB_8888,
+                new CapturePictureUtils.BMPStripSink(bmpStream)
+        ));
+        BufferedImage png = decode(pngStream);
+        BufferedImage bmp = decode(bmpStream);
+        for (int y = 0; y < HEIGHT; y++) {
+            for (int x = 0; x < WIDTH; x += 7) {
+                // BMP 不含透明通道, 内容均为不透明颜色
+                assertEquals(png.getRGB(x, y), bmp.getRGB(x, y) | 0xFF000000);
+            }
+        }
+    }
+
+    @Test
+    public void cancelStopsRendering() {
+        BandView      view = layout(new BandView(context()));
+        RecordingSink sink = new RecordingSink();
+        sink.cancelAt = 2;
+        assertFalse(CapturePictureUtils.snapshotByViewToStrip(view, STRIP, Bitmap.Config.ARGB_8888, sink));
+        assertEquals(2, sink.tops.size());
+        assertEquals(Boolean.FALSE, sink.success);
+    }
+
+    // ==========
+    // = 内部方法 =
+    // ==========
+
+    private static Context context() {
+        return RuntimeEnvironment.getApplication();
+    }
+
+    /**
+     * 测量并布局 View
+     * @param view {@link BandView}
+     * @return {@link BandView}
+     */
+    private static BandView layout(final BandView view) {
+        view.measure(
+                View.MeasureSpec.makeMeasureSpec(WIDTH, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(HEIGHT, View.MeasureSpec.EXACTLY)
+        );
+        view.layout(0, 0, WIDTH, HEIGHT);
+        return view;
+    }
+
+    /**
+     * 解码图片
+     * @param outputStream 图片数据
+     * @return {@link BufferedImage}
+     * @throws IOException 解码异常
+     */
+    private static BufferedImage decode(final ByteArrayOutputStream outputStream)
+            throws IOException {
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(outputStream.toByteArray()));
+        assertNotNull(image);
+        assertEquals(WIDTH, image.getWidth());
+        assertEquals(HEIGHT, image.getHeight());
+        return image;
+    }
+
+    /**
+     * 校验分段范围覆盖完整内容
+     * @param sink {@link RecordingSink}
+     */
+    private static void assertStrips(final RecordingSink sink) {
+        int count = (HEIGHT + STRIP - 1) / STRIP;
+        assertEquals(count, sink.tops.size());
+        for (int i = 0; i < count; i++) {
+            assertEquals(i * STRIP, (int) sink.tops.get(i));
+            assertEquals(Math.min(STRIP, HEIGHT - i * STRIP), (int) sink.heights.get(i));
+        }
+    }
+
+    /**
+     * 校验每行颜色与 {@link BandView} 绘制一致
+     * @param image {@link BufferedImage}
+     */
+    private static void assertBands(final BufferedImage image) {
+        for (int y = 0; y < HEIGHT; y++) {
+            for (int x = 0; x < WIDTH; x += 7) {
+                assertEquals("y = " + y, BandView.color(y), image.getRGB(x, y));
+            }
+        }
+    }
+
+    // ==========
+    // = 内部类 =
+    // ==========
+
+    /**
+     * detail: 绘制水平色带并记录绘制次数
+     * @author Ttt
+     */
+    private static final class BandView
+            extends View {
+
+        // 色带高度
+        static final int BAND = 10;
+
+        final Paint paint = new Paint();
+        int         drawCount;
+
+        BandView(final Context context) {
+            super(context);
+        }
+
+        static int color(final int y) {
+            int band = y / BAND;
+            return Color.rgb((band * 37) & 0xFF, (band * 91) & 0xFF, (band * 53) & 0xFF);
+        }
+
+        @Override
+        protected void onDraw(final Canvas canvas) {
+            drawCount++;
+            for (int top = 0; top < getHeight(); top += BAND) {
+                paint.setColor(color(top));
+                canvas.drawRect(0, top, getWidth(), top + BAND, paint);
+            }
+        }
+    }
+
+    /**
+     * detail: 记录分段回调
+     * @author Ttt
+     */
+    private static final class RecordingSink
+            implements CapturePictureUtils.StripSink {
+
+        final List<Integer> tops     = new ArrayList<>();
+        final List<Integer> heights  = new ArrayList<>();
+        // 第几段返回取消 ( 从 1 开始, 0 表示不取消 )
+        int                 cancelAt = 0;
+        Boolean             success;
+
+        @Override
+        public boolean onStart(
+                final int width,
+                final int height,
+                final Bitmap.Config config
+        ) {
+            assertEquals(WIDTH, width);
+            assertEquals(HEIGHT, height);
+            return true;
+        }
+
+        @Override
+        public boolean onStrip(
+                final Bitmap strip,
+                final int top,
+                final int height
+        ) {
+            tops.add(top);
+            heights.add(height);
+            return tops.size() != cancelAt;
+        }
+
+        @Override
+        public void onEnd(final boolean success) {
+            this.success = success;
+        }
+    }
+}
@@ -14,6 +14,7 @@ import java.util.List;
 import dev.assist.DataAssist;
 import dev.base.data.DataChanged;
 import dev.base.data.DataManager;
+import dev.base.data.DataRangeChanged;
 import dev.utils.app.ActivityUtils;
 
 /**
@@ -23,7 +24,8 @@ import dev.utils.app.ActivityUtils;
 public abstract class DevDataAdapter<T, VH extends RecyclerView.ViewHolder>
         extends RecyclerView.Adapter<VH>
         implements DataManager<T>,
-        DataChanged<T> {
+        DataChanged<T>,
+        DataRangeChanged {
 
     // 数据辅助类
     protected DataAssist<T> mAssist = new DataAssist<>(this);
@@ -429,8 +431,20 @@ public abstract class DevDataAdapter<T, VH extends RecyclerView.ViewHolder>
         notifyDataSetChanged();
     }
 
+    /**
+     * 通知某个数据改变
+     * <pre>
+     *     数据存在时只刷新对应 Item, 否则刷新全部
+     * </pre>
+     * @param value {@link T}
+     */
     @Override
     public void notifyElementChanged(T value) {
-        notifyDataSetChanged();
+        int position = getDataItemPosition(value);
+        if (position >= 0) {
+            notifyItemChanged(position);
+        } else {
+            notifyDataSetChanged();
+        }
     }
 }
\ No newline at end of file
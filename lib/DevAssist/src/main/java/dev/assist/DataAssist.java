@@ -2,17 +2,27 @@ package dev.assist;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import dev.base.DevDataSource;
 import dev.base.data.DataChanged;
+import dev.base.data.DataDiffer;
 import dev.base.data.DataManager;
+import dev.base.data.DataRangeChanged;
 
 /**
  * detail: 数据辅助类
  * @author Ttt
  * <pre>
  *     实现 {@link DataManager}, 每个接口方法直接通过调用 {@link DataAssist} 已实现同名方法即可
+ *     <p></p>
+ *     批量修改: {@link #beginBatch()} 与 {@link #commit()} 之间的修改不进行通知, 提交时计算差异后统一通知
+ *     通知对象实现 {@link DataRangeChanged} 时按最小范围通知, 否则只通知一次 {@link DataChanged#notifyDataChanged()}
+ *     <p></p>
+ *     设置 {@link DataDiffer.KeyProvider} 并开启索引后, 位置查询、是否存在判断为 O(1)
+ *     需保证 equals 相同的数据 Key 相同, 直接修改 {@link #getDataList()} 后需调用 {@link #invalidateIndex()}
  * </pre>
  */
 public class DataAssist<T>
@@ -25,6 +35,30 @@ public class DataAssist<T>
     // 数据改变通知
     private DataChanged<T> mDataChanged;
 
+    // 数据 Key 获取 ( 差异计算、索引使用 )
+    private DataDiffer.KeyProvider<T>       mKeyProvider;
+    // 数据内容比较
+    private DataDiffer.ContentComparator<T> mContentComparator;
+
+    // 批量修改嵌套次数
+    private int     mBatchDepth;
+    // 批量修改前数据快照
+    private List<T> mBatchSnapshot;
+    // 批量修改期间是否存在改变
+    private boolean mBatchChanged;
+    // 批量修改期间通知改变的数据
+    private List<T> mBatchElements;
+
+    // 是否开启 Key 索引
+    private boolean              mIndexEnabled;
+    // Key 索引 ( Key - Position )
+    private Map<Object, Integer> mKeyIndex;
+    // Key 索引建立时数据数量
+    private int                  mKeyIndexSize;
+
+    // 索引未命中 ( 需线性查找 )
+    private static final int INDEX_MISS = -2;
+
     public DataAssist() {
     }
 
@@ -50,6 +84,61 @@ public class DataAssist<T>
         return mData;
     }
 
+    /**
+     * 获取数据 Key 获取接口
+     * @return {@link DataDiffer.KeyProvider}
+     */
+    public DataDiffer.KeyProvider<T> getKeyProvider() {
+        return mKeyProvider;
+    }
+
+    /**
+     * 设置数据 Key 获取接口
+     * @param keyProvider {@link DataDiffer.KeyProvider}
+     * @return {@link DataAssist}
+     */
+    public DataAssist<T> setKeyProvider(final DataDiffer.KeyProvider<T> keyProvider) {
+        this.mKeyProvider = keyProvider;
+        invalidateIndex();
+        return this;
+    }
+
+    /**
+     * 设置数据内容比较接口
+     * @param contentComparator {@link DataDiffer.ContentComparator}
+     * @return {@link DataAssist}
+     */
+    public DataAssist<T> setContentComparator(final DataDiffer.ContentComparator<T> contentComparator) {
+        this.mContentComparator = contentComparator;
+        return this;
+    }
+
+    /**
+     * 是否开启 Key 索引
+     * @return {@code true} yes, {@code false} no
+     */
+    public boolean isIndexEnabled() {
+        return mIndexEnabled;
+    }
+
+    /**
+     * 设置是否开启 Key 索引 ( 需设置 {@link DataDiffer.KeyProvider} )
+     * @param indexEnabled 是否开启 Key 索引
+     * @return {@link DataAssist}
+     */
+    public DataAssist<T> setIndexEnabled(final boolean indexEnabled) {
+        this.mIndexEnabled = indexEnabled;
+        invalidateIndex();
+        return this;
+    }
+
+    /**
+     * 使 Key 索引失效 ( 下次查询时重建 )
+     */
+    public void invalidateIndex() {
+        mKeyIndex = null;
+    }
+
     // ==========
     // = 获取相关 =
     // ==========
@@ -98,9 +187,24 @@ public class DataAssist<T>
      */
     @Override
     public int getDataItemPosition(T value) {
+        if (isIndexUsable()) {
+            int position = indexOf(value);
+            if (position != INDEX_MISS) return position;
+        }
         return mData.getDataItemPosition(value);
     }
 
+    /**
+     * 通过 Key 获取 Position ( 需开启 Key 索引 )
+     * @param key 数据 Key
+     * @return position
+     */
+    public int getDataItemPositionByKey(final Object key) {
+        if (!isIndexUsable()) return -1;
+        Integer position = getKeyIndex().get(key);
+        return (position != null) ? position : -1;
+    }
+
     /**
      * 获取 First Data
      * @return {@link T}
@@ -477,6 +581,10 @@ public class DataAssist<T>
      */
     @Override
     public boolean contains(T value) {
+        if (value != null && isIndexUsable()) {
+            int position = indexOf(value);
+            if (position != INDEX_MISS) return position >= 0;
+        }
         return mData.contains(value);
     }
 
@@ -496,6 +604,7 @@ public class DataAssist<T>
     @Override
     public void clearDataList(boolean notify) {
         mData.clearDataList(notify);
+        invalidateIndex();
         if (notify) notifyDataChanged();
     }
 
@@ -523,10 +632,224 @@ public class DataAssist<T>
             boolean notify
     ) {
         boolean result = mData.setDataList(collection, notify);
+        invalidateIndex();
         if (notify) notifyDataChanged();
         return result;
     }
 
+    // ==========
+    // = 批量修改 =
+    // ==========
+
+    /**
+     * 是否批量修改中
+     * @return {@code true} yes, {@code false} no
+     */
+    public boolean isBatching() {
+        return mBatchDepth > 0;
+    }
+
+    /**
+     * 开始批量修改 ( 支持嵌套, 最外层 {@link #commit()} 时统一通知 )
+     * @return {@link DataAssist}
+     */
+    public DataAssist<T> beginBatch() {
+        if (mBatchDepth++ == 0) {
+            mBatchSnapshot = new ArrayList<>(mData.getDataList());
+            mBatchChanged  = false;
+            mBatchElements = null;
+        }
+        return this;
+    }
+
+    /**
+     * 提交批量修改
+     * @return {@code true} 已通知, {@code false} 未开始批量修改或嵌套未结束
+     */
+    public boolean commit() {
+        if (mBatchDepth <= 0) return false;
+        if (--mBatchDepth > 0) return false;
+
+        List<T> snapshot = mBatchSnapshot;
+        List<T> elements = mBatchElements;
+        boolean changed  = mBatchChanged;
+        mBatchSnapshot = null;
+        mBatchElements = null;
+        mBatchChanged  = false;
+
+        boolean notified = false;
+        if (changed) {
+            notified = dispatchDiff(calculateDiff(snapshot, mData.getDataList()));
+        }
+        if (elements != null && !notified) {
+            dispatchElements(elements);
+        }
+        return true;
+    }
+
+    /**
+     * 分发批量修改期间的数据改变通知 ( 只通知一次 )
+     * <pre>
+     *     通知对象实现 {@link DataRangeChanged} 时通知覆盖全部改变数据的最小范围
+     *     单个数据改变时通知 {@link DataChanged#notifyElementChanged}, 其他情况通知 {@link DataChanged#notifyDataChanged()}
+     * </pre>
+     * @param elements 改变的数据
+     */
+    private void dispatchElements(final List<T> elements) {
+        if (mDataChanged == null) return;
+        T       first  = elements.get(0);
+        boolean single = true;
+        for (int i = 1, len = elements.size(); i < len && single; i++) {
+            single = elements.get(i) == first;
+        }
+        if (!(mDataChanged instanceof DataRangeChanged)) {
+            if (single) {
+                mDataChanged.notifyElementChanged(first);
+            } else {
+                mDataChanged.notifyDataChanged();
+            }
+            return;
+        }
+        int start = Integer.MAX_VALUE;
+        int end   = -1;
+        for (T value : elements) {
+            int position = getDataItemPosition(value);
+            if (position < 0) {
+                // 数据已不存在, 无法确定范围
+                mDataChanged.notifyDataChanged();
+                return;
+            }
+            start = Math.min(start, position);
+            end   = Math.max(end, position);
+        }
+        ((DataRangeChanged) mDataChanged).notifyItemRangeChanged(start, end - start + 1);
+    }
+
+    // ==========
+    // = 差异计算 =
+    // ==========
+
+    /**
+     * 计算列表差异 ( 使用已设置的 Key 获取、内容比较接口, 可在子线程调用 )
+     * @param oldList 旧数据
+     * @param newList 新数据
+     * @return {@link DataDiffer.DiffResult}
+     */
+    public DataDiffer.DiffResult calculateDiff(
+            final List<T> oldList,
+            final List<T> newList
+    ) {
+        return DataDiffer.calculate(oldList, newList, mKeyProvider, mContentComparator);
+    }
+
+    /**
+     * 设置 List Data 并按差异通知
+     * @param list 新数据
+     * @return {@code true} success, {@code false} fail
+     */
+    public boolean submitDataList(final List<T> list) {
+        List<T> snapshot = new ArrayList<>(mData.getDataList());
+        boolean result   = mData.setDataList(list, false);
+        invalidateIndex();
+        if (isBatching()) {
+            mBatchChanged = true;
+        } else {
+            dispatchDiff(calculateDiff(snapshot, mData.getDataList()));
+        }
+        return result;
+    }
+
+    /**
+     * 设置 List Data 并分发已计算的差异 ( 差异需基于当前数据与 collection 计算 )
+     * @param collection {@link Collection}
+     * @param diffResult {@link DataDiffer.DiffResult}
+     * @return {@code true} success, {@code false} fail
+     */
+    public boolean applyDiff(
+            final Collection<T> collection,
+            final DataDiffer.DiffResult diffResult
+    ) {
+        boolean result = mData.setDataList(collection, false);
+        invalidateIndex();
+        if (isBatching()) {
+            mBatchChanged = true;
+        } else {
+            dispatchDiff(diffResult);
+        }
+        return result;
+    }
+
+    /**
+     * 分发差异通知
+     * @param diffResult {@link DataDiffer.DiffResult}
+     * @return {@code true} 已通知全部数据改变, {@code false} 未通知或按范围通知
+     */
+    private boolean dispatchDiff(final DataDiffer.DiffResult diffResult) {
+        if (mDataChanged == null) return false;
+        if (diffResult == null) {
+            mDataChanged.notifyDataChanged();
+            return true;
+        } else if (mDataChanged instanceof DataRangeChanged) {
+            diffResult.dispatchTo((DataRangeChanged) mDataChanged);
+        } else if (!diffResult.isEmpty()) {
+            mDataChanged.notifyDataChanged();
+            return true;
+        }
+        return false;
+    }
+
+    // ============
+    // = Key 索引 =
+    // ============
+
+    /**
+     * 判断 Key 索引是否可用
+     * @return {@code true} yes, {@code false} no
+     */
+    private boolean isIndexUsable() {
+        return mIndexEnabled && mKeyProvider != null;
+    }
+
+    /**
+     * 获取 Key 索引 ( 失效或数量不一致则重建 )
+     * @return Key 索引
+     */
+    private Map<Object, Integer> getKeyIndex() {
+        List<T> list = mData.getDataList();
+        if (mKeyIndex == null || mKeyIndexSize != list.size()) {
+            int                  size  = list.size();
+            Map<Object, Integer> index = new HashMap<>(Math.max(16, (int) (size / .75f) + 1));
+            // 从后往前, 相同 Key 保留首个位置
+            for (int i = size - 1; i >= 0; i--) {
+                index.put(mKeyProvider.getKey(list.get(i)), i);
+            }
+            mKeyIndex     = index;
+            mKeyIndexSize = size;
+        }
+        return mKeyIndex;
+    }
+
+    /**
+     * 通过 Key 索引获取 Position
+     * @param value {@link T}
+     * @return position, {@link #INDEX_MISS} 表示需线性查找
+     */
+    private int indexOf(final T value) {
+        try {
+            Integer position = getKeyIndex().get(mKeyProvider.getKey(value));
+            if (position == null) return -1;
+            List<T> list = mData.getDataList();
+            if (position < list.size()) {
+                T item = list.get(position);
+                if (item == value || (item != null && item.equals(value))) {
+                    return position;
+                }
+            }
+        } catch (Exception ignore) {
+        }
+        return INDEX_MISS;
+    }
+
     // ==========
     // = 通知方法 =
     // ==========
@@ -536,6 +859,11 @@ public class DataAssist<T>
      */
     @Override
     public void notifyDataChanged() {
+        invalidateIndex();
+        if (isBatching()) {
+            mBatchChanged = true;
+            return;
+        }
         if (mDataChanged != null) {
             mDataChanged.notifyDataChanged();
         }
@@ -547,6 +875,11 @@ public class DataAssist<T>
      */
     @Override
     public void notifyElementChanged(T value) {
+        if (isBatching()) {
+            if (mBatchElements == null) mBatchElements = new ArrayList<>();
+            mBatchElements.add(value);
+            return;
+        }
         if (mDataChanged != null) {
             mDataChanged.notifyElementChanged(value);
         }
@@ -0,0 +1,741 @@
+package dev.base.data;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * detail: 列表差异计算
+ * @author Ttt
+ * <pre>
+ *     纯 Java 实现, 可在子线程计算后切换到主线程分发 ( {@link DiffResult#dispatchTo(DataRangeChanged)} )
+ *     1. 去除相同前缀、后缀后使用 Myers 算法计算最长公共子序列
+ *     2. 编辑距离超过 {@link #MAX_EDIT_DISTANCE} 时, 按 Key 匹配并使用最长递增子序列代替
+ *     3. 未匹配的新旧数据按 Key 配对, 识别为移动
+ *     <p></p>
+ *     分发顺序: 移除 ( 从后往前 ) -> 移动 -> 插入 ( 从前往后 ) -> 内容改变 ( 最终索引 )
+ * </pre>
+ */
+public final class DataDiffer {
+
+    private DataDiffer() {
+    }
+
+    // Myers 算法最大编辑距离 ( 内存占用 D^2 )
+    private static final int MAX_EDIT_DISTANCE = 1024;
+
+    /**
+     * detail: 数据 Key 获取接口
+     * @author Ttt
+     */
+    public interface KeyProvider<T> {
+
+        /**
+         * 获取数据唯一标识
+         * @param value {@link T}
+         * @return 唯一标识
+         */
+        Object getKey(T value);
+    }
+
+    /**
+     * detail: 数据内容比较接口
+     * @author Ttt
+     */
+    public interface ContentComparator<T> {
+
+        /**
+         * 判断 Key 相同的新旧数据内容是否一致
+         * @param oldValue 旧数据
+         * @param newValue 新数据
+         * @return {@code true} yes, {@code false} no
+         */
+        boolean areContentsTheSame(
+                T oldValue,
+                T newValue
+        );
+    }
+
+    // =============
+    // = 对外公开方法 =
+    // =============
+
+    /**
+     * 计算列表差异 ( 使用数据本身作为 Key, equals 比较内容 )
+     * @param oldList 旧数据
+     * @param newList 新数据
+     * @param <T>     泛型
+     * @return {@link DiffResult}
+     */
+    public static <T> DiffResult calculate(
+            final List<T> oldList,
+            final List<T> newList
+    ) {
+        return calculate(oldList, newList, null, null);
+    }
+
+    /**
+     * 计算列表差异 ( equals 比较内容 )
+     * @param oldList     旧数据
+     * @param newList     新数据
+     * @param keyProvider {@link KeyProvider}
+     * @param <T>         泛型
+     * @return {@link DiffResult}
+     */
+    public static <T> DiffResult calculate(
+            final List<T> oldList,
+            final List<T> newList,
+            final KeyProvider<T> keyProvider
+    ) {
+        return calculate(oldList, newList, keyProvider, null);
+    }
+
+    /**
+     * 计算列表差异
+     * @param oldList     旧数据
+     * @param newList     新数据
+     * @param keyProvider {@link KeyProvider} 为 null 则使用数据本身作为 Key
+     * @param comparator  {@link ContentComparator} 为 null 则使用 equals
+     * @param <T>         泛型
+     * @return {@link DiffResult}
+     */
+    public static <T> DiffResult calculate(
+            final List<T> oldList,
+            final List<T> newList,
+            final KeyProvider<T> keyProvider,
+            final ContentComparator<T> comparator
+    ) {
+        List<T> olds = (oldList != null) ? oldList : Collections.<T>emptyList();
+        List<T> news = (newList != null) ? newList : Collections.<T>emptyList();
+
+        int      oldSize = olds.size();
+        int      newSize = news.size();
+        Object[] oldKeys = new Object[oldSize];
+        Object[] newKeys = new Object[newSize];
+        for (int i = 0; i < oldSize; i++) {
+            oldKeys[i] = getKey(keyProvider, olds.get(i));
+        }
+        for (int i = 0; i < newSize; i++) {
+            newKeys[i] = getKey(keyProvider, news.get(i));
+        }
+
+        int[] matchOld = new int[oldSize];
+        int[] matchNew = new int[newSize];
+        Arrays.fill(matchOld, -1);
+        Arrays.fill(matchNew, -1);
+
+        // 相同前缀、后缀
+        int prefix = 0;
+        while (prefix < oldSize && prefix < newSize && equals(oldKeys[prefix], newKeys[prefix])) {
+            matchOld[prefix] = prefix;
+            matchNew[prefix] = prefix;
+            prefix++;
+        }
+        int suffix = 0;
+        while (suffix < oldSize - prefix && suffix < newSize - prefix
+                && equals(oldKeys[oldSize - 1 - suffix], newKeys[newSize - 1 - suffix])) {
+            matchOld[oldSize - 1 - suffix] = newSize - 1 - suffix;
+            matchNew[newSize - 1 - suffix] = oldSize - 1 - suffix;
+            suffix++;
+        }
+
+        // 中间部分计算最长公共子序列
+        int oldEnd = oldSize - suffix;
+        int newEnd = newSize - suffix;
+        if (prefix < oldEnd && prefix < newEnd) {
+            if (!myers(oldKeys, prefix, oldEnd, newKeys, prefix, newEnd, matchOld, matchNew)) {
+                increasingMatch(oldKeys, prefix, oldEnd, newKeys, prefix, newEnd, matchOld, matchNew);
+            }
+        }
+
+        // 未匹配数据按 Key 配对识别为移动
+        boolean[] moved = new boolean[oldSize];
+        detectMoves(oldKeys, newKeys, matchOld, matchNew, moved);
+
+        return new DiffResult(createUpdates(olds, news, comparator, matchOld, matchNew, moved));
+    }
+
+    // ==========
+    // = 匹配计算 =
+    // ==========
+
+    /**
+     * Myers 差异算法 ( 记录匹配结果 )
+     * @param oldKeys  旧数据 Key
+     * @param oldStart 旧数据起始索引
+     * @param oldEnd   旧数据结束索引 ( 不包含 )
+     * @param newKeys  新数据 Key
+     * @param newStart 新数据起始索引
+     * @param newEnd   新数据结束索引 ( 不包含 )
+     * @param matchOld 旧数据匹配的新数据索引
+     * @param matchNew 新数据匹配的旧数据索引
+     * @return {@code true} success, {@code false} 超过最大编辑距离
+     */
+    private static boolean myers(
+            final Object[] oldKeys,
+            final int oldStart,
+            final int oldEnd,
+            final Object[] newKeys,
+            final int newStart,
+            final int newEnd,
+            final int[] matchOld,
+            final int[] matchNew
+    ) {
+        int n      = oldEnd - oldStart;
+        int m      = newEnd - newStart;
+        int max    = Math.min(n + m, MAX_EDIT_DISTANCE);
+        int offset = max + 1;
+        // V[k] = 对角线 k 上可到达的最远 x
+        int[]       v     = new int[2 * offset + 1];
+        List<int[]> trace = new ArrayList<>();
+
+        int found = -1;
+        for (int d = 0; d <= max && found < 0; d++) {
+            // 保存上一轮对角线 [-d, d] 状态用于回溯
+            trace.add(Arrays.copyOfRange(v, offset - d, offset + d + 1));
+            for (int k = -d; k <= d; k += 2) {
+                int x;
+                if (k == -d || (k != d && v[offset + k - 1] < v[offset + k + 1])) {
+                    x = v[offset + k + 1];
+                } else {
+                    x = v[offset + k - 1] + 1;
+                }
+                int y = x - k;
+                while (x < n && y < m && equals(oldKeys[oldStart + x], newKeys[newStart + y])) {
+                    x++;
+                    y++;
+                }
+                v[offset + k] = x;
+                if (x >= n && y >= m) {
+                    found = d;
+                    break;
+                }
+            }
+        }
+        if (found < 0) return false;
+
+        // 回溯记录匹配
+        int x = n;
+        int y = m;
+        for (int d = found; d >= 0; d--) {
+            int[] prev = trace.get(d);
+            int   k    = x - y;
+            int   prevK;
+            if (d == 0) {
+                prevK = 0;
+            } else if (k == -d || (k != d && prev[k - 1 + d] < prev[k + 1 + d])) {
+                prevK = k + 1;
+            } else {
+                prevK = k - 1;
+            }
+            int prevX = (d == 0) ? 0 : prev[prevK + d];
+            int prevY = prevX - prevK;
+            // 对角线部分为匹配数据
+            int snakeStartX = (d == 0) ? 0 : (prevK == k + 1 ? prevX : prevX + 1);
+            while (x > snakeStartX && y > 0) {
+                x--;
+                y--;
+                matchOld[oldStart + x] = newStart + y;
+                matchNew[newStart + y] = oldStart + x;
+            }
+            x = prevX;
+            y = prevY;
+        }
+        return true;
+    }
+
+    /**
+     * 按 Key 匹配并保留最长递增子序列 ( 编辑距离过大时使用 )
+     * @param oldKeys  旧数据 Key
+     * @param oldStart 旧数据起始索引
+     * @param oldEnd   旧数据结束索引 ( 不包含 )
+     * @param newKeys  新数据 Key
+     * @param newStart 新数据起始索引
+     * @param newEnd   新数据结束索引 ( 不包含 )
+     * @param matchOld 旧数据匹配的新数据索引
+     * @param matchNew 新数据匹配的旧数据索引
+     */
+    private static void increasingMatch(
+            final Object[] oldKeys,
+            final int oldStart,
+            final int oldEnd,
+            final Object[] newKeys,
+            final int newStart,
+            final int newEnd,
+            final int[] matchOld,
+            final int[] matchNew
+    ) {
+        Map<Object, ArrayDeque<Integer>> positions = indexKeys(newKeys, newStart, newEnd, null);
+        // 按旧数据顺序记录配对的新数据索引
+        int[] pairOld = new int[oldEnd - oldStart];
+        int[] pairNew = new int[oldEnd - oldStart];
+        int   count   = 0;
+        for (int i = oldStart; i < oldEnd; i++) {
+            ArrayDeque<Integer> queue = positions.get(oldKeys[i]);
+            if (queue != null && !queue.isEmpty()) {
+                pairOld[count] = i;
+                pairNew[count] = queue.poll();
+                count++;
+            }
+        }
+        if (count == 0) return;
+
+        // 最长递增子序列 ( O(n log n) )
+        int[] tails     = new int[count];
+        int[] tailIndex = new int[count];
+        int[] previous  = new int[count];
+        int   length    = 0;
+        for (int i = 0; i < count; i++) {
+            int value = pairNew[i];
+            int low   = 0;
+            int high  = length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (tails[mid] < value) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            tails[low]     = value;
+            tailIndex[low] = i;
+            previous[i]    = (low > 0) ? tailIndex[low - 1] : -1;
+            if (low == length) length++;
+        }
+        for (int i = tailIndex[length - 1]; i >= 0; i = previous[i]) {
+            matchOld[pairOld[i]] = pairNew[i];
+            matchNew[pairNew[i]] = pairOld[i];
+        }
+    }
+
+    /**
+     * 未匹配的新旧数据按 Key 配对 ( 移动 )
+     * @param oldKeys  旧数据 Key
+     * @param newKeys  新数据 Key
+     * @param matchOld 旧数据匹配的新数据索引
+     * @param matchNew 新数据匹配的旧数据索引
+     * @param moved    旧数据是否为移动
+     */
+    private static void detectMoves(
+            final Object[] oldKeys,
+            final Object[] newKeys,
+            final int[] matchOld,
+            final int[] matchNew,
+            final boolean[] moved
+    ) {
+        Map<Object, ArrayDeque<Integer>> positions = indexKeys(newKeys, 0, newKeys.length, matchNew);
+        if (positions.isEmpty()) return;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (matchOld[i] >= 0) continue;
+            ArrayDeque<Integer> queue = positions.get(oldKeys[i]);
+            if (queue != null && !queue.isEmpty()) {
+                int newIndex = queue.poll();
+                matchOld[i]        = newIndex;
+                matchNew[newIndex] = i;
+                moved[i]           = true;
+            }
+        }
+    }
+
+    /**
+     * 建立 Key 对应索引队列
+     * @param keys    Key 数组
+     * @param start   起始索引
+     * @param end     结束索引 ( 不包含 )
+     * @param matches 匹配结果 ( 不为 null 则只记录未匹配索引 )
+     * @return Key 对应索引队列
+     */
+    private static Map<Object, ArrayDeque<Integer>> indexKeys(
+            final Object[] keys,
+            final int start,
+            final int end,
+            final int[] matches
+    ) {
+        Map<Object, ArrayDeque<Integer>> positions = new HashMap<>();
+        for (int i = start; i < end; i++) {
+            if (matches != null && matches[i] >= 0) continue;
+            ArrayDeque<Integer> queue = positions.get(keys[i]);
+            if (queue == null) {
+                queue = new ArrayDeque<>();
+                positions.put(keys[i], queue);
+            }
+            queue.add(i);
+        }
+        return positions;
+    }
+
+    // ==========
+    // = 生成操作 =
+    // ==========
+
+    /**
+     * 生成按顺序分发的操作集合
+     * @param olds       旧数据
+     * @param news       新数据
+     * @param comparator {@link ContentComparator}
+     * @param matchOld   旧数据匹配的新数据索引
+     * @param matchNew   新数据匹配的旧数据索引
+     * @param moved      旧数据是否为移动
+     * @param <T>        泛型
+     * @return 操作集合
+     */
+    private static <T> List<Update> createUpdates(
+            final List<T> olds,
+            final List<T> news,
+            final ContentComparator<T> comparator,
+            final int[] matchOld,
+            final int[] matchNew,
+            final boolean[] moved
+    ) {
+        List<Update> updates = new ArrayList<>();
+        int          oldSize = matchOld.length;
+        int          newSize = matchNew.length;
+
+        // 移除 ( 从后往前, 合并连续区间 )
+        int runEnd = -1;
+        for (int i = oldSize - 1; i >= -1; i--) {
+            boolean removed = (i >= 0 && matchOld[i] < 0);
+            if (removed) {
+                if (runEnd < 0) runEnd = i;
+            } else if (runEnd >= 0) {
+                updates.add(new Update(Update.REMOVE, i + 1, runEnd - i));
+                runEnd = -1;
+            }
+        }
+
+        // 移动 ( 按新数据顺序, 每个移动数据放置到前一个已放置数据之后 )
+        createMoves(matchOld, matchNew, moved, updates);
+
+        // 插入 ( 从前往后, 合并连续区间 )
+        int runStart = -1;
+        for (int j = 0; j <= newSize; j++) {
+            boolean inserted = (j < newSize && matchNew[j] < 0);
+            if (inserted) {
+                if (runStart < 0) runStart = j;
+            } else if (runStart >= 0) {
+                updates.add(new Update(Update.INSERT, runStart, j - runStart));
+                runStart = -1;
+            }
+        }
+
+        // 内容改变 ( 最终索引, 合并连续区间 )
+        runStart = -1;
+        for (int j = 0; j <= newSize; j++) {
+            boolean changed = false;
+            if (j < newSize && matchNew[j] >= 0) {
+                T oldValue = olds.get(matchNew[j]);
+                T newValue = news.get(j);
+                changed = (comparator != null)
+                        ? !comparator.areContentsTheSame(oldValue, newValue)
+                        : !equals(oldValue, newValue);
+            }
+            if (changed) {
+                if (runStart < 0) runStart = j;
+            } else if (runStart >= 0) {
+                updates.add(new Update(Update.CHANGE, runStart, j - runStart));
+                runStart = -1;
+            }
+        }
+        return updates;
+    }
+
+    /**
+     * 生成移动操作
+     * <pre>
+     *     未移动数据 ( 最长公共子序列 ) 将列表划分为多个区间, 区间内依次为: 已放置的移动数据 ( 新数据顺序 )、未放置的移动数据 ( 旧数据顺序 )
+     *     为每个数据分配固定槽位, 使用树状数组计算当前索引, 每个移动数据只移动一次
+     * </pre>
+     * @param matchOld 旧数据匹配的新数据索引
+     * @param matchNew 新数据匹配的旧数据索引
+     * @param moved    旧数据是否为移动
+     * @param updates  操作集合
+     */
+    private static void createMoves(
+            final int[] matchOld,
+            final int[] matchNew,
+            final boolean[] moved,
+            final List<Update> updates
+    ) {
+        int oldSize = matchOld.length;
+        int newSize = matchNew.length;
+        // 最长公共子序列数量 ( 区间数量 = lcsCount + 1 )
+        int lcsCount   = 0;
+        int movedCount = 0;
+        for (int i = 0; i < oldSize; i++) {
+            if (matchOld[i] < 0) continue;
+            if (moved[i]) {
+                movedCount++;
+            } else {
+                lcsCount++;
+            }
+        }
+        if (movedCount == 0) return;
+
+        // 移动数据在旧数据、新数据中所属区间
+        int[] oldGap         = new int[oldSize];
+        int[] newGap         = new int[oldSize];
+        int[] unplacedCounts = new int[lcsCount + 1];
+        int[] placedCounts   = new int[lcsCount + 1];
+        int[] unplacedRank   = new int[oldSize];
+        int[] placedRank     = new int[oldSize];
+        int   gap            = 0;
+        for (int i = 0; i < oldSize; i++) {
+            if (matchOld[i] < 0) continue;
+            if (moved[i]) {
+                oldGap[i]       = gap;
+                unplacedRank[i] = unplacedCounts[gap]++;
+            } else {
+                gap++;
+            }
+        }
+        gap = 0;
+        for (int j = 0; j < newSize; j++) {
+            int oldIndex = matchNew[j];
+            if (oldIndex < 0) continue;
+            if (moved[oldIndex]) {
+                newGap[oldIndex]     = gap;
+                placedRank[oldIndex] = placedCounts[gap]++;
+            } else {
+                gap++;
+            }
+        }
+
+        // 区间槽位起始位置: [LCS][已放置][未放置]
+        int[] gapBase = new int[lcsCount + 1];
+        int   slots   = 0;
+        for (int g = 0; g <= lcsCount; g++) {
+            if (g > 0) slots++;
+            gapBase[g] = slots;
+            slots += placedCounts[g] + unplacedCounts[g];
+        }
+
+        // 树状数组记录槽位占用
+        int[] tree = new int[slots + 1];
+        for (int g = 1; g <= lcsCount; g++) {
+            fenwickAdd(tree, gapBase[g] - 1, 1);
+        }
+        for (int i = 0; i < oldSize; i++) {
+            if (matchOld[i] >= 0 && moved[i]) {
+                fenwickAdd(tree, unplacedSlot(i, oldGap, gapBase, placedCounts, unplacedRank), 1);
+            }
+        }
+        for (int j = 0; j < newSize; j++) {
+            int oldIndex = matchNew[j];
+            if (oldIndex < 0 || !moved[oldIndex]) continue;
+            int fromSlot = unplacedSlot(oldIndex, oldGap, gapBase, placedCounts, unplacedRank);
+            int from     = fenwickSum(tree, fromSlot);
+            fenwickAdd(tree, fromSlot, -1);
+            int toSlot = gapBase[newGap[oldIndex]] + placedRank[oldIndex];
+            int to     = fenwickSum(tree, toSlot);
+            fenwickAdd(tree, toSlot, 1);
+            if (from != to) {
+                updates.add(new Update(Update.MOVE, from, to, 1));
+            }
+        }
+    }
+
+    /**
+     * 获取未放置移动数据槽位
+     * @param oldIndex     旧数据索引
+     * @param oldGap       旧数据所属区间
+     * @param gapBase      区间槽位起始位置
+     * @param placedCounts 区间已放置数量
+     * @param unplacedRank 区间内旧数据顺序
+     * @return 槽位
+     */
+    private static int unplacedSlot(
+            final int oldIndex,
+            final int[] oldGap,
+            final int[] gapBase,
+            final int[] placedCounts,
+            final int[] unplacedRank
+    ) {
+        int gap = oldGap[oldIndex];
+        return gapBase[gap] + placedCounts[gap] + unplacedRank[oldIndex];
+    }
+
+    /**
+     * 树状数组更新
+     * @param tree  树状数组
+     * @param slot  槽位
+     * @param delta 变化值
+     */
+    private static void fenwickAdd(
+            final int[] tree,
+            final int slot,
+            final int delta
+    ) {
+        for (int i = slot + 1; i < tree.length; i += i & (-i)) {
+            tree[i] += delta;
+        }
+    }
+
+    /**
+     * 树状数组求和 ( 槽位之前的占用数量 )
+     * @param tree 树状数组
+     * @param slot 槽位
+     * @return 占用数量
+     */
+    private static int fenwickSum(
+            final int[] tree,
+            final int slot
+    ) {
+        int sum = 0;
+        for (int i = slot; i > 0; i -= i & (-i)) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    // ==========
+    // = 内部方法 =
+    // ==========
+
+    /**
+     * 获取数据 Key
+     * @param keyProvider {@link KeyProvider}
+     * @param value       {@link T}
+     * @param <T>         泛型
+     * @return 数据 Key
+     */
+    private static <T> Object getKey(
+            final KeyProvider<T> keyProvider,
+            final T value
+    ) {
+        return (keyProvider != null) ? keyProvider.getKey(value) : value;
+    }
+
+    /**
+     * 判断两个对象是否相等
+     * @param a 对象 a
+     * @param b 对象 b
+     * @return {@code true} yes, {@code false} no
+     */
+    private static boolean equals(
+            final Object a,
+            final Object b
+    ) {
+        return (a == b) || (a != null && a.equals(b));
+    }
+
+    // ==========
+    // = 内部类 =
+    // ==========
+
+    /**
+     * detail: 单个更新操作
+     * @author Ttt
+     */
+    public static final class Update {
+
+        // 插入
+        public static final int INSERT = 1;
+        // 移除
+        public static final int REMOVE = 2;
+        // 内容改变
+        public static final int CHANGE = 3;
+        // 移动
+        public static final int MOVE   = 4;
+
+        // 操作类型
+        public final int type;
+        // 起始索引 ( 移动前索引 )
+        public final int position;
+        // 移动后索引 ( 仅 MOVE 有效 )
+        public final int toPosition;
+        // 数量
+        public final int count;
+
+        Update(
+                final int type,
+                final int position,
+                final int count
+        ) {
+            this(type, position, -1, count);
+        }
+
+        Update(
+                final int type,
+                final int position,
+                final int toPosition,
+                final int count
+        ) {
+            this.type       = type;
+            this.position   = position;
+            this.toPosition = toPosition;
+            this.count      = count;
+        }
+
+        @Override
+        public String toString() {
+            switch (type) {
+                case INSERT:
+                    return "INSERT(" + position + ", " + count + ")";
+                case REMOVE:
+                    return "REMOVE(" + position + ", " + count + ")";
+                case CHANGE:
+                    return "CHANGE(" + position + ", " + count + ")";
+                default:
+                    return "MOVE(" + position + " -> " + toPosition + ")";
+            }
+        }
+    }
+
+    /**
+     * detail: 差异计算结果
+     * @author Ttt
+     */
+    public static final class DiffResult {
+
+        // 按顺序分发的操作集合
+        private final List<Update> mUpdates;
+
+        DiffResult(final List<Update> updates) {
+            this.mUpdates = Collections.unmodifiableList(updates);
+        }
+
+        /**
+         * 获取按顺序分发的操作集合
+         * @return 操作集合
+         */
+        public List<Update> getUpdates() {
+            return mUpdates;
+        }
+
+        /**
+         * 是否无任何差异
+         * @return {@code true} yes, {@code false} no
+         */
+        public boolean isEmpty() {
+            return mUpdates.isEmpty();
+        }
+
+        /**
+         * 分发操作
+         * @param target {@link DataRangeChanged}
+         */
+        public void dispatchTo(final DataRangeChanged target) {
+            if (target == null) return;
+            for (Update update : mUpdates) {
+                switch (update.type) {
+                    case Update.INSERT:
+                        target.notifyItemRangeInserted(update.position, update.count);
+                        break;
+                    case Update.REMOVE:
+                        target.notifyItemRangeRemoved(update.position, update.count);
+                        break;
+                    case Update.CHANGE:
+                        target.notifyItemRangeChanged(update.position, update.count);
+                        break;
+                    case Update.MOVE:
+                        target.notifyItemMoved(update.position, update.toPosition);
+                        break;
+                }
+            }
+        }
+    }
+}
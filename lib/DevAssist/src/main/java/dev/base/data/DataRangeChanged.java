@@ -0,0 +1,52 @@
+package dev.base.data;
+
+/**
+ * detail: 数据范围改变通知
+ * @author Ttt
+ * <pre>
+ *     方法名与 RecyclerView.Adapter 保持一致, Adapter 实现该接口无需额外代码
+ *     {@link DataChanged} 实现类同时实现该接口时, 批量修改、差异计算结果将按最小范围通知
+ * </pre>
+ */
+public interface DataRangeChanged {
+
+    /**
+     * 通知插入数据
+     * @param positionStart 起始索引
+     * @param itemCount     数量
+     */
+    void notifyItemRangeInserted(
+            int positionStart,
+            int itemCount
+    );
+
+    /**
+     * 通知移除数据
+     * @param positionStart 起始索引
+     * @param itemCount     数量
+     */
+    void notifyItemRangeRemoved(
+            int positionStart,
+            int itemCount
+    );
+
+    /**
+     * 通知数据内容改变
+     * @param positionStart 起始索引
+     * @param itemCount     数量
+     */
+    void notifyItemRangeChanged(
+            int positionStart,
+            int itemCount
+    );
+
+    /**
+     * 通知数据移动
+     * @param fromPosition 移动前索引
+     * @param toPosition   移动后索引
+     */
+    void notifyItemMoved(
+            int fromPosition,
+            int toPosition
+    );
+}
@@ -0,0 +1,555 @@
+package dev.base.multiselect;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import dev.base.DevObject;
+
+/**
+ * detail: 索引多选实体类 ( 位图 )
+ * @param <V> Value
+ * @author Ttt
+ * <pre>
+ *     通过 long[] 位图记录选中索引, 适用于大数据量列表
+ *     选中判断、选中、切换为 O(1), 区间选中、区间反选、数量统计基于 word 位运算
+ *     <p></p>
+ *     全选、反选仅切换反转标记 ( 全选 = 除已记录索引外全部选中 ), 不遍历数据
+ *     反转状态下 {@link #setDataCount(int)} 新增的索引默认为选中状态
+ *     <p></p>
+ *     数据源插入、删除时需调用 {@link #insertPositions(int, int, boolean)}、{@link #removePositions(int, int)} 同步索引
+ * </pre>
+ */
+public class DevMultiSelectBits<V>
+        extends DevObject<V> {
+
+    // 位图 ( 反转状态下记录未选中索引 )
+    private long[]  mWords    = new long[1];
+    // 数据总数
+    private int     mDataCount;
+    // 位图中已设置的 bit 数量
+    private int     mBitCount;
+    // 是否反转 ( 全选后排除 )
+    private boolean mInverted;
+
+    public DevMultiSelectBits() {
+    }
+
+    public DevMultiSelectBits(final int dataCount) {
+        setDataCount(dataCount);
+    }
+
+    // ==========
+    // = 数据总数 =
+    // ==========
+
+    /**
+     * 获取数据总数
+     * @return 数据总数
+     */
+    public int getDataCount() {
+        return mDataCount;
+    }
+
+    /**
+     * 设置数据总数
+     * <pre>
+     *     减少时清除超出范围的选中索引
+     * </pre>
+     * @param dataCount 数据总数
+     */
+    public void setDataCount(final int dataCount) {
+        int count = Math.max(0, dataCount);
+        if (count < mDataCount) {
+            mBitCount -= clearBits(count, mDataCount);
+        } else {
+            ensureCapacity(count);
+        }
+        mDataCount = count;
+    }
+
+    /**
+     * 插入索引 ( 数据源插入数据时同步 )
+     * @param position 插入索引
+     * @param count    插入数量
+     * @param isSelect 插入的索引是否选中
+     */
+    public void insertPositions(
+            final int position,
+            final int count,
+            final boolean isSelect
+    ) {
+        if (position < 0 || position > mDataCount || count <= 0) return;
+        int oldEnd = mDataCount;
+        int newEnd = oldEnd + count;
+        ensureCapacity(newEnd);
+        // 从高位向低位移动, 避免覆盖未读取的数据
+        int end   = newEnd;
+        int limit = position + count;
+        while (end > limit) {
+            int start = Math.max(limit, (end - 1) & ~63);
+            writeBits(start, end - start, readBits(start - count));
+            end = start;
+        }
+        mDataCount = newEnd;
+        // 插入区间残留的原数据已后移, 直接清空不影响数量
+        clearBits(position, limit);
+        if (isSelect) {
+            selectRange(position, limit);
+        } else {
+            unselectRange(position, limit);
+        }
+    }
+
+    /**
+     * 删除索引 ( 数据源删除数据时同步 )
+     * @param position 删除起始索引
+     * @param count    删除数量
+     */
+    public void removePositions(
+            final int position,
+            final int count
+    ) {
+        if (position < 0 || position >= mDataCount || count <= 0) return;
+        int removeCount = Math.min(count, mDataCount - position);
+        int oldEnd      = mDataCount;
+        int newEnd      = oldEnd - removeCount;
+        mBitCount -= countBits(position, position + removeCount);
+        // 从低位向高位移动
+        int dst = position;
+        while (dst < newEnd) {
+            int length = Math.min(64 - (dst & 63), newEnd - dst);
+            writeBits(dst, length, readBits(dst + removeCount));
+            dst += length;
+        }
+        // 尾部数据已前移, 直接清空不影响数量
+        clearBits(newEnd, oldEnd);
+        mDataCount = newEnd;
+    }
+
+    // ==========
+    // = 选择操作 =
+    // ==========
+
+    /**
+     * 判断是否选中
+     * @param position 索引
+     * @return {@code true} yes, {@code false} no
+     */
+    public boolean isSelect(final int position) {
+        if (position < 0 || position >= mDataCount) return false;
+        return getBit(position) != mInverted;
+    }
+
+    /**
+     * 设置选中操作
+     * @param position 索引
+     */
+    public void select(final int position) {
+        select(true, position);
+    }
+
+    /**
+     * 设置选中操作
+     * @param isSelect 是否选中
+     * @param position 索引
+     */
+    public void select(
+            final boolean isSelect,
+            final int position
+    ) {
+        if (position < 0 || position >= mDataCount) return;
+        int  index = position >>> 6;
+        long mask  = 1L << position;
+        long word  = mWords[index];
+        if (isSelect != mInverted) {
+            if ((word & mask) == 0L) {
+                mWords[index] = word | mask;
+                mBitCount++;
+            }
+        } else {
+            if ((word & mask) != 0L) {
+                mWords[index] = word & ~mask;
+                mBitCount--;
+            }
+        }
+    }
+
+    /**
+     * 设置非选中操作
+     * @param position 索引
+     */
+    public void unselect(final int position) {
+        select(false, position);
+    }
+
+    /**
+     * 切换选中状态
+     * @param position 索引
+     */
+    public void toggle(final int position) {
+        if (position < 0 || position >= mDataCount) return;
+        int  index = position >>> 6;
+        long mask  = 1L << position;
+        long word  = mWords[index] ^ mask;
+        mWords[index] = word;
+        mBitCount += ((word & mask) != 0L) ? 1 : -1;
+    }
+
+    /**
+     * 区间选中 [fromPosition, toPosition)
+     * @param fromPosition 起始索引 ( 包含 )
+     * @param toPosition   结束索引 ( 不包含 )
+     */
+    public void selectRange(
+            final int fromPosition,
+            final int toPosition
+    ) {
+        int from = Math.max(0, fromPosition);
+        int to   = Math.min(mDataCount, toPosition);
+        if (from >= to) return;
+        if (mInverted) {
+            mBitCount -= clearBits(from, to);
+        } else {
+            mBitCount += setBits(from, to);
+        }
+    }
+
+    /**
+     * 区间取消选中 [fromPosition, toPosition)
+     * @param fromPosition 起始索引 ( 包含 )
+     * @param toPosition   结束索引 ( 不包含 )
+     */
+    public void unselectRange(
+            final int fromPosition,
+            final int toPosition
+    ) {
+        int from = Math.max(0, fromPosition);
+        int to   = Math.min(mDataCount, toPosition);
+        if (from >= to) return;
+        if (mInverted) {
+            mBitCount += setBits(from, to);
+        } else {
+            mBitCount -= clearBits(from, to);
+        }
+    }
+
+    /**
+     * 区间反选 [fromPosition, toPosition)
+     * @param fromPosition 起始索引 ( 包含 )
+     * @param toPosition   结束索引 ( 不包含 )
+     */
+    public void toggleRange(
+            final int fromPosition,
+            final int toPosition
+    ) {
+        int from = Math.max(0, fromPosition);
+        int to   = Math.min(mDataCount, toPosition);
+        if (from >= to) return;
+        int fromIndex = from >>> 6;
+        int toIndex   = (to - 1) >>> 6;
+        for (int i = fromIndex; i <= toIndex; i++) {
+            long mask = rangeMask(i, from, to);
+            long word = mWords[i];
+            mBitCount += Long.bitCount(mask) - (Long.bitCount(word & mask) << 1);
+            mWords[i] = word ^ mask;
+        }
+    }
+
+    /**
+     * 全选
+     */
+    public void selectAll() {
+        Arrays.fill(mWords, 0L);
+        mBitCount = 0;
+        mInverted = true;
+    }
+
+    /**
+     * 清空全部选中数据
+     */
+    public void clearSelects() {
+        Arrays.fill(mWords, 0L);
+        mBitCount = 0;
+        mInverted = false;
+    }
+
+    /**
+     * 反选
+     */
+    public void inverseSelect() {
+        mInverted = !mInverted;
+    }
+
+    /**
+     * 是否反转状态 ( 位图记录的是未选中索引 )
+     * @return {@code true} yes, {@code false} no
+     */
+    public boolean isInverted() {
+        return mInverted;
+    }
+
+    // ==========
+    // = 判断处理 =
+    // ==========
+
+    /**
+     * 判断是否全选
+     * @return {@code true} yes, {@code false} no
+     */
+    public boolean isSelectAll() {
+        return mDataCount != 0 && getSelectSize() == mDataCount;
+    }
+
+    /**
+     * 判断是否存在选中的数据
+     * @return {@code true} yes, {@code false} no
+     */
+    public boolean isSelect() {
+        return getSelectSize() != 0;
+    }
+
+    /**
+     * 判断是否不存在选中的数据
+     * @return {@code true} yes, {@code false} no
+     */
+    public boolean isNotSelect() {
+        return getSelectSize() == 0;
+    }
+
+    /**
+     * 获取选中的数据条数
+     * @return 选中的数据条数
+     */
+    public int getSelectSize() {
+        return mInverted ? mDataCount - mBitCount : mBitCount;
+    }
+
+    // ===============
+    // = 获取选中的数据 =
+    // ===============
+
+    /**
+     * 获取下一个选中的索引
+     * @param fromPosition 起始索引 ( 包含 )
+     * @return 选中的索引, 不存在则返回 -1
+     */
+    public int nextSelectPosition(final int fromPosition) {
+        return mInverted ? nextClearBit(fromPosition) : nextSetBit(fromPosition);
+    }
+
+    /**
+     * 获取下一个未选中的索引
+     * @param fromPosition 起始索引 ( 包含 )
+     * @return 未选中的索引, 不存在则返回 -1
+     */
+    public int nextUnselectPosition(final int fromPosition) {
+        return mInverted ? nextSetBit(fromPosition) : nextClearBit(fromPosition);
+    }
+
+    /**
+     * 获取选中的索引数组 ( 正序 )
+     * @return 选中的索引数组
+     */
+    public int[] getSelectPositions() {
+        int[] positions = new int[getSelectSize()];
+        int   index     = 0;
+        for (int i = nextSelectPosition(0); i >= 0; i = nextSelectPosition(i + 1)) {
+            positions[index++] = i;
+        }
+        return positions;
+    }
+
+    /**
+     * 获取选中的数据集合
+     * @param lists 数据源
+     * @param <T>   泛型
+     * @return {@link List}
+     */
+    public <T> List<T> getSelectValues(final List<T> lists) {
+        if (lists == null) return new ArrayList<>();
+        int     size   = Math.min(lists.size(), mDataCount);
+        List<T> result = new ArrayList<>(Math.min(size, getSelectSize()));
+        for (int i = nextSelectPosition(0); i >= 0 && i < size; i = nextSelectPosition(i + 1)) {
+            result.add(lists.get(i));
+        }
+        return result;
+    }
+
+    // ==========
+    // = 内部方法 =
+    // ==========
+
+    /**
+     * 确保位图容量
+     * @param bitLength bit 长度
+     */
+    private void ensureCapacity(final int bitLength) {
+        int length = (bitLength + 63) >>> 6;
+        if (length > mWords.length) {
+            mWords = Arrays.copyOf(mWords, Math.max(length, mWords.length << 1));
+        }
+    }
+
+    /**
+     * 获取指定 bit 值
+     * @param bitIndex bit 索引
+     * @return bit 值
+     */
+    private boolean getBit(final int bitIndex) {
+        return (mWords[bitIndex >>> 6] & (1L << bitIndex)) != 0L;
+    }
+
+    /**
+     * 获取 word 中处于 [from, to) 区间的掩码
+     * @param wordIndex word 索引
+     * @param from      起始 bit ( 包含 )
+     * @param to        结束 bit ( 不包含 )
+     * @return 掩码
+     */
+    private static long rangeMask(
+            final int wordIndex,
+            final int from,
+            final int to
+    ) {
+        int  base = wordIndex << 6;
+        long mask = -1L;
+        if (from > base) mask &= -1L << (from - base);
+        if (to < base + 64) mask &= -1L >>> (base + 64 - to);
+        return mask;
+    }
+
+    /**
+     * 设置 [from, to) 区间 bit
+     * @param from 起始 bit ( 包含 )
+     * @param to   结束 bit ( 不包含 )
+     * @return 新设置的 bit 数量
+     */
+    private int setBits(
+            final int from,
+            final int to
+    ) {
+        if (from >= to) return 0;
+        int count = 0;
+        for (int i = from >>> 6, end = (to - 1) >>> 6; i <= end; i++) {
+            long mask = rangeMask(i, from, to);
+            long word = mWords[i];
+            count += Long.bitCount(mask & ~word);
+            mWords[i] = word | mask;
+        }
+        return count;
+    }
+
+    /**
+     * 清除 [from, to) 区间 bit
+     * @param from 起始 bit ( 包含 )
+     * @param to   结束 bit ( 不包含 )
+     * @return 清除的 bit 数量
+     */
+    private int clearBits(
+            final int from,
+            final int to
+    ) {
+        if (from >= to) return 0;
+        int count = 0;
+        for (int i = from >>> 6, end = (to - 1) >>> 6; i <= end; i++) {
+            long mask = rangeMask(i, from, to);
+            long word = mWords[i];
+            count += Long.bitCount(mask & word);
+            mWords[i] = word & ~mask;
+        }
+        return count;
+    }
+
+    /**
+     * 统计 [from, to) 区间已设置的 bit 数量
+     * @param from 起始 bit ( 包含 )
+     * @param to   结束 bit ( 不包含 )
+     * @return bit 数量
+     */
+    private int countBits(
+            final int from,
+            final int to
+    ) {
+        if (from >= to) return 0;
+        int count = 0;
+        for (int i = from >>> 6, end = (to - 1) >>> 6; i <= end; i++) {
+            count += Long.bitCount(mWords[i] & rangeMask(i, from, to));
+        }
+        return count;
+    }
+
+    /**
+     * 读取从指定 bit 开始的 64 bit
+     * @param from 起始 bit
+     * @return 64 bit 值 ( 超出位图部分为 0 )
+     */
+    private long readBits(final int from) {
+        int  index  = from >>> 6;
+        int  offset = from & 63;
+        long value  = (index < mWords.length) ? mWords[index] >>> offset : 0L;
+        if (offset != 0 && index + 1 < mWords.length) {
+            value |= mWords[index + 1] << (64 - offset);
+        }
+        return value;
+    }
+
+    /**
+     * 写入从指定 bit 开始的 length 个 bit ( 不跨 word )
+     * @param from   起始 bit
+     * @param length bit 数量 [1, 64]
+     * @param value  写入值 ( 低位有效 )
+     */
+    private void writeBits(
+            final int from,
+            final int length,
+            final long value
+    ) {
+        int  index  = from >>> 6;
+        int  offset = from & 63;
+        long mask   = ((length == 64) ? -1L : (1L << length) - 1L) << offset;
+        mWords[index] = (mWords[index] & ~mask) | ((value << offset) & mask);
+    }
+
+    /**
+     * 获取下一个已设置的 bit 索引
+     * @param fromPosition 起始索引 ( 包含 )
+     * @return bit 索引, 不存在则返回 -1
+     */
+    private int nextSetBit(final int fromPosition) {
+        int from = Math.max(0, fromPosition);
+        if (from >= mDataCount) return -1;
+        int  index = from >>> 6;
+        int  end   = (mDataCount - 1) >>> 6;
+        long word  = mWords[index] & (-1L << from);
+        while (true) {
+            if (word != 0L) {
+                int position = (index << 6) + Long.numberOfTrailingZeros(word);
+                return (position < mDataCount) ? position : -1;
+            }
+            if (++index > end) return -1;
+            word = mWords[index];
+        }
+    }
+
+    /**
+     * 获取下一个未设置的 bit 索引
+     * @param fromPosition 起始索引 ( 包含 )
+     * @return bit 索引, 不存在则返回 -1
+     */
+    private int nextClearBit(final int fromPosition) {
+        int from = Math.max(0, fromPosition);
+        if (from >= mDataCount) return -1;
+        int  index = from >>> 6;
+        int  end   = (mDataCount - 1) >>> 6;
+        long word  = ~mWords[index] & (-1L << from);
+        while (true) {
+            if (word != 0L) {
+                int position = (index << 6) + Long.numberOfTrailingZeros(word);
+                return (position < mDataCount) ? position : -1;
+            }
+            if (++index > end) return -1;
+            word = ~mWords[index];
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package dev.base.multiselect;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import dev.base.DevObject;
+
+/**
+ * detail: Key 多选实体类 ( 哈希集合 )
+ * @param <K> Key
+ * @author Ttt
+ * <pre>
+ *     通过 {@link LinkedHashSet} 记录选中 Key ( 保留选中顺序 ), 选中判断、选中、切换为 O(1)
+ *     <p></p>
+ *     全选、反选仅切换反转标记 ( 全选 = 除已记录 Key 外全部选中 ), 不遍历数据
+ *     反转状态下需通过 {@link #setDataCount(int)} 设置数据总数用于统计选中数量
+ *     获取选中 Key 需通过 {@link #getSelectKeys(Collection)} 传入全部 Key
+ * </pre>
+ */
+public class DevMultiSelectKeys<K>
+        extends DevObject<K> {
+
+    // 记录的 Key ( 反转状态下为未选中 Key )
+    private final LinkedHashSet<K> mKeys = new LinkedHashSet<>();
+    // 数据总数
+    private       int              mDataCount;
+    // 是否反转 ( 全选后排除 )
+    private       boolean          mInverted;
+
+    public DevMultiSelectKeys() {
+    }
+
+    public DevMultiSelectKeys(final int dataCount) {
+        setDataCount(dataCount);
+    }
+
+    // ==========
+    // = 数据总数 =
+    // ==========
+
+    /**
+     * 获取数据总数
+     * @return 数据总数
+     */
+    public int getDataCount() {
+        return mDataCount;
+    }
+
+    /**
+     * 设置数据总数
+     * @param dataCount 数据总数
+     */
+    public void setDataCount(final int dataCount) {
+        this.mDataCount = Math.max(0, dataCount);
+    }
+
+    // ==========
+    // = 选择操作 =
+    // ==========
+
+    /**
+     * 判断是否选中
+     * @param key Key
+     * @return {@code true} yes, {@code false} no
+     */
+    public boolean isSelect(final K key) {
+        return mKeys.contains(key) != mInverted;
+    }
+
+    /**
+     * 设置选中操作
+     * @param key Key
+     */
+    public void select(final K key) {
+        select(true, key);
+    }
+
+    /**
+     * 设置选中操作
+     * @param isSelect 是否选中
+     * @param key      Key
+     */
+    public void select(
+            final boolean isSelect,
+            final K key
+    ) {
+        if (isSelect != mInverted) {
+            mKeys.add(key);
+        } else {
+            mKeys.remove(key);
+        }
+    }
+
+    /**
+     * 通过集合添加选中数据
+     * @param keys Key 集合
+     */
+    public void putSelects(final Collection<? extends K> keys) {
+        if (keys != null) {
+            if (mInverted) {
+                mKeys.removeAll(keys);
+            } else {
+                mKeys.addAll(keys);
+            }
+        }
+    }
+
+    /**
+     * 设置非选中操作
+     * @param key Key
+     */
+    public void unselect(final K key) {
+        select(false, key);
+    }
+
+    /**
+     * 切换选中状态
+     * @param key Key
+     */
+    public void toggle(final K key) {
+        if (!mKeys.remove(key)) {
+            mKeys.add(key);
+        }
+    }
+
+    /**
+     * 全选
+     */
+    public void selectAll() {
+        mKeys.clear();
+        mInverted = true;
+    }
+
+    /**
+     * 清空全部选中数据
+     */
+    public void clearSelects() {
+        mKeys.clear();
+        mInverted = false;
+    }
+
+    /**
+     * 反选
+     */
+    public void inverseSelect() {
+        mInverted = !mInverted;
+    }
+
+    /**
+     * 是否反转状态 ( 记录的是未选中 Key )
+     * @return {@code true} yes, {@code false} no
+     */
+    public boolean isInverted() {
+        return mInverted;
+    }
+
+    // ==========
+    // = 判断处理 =
+    // ==========
+
+    /**
+     * 判断是否全选
+     * @return {@code true} yes, {@code false} no
+     */
+    public boolean isSelectAll() {
+        if (mInverted) return mKeys.isEmpty();
+        return mDataCount != 0 && mKeys.size() >= mDataCount;
+    }
+
+    /**
+     * 判断是否存在选中的数据
+     * @return {@code true} yes, {@code false} no
+     */
+    public boolean isSelect() {
+        return getSelectSize() != 0;
+    }
+
+    /**
+     * 判断是否不存在选中的数据
+     * @return {@code true} yes, {@code false} no
+     */
+    public boolean isNotSelect() {
+        return getSelectSize() == 0;
+    }
+
+    /**
+     * 获取选中的数据条数
+     * <pre>
+     *     反转状态下为 数据总数 - 未选中 Key 数量
+     * </pre>
+     * @return 选中的数据条数
+     */
+    public int getSelectSize() {
+        if (mInverted) return Math.max(0, mDataCount - mKeys.size());
+        return mKeys.size();
+    }
+
+    // ===============
+    // = 获取选中的数据 =
+    // ===============
+
+    /**
+     * 获取记录的 Key 集合 ( 反转状态下为未选中 Key )
+     * @return 记录的 Key 集合
+     */
+    public LinkedHashSet<K> getKeys() {
+        return mKeys;
+    }
+
+    /**
+     * 获取选中的 Key 集合 ( 按选中顺序 )
+     * <pre>
+     *     反转状态下无法枚举全部 Key, 返回空集合
+     * </pre>
+     * @return {@link List}
+     */
+    public List<K> getSelectKeys() {
+        if (mInverted) return new ArrayList<>();
+        return new ArrayList<>(mKeys);
+    }
+
+    /**
+     * 获取选中的 Key 集合 ( 按传入 Key 顺序 )
+     * @param allKeys 全部 Key
+     * @return {@link List}
+     */
+    public List<K> getSelectKeys(final Collection<? extends K> allKeys) {
+        List<K> lists = new ArrayList<>();
+        if (allKeys != null) {
+            for (K key : allKeys) {
+                if (isSelect(key)) lists.add(key);
+            }
+        }
+        return lists;
+    }
+}
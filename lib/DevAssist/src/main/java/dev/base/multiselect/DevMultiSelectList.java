@@ -3,6 +3,7 @@ package dev.base.multiselect;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 
@@ -15,6 +16,12 @@ import dev.base.DevObject;
  * @author Ttt
  * <pre>
  *     实现 {@link IMultiSelectToList}, 每个接口方法直接通过调用 {@link DevMultiSelectList} 已实现同名方法即可
+ *     选中数据集内部维护 value 计数索引, {@link #isSelect(Object)}、{@link #toggle(Object)} 判断为 O(1)
+ *     大数据量按索引多选可使用 {@link DevMultiSelectBits}, 按 Key 多选可使用 {@link DevMultiSelectKeys}
+ *     <p></p>
+ *     选中判断与 ArrayList 一样使用 equals, 但数据量较多时先按 hashCode 查找 ( 同 HashSet )
+ *     value 选中期间不可修改影响 equals、hashCode 的属性, 否则 {@link #isSelect(Object)} 可能无法判断
+ *     需要修改时应先 unselect 再重新 select
  * </pre>
  */
 public class DevMultiSelectList<V>
@@ -22,7 +29,7 @@ public class DevMultiSelectList<V>
         implements IMultiSelectToList<List<V>, V> {
 
     // 选中数据集
-    private final List<V> mListSelects = new ArrayList<>();
+    private final List<V> mListSelects = new IndexedList<>();
 
     // ====================
     // = IBaseMultiSelect =
@@ -266,4 +273,192 @@ public class DevMultiSelectList<V>
     public int getSelectValueToPosition(final V value) {
         return mListSelects.indexOf(value);
     }
+
+    // ==========
+    // = 内部类 =
+    // ==========
+
+    /**
+     * detail: 带 value 计数索引的 ArrayList
+     * @param <E> 泛型
+     * @author Ttt
+     * <pre>
+     *     add、remove、set、clear 增量维护索引, 其他结构修改通过 modCount 检测并在下次查询时重建
+     *     获取 subList 后无法感知 subList.set, 将停用索引
+     *     <p></p>
+     *     数据量达到 {@link #INDEX_THRESHOLD} 后 contains 通过 hashCode + equals 查找, indexOf 仍为线性查找
+     *     元素加入后修改 hashCode 将导致 contains 查找不到, 移除时索引中找不到对应计数则丢弃索引, 下次查询时重建
+     * </pre>
+     */
+    private static final class IndexedList<E>
+            extends ArrayList<E> {
+
+        // 启用索引的最小数据量
+        private static final int INDEX_THRESHOLD = 16;
+
+        // value 计数索引
+        private transient HashMap<Object, int[]> mCounts;
+        // 索引对应的 modCount
+        private transient int                    mIndexModCount = -1;
+        // 是否处于内部更新中 ( 防止重复计数 )
+        private transient boolean                mUpdating;
+        // 是否停用索引
+        private transient boolean                mDisabled;
+
+        @Override
+        public boolean contains(final Object o) {
+            if (mDisabled || size() < INDEX_THRESHOLD) return super.contains(o);
+            if (!isIndexValid()) rebuildIndex();
+            return mCounts.containsKey(o);
+        }
+
+        @Override
+        public boolean add(final E e) {
+            if (mUpdating) return super.add(e);
+            boolean valid = isIndexValid();
+            mUpdating = true;
+            try {
+                super.add(e);
+            } finally {
+                mUpdating = false;
+            }
+            if (valid) {
+                increment(e);
+                mIndexModCount = modCount;
+            }
+            return true;
+        }
+
+        @Override
+        public E remove(final int index) {
+            if (mUpdating) return super.remove(index);
+            boolean valid = isIndexValid();
+            E       value;
+            mUpdating = true;
+            try {
+                value = super.remove(index);
+            } finally {
+                mUpdating = false;
+            }
+            if (valid) {
+                decrement(value);
+                mIndexModCount = modCount;
+            }
+            return value;
+        }
+
+        @Override
+        public boolean remove(final Object o) {
+            if (mUpdating) return super.remove(o);
+            boolean valid = isIndexValid();
+            boolean result;
+            mUpdating = true;
+            try {
+                result = super.remove(o);
+            } finally {
+                mUpdating = false;
+            }
+            if (valid) {
+                if (result) decrement(o);
+                mIndexModCount = modCount;
+            }
+            return result;
+        }
+
+        @Override
+        public E set(
+                final int index,
+                final E element
+        ) {
+            // set 不修改 modCount, 需手动同步索引
+            E value = super.set(index, element);
+            if (isIndexValid()) {
+                decrement(value);
+                if (mCounts != null) increment(element);
+            }
+            return value;
+        }
+
+        @Override
+        public void clear() {
+            super.clear();
+            if (mCounts != null) {
+                mCounts.clear();
+                mIndexModCount = modCount;
+            }
+        }
+
+        @Override
+        public List<E> subList(
+                final int fromIndex,
+                final int toIndex
+        ) {
+            mDisabled = true;
+            mCounts   = null;
+            return super.subList(fromIndex, toIndex);
+        }
+
+        @Override
+        public Object clone() {
+            IndexedList<?> list = (IndexedList<?>) super.clone();
+            list.mCounts        = null;
+            list.mIndexModCount = -1;
+            return list;
+        }
+
+        // =
+
+        /**
+         * 索引是否有效
+         * @return {@code true} yes, {@code false} no
+         */
+        private boolean isIndexValid() {
+            return mCounts != null && mIndexModCount == modCount;
+        }
+
+        /**
+         * 重建索引
+         */
+        private void rebuildIndex() {
+            HashMap<Object, int[]> counts = new HashMap<>(Math.max(16, (int) (size() / 0.75F) + 1));
+            for (int i = 0, len = size(); i < len; i++) {
+                int[] count = counts.get(get(i));
+                if (count == null) {
+                    counts.put(get(i), new int[]{1});
+                } else {
+                    count[0]++;
+                }
+            }
+            mCounts        = counts;
+            mIndexModCount = modCount;
+        }
+
+        /**
+         * 增加 value 计数
+         * @param value Value
+         */
+        private void increment(final Object value) {
+            int[] count = mCounts.get(value);
+            if (count == null) {
+                mCounts.put(value, new int[]{1});
+            } else {
+                count[0]++;
+            }
+        }
+
+        /**
+         * 减少 value 计数
+         * @param value Value
+         */
+        private void decrement(final Object value) {
+            int[] count = mCounts.get(value);
+            if (count == null) {
+                // 元素加入后 hashCode 已改变, 索引不再可信
+                mCounts        = null;
+                mIndexModCount = -1;
+            } else if (--count[0] <= 0) {
+                mCounts.remove(value);
+            }
+        }
+    }
 }
\ No newline at end of file
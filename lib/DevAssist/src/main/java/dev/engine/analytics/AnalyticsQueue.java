@@ -0,0 +1,1017 @@
+package dev.engine.analytics;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.zip.CRC32;
+
+import dev.utils.LogPrintUtils;
+
+/**
+ * detail: Analytics 批量上报队列
+ * @author Ttt
+ * <pre>
+ *     供 {@link IAnalyticsEngine#track} 实现使用, 调用线程只做入队, 由单独线程批量上报
+ *     <p></p>
+ *     内存队列: 无锁有界环形队列, 多线程入队
+ *     溢出队列: 内存队列满时写入磁盘 ( 需设置 {@link Codec} ), 进程重启后优先上报
+ *     上报策略: 达到 batchSize 立即上报, 否则每 flushInterval 上报一次
+ *     上报失败: 保留当前批次按指数退避重试, 期间新数据继续入队 / 溢出 ( 背压 )
+ *     过滤: {@link Interceptor} 在调用线程执行, 可用于去重 {@link #deduplicate}、采样 {@link #sampling}
+ *     <p></p>
+ *     同一线程入队顺序即上报顺序, 磁盘数据至少上报一次 ( 确认前进程退出会重复上报 )
+ *     内存队列数据进程退出会丢失, 可在进入后台时调用 {@link #persist()} 写入磁盘
+ *     <p></p>
+ *     AnalyticsQueue&lt;Item&gt; queue = new AnalyticsQueue&lt;&gt;(uploader)
+ *             .setCodec(codec, new File(context.getFilesDir(), "analytics"))
+ *             .addInterceptor(AnalyticsQueue.sampling(0.5F))
+ *             .start();
+ *     // IAnalyticsEngine#track
+ *     return queue.track(item);
+ * </pre>
+ */
+public final class AnalyticsQueue<Item extends IAnalyticsEngine.EngineItem> {
+
+    // 日志 TAG
+    private static final String TAG = AnalyticsQueue.class.getSimpleName();
+
+    // 默认内存队列容量
+    public static final int  DEFAULT_CAPACITY       = 1024;
+    // 默认单次上报数量
+    public static final int  DEFAULT_BATCH_SIZE     = 50;
+    // 默认上报间隔 ( 毫秒 )
+    public static final long DEFAULT_FLUSH_INTERVAL = 15000L;
+    // 默认最大重试间隔 ( 毫秒 )
+    public static final long DEFAULT_MAX_BACKOFF    = 5L * 60L * 1000L;
+
+    // 磁盘数据文件名
+    private static final String SEGMENT_NAME  = "analytics.seg";
+    // 磁盘读取位置文件名
+    private static final String OFFSET_NAME   = "analytics.off";
+    // 磁盘记录头大小 ( length + crc )
+    private static final int    RECORD_HEADER = 8;
+    // 已读取字节数超过该值时压缩磁盘文件
+    private static final long   COMPACT_SIZE  = 1024L * 1024L;
+
+    // 上报接口
+    private final Uploader<Item>                          mUploader;
+    // 过滤拦截
+    private final CopyOnWriteArrayList<Interceptor<Item>> mInterceptors = new CopyOnWriteArrayList<>();
+    // 磁盘操作锁
+    private final Object                                  mDiskLock     = new Object();
+    // 是否已调度上报
+    private final AtomicBoolean                           mFlushPosted  = new AtomicBoolean();
+
+    // 编解码 ( 磁盘溢出 )
+    private Codec<Item> mCodec;
+    // 磁盘存储目录
+    private File        mDirectory;
+    // 内存队列容量
+    private int         mCapacity      = DEFAULT_CAPACITY;
+    // 单次上报数量
+    private int         mBatchSize     = DEFAULT_BATCH_SIZE;
+    // 上报间隔
+    private long        mFlushInterval = DEFAULT_FLUSH_INTERVAL;
+    // 最大重试间隔
+    private long        mMaxBackoff    = DEFAULT_MAX_BACKOFF;
+
+    // 内存队列
+    private          Ring<Item>               mRing;
+    // 磁盘队列
+    private          DiskSegment              mDisk;
+    // 上报线程
+    private          ScheduledExecutorService mExecutor;
+    // 是否写入磁盘 ( 磁盘存在未上报数据时新数据也写入磁盘, 保证顺序 )
+    private volatile boolean                  mSpilling;
+    // 是否已关闭
+    private volatile boolean                  mShutdown;
+
+    // 上报失败待重试批次 ( 仅上报线程访问 )
+    private List<Item> mPending;
+    // 待重试批次磁盘确认位置 ( -1 表示来自内存队列 )
+    private long       mPendingOffset = -1L;
+    // 待重试批次磁盘记录数
+    private int        mPendingRecords;
+    // 连续失败次数
+    private int        mFailures;
+    // 下次允许重试时间 ( nanoTime )
+    private long       mRetryAt;
+
+    // 统计
+    private final AtomicLong mTrackCount   = new AtomicLong();
+    private final AtomicLong mFilterCount  = new AtomicLong();
+    private final AtomicLong mDropCount    = new AtomicLong();
+    private final AtomicLong mSpillCount   = new AtomicLong();
+    private final AtomicLong mUploadCount  = new AtomicLong();
+    private final AtomicLong mFailureCount = new AtomicLong();
+
+    /**
+     * 构造函数
+     * @param uploader 上报接口
+     */
+    public AnalyticsQueue(final Uploader<Item> uploader) {
+        if (uploader == null) throw new NullPointerException("uploader == null");
+        this.mUploader = uploader;
+    }
+
+    // ==========
+    // = 接口定义 =
+    // ==========
+
+    /**
+     * detail: 上报接口
+     * @author Ttt
+     * <pre>
+     *     在上报线程同步调用, 返回 false 则保留该批次稍后重试
+     * </pre>
+     */
+    public interface Uploader<Item> {
+
+        /**
+         * 上报数据
+         * @param items 待上报数据 ( 按入队顺序 )
+         * @return {@code true} success, {@code false} fail
+         */
+        boolean upload(List<Item> items);
+    }
+
+    /**
+     * detail: 编解码接口 ( 用于磁盘溢出 )
+     * @author Ttt
+     */
+    public interface Codec<Item> {
+
+        /**
+         * 编码
+         * @param item Analytics Item
+         * @return 编码数据, 返回 null 则丢弃
+         */
+        byte[] encode(Item item);
+
+        /**
+         * 解码
+         * @param data 编码数据
+         * @return Analytics Item, 返回 null 则丢弃
+         */
+        Item decode(byte[] data);
+    }
+
+    /**
+     * detail: 过滤拦截接口
+     * @author Ttt
+     * <pre>
+     *     在调用线程执行, 需线程安全
+     * </pre>
+     */
+    public interface Interceptor<Item> {
+
+        /**
+         * 是否接收该数据
+         * @param item Analytics Item
+         * @return {@code true} 接收, {@code false} 丢弃
+         */
+        boolean accept(Item item);
+    }
+
+    /**
+     * detail: 去重 Key 获取接口
+     * @author Ttt
+     */
+    public interface KeyProvider<Item> {
+
+        /**
+         * 获取去重 Key
+         * @param item Analytics Item
+         * @return 去重 Key, 返回 null 则不去重
+         */
+        Object getKey(Item item);
+    }
+
+    // ==========
+    // = 配置方法 =
+    // ==========
+
+    /**
+     * 设置磁盘溢出编解码
+     * @param codec     编解码
+     * @param directory 磁盘存储目录
+     * @return {@link AnalyticsQueue}
+     */
+    public AnalyticsQueue<Item> setCodec(
+            final Codec<Item> codec,
+            final File directory
+    ) {
+        checkNotStarted();
+        this.mCodec     = codec;
+        this.mDirectory = directory;
+        return this;
+    }
+
+    /**
+     * 设置内存队列容量 ( 向上取 2 的幂 )
+     * @param capacity 内存队列容量
+     * @return {@link AnalyticsQueue}
+     */
+    public AnalyticsQueue<Item> setCapacity(final int capacity) {
+        checkNotStarted();
+        this.mCapacity = Math.max(capacity, 2);
+        return this;
+    }
+
+    /**
+     * 设置单次上报数量
+     * @param batchSize 单次上报数量
+     * @return {@link AnalyticsQueue}
+     */
+    public AnalyticsQueue<Item> setBatchSize(final int batchSize) {
+        checkNotStarted();
+        this.mBatchSize = Math.max(batchSize, 1);
+        return this;
+    }
+
+    /**
+     * 设置上报间隔
+     * @param flushInterval 上报间隔 ( 毫秒 )
+     * @return {@link AnalyticsQueue}
+     */
+    public AnalyticsQueue<Item> setFlushInterval(final long flushInterval) {
+        checkNotStarted();
+        this.mFlushInterval = Math.max(flushInterval, 1L);
+        return this;
+    }
+
+    /**
+     * 设置最大重试间隔
+     * @param maxBackoff 最大重试间隔 ( 毫秒 )
+     * @return {@link AnalyticsQueue}
+     */
+    public AnalyticsQueue<Item> setMaxBackoff(final long maxBackoff) {
+        checkNotStarted();
+        this.mMaxBackoff = Math.max(maxBackoff, 1L);
+        return this;
+    }
+
+    /**
+     * 添加过滤拦截
+     * @param interceptor 过滤拦截
+     * @return {@link AnalyticsQueue}
+     */
+    public AnalyticsQueue<Item> addInterceptor(final Interceptor<Item> interceptor) {
+        if (interceptor != null) mInterceptors.add(interceptor);
+        return this;
+    }
+
+    /**
+     * 移除过滤拦截
+     * @param interceptor 过滤拦截
+     * @return {@link AnalyticsQueue}
+     */
+    public AnalyticsQueue<Item> removeInterceptor(final Interceptor<Item> interceptor) {
+        mInterceptors.remove(interceptor);
+        return this;
+    }
+
+    // =============
+    // = 对外公开方法 =
+    // =============
+
+    /**
+     * 启动队列
+     * @return {@link AnalyticsQueue}
+     */
+    public synchronized AnalyticsQueue<Item> start() {
+        if (mExecutor != null) return this;
+        mRing = new Ring<>(mCapacity);
+        if (mCodec != null && mDirectory != null) {
+            try {
+                mDisk = new DiskSegment(mDirectory);
+                // 进程重启前未上报数据优先上报
+                mSpilling = mDisk.getCount() > 0;
+            } catch (IOException e) {
+                LogPrintUtils.eTag(TAG, e, "start");
+                mDisk = null;
+            }
+        }
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(
+                1, runnable -> {
+                    Thread thread = new Thread(runnable, TAG);
+                    thread.setDaemon(true);
+                    return thread;
+                }
+        );
+        executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        mExecutor = executor;
+        mExecutor.scheduleWithFixedDelay(
+                () -> drain(true), mFlushInterval, mFlushInterval, TimeUnit.MILLISECONDS
+        );
+        if (mSpilling) postFlush();
+        return this;
+    }
+
+    /**
+     * 数据入队
+     * @param item Analytics Item
+     * @return {@code true} 已入队, {@code false} 被过滤或丢弃
+     */
+    public boolean track(final Item item) {
+        if (item == null || mShutdown || mRing == null) return false;
+        mTrackCount.incrementAndGet();
+        for (Interceptor<Item> interceptor : mInterceptors) {
+            if (!interceptor.accept(item)) {
+                mFilterCount.incrementAndGet();
+                return false;
+            }
+        }
+        if (!mSpilling && mRing.offer(item)) {
+            if (mRing.size() >= mBatchSize) postFlush();
+            return true;
+        }
+        return spill(item);
+    }
+
+    /**
+     * 立即上报全部数据 ( 异步, 忽略重试间隔 )
+     */
+    public void flush() {
+        ScheduledExecutorService executor = mExecutor;
+        if (executor == null || mShutdown) return;
+        executor.execute(() -> {
+            mRetryAt = System.nanoTime();
+            drain(true);
+        });
+    }
+
+    /**
+     * 将内存数据写入磁盘 ( 同步 )
+     * <pre>
+     *     建议在应用进入后台时调用, 防止进程被回收丢失数据
+     * </pre>
+     * @return {@code true} success, {@code false} fail
+     */
+    public boolean persist() {
+        ScheduledExecutorService executor = mExecutor;
+        if (executor == null || mDisk == null) return false;
+        try {
+            return executor.submit(this::persistInternal).get();
+        } catch (Exception e) {
+            LogPrintUtils.eTag(TAG, e, "persist");
+            return false;
+        }
+    }
+
+    /**
+     * 关闭队列 ( 未上报数据写入磁盘 )
+     */
+    public synchronized void shutdown() {
+        if (mExecutor == null || mShutdown) return;
+        persist();
+        mShutdown = true;
+        mExecutor.shutdown();
+        try {
+            mExecutor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (mDiskLock) {
+            if (mDisk != null) mDisk.close();
+        }
+    }
+
+    // =
+
+    /**
+     * 获取内存队列数据数量
+     * @return 内存队列数据数量
+     */
+    public int getMemoryCount() {
+        return mRing != null ? mRing.size() : 0;
+    }
+
+    /**
+     * 获取磁盘队列数据数量
+     * @return 磁盘队列数据数量
+     */
+    public int getDiskCount() {
+        synchronized (mDiskLock) {
+            return mDisk != null ? mDisk.getCount() : 0;
+        }
+    }
+
+    /**
+     * 获取入队调用次数
+     * @return 入队调用次数
+     */
+    public long getTrackCount() {
+        return mTrackCount.get();
+    }
+
+    /**
+     * 获取被过滤数量
+     * @return 被过滤数量
+     */
+    public long getFilterCount() {
+        return mFilterCount.get();
+    }
+
+    /**
+     * 获取丢弃数量 ( 队列满且无法写入磁盘 )
+     * @return 丢弃数量
+     */
+    public long getDropCount() {
+        return mDropCount.get();
+    }
+
+    /**
+     * 获取写入磁盘数量
+     * @return 写入磁盘数量
+     */
+    public long getSpillCount() {
+        return mSpillCount.get();
+    }
+
+    /**
+     * 获取上报成功数量
+     * @return 上报成功数量
+     */
+    public long getUploadCount() {
+        return mUploadCount.get();
+    }
+
+    /**
+     * 获取上报失败次数
+     * @return 上报失败次数
+     */
+    public long getFailureCount() {
+        return mFailureCount.get();
+    }
+
+    // ==========
+    // = 过滤拦截 =
+    // ==========
+
+    /**
+     * 获取采样过滤拦截
+     * @param rate 采样率 [0, 1]
+     * @param <Item> 泛型
+     * @return {@link Interceptor}
+     */
+    public static <Item> Interceptor<Item> sampling(final float rate) {
+        if (rate >= 1F) return item -> true;
+        if (rate <= 0F) return item -> false;
+        return item -> ThreadLocalRandom.current().nextFloat() < rate;
+    }
+
+    /**
+     * 获取去重过滤拦截
+     * <pre>
+     *     相同 Key 在时间窗口内只接收第一条, 最多记录 maxKeys 个 Key ( 最近最少使用淘汰 )
+     * </pre>
+     * @param provider     去重 Key 获取接口
+     * @param windowMillis 时间窗口 ( 毫秒 )
+     * @param maxKeys      最多记录 Key 数量
+     * @param <Item>       泛型
+     * @return {@link Interceptor}
+     */
+    public static <Item> Interceptor<Item> deduplicate(
+            final KeyProvider<Item> provider,
+            final long windowMillis,
+            final int maxKeys
+    ) {
+        final long window = TimeUnit.MILLISECONDS.toNanos(Math.max(windowMillis, 0L));
+        final int  limit  = Math.max(maxKeys, 1);
+        final LinkedHashMap<Object, Long> seen = new LinkedHashMap<Object, Long>(16, 0.75F, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, Long> eldest) {
+                return size() > limit;
+            }
+        };
+        return item -> {
+            Object key = provider.getKey(item);
+            if (key == null) return true;
+            long now = System.nanoTime();
+            synchronized (seen) {
+                Long time = seen.get(key);
+                if (time != null && now - time < window) return false;
+                seen.put(key, now);
+                return true;
+            }
+        };
+    }
+
+    // ==========
+    // = 内部方法 =
+    // ==========
+
+    /**
+     * 检查是否未启动
+     */
+    private void checkNotStarted() {
+        if (mExecutor != null) throw new IllegalStateException("Queue already started");
+    }
+
+    /**
+     * 调度上报 ( 合并重复调度 )
+     */
+    private void postFlush() {
+        ScheduledExecutorService executor = mExecutor;
+        if (executor == null || mShutdown) return;
+        if (mFlushPosted.compareAndSet(false, true)) {
+            try {
+                executor.execute(() -> {
+                    mFlushPosted.set(false);
+                    drain(false);
+                });
+            } catch (Exception e) {
+                mFlushPosted.set(false);
+            }
+        }
+    }
+
+    /**
+     * 写入磁盘
+     * @param item Analytics Item
+     * @return {@code true} success, {@code false} fail
+     */
+    private boolean spill(final Item item) {
+        synchronized (mDiskLock) {
+            if (!mSpilling && mRing.offer(item)) return true;
+            if (mDisk == null) {
+                mDropCount.incrementAndGet();
+                return false;
+            }
+            try {
+                byte[] data = mCodec.encode(item);
+                if (data == null) {
+                    mDropCount.incrementAndGet();
+                    return false;
+                }
+                mDisk.append(data);
+            } catch (Exception e) {
+                LogPrintUtils.eTag(TAG, e, "spill");
+                mDropCount.incrementAndGet();
+                return false;
+            }
+            mSpilling = true;
+            mSpillCount.incrementAndGet();
+            if (mDisk.getCount() >= mBatchSize) postFlush();
+            return true;
+        }
+    }
+
+    /**
+     * 上报数据 ( 上报线程 )
+     * @param all 是否上报全部数据 ( false 则只上报满批次 )
+     */
+    private void drain(final boolean all) {
+        if (mShutdown) return;
+        if (mPending != null && System.nanoTime() - mRetryAt < 0L) return;
+        while (!mShutdown) {
+            if (mPending == null && !nextBatch(all)) return;
+            boolean success;
+            try {
+                success = mUploader.upload(Collections.unmodifiableList(mPending));
+            } catch (Exception e) {
+                LogPrintUtils.eTag(TAG, e, "drain");
+                success = false;
+            }
+            if (!success) {
+                mFailureCount.incrementAndGet();
+                long backoff = Math.min(mFlushInterval << Math.min(mFailures, 16), mMaxBackoff);
+                mFailures++;
+                mRetryAt = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(backoff);
+                return;
+            }
+            mFailures = 0;
+            mUploadCount.addAndGet(mPending.size());
+            if (mPendingOffset >= 0L) {
+                synchronized (mDiskLock) {
+                    mDisk.commit(mPendingOffset, mPendingRecords);
+                }
+            }
+            mPending = null;
+        }
+    }
+
+    /**
+     * 获取下一上报批次 ( 内存数据先于磁盘数据 )
+     * @param all 是否上报不满批次数据
+     * @return {@code true} 存在待上报批次, {@code false} 无数据
+     */
+    private boolean nextBatch(final boolean all) {
+        int size = mRing.size();
+        if (size > 0 && (all || size >= mBatchSize)) {
+            List<Item> batch = new ArrayList<>(Math.min(size, mBatchSize));
+            mRing.drainTo(batch, mBatchSize);
+            if (!batch.isEmpty()) {
+                mPending       = batch;
+                mPendingOffset = -1L;
+                return true;
+            }
+        }
+        if (size > 0) return false;
+        synchronized (mDiskLock) {
+            if (mDisk == null || mDisk.getCount() == 0) {
+                // 内存队列已清空后才允许新数据进入内存队列
+                if (mRing.size() == 0) mSpilling = false;
+                return false;
+            }
+            if (!all && mDisk.getCount() < mBatchSize) return false;
+            List<byte[]> records = new ArrayList<>();
+            long         offset  = mDisk.read(records, mBatchSize);
+            int          count   = mDisk.getReadCount();
+            List<Item>   batch   = new ArrayList<>(records.size());
+            for (byte[] data : records) {
+                try {
+                    Item item = mCodec.decode(data);
+                    if (item != null) batch.add(item);
+                } catch (Exception e) {
+                    LogPrintUtils.eTag(TAG, e, "nextBatch");
+                }
+            }
+            if (batch.isEmpty()) {
+                // 无法解码直接确认
+                mDisk.commit(offset, count);
+                return nextBatch(all);
+            }
+            mPending        = batch;
+            mPendingOffset  = offset;
+            mPendingRecords = count;
+            return true;
+        }
+    }
+
+    /**
+     * 将内存数据写入磁盘 ( 上报线程 )
+     * @return {@code true} success, {@code false} fail
+     */
+    private boolean persistInternal() {
+        synchronized (mDiskLock) {
+            List<byte[]> head = new ArrayList<>();
+            if (mPending != null && mPendingOffset < 0L) {
+                for (Item item : mPending) addEncoded(head, item);
+            }
+            List<Item> items = new ArrayList<>();
+            mRing.drainTo(items, Integer.MAX_VALUE);
+            for (Item item : items) addEncoded(head, item);
+            // 磁盘批次未确认, 仍在磁盘中
+            mPending       = null;
+            mPendingOffset = -1L;
+            if (head.isEmpty()) return true;
+            try {
+                mDisk.prepend(head);
+            } catch (IOException e) {
+                LogPrintUtils.eTag(TAG, e, "persistInternal");
+                mDropCount.addAndGet(head.size());
+                return false;
+            }
+            mSpilling = true;
+            mSpillCount.addAndGet(head.size());
+            return true;
+        }
+    }
+
+    /**
+     * 编码并添加到列表
+     * @param list 编码数据列表
+     * @param item Analytics Item
+     */
+    private void addEncoded(
+            final List<byte[]> list,
+            final Item item
+    ) {
+        try {
+            byte[] data = mCodec.encode(item);
+            if (data != null) {
+                list.add(data);
+                return;
+            }
+        } catch (Exception e) {
+            LogPrintUtils.eTag(TAG, e, "addEncoded");
+        }
+        mDropCount.incrementAndGet();
+    }
+
+    // ==========
+    // = 内存队列 =
+    // ==========
+
+    /**
+     * detail: 无锁有界环形队列 ( 多生产者、单消费者 )
+     * @author Ttt
+     * <pre>
+     *     每个槽位记录序号, 生产者 CAS 抢占写入位置, 写入完成后发布序号
+     *     消费者仅在上报线程中访问
+     * </pre>
+     */
+    private static final class Ring<E> {
+
+        // 槽位掩码
+        private final int                     mMask;
+        // 数据
+        private final AtomicReferenceArray<E> mItems;
+        // 槽位序号
+        private final AtomicLongArray         mSequences;
+        // 写入位置
+        private final AtomicLong              mTail = new AtomicLong();
+        // 读取位置
+        private final AtomicLong              mHead = new AtomicLong();
+
+        Ring(final int capacity) {
+            int size = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+            mMask      = size - 1;
+            mItems     = new AtomicReferenceArray<>(size);
+            mSequences = new AtomicLongArray(size);
+            for (int i = 0; i < size; i++) {
+                mSequences.set(i, i);
+            }
+        }
+
+        boolean offer(final E item) {
+            long position = mTail.get();
+            while (true) {
+                int  index = (int) (position & mMask);
+                long diff  = mSequences.get(index) - position;
+                if (diff == 0L) {
+                    if (mTail.compareAndSet(position, position + 1)) {
+                        mItems.lazySet(index, item);
+                        mSequences.set(index, position + 1);
+                        return true;
+                    }
+                    position = mTail.get();
+                } else if (diff < 0L) {
+                    // 队列已满
+                    return false;
+                } else {
+                    position = mTail.get();
+                }
+            }
+        }
+
+        E poll() {
+            long position = mHead.get();
+            int  index    = (int) (position & mMask);
+            if (mSequences.get(index) != position + 1) return null;
+            E item = mItems.get(index);
+            mItems.lazySet(index, null);
+            mSequences.set(index, position + mMask + 1);
+            mHead.lazySet(position + 1);
+            return item;
+        }
+
+        int drainTo(
+                final List<E> list,
+                final int max
+        ) {
+            int count = 0;
+            while (count < max) {
+                E item = poll();
+                if (item == null) break;
+                list.add(item);
+                count++;
+            }
+            return count;
+        }
+
+        int size() {
+            long size = mTail.get() - mHead.get();
+            return (int) Math.max(Math.min(size, mMask + 1), 0L);
+        }
+    }
+
+    // ==========
+    // = 磁盘队列 =
+    // ==========
+
+    /**
+     * detail: 磁盘队列 ( 追加写入, 记录读取位置 )
+     * @author Ttt
+     * <pre>
+     *     记录: length ( int ) + crc ( int ) + data
+     *     读取位置单独保存, 上报成功后更新; 全部上报后清空文件
+     *     需在外部同步访问
+     * </pre>
+     */
+    private static final class DiskSegment {
+
+        // 数据文件
+        private final File             mFile;
+        // 读取位置文件
+        private final File             mOffsetFile;
+        // 数据文件操作
+        private       RandomAccessFile mSegment;
+        // 读取位置文件操作
+        private       RandomAccessFile mOffset;
+        // 数据文件长度
+        private       long             mLength;
+        // 已确认读取位置
+        private       long             mReadOffset;
+        // 未确认记录数
+        private       int              mCount;
+        // 最近一次读取的记录数 ( 含校验失败记录 )
+        private       int              mReadCount;
+        // CRC32
+        private final CRC32            mCRC = new CRC32();
+
+        DiskSegment(final File directory) throws IOException {
+            if (!directory.exists() && !directory.mkdirs()) {
+                throw new IOException("Create directory failed " + directory);
+            }
+            mFile       = new File(directory, SEGMENT_NAME);
+            mOffsetFile = new File(directory, OFFSET_NAME);
+            open();
+        }
+
+        int getCount() {
+            return mCount;
+        }
+
+        int getReadCount() {
+            return mReadCount;
+        }
+
+        void append(final byte[] data) throws IOException {
+            ByteBuffer buffer = ByteBuffer.allocate(RECORD_HEADER + data.length);
+            buffer.putInt(data.length).putInt(crc(data)).put(data);
+            mSegment.seek(mLength);
+            mSegment.write(buffer.array());
+            mLength += buffer.capacity();
+            mCount++;
+        }
+
+        /**
+         * 读取记录 ( 不确认 )
+         * @param records 记录列表
+         * @param max     最多读取数量
+         * @return 读取后的位置 ( 用于确认 )
+         */
+        long read(
+                final List<byte[]> records,
+                final int max
+        ) {
+            long position = mReadOffset;
+            mReadCount = 0;
+            try {
+                long length = mLength;
+                while (mReadCount < max && mReadCount < mCount) {
+                    if (position + RECORD_HEADER > length) {
+                        throw new IOException("Truncated record at " + position);
+                    }
+                    mSegment.seek(position);
+                    int size = mSegment.readInt();
+                    int crc  = mSegment.readInt();
+                    if (size < 0 || position + RECORD_HEADER + size > length) {
+                        throw new IOException("Invalid record at " + position);
+                    }
+                    byte[] data = new byte[size];
+                    mSegment.readFully(data);
+                    position += RECORD_HEADER + size;
+                    mReadCount++;
+                    if (crc == crc(data)) records.add(data);
+                }
+            } catch (IOException e) {
+                LogPrintUtils.eTag(TAG, e, "read");
+                // 记录损坏, 丢弃剩余记录
+                mReadCount = mCount;
+                return mLength;
+            }
+            return position;
+        }
+
+        /**
+         * 确认已上报
+         * @param offset 确认位置
+         * @param count  确认记录数
+         */
+        void commit(
+                final long offset,
+                final int count
+        ) {
+            try {
+                mReadOffset = offset;
+                mCount      = Math.max(mCount - count, 0);
+                if (mCount == 0 || offset >= mLength) {
+                    mCount      = 0;
+                    mReadOffset = 0L;
+                    mLength     = 0L;
+                    mSegment.setLength(0L);
+                } else if (offset >= COMPACT_SIZE) {
+                    compact(Collections.<byte[]>emptyList());
+                }
+                mOffset.seek(0L);
+                mOffset.writeLong(mReadOffset);
+            } catch (IOException e) {
+                LogPrintUtils.eTag(TAG, e, "commit");
+            }
+        }
+
+        /**
+         * 在未读取记录前插入记录
+         * @param records 记录列表
+         * @throws IOException 写入失败
+         */
+        void prepend(final List<byte[]> records) throws IOException {
+            compact(records);
+            mOffset.seek(0L);
+            mOffset.writeLong(mReadOffset);
+        }
+
+        void close() {
+            try {
+                mSegment.close();
+                mOffset.close();
+            } catch (IOException e) {
+                LogPrintUtils.eTag(TAG, e, "close");
+            }
+        }
+
+        // =
+
+        /**
+         * 打开文件并校验记录
+         * @throws IOException 打开失败
+         */
+        private void open() throws IOException {
+            mSegment = new RandomAccessFile(mFile, "rw");
+            mOffset  = new RandomAccessFile(mOffsetFile, "rw");
+            long length = mSegment.length();
+            mReadOffset = mOffset.length() >= 8 ? mOffset.readLong() : 0L;
+            if (mReadOffset < 0L || mReadOffset > length) mReadOffset = 0L;
+            // 统计记录数, 截断不完整记录
+            long position = mReadOffset;
+            int  count    = 0;
+            while (position + RECORD_HEADER <= length) {
+                mSegment.seek(position);
+                int size = mSegment.readInt();
+                if (size < 0 || position + RECORD_HEADER + size > length) break;
+                position += RECORD_HEADER + size;
+                count++;
+            }
+            if (position < length) mSegment.setLength(position);
+            mLength = position;
+            mCount  = count;
+        }
+
+        /**
+         * 重写数据文件 ( 移除已确认记录, 插入新记录 )
+         * @param head 插入到最前的记录
+         * @throws IOException 写入失败
+         */
+        private void compact(final List<byte[]> head) throws IOException {
+            File temp = new File(mFile.getPath() + ".tmp");
+            try (RandomAccessFile out = new RandomAccessFile(temp, "rw")) {
+                out.setLength(0L);
+                for (byte[] data : head) {
+                    ByteBuffer buffer = ByteBuffer.allocate(RECORD_HEADER + data.length);
+                    buffer.putInt(data.length).putInt(crc(data)).put(data);
+                    out.write(buffer.array());
+                }
+                byte[] chunk    = new byte[8192];
+                long   position = mReadOffset;
+                long   length   = mLength;
+                while (position < length) {
+                    mSegment.seek(position);
+                    int read = mSegment.read(chunk, 0, (int) Math.min(chunk.length, length - position));
+                    if (read <= 0) break;
+                    out.write(chunk, 0, read);
+                    position += read;
+                }
+                out.getFD().sync();
+            }
+            // 先重置读取位置: 替换前崩溃只会重复上报, 不会错位读取
+            mOffset.seek(0L);
+            mOffset.writeLong(0L);
+            mOffset.getFD().sync();
+            mSegment.close();
+            if (!temp.renameTo(mFile)) {
+                mSegment = new RandomAccessFile(mFile, "rw");
+                temp.delete();
+                throw new IOException("Rename failed " + temp);
+            }
+            mSegment    = new RandomAccessFile(mFile, "rw");
+            mLength     = mSegment.length();
+            mReadOffset = 0L;
+            mCount     += head.size();
+        }
+
+        private int crc(final byte[] data) {
+            mCRC.reset();
+            mCRC.update(data, 0, data.length);
+            return (int) mCRC.getValue();
+        }
+    }
+}
@@ -0,0 +1,527 @@
+package dev.engine.compress;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import dev.engine.compress.listener.OnCompressListener;
+import dev.utils.LogPrintUtils;
+import dev.utils.common.thread.DevThreadPool;
+
+/**
+ * detail: 图片批量压缩调度
+ * @author Ttt
+ * <pre>
+ *     供 {@link ICompressEngine#compress(List, ICompressEngine.EngineConfig, OnCompressListener)} 实现使用
+ *     <p></p>
+ *     并行: 固定数量线程同时压缩
+ *     内存预算: 按解码内存字节数准入, 同时压缩的图片内存总和不超过预算
+ *     ( 单张超出预算时等待其他任务完成后单独压缩 )
+ *     顺序: 同一批次按内存从大到小调度, 大图先开始可缩短整批耗时, 大图等待时可先压缩放得下的小图
+ *     <p></p>
+ *     {@link OnCompressListener} 回调在压缩线程中串行触发, index 为原集合索引
+ *     取消后未开始的任务回调 onError ( {@link CancellationException} ), 进行中的任务会被中断
+ *     <p></p>
+ *     CompressScheduler scheduler = new CompressScheduler(threads, maxMemory);
+ *     Batch batch = scheduler.submit(lists, compressor, listener);
+ *     batch.cancel();
+ * </pre>
+ */
+public final class CompressScheduler {
+
+    // 日志 TAG
+    private static final String TAG = CompressScheduler.class.getSimpleName();
+
+    // 线程池
+    private final ExecutorService   mExecutor;
+    // 线程数
+    private final int               mThreads;
+    // 内存预算
+    private final long              mMaxMemory;
+    // 调度锁
+    private final Object            mLock    = new Object();
+    // 待调度任务 ( 按批次提交顺序 )
+    private final LinkedList<Batch> mBatches = new LinkedList<>();
+
+    // 进行中任务数
+    private int  mRunningCount;
+    // 进行中任务内存
+    private long mMemoryInUse;
+    // 进行中任务内存峰值
+    private long mPeakMemory;
+
+    /**
+     * 构造函数
+     * @param maxMemory 内存预算 ( 字节 )
+     */
+    public CompressScheduler(final long maxMemory) {
+        this(DevThreadPool.getCalcThreads(), maxMemory);
+    }
+
+    /**
+     * 构造函数
+     * @param threads   线程数
+     * @param maxMemory 内存预算 ( 字节 )
+     */
+    public CompressScheduler(
+            final int threads,
+            final long maxMemory
+    ) {
+        this.mThreads   = Math.max(threads, 1);
+        this.mMaxMemory = Math.max(maxMemory, 1L);
+        final AtomicInteger number = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                mThreads, mThreads, 30L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, TAG + "-" + number.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+        );
+        executor.allowCoreThreadTimeOut(true);
+        this.mExecutor = executor;
+    }
+
+    // ==========
+    // = 接口定义 =
+    // ==========
+
+    /**
+     * detail: 压缩实现接口
+     * @author Ttt
+     */
+    public interface Compressor {
+
+        /**
+         * 预估压缩所需内存 ( 如: 解码宽 * 高 * 每像素字节数 )
+         * <pre>
+         *     在提交线程调用, 需快速返回 ( 如只解码宽高 )
+         * </pre>
+         * @param data 待压缩图片
+         * @return 所需内存字节数
+         */
+        long estimateMemory(Object data);
+
+        /**
+         * 压缩图片
+         * <pre>
+         *     在压缩线程调用, 取消时线程会被中断
+         * </pre>
+         * @param data  待压缩图片
+         * @param index 原集合索引
+         * @return 压缩后文件
+         * @throws Exception 压缩异常
+         */
+        File compress(
+                Object data,
+                int index
+        ) throws Exception;
+    }
+
+    // =============
+    // = 对外公开方法 =
+    // =============
+
+    /**
+     * 提交批量压缩
+     * @param lists      待压缩图片集合
+     * @param compressor 压缩实现
+     * @param listener   压缩回调接口
+     * @return {@link Batch}
+     */
+    public Batch submit(
+            final List<?> lists,
+            final Compressor compressor,
+            final OnCompressListener listener
+    ) {
+        if (compressor == null) throw new NullPointerException("compressor == null");
+        List<?> datas = (lists != null) ? lists : Collections.emptyList();
+        Batch   batch = new Batch(datas.size(), compressor, listener);
+        for (int i = 0, len = datas.size(); i < len; i++) {
+            Object data = datas.get(i);
+            long   memory;
+            try {
+                memory = Math.max(compressor.estimateMemory(data), 0L);
+            } catch (Exception e) {
+                LogPrintUtils.eTag(TAG, e, "submit");
+                memory = 0L;
+            }
+            batch.mPending.add(new Item(data, i, memory));
+        }
+        // 内存从大到小 ( 相同则保持原顺序 )
+        Collections.sort(batch.mPending, (left, right) -> Long.compare(right.memory, left.memory));
+        if (batch.mPending.isEmpty()) {
+            batch.finish();
+            return batch;
+        }
+        synchronized (mLock) {
+            mBatches.add(batch);
+            dispatch();
+        }
+        if (mExecutor.isShutdown()) batch.cancel();
+        return batch;
+    }
+
+    /**
+     * 关闭调度 ( 取消全部任务 )
+     */
+    public void shutdown() {
+        List<Batch> batches;
+        synchronized (mLock) {
+            batches = new ArrayList<>(mBatches);
+        }
+        for (Batch batch : batches) {
+            batch.cancel();
+        }
+        mExecutor.shutdown();
+    }
+
+    /**
+     * 获取线程数
+     * @return 线程数
+     */
+    public int getThreads() {
+        return mThreads;
+    }
+
+    /**
+     * 获取内存预算
+     * @return 内存预算 ( 字节 )
+     */
+    public long getMaxMemory() {
+        return mMaxMemory;
+    }
+
+    /**
+     * 获取进行中任务内存
+     * @return 进行中任务内存 ( 字节 )
+     */
+    public long getMemoryInUse() {
+        synchronized (mLock) {
+            return mMemoryInUse;
+        }
+    }
+
+    /**
+     * 获取进行中任务内存峰值
+     * @return 进行中任务内存峰值 ( 字节 )
+     */
+    public long getPeakMemory() {
+        synchronized (mLock) {
+            return mPeakMemory;
+        }
+    }
+
+    /**
+     * 获取进行中任务数
+     * @return 进行中任务数
+     */
+    public int getRunningCount() {
+        synchronized (mLock) {
+            return mRunningCount;
+        }
+    }
+
+    /**
+     * 获取待调度任务数
+     * @return 待调度任务数
+     */
+    public int getPendingCount() {
+        synchronized (mLock) {
+            int count = 0;
+            for (Batch batch : mBatches) {
+                count += batch.mPending.size();
+            }
+            return count;
+        }
+    }
+
+    // ==========
+    // = 批次处理 =
+    // ==========
+
+    /**
+     * detail: 压缩批次
+     * @author Ttt
+     */
+    public final class Batch {
+
+        // 压缩总数
+        private final int                    mCount;
+        // 压缩实现
+        private final Compressor             mCompressor;
+        // 压缩回调接口
+        private final OnCompressListener     mListener;
+        // 待调度任务 ( 按内存从大到小 )
+        private final List<Item>             mPending      = new ArrayList<>();
+        // 进行中任务
+        private final LinkedHashSet<Item>    mRunning      = new LinkedHashSet<>();
+        // 压缩成功文件
+        private final TreeMap<Integer, File> mFiles        = new TreeMap<>();
+        // 回调锁 ( 保证回调串行 )
+        private final Object                 mCallbackLock = new Object();
+
+        // 已结束任务数
+        private          int     mFinishCount;
+        // 是否已取消
+        private volatile boolean mCancelled;
+        // 是否已完成
+        private volatile boolean mCompleted;
+
+        private Batch(
+                final int count,
+                final Compressor compressor,
+                final OnCompressListener listener
+        ) {
+            this.mCount      = count;
+            this.mCompressor = compressor;
+            this.mListener   = listener;
+        }
+
+        /**
+         * 取消压缩
+         */
+        public void cancel() {
+            List<Item> skipped;
+            List<Item> running;
+            synchronized (mLock) {
+                if (mCancelled || mCompleted) return;
+                mCancelled = true;
+                skipped    = new ArrayList<>(mPending);
+                running    = new ArrayList<>(mRunning);
+                mPending.clear();
+                mBatches.remove(this);
+            }
+            for (Item item : running) {
+                item.interrupt();
+            }
+            for (Item item : skipped) {
+                onFinish(item, null, new CancellationException("Compress cancelled"));
+            }
+        }
+
+        /**
+         * 是否已取消
+         * @return {@code true} yes, {@code false} no
+         */
+        public boolean isCancelled() {
+            return mCancelled;
+        }
+
+        /**
+         * 是否已完成 ( 全部任务结束并回调 onComplete )
+         * @return {@code true} yes, {@code false} no
+         */
+        public boolean isCompleted() {
+            return mCompleted;
+        }
+
+        /**
+         * 获取压缩总数
+         * @return 压缩总数
+         */
+        public int getCount() {
+            return mCount;
+        }
+
+        /**
+         * 获取已结束任务数
+         * @return 已结束任务数
+         */
+        public int getFinishCount() {
+            synchronized (mCallbackLock) {
+                return mFinishCount;
+            }
+        }
+
+        // =
+
+        /**
+         * 执行压缩 ( 压缩线程 )
+         * @param item 压缩任务
+         */
+        private void run(final Item item) {
+            File      file  = null;
+            Throwable error = null;
+            item.attach(Thread.currentThread());
+            try {
+                if (mCancelled) throw new CancellationException("Compress cancelled");
+                synchronized (mCallbackLock) {
+                    if (mListener != null) mListener.onStart(item.index, mCount);
+                }
+                file = mCompressor.compress(item.data, item.index);
+                if (file == null) error = new NullPointerException("Compress file is null");
+            } catch (Throwable e) {
+                error = mCancelled ? new CancellationException("Compress cancelled") : e;
+            } finally {
+                item.detach();
+                synchronized (mLock) {
+                    mRunning.remove(item);
+                    mRunningCount--;
+                    mMemoryInUse -= item.memory;
+                    if (mPending.isEmpty()) mBatches.remove(this);
+                    dispatch();
+                }
+            }
+            onFinish(item, file, error);
+        }
+
+        /**
+         * 任务结束回调
+         * @param item  压缩任务
+         * @param file  压缩后文件
+         * @param error 异常信息
+         */
+        private void onFinish(
+                final Item item,
+                final File file,
+                final Throwable error
+        ) {
+            synchronized (mCallbackLock) {
+                try {
+                    if (error == null) {
+                        mFiles.put(item.index, file);
+                        if (mListener != null) mListener.onSuccess(file, item.index, mCount);
+                    } else {
+                        if (mListener != null) mListener.onError(error, item.index, mCount);
+                    }
+                } catch (Exception e) {
+                    LogPrintUtils.eTag(TAG, e, "onFinish");
+                }
+                if (++mFinishCount >= mCount) finish();
+            }
+        }
+
+        /**
+         * 全部任务结束
+         */
+        private void finish() {
+            synchronized (mCallbackLock) {
+                if (mCompleted) return;
+                mCompleted = true;
+                if (mListener != null) {
+                    try {
+                        mListener.onComplete(
+                                new ArrayList<>(mFiles.values()),
+                                new LinkedHashMap<>(mFiles), mCount
+                        );
+                    } catch (Exception e) {
+                        LogPrintUtils.eTag(TAG, e, "finish");
+                    }
+                }
+            }
+        }
+    }
+
+    // ==========
+    // = 内部方法 =
+    // ==========
+
+    /**
+     * detail: 压缩任务
+     * @author Ttt
+     */
+    private static final class Item {
+
+        // 待压缩图片
+        final Object data;
+        // 原集合索引
+        final int    index;
+        // 所需内存
+        final long   memory;
+        // 执行线程
+        Thread       thread;
+
+        Item(
+                final Object data,
+                final int index,
+                final long memory
+        ) {
+            this.data   = data;
+            this.index  = index;
+            this.memory = memory;
+        }
+
+        synchronized void attach(final Thread thread) {
+            this.thread = thread;
+        }
+
+        synchronized void detach() {
+            this.thread = null;
+            // 清除取消时的中断标记, 避免影响线程池后续任务
+            Thread.interrupted();
+        }
+
+        synchronized void interrupt() {
+            if (thread != null) thread.interrupt();
+        }
+    }
+
+    /**
+     * 调度任务 ( 需持有 mLock )
+     * <pre>
+     *     按批次顺序取内存最大的任务, 放不下时只在同一批次中向后查找放得下的任务
+     *     避免后续批次持续插队导致大图饥饿
+     * </pre>
+     */
+    private void dispatch() {
+        if (mExecutor.isShutdown()) return;
+        Iterator<Batch> batches = mBatches.iterator();
+        while (mRunningCount < mThreads && batches.hasNext()) {
+            Batch          batch   = batches.next();
+            boolean        blocked = false;
+            Iterator<Item> items   = batch.mPending.iterator();
+            while (mRunningCount < mThreads && items.hasNext()) {
+                Item item = items.next();
+                // 没有进行中任务时允许超出预算的任务单独执行
+                if (mRunningCount > 0 && mMemoryInUse + item.memory > mMaxMemory) {
+                    blocked = true;
+                    continue;
+                }
+                items.remove();
+                if (!start(batch, item)) {
+                    batch.mPending.add(0, item);
+                    return;
+                }
+            }
+            if (blocked) break;
+            if (batch.mPending.isEmpty() && batch.mRunning.isEmpty()) batches.remove();
+        }
+    }
+
+    /**
+     * 开始任务 ( 需持有 mLock )
+     * @param batch 压缩批次
+     * @param item  压缩任务
+     * @return {@code true} success, {@code false} fail
+     */
+    private boolean start(
+            final Batch batch,
+            final Item item
+    ) {
+        try {
+            mExecutor.execute(() -> batch.run(item));
+        } catch (Exception e) {
+            LogPrintUtils.eTag(TAG, e, "start");
+            return false;
+        }
+        // 持有 mLock, 任务结束处理会等待至此
+        batch.mRunning.add(item);
+        mRunningCount++;
+        mMemoryInUse += item.memory;
+        mPeakMemory   = Math.max(mPeakMemory, mMemoryInUse);
+        return true;
+    }
+}
@@ -0,0 +1,207 @@
+package dev.base.multiselect;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * detail: DevMultiSelectList 测试
+ * @author Ttt
+ * <pre>
+ *     选中索引与 ArrayList 判断结果对比 ( equals 语义、加入后修改列表、加入后修改元素 )
+ * </pre>
+ */
+public class DevMultiSelectListTest {
+
+    // 超过索引启用数量
+    private static final int COUNT = 64;
+
+    @Test
+    public void equalValuesAreSelected() {
+        DevMultiSelectList<Item> select = new DevMultiSelectList<>();
+        for (int i = 0; i < COUNT; i++) {
+            select.select(new Item(i));
+        }
+        // 非同一对象, equals 相同即为选中
+        assertTrue(select.isSelect(new Item(5)));
+        assertFalse(select.isSelect(new Item(COUNT)));
+        assertEquals(5, select.getSelectValueToPosition(new Item(5)));
+
+        select.toggle(new Item(5));
+        assertFalse(select.isSelect(new Item(5)));
+        select.toggle(new Item(5));
+        assertTrue(select.isSelect(new Item(5)));
+    }
+
+    @Test
+    public void listMutationKeepsIndex() {
+        DevMultiSelectList<Item> select   = new DevMultiSelectList<>();
+        List<Item>               expected = new ArrayList<>();
+        for (int i = 0; i < COUNT; i++) {
+            select.select(new Item(i % 40));
+            expected.add(new Item(i % 40));
+        }
+        assertContains(expected, select);
+
+        // 通过 getSelects 返回的 List 直接修改
+        List<Item> selects = select.getSelects();
+        selects.set(3, new Item(100));
+        expected.set(3, new Item(100));
+        assertContains(expected, select);
+
+        ListIterator<Item> listIterator = selects.listIterator();
+        while (listIterator.hasNext()) {
+            if (listIterator.next().value % 7 == 0) listIterator.set(new Item(200));
+        }
+        for (int i = 0; i < expected.size(); i++) {
+            if (expected.get(i).value % 7 == 0) expected.set(i, new Item(200));
+        }
+        assertContains(expected, select);
+
+        Iterator<Item> iterator = selects.iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().value % 3 == 0) iterator.remove();
+        }
+        expected.removeIf(item -> item.value % 3 == 0);
+        assertContains(expected, select);
+
+        Collections.reverse(selects);
+        Collections.reverse(expected);
+        selects.subList(0, 5).clear();
+        expected.subList(0, 5).clear();
+        select.select(new Item(300), 2);
+        expected.add(2, new Item(300));
+        assertContains(expected, select);
+
+        select.unselect(0);
+        expected.remove(0);
+        select.unselectValue(new Item(300));
+        expected.remove(new Item(300));
+        assertContains(expected, select);
+    }
+
+    @Test
+    public void elementMutationAfterInsert() {
+        DevMultiSelectList<Item> select = new DevMultiSelectList<>();
+        List<Item>               items  = new ArrayList<>();
+        for (int i = 0; i < COUNT; i++) {
+            Item item = new Item(i);
+            items.add(item);
+            select.select(item);
+        }
+        assertTrue(select.isSelect(new Item(10)));
+
+        // 加入后修改 hashCode, 与 HashSet 一致无法通过新值判断
+        Item mutated = items.get(10);
+        mutated.value = 1000;
+        assertFalse(select.isSelect(new Item(10)));
+        assertFalse(select.isSelect(mutated));
+        // indexOf 为线性查找, 不受影响
+        assertEquals(10, select.getSelectValueToPosition(mutated));
+
+        // unselect 后重新 select 恢复一致
+        select.unselect(mutated);
+        assertFalse(select.isSelect(mutated));
+        select.select(mutated);
+        assertTrue(select.isSelect(mutated));
+        assertTrue(select.isSelect(new Item(1000)));
+        assertFalse(select.isSelect(new Item(10)));
+
+        // 通过 set 替换已修改元素同样恢复一致
+        Item other = items.get(20);
+        other.value = 2000;
+        select.getSelects().set(select.getSelectValueToPosition(other), new Item(20));
+        assertTrue(select.isSelect(new Item(20)));
+        assertFalse(select.isSelect(new Item(2000)));
+        for (Item item : select.getSelects()) {
+            assertTrue(select.isSelect(new Item(item.value)));
+        }
+    }
+
+    @Test
+    public void identityHashValuesIgnoreMutation() {
+        DevMultiSelectList<Plain> select = new DevMultiSelectList<>();
+        List<Plain>               values = new ArrayList<>();
+        for (int i = 0; i < COUNT; i++) {
+            Plain plain = new Plain();
+            values.add(plain);
+            select.select(plain);
+        }
+        // 未重写 equals、hashCode 时修改属性不影响判断
+        for (Plain plain : values) {
+            plain.value++;
+            assertTrue(select.isSelect(plain));
+        }
+        assertFalse(select.isSelect(new Plain()));
+    }
+
+    // ==========
+    // = 内部方法 =
+    // ==========
+
+    /**
+     * 校验选中判断与 ArrayList 一致
+     * @param expected 预期数据
+     * @param select   {@link DevMultiSelectList}
+     */
+    private static void assertContains(
+            final List<Item> expected,
+            final DevMultiSelectList<Item> select
+    ) {
+        assertEquals(expected, select.getSelects());
+        for (int i = -1; i <= 310; i++) {
+            Item item = new Item(i);
+            assertEquals(String.valueOf(i), expected.contains(item), select.isSelect(item));
+            assertEquals(String.valueOf(i), expected.indexOf(item), select.getSelectValueToPosition(item));
+        }
+    }
+
+    // ==========
+    // = 内部类 =
+    // ==========
+
+    /**
+     * detail: 按 value 判断相等的测试数据
+     * @author Ttt
+     */
+    private static final class Item {
+
+        int value;
+
+        Item(final int value) {
+            this.value = value;
+        }
+
+        @Override
+        public boolean equals(final Object object) {
+            return object instanceof Item && ((Item) object).value == value;
+        }
+
+        @Override
+        public int hashCode() {
+            return value;
+        }
+
+        @Override
+        public String toString() {
+            return String.valueOf(value);
+        }
+    }
+
+    /**
+     * detail: 未重写 equals、hashCode 的测试数据
+     * @author Ttt
+     */
+    private static final class Plain {
+
+        int value;
+    }
+}
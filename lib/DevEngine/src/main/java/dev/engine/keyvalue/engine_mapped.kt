@@ -0,0 +1,216 @@
+package dev.engine.keyvalue
+
+import dev.engine.json.DevJSONEngine
+import dev.engine.json.IJSONEngine
+import dev.utils.DevFinal
+import dev.utils.common.ConvertUtils
+import dev.utils.common.assist.kv.MappedKeyValueStore
+import dev.utils.common.cipher.Cipher
+import java.lang.reflect.Type
+
+/**
+ * detail: 内存映射 Key-Value Config
+ * @author Ttt
+ */
+open class MappedConfig(
+    cipher: Cipher?,
+    // 内存映射存储
+    val store: MappedKeyValueStore
+) : IKeyValueEngine.EngineConfig(cipher)
+
+/**
+ * detail: 内存映射 Key-Value Engine 实现
+ * @author Ttt
+ * 写入为 mmap 追加, 不会像 SharedPreferences 每次 apply 重写整个文件
+ * 可作为 [SPKeyValueEngineImpl] 的替代, 仅支持单进程访问
+ */
+open class MappedKeyValueEngineImpl(
+    private val mConfig: MappedConfig
+) : IKeyValueEngine<MappedConfig> {
+
+    // 内存映射存储
+    private val mStore = mConfig.store
+
+    // JSON Engine
+    private var mJSONEngine: IJSONEngine<out IJSONEngine.EngineConfig>? = DevJSONEngine.getEngine()
+
+    fun setJSONEngine(engine: IJSONEngine<out IJSONEngine.EngineConfig>) {
+        this.mJSONEngine = engine
+    }
+
+    // =============
+    // = 对外公开方法 =
+    // =============
+
+    override fun getConfig(): MappedConfig {
+        return mConfig
+    }
+
+    override fun remove(key: String?) {
+        mStore.remove(key)
+    }
+
+    override fun removeForKeys(keys: Array<out String>?) {
+        mStore.removeForKeys(keys)
+    }
+
+    override fun contains(key: String?): Boolean {
+        return mStore.contains(key)
+    }
+
+    override fun clear() {
+        mStore.clear()
+    }
+
+    // =======
+    // = 存储 =
+    // =======
+
+    override fun putInt(
+        key: String?,
+        value: Int
+    ): Boolean {
+        return mStore.putInt(key, value)
+    }
+
+    override fun putLong(
+        key: String?,
+        value: Long
+    ): Boolean {
+        return mStore.putLong(key, value)
+    }
+
+    override fun putFloat(
+        key: String?,
+        value: Float
+    ): Boolean {
+        return mStore.putFloat(key, value)
+    }
+
+    override fun putDouble(
+        key: String?,
+        value: Double
+    ): Boolean {
+        return mStore.putDouble(key, value)
+    }
+
+    override fun putBoolean(
+        key: String?,
+        value: Boolean
+    ): Boolean {
+        return mStore.putBoolean(key, value)
+    }
+
+    override fun putString(
+        key: String?,
+        value: String?
+    ): Boolean {
+        var content = value
+        if (value != null && mConfig.cipher != null) {
+            val bytes = mConfig.cipher.encrypt(ConvertUtils.toBytes(value))
+            content = ConvertUtils.newString(bytes)
+        }
+        return mStore.putString(key, content)
+    }
+
+    override fun <T : Any> putEntity(
+        key: String?,
+        value: T
+    ): Boolean {
+        return putString(key, mJSONEngine?.toJson(value))
+    }
+
+    // =======
+    // = 获取 =
+    // =======
+
+    override fun getInt(key: String?): Int {
+        return getInt(key, DevFinal.DEFAULT.INT)
+    }
+
+    override fun getLong(key: String?): Long {
+        return getLong(key, DevFinal.DEFAULT.LONG)
+    }
+
+    override fun getFloat(key: String?): Float {
+        return getFloat(key, DevFinal.DEFAULT.FLOAT)
+    }
+
+    override fun getDouble(key: String?): Double {
+        return getDouble(key, DevFinal.DEFAULT.DOUBLE)
+    }
+
+    override fun getBoolean(key: String?): Boolean {
+        return getBoolean(key, DevFinal.DEFAULT.BOOLEAN)
+    }
+
+    override fun getString(key: String?): String? {
+        return getString(key, null)
+    }
+
+    override fun <T : Any> getEntity(
+        key: String?,
+        typeOfT: Type?
+    ): T? {
+        return getEntity(key, typeOfT, null)
+    }
+
+    // =
+
+    override fun getInt(
+        key: String?,
+        defaultValue: Int
+    ): Int {
+        return mStore.getInt(key, defaultValue)
+    }
+
+    override fun getLong(
+        key: String?,
+        defaultValue: Long
+    ): Long {
+        return mStore.getLong(key, defaultValue)
+    }
+
+    override fun getFloat(
+        key: String?,
+        defaultValue: Float
+    ): Float {
+        return mStore.getFloat(key, defaultValue)
+    }
+
+    override fun getDouble(
+        key: String?,
+        defaultValue: Double
+    ): Double {
+        return mStore.getDouble(key, defaultValue)
+    }
+
+    override fun getBoolean(
+        key: String?,
+        defaultValue: Boolean
+    ): Boolean {
+        return mStore.getBoolean(key, defaultValue)
+    }
+
+    override fun getString(
+        key: String?,
+        defaultValue: String?
+    ): String? {
+        var content = mStore.getString(key, null) ?: return defaultValue
+        if (mConfig.cipher != null) {
+            val bytes = mConfig.cipher.decrypt(ConvertUtils.toBytes(content))
+            content = ConvertUtils.newString(bytes)
+        }
+        return content
+    }
+
+    override fun <T : Any> getEntity(
+        key: String?,
+        typeOfT: Type?,
+        defaultValue: T?
+    ): T? {
+        return mJSONEngine?.fromJson<T>(
+            getString(key, null), typeOfT
+        ) ?: return defaultValue
+    }
+}
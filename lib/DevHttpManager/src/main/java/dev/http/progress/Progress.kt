@@ -9,6 +9,7 @@ import dev.utils.common.assist.url.UrlExtras
 import kotlinx.parcelize.IgnoredOnParcel
 import kotlinx.parcelize.Parcelize
 import java.util.*
+import java.util.concurrent.atomic.AtomicBoolean
 
 /**
  * detail: 进度信息存储类
@@ -66,6 +67,30 @@ class Progress private constructor(
 
         // 回调刷新时间 ( 毫秒 )
         const val REFRESH_TIME = 300L
+
+        // 进度通知合并帧时间 ( 毫秒 )
+        const val FRAME_TIME = 16L
+
+        @Volatile
+        private var sFrameTime = FRAME_TIME
+
+        /**
+         * 获取进度通知合并帧时间
+         * @return 进度通知合并帧时间 ( 毫秒 )
+         */
+        fun getFrameTime(): Long {
+            return sFrameTime
+        }
+
+        /**
+         * 设置进度通知合并帧时间
+         * @param frameTime 进度通知合并帧时间 ( 毫秒 )
+         * 通过 Handler 通知时, 同一帧时间内的多次 [ING] 通知只会派发一次 ( 使用最新进度 )
+         * [START]、[ERROR]、[FINISH] 通知不会被合并, 传入小于等于 0 则不进行合并
+         */
+        fun setFrameTime(frameTime: Long) {
+            sFrameTime = frameTime
+        }
     }
 
     // ========================
@@ -86,6 +111,15 @@ class Progress private constructor(
         return uuidString
     }
 
+    // 是否存在待派发的 ING 通知
+    @IgnoredOnParcel
+    internal val dispatchPending = AtomicBoolean(false)
+
+    // 最近一次派发 ING 通知时间 ( 毫秒 )
+    @IgnoredOnParcel
+    @Volatile
+    internal var dispatchTime = 0L
+
     // =
 
     /**
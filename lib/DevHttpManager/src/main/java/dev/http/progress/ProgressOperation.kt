@@ -346,6 +346,19 @@ class ProgressOperation private constructor(
         return IMPL.addRequestListener(url, callback)
     }
 
+    /**
+     * 添加匹配规则上行监听事件
+     * @param pattern 匹配规则 ( 前缀 https://a.com/api/`*` 、通配符 https://`*`.a.com/`*`/upload )
+     * @param callback 上传、下载回调接口
+     * @return `true` success, `false` fail
+     */
+    override fun addRequestPatternListener(
+        pattern: String,
+        callback: Progress.Callback
+    ): Boolean {
+        return IMPL.addRequestPatternListener(pattern, callback)
+    }
+
     /**
      * 清空指定 url 上行所有监听事件
      * @param url 请求 url
@@ -407,6 +420,19 @@ class ProgressOperation private constructor(
         return IMPL.addResponseListener(url, callback)
     }
 
+    /**
+     * 添加匹配规则下行监听事件
+     * @param pattern 匹配规则 ( 前缀 https://a.com/api/`*` 、通配符 https://`*`.a.com/`*`/upload )
+     * @param callback 上传、下载回调接口
+     * @return `true` success, `false` fail
+     */
+    override fun addResponsePatternListener(
+        pattern: String,
+        callback: Progress.Callback
+    ): Boolean {
+        return IMPL.addResponsePatternListener(pattern, callback)
+    }
+
     /**
      * 清空指定 url 下行所有监听事件
      * @param url 请求 url
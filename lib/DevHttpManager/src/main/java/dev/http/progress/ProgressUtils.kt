@@ -77,13 +77,40 @@ private fun Progress.callback(
     // 准备通知状态与当前状态相同才触发回调, 防止多次触发当前状态回调
     if (notifyStatus == getStatus()) {
         callback?.let { itCallback ->
-            handler?.post {
+            if (handler == null) {
                 innerCallback(notifyStatus, itCallback)
-            } ?: innerCallback(notifyStatus, itCallback)
+            } else if (notifyStatus == Progress.ING && Progress.getFrameTime() > 0L) {
+                dispatchProgress(itCallback, handler)
+            } else {
+                handler.post {
+                    innerCallback(notifyStatus, itCallback)
+                }
+            }
         }
     }
 }
 
+/**
+ * 合并派发 ING 回调
+ * @param callback 上传、下载回调接口
+ * @param handler 回调 UI 线程通知
+ * 已存在待派发通知则直接合并, 派发时使用最新进度信息
+ * 距离上次派发不足帧时间则延迟至下一帧派发
+ */
+private fun Progress.dispatchProgress(
+    callback: Progress.Callback,
+    handler: Handler
+) {
+    if (!dispatchPending.compareAndSet(false, true)) return
+    val delay = dispatchTime + Progress.getFrameTime() - SystemClock.uptimeMillis()
+    handler.postDelayed({
+        dispatchPending.set(false)
+        dispatchTime = SystemClock.uptimeMillis()
+        // 已结束则不再通知进度 ( 防止 onEnd 后触发 onProgress )
+        if (isING()) innerCallback(Progress.ING, callback)
+    }, delay.coerceAtLeast(0L))
+}
+
 /**
  * 回调方法
  * @param status Progress 当前状态
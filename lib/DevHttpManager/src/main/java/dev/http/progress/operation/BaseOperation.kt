@@ -253,7 +253,21 @@ internal abstract class BaseOperation constructor(
         callback: Progress.Callback
     ): Boolean {
         if (mDeprecated) return false
-        return addListener(true, url, callback)
+        return addListener(true, url, callback, false)
+    }
+
+    /**
+     * 添加匹配规则上行监听事件
+     * @param pattern 匹配规则 ( 前缀 https://a.com/api/`*` 、通配符 https://`*`.a.com/`*`/upload )
+     * @param callback 上传、下载回调接口
+     * @return `true` success, `false` fail
+     */
+    override fun addRequestPatternListener(
+        pattern: String,
+        callback: Progress.Callback
+    ): Boolean {
+        if (mDeprecated) return false
+        return addListener(true, pattern, callback, true)
     }
 
     /**
@@ -317,7 +331,21 @@ internal abstract class BaseOperation constructor(
         callback: Progress.Callback
     ): Boolean {
         if (mDeprecated) return false
-        return addListener(false, url, callback)
+        return addListener(false, url, callback, false)
+    }
+
+    /**
+     * 添加匹配规则下行监听事件
+     * @param pattern 匹配规则 ( 前缀 https://a.com/api/`*` 、通配符 https://`*`.a.com/`*`/upload )
+     * @param callback 上传、下载回调接口
+     * @return `true` success, `false` fail
+     */
+    override fun addResponsePatternListener(
+        pattern: String,
+        callback: Progress.Callback
+    ): Boolean {
+        if (mDeprecated) return false
+        return addListener(false, pattern, callback, true)
     }
 
     /**
@@ -386,13 +414,15 @@ internal abstract class BaseOperation constructor(
      * @param isRequest `true` 上行, `false` 下行
      * @param url 请求 url
      * @param callback 上传、下载回调接口
+     * @param isPattern 是否匹配规则 ( 支持前缀、通配符匹配 )
      * @return `true` success, `false` fail
      * 会清空 url 字符串全部空格、Tab、换行符, 如有特殊符号需提前自行转义
      */
     internal abstract fun addListener(
         isRequest: Boolean,
         url: String,
-        callback: Progress.Callback
+        callback: Progress.Callback,
+        isPattern: Boolean
     ): Boolean
 
     /**
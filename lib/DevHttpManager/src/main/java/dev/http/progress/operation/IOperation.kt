@@ -170,6 +170,18 @@ interface IOperation {
         callback: Progress.Callback
     ): Boolean
 
+    /**
+     * 添加匹配规则上行监听事件
+     * @param pattern 匹配规则 ( 前缀 https://a.com/api/`*` 、通配符 https://`*`.a.com/`*`/upload )
+     * @param callback 上传、下载回调接口
+     * @return `true` success, `false` fail
+     * 仅匹配规则中的 * 匹配任意字符, [addRequestListener] 中的 * 按普通字符精确匹配
+     */
+    fun addRequestPatternListener(
+        pattern: String,
+        callback: Progress.Callback
+    ): Boolean
+
     /**
      * 清空指定 url 上行所有监听事件
      * @param url 请求 url
@@ -221,6 +233,18 @@ interface IOperation {
         callback: Progress.Callback
     ): Boolean
 
+    /**
+     * 添加匹配规则下行监听事件
+     * @param pattern 匹配规则 ( 前缀 https://a.com/api/`*` 、通配符 https://`*`.a.com/`*`/upload )
+     * @param callback 上传、下载回调接口
+     * @return `true` success, `false` fail
+     * 仅匹配规则中的 * 匹配任意字符, [addResponseListener] 中的 * 按普通字符精确匹配
+     */
+    fun addResponsePatternListener(
+        pattern: String,
+        callback: Progress.Callback
+    ): Boolean
+
     /**
      * 清空指定 url 下行所有监听事件
      * @param url 请求 url
@@ -2,8 +2,6 @@ package dev.http.progress.operation
 
 import dev.http.progress.Progress
 import dev.http.progress.ProgressOperation
-import dev.utils.common.StringUtils
-import java.util.*
 
 /**
  * detail: Progress Operation 实现方式二
@@ -20,10 +18,10 @@ internal class OperationPlanB constructor(
 ) : BaseOperation(key, globalDefault, type, ProgressOperation.PLAN_B) {
 
     // 上行监听回调 ( key = url, value = Progress.Callback )
-    private val mRequestListeners = WeakHashMap<String, MutableList<Progress.Callback?>>()
+    private val mRequestListeners = UrlListenerIndex(true)
 
     // 下行监听回调
-    private val mResponseListeners = WeakHashMap<String, MutableList<Progress.Callback?>>()
+    private val mResponseListeners = UrlListenerIndex(true)
 
     // =================
     // = BaseOperation =
@@ -47,27 +45,17 @@ internal class OperationPlanB constructor(
      * @param isRequest `true` 上行, `false` 下行
      * @param url 请求 url
      * @param callback 上传、下载回调接口
+     * @param isPattern 是否匹配规则 ( 支持前缀 https://a.com/api/`*` 、通配符 https://`*`.a.com/`*` 匹配 )
      * @return `true` success, `false` fail
      * 会清空 url 字符串全部空格、Tab、换行符, 如有特殊符号需提前自行转义
      */
     override fun addListener(
         isRequest: Boolean,
         url: String,
-        callback: Progress.Callback
+        callback: Progress.Callback,
+        isPattern: Boolean
     ): Boolean {
-        val newUrl = StringUtils.clearSpaceTabLine(url)
-        if (StringUtils.isNotEmpty(newUrl)) {
-            val map = listenerMap(isRequest)
-            map[newUrl]?.let { list ->
-                if (!list.contains(callback)) {
-                    list.add(callback)
-                }
-                return true
-            }
-            map[newUrl] = mutableListOf(callback)
-            return true
-        }
-        return false
+        return listenerIndex(isRequest).add(url, callback, isPattern)
     }
 
     /**
@@ -80,13 +68,7 @@ internal class OperationPlanB constructor(
         isRequest: Boolean,
         url: String
     ): Boolean {
-        val newUrl = StringUtils.clearSpaceTabLine(url)
-        if (StringUtils.isNotEmpty(newUrl)) {
-            val map = listenerMap(isRequest)
-            map.remove(newUrl)?.clear()
-            return true
-        }
-        return false
+        return listenerIndex(isRequest).clear(url)
     }
 
     /**
@@ -114,12 +96,7 @@ internal class OperationPlanB constructor(
         url: String,
         callback: Progress.Callback
     ): Boolean {
-        val newUrl = StringUtils.clearSpaceTabLine(url)
-        if (StringUtils.isNotEmpty(newUrl)) {
-            val map = listenerMap(isRequest)
-            return map[newUrl]?.remove(callback) ?: false
-        }
-        return false
+        return listenerIndex(isRequest).remove(url, callback)
     }
 
     /**
@@ -147,15 +124,9 @@ internal class OperationPlanB constructor(
         progress: Progress,
         recycleList: List<Progress.Callback>
     ): Boolean {
-        if (recycleList.isNotEmpty()) {
-            val url = getUrlByPrefix(progress)
-            val newUrl = StringUtils.clearSpaceTabLine(url)
-            if (StringUtils.isNotEmpty(newUrl)) {
-                val map = listenerMap(progress.isRequest())
-                return map[newUrl]?.removeAll(recycleList) ?: false
-            }
-        }
-        return false
+        return listenerIndex(progress.isRequest()).removeMatched(
+            getUrlByPrefix(progress), recycleList
+        )
     }
 
     /**
@@ -163,19 +134,13 @@ internal class OperationPlanB constructor(
      * @param isRequest `true` 上行, `false` 下行
      * @param url 请求 url
      * @return Array<Progress.Callback?>
+     * 返回顺序: 精确匹配 -> 前缀匹配 -> 通配符匹配
      */
     override fun getCallbackList(
         isRequest: Boolean,
         url: String
     ): Array<Progress.Callback?> {
-        val newUrl = StringUtils.clearSpaceTabLine(url)
-        if (StringUtils.isNotEmpty(newUrl)) {
-            val map = listenerMap(isRequest)
-            map[newUrl]?.let {
-                return it.toTypedArray()
-            }
-        }
-        return arrayOf()
+        return listenerIndex(isRequest).get(url)
     }
 
     /**
@@ -200,11 +165,11 @@ internal class OperationPlanB constructor(
     // ==========
 
     /**
-     * 获取 Callback Map
+     * 获取 Callback 索引
      * @param isRequest `true` 上行, `false` 下行
-     * @return WeakHashMap<String, MutableList<Progress.Callback?>>
+     * @return UrlListenerIndex
      */
-    private fun listenerMap(isRequest: Boolean): WeakHashMap<String, MutableList<Progress.Callback?>> {
+    private fun listenerIndex(isRequest: Boolean): UrlListenerIndex {
         return if (isRequest) mRequestListeners else mResponseListeners
     }
 
@@ -0,0 +1,309 @@
+package dev.http.progress.operation
+
+import dev.http.progress.Progress
+import dev.utils.common.StringUtils
+import java.util.*
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * detail: Url 监听事件索引
+ * @author Ttt
+ * 注册时清空 url 全部空格、Tab、换行符并预先解析匹配方式, 查找时不再处理
+ * 支持三种匹配方式 ( 同一监听事件匹配多个 url 只会返回一次 )
+ * 精确匹配: https://a.com/api/upload ( 默认, url 中的 * 按普通字符处理 )
+ * 前缀匹配: https://a.com/api/`*` ( 需注册为匹配规则, 仅末尾存在 * )
+ * 通配符匹配: https://`*`.a.com/api/`*`/upload ( 需注册为匹配规则, * 匹配任意字符 )
+ * 返回顺序: 精确匹配 -> 前缀匹配 ( 前缀越长越优先 ) -> 通配符匹配
+ * 精确 url 与匹配规则分开存储, 字符串相同也互不影响
+ */
+internal class UrlListenerIndex constructor(
+    // 是否使用 WeakHashMap 存储 ( url 何时释放无法进行控制 )
+    private val weakKeys: Boolean
+) {
+
+    companion object {
+
+        // 精确匹配
+        private const val EXACT = 0
+
+        // 前缀匹配
+        private const val PREFIX = 1
+
+        // 通配符匹配
+        private const val WILDCARD = 2
+
+        // 通配符
+        private const val ASTERISK = '*'
+
+        // 查找结果缓存上限
+        private const val MAX_LOOKUP_CACHE = 256
+
+        // 空数组
+        private val EMPTY = arrayOf<Progress.Callback?>()
+    }
+
+    /**
+     * detail: 单个 url 监听信息
+     * @author Ttt
+     * 不持有 url 字符串引用 ( 避免 WeakHashMap Key 无法释放 )
+     */
+    private class Node(
+        pattern: String,
+        // 是否匹配规则 ( false 则为精确匹配 )
+        isPattern: Boolean
+    ) {
+
+        // 匹配方式
+        val type: Int
+
+        // 匹配片段 ( 前缀匹配为前缀, 通配符匹配为 * 分隔片段 )
+        val segments: Array<String>
+
+        // 监听事件
+        val callbacks = mutableListOf<Progress.Callback?>()
+
+        init {
+            val index = if (isPattern) pattern.indexOf(ASTERISK) else -1
+            if (index < 0) {
+                type = EXACT
+                segments = arrayOf()
+            } else if (index == pattern.length - 1) {
+                type = PREFIX
+                segments = arrayOf(pattern.substring(0, index))
+            } else {
+                type = WILDCARD
+                segments = pattern.split(ASTERISK).toTypedArray()
+            }
+        }
+
+        /**
+         * 判断是否匹配 ( 前缀、通配符 )
+         * @param url 请求 url
+         * @return `true` yes, `false` no
+         */
+        fun matches(url: String): Boolean {
+            if (type == PREFIX) return url.startsWith(segments[0])
+            if (type != WILDCARD) return false
+            val first = segments[0]
+            val last = segments[segments.size - 1]
+            if (!url.startsWith(first)) return false
+            if (url.length - last.length < first.length) return false
+            if (!url.endsWith(last)) return false
+            // 中间片段依次查找
+            var position = first.length
+            val end = url.length - last.length
+            for (i in 1 until segments.size - 1) {
+                val segment = segments[i]
+                if (segment.isEmpty()) continue
+                val index = url.indexOf(segment, position)
+                if (index < 0 || index + segment.length > end) return false
+                position = index + segment.length
+            }
+            return true
+        }
+
+        /**
+         * 获取排序权重 ( 越小越优先 )
+         * @return 排序权重
+         */
+        fun order(): Int {
+            return when (type) {
+                EXACT -> Int.MIN_VALUE
+                PREFIX -> -segments[0].length
+                else -> Int.MAX_VALUE
+            }
+        }
+    }
+
+    // 精确匹配 url 监听信息
+    private val mNodes: MutableMap<String, Node> = newMap()
+
+    // 前缀、通配符匹配规则监听信息 ( 为空则只进行精确匹配 )
+    private val mPatterns: MutableMap<String, Node> = newMap()
+
+    // 查找结果缓存 ( 仅非 WeakHashMap 存储使用, 变更监听事件时清空 )
+    private val mLookupCache = ConcurrentHashMap<String, Array<Progress.Callback?>>()
+
+    // =============
+    // = 对外公开方法 =
+    // =============
+
+    /**
+     * 清空 url 全部空格、Tab、换行符
+     * @param url 请求 url
+     * @return 处理后的 url
+     */
+    fun normalize(url: String): String {
+        for (char in url) {
+            if (char == ' ' || char == '\t' || char == '\n' || char == '\r') {
+                return StringUtils.clearSpaceTabLine(url) ?: ""
+            }
+        }
+        return url
+    }
+
+    /**
+     * 添加指定 url 监听事件
+     * @param url 请求 url ( 匹配规则则支持前缀、通配符匹配 )
+     * @param callback 上传、下载回调接口
+     * @param isPattern 是否匹配规则 ( false 则 * 按普通字符精确匹配 )
+     * @return `true` success, `false` fail
+     * 匹配规则不包含 * 时等同于精确匹配
+     */
+    @Synchronized
+    fun add(
+        url: String,
+        callback: Progress.Callback,
+        isPattern: Boolean = false
+    ): Boolean {
+        val newUrl = normalize(url)
+        if (newUrl.isEmpty()) return false
+        val nodes = if (isPattern && newUrl.indexOf(ASTERISK) >= 0) mPatterns else mNodes
+        var node = nodes[newUrl]
+        if (node == null) {
+            node = Node(newUrl, nodes === mPatterns)
+            nodes[newUrl] = node
+        }
+        if (!node.callbacks.contains(callback)) {
+            node.callbacks.add(callback)
+        }
+        mLookupCache.clear()
+        return true
+    }
+
+    /**
+     * 清空指定 url 所有监听事件
+     * @param url 请求 url ( 与添加时一致, 同时清空相同字符串的精确 url 及匹配规则 )
+     * @return `true` success, `false` fail
+     */
+    @Synchronized
+    fun clear(url: String): Boolean {
+        val newUrl = normalize(url)
+        if (newUrl.isEmpty()) return false
+        mNodes.remove(newUrl)?.callbacks?.clear()
+        mPatterns.remove(newUrl)?.callbacks?.clear()
+        mLookupCache.clear()
+        return true
+    }
+
+    /**
+     * 移除指定 url 监听事件
+     * @param url 请求 url ( 与添加时一致, 同时移除相同字符串的精确 url 及匹配规则 )
+     * @param callback 上传、下载回调接口
+     * @return `true` success, `false` fail
+     */
+    @Synchronized
+    fun remove(
+        url: String,
+        callback: Progress.Callback
+    ): Boolean {
+        val newUrl = normalize(url)
+        if (newUrl.isEmpty()) return false
+        val exact = mNodes[newUrl]?.callbacks?.remove(callback) ?: false
+        val pattern = mPatterns[newUrl]?.callbacks?.remove(callback) ?: false
+        val result = exact || pattern
+        if (result) mLookupCache.clear()
+        return result
+    }
+
+    /**
+     * 从请求 url 匹配的全部监听中移除指定监听事件
+     * @param url 请求 url
+     * @param recycleList 待释放回调 List
+     * @return `true` success, `false` fail
+     */
+    @Synchronized
+    fun removeMatched(
+        url: String,
+        recycleList: List<Progress.Callback>
+    ): Boolean {
+        val newUrl = normalize(url)
+        if (newUrl.isEmpty() || recycleList.isEmpty()) return false
+        var result = false
+        matchNodes(newUrl).forEach { node ->
+            if (node.callbacks.removeAll(recycleList)) result = true
+        }
+        if (result) mLookupCache.clear()
+        return result
+    }
+
+    /**
+     * 根据请求 url 获取匹配的监听事件集合
+     * @param url 请求 url
+     * @return Array<Progress.Callback?>
+     */
+    fun get(url: String): Array<Progress.Callback?> {
+        val newUrl = normalize(url)
+        if (newUrl.isEmpty()) return EMPTY
+        if (!weakKeys) {
+            mLookupCache[newUrl]?.let { return it }
+        }
+        return lookup(newUrl)
+    }
+
+    /**
+     * 清空全部监听事件
+     */
+    @Synchronized
+    fun clear() {
+        mNodes.clear()
+        mPatterns.clear()
+        mLookupCache.clear()
+    }
+
+    // ==========
+    // = 内部方法 =
+    // ==========
+
+    /**
+     * 创建 url 监听信息存储 Map
+     * @return MutableMap<String, Node>
+     */
+    private fun newMap(): MutableMap<String, Node> {
+        return if (weakKeys) WeakHashMap() else LinkedHashMap()
+    }
+
+    /**
+     * 查找匹配的监听事件集合并缓存
+     * @param url 请求 url
+     * @return Array<Progress.Callback?>
+     */
+    @Synchronized
+    private fun lookup(url: String): Array<Progress.Callback?> {
+        val nodes = matchNodes(url)
+        val array = when (nodes.size) {
+            0 -> EMPTY
+            1 -> nodes[0].callbacks.toTypedArray()
+            else -> {
+                val callbacks = LinkedHashSet<Progress.Callback?>()
+                nodes.forEach { callbacks.addAll(it.callbacks) }
+                callbacks.toTypedArray()
+            }
+        }
+        if (!weakKeys) {
+            if (mLookupCache.size >= MAX_LOOKUP_CACHE) mLookupCache.clear()
+            mLookupCache[url] = array
+        }
+        return array
+    }
+
+    /**
+     * 获取匹配的 url 监听信息
+     * @param url 请求 url
+     * @return 按优先级排序的 url 监听信息
+     */
+    private fun matchNodes(url: String): List<Node> {
+        val exact = mNodes[url]
+        if (mPatterns.isEmpty()) {
+            return if (exact != null) listOf(exact) else emptyList()
+        }
+        val nodes = mutableListOf<Node>()
+        exact?.let { nodes.add(it) }
+        mPatterns.values.forEach { node ->
+            if (node.matches(url)) nodes.add(node)
+        }
+        // 稳定排序, 同类型保持原有顺序
+        nodes.sortBy { it.order() }
+        return nodes
+    }
+}
@@ -0,0 +1,130 @@
+package dev.http.progress.operation
+
+import dev.http.progress.Progress
+import org.junit.Assert.assertArrayEquals
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+/**
+ * detail: UrlListenerIndex 测试
+ * @author Ttt
+ * 精确 url 与匹配规则 ( 前缀、通配符 ) 查找、排序、去重及移除
+ */
+class UrlListenerIndexTest {
+
+    @Test
+    fun asteriskIsLiteralForExactUrl() {
+        for (weakKeys in booleanArrayOf(false, true)) {
+            val index = UrlListenerIndex(weakKeys)
+            val callback = TestCallback("exact")
+            assertTrue(index.add("https://a.com/api/*", callback))
+            // 未注册为匹配规则, * 按普通字符处理
+            assertEquals(0, index.get("https://a.com/api/upload").size)
+            assertArrayEquals(arrayOf(callback), index.get("https://a.com/api/*"))
+
+            val wildcard = TestCallback("wildcard")
+            index.add("https://*.a.com/*/upload", wildcard)
+            assertEquals(0, index.get("https://cdn.a.com/v1/upload").size)
+            assertArrayEquals(arrayOf(wildcard), index.get("https://*.a.com/*/upload"))
+        }
+    }
+
+    @Test
+    fun patternsMatchInOrder() {
+        for (weakKeys in booleanArrayOf(false, true)) {
+            val index = UrlListenerIndex(weakKeys)
+            val exact = TestCallback("exact")
+            val shortPrefix = TestCallback("short")
+            val longPrefix = TestCallback("long")
+            val wildcard = TestCallback("wildcard")
+            index.add("https://*.a.com/*/upload", wildcard, true)
+            index.add("https://cdn.a.com/*", shortPrefix, true)
+            index.add("https://cdn.a.com/v1/*", longPrefix, true)
+            index.add("https://cdn.a.com/v1/upload", exact)
+            // 同一监听事件匹配多个规则只返回一次
+            index.add("https://cdn.a.com/v1/*", shortPrefix, true)
+
+            assertArrayEquals(
+                arrayOf(exact, longPrefix, shortPrefix, wildcard),
+                index.get("https://cdn.a.com/v1/upload")
+            )
+            assertArrayEquals(arrayOf(shortPrefix), index.get("https://cdn.a.com/v2/download"))
+            assertArrayEquals(arrayOf(wildcard), index.get("https://img.a.com/x/y/upload"))
+            // 中间片段不能与首尾片段重叠
+            assertEquals(0, index.get("https://.a.com/upload").size)
+            assertEquals(0, index.get("https://b.com/v1/upload").size)
+            // 清空空格、Tab、换行符后查找
+            assertArrayEquals(arrayOf(shortPrefix), index.get(" https://cdn.a.com/v2\n"))
+        }
+    }
+
+    @Test
+    fun patternWithoutAsteriskIsExact() {
+        val index = UrlListenerIndex(false)
+        val callback = TestCallback("callback")
+        index.add("https://a.com/api", callback, true)
+        assertArrayEquals(arrayOf(callback), index.get("https://a.com/api"))
+        assertEquals(0, index.get("https://a.com/api/upload").size)
+    }
+
+    @Test
+    fun removeAndClear() {
+        val index = UrlListenerIndex(false)
+        val exact = TestCallback("exact")
+        val pattern = TestCallback("pattern")
+        index.add("https://a.com/*", exact)
+        index.add("https://a.com/*", pattern, true)
+        assertArrayEquals(arrayOf(pattern), index.get("https://a.com/upload"))
+        assertArrayEquals(arrayOf(exact, pattern), index.get("https://a.com/*"))
+
+        // 移除、清空同时处理相同字符串的精确 url 及匹配规则 ( 查找缓存同步清空 )
+        assertTrue(index.remove("https://a.com/*", pattern))
+        assertEquals(0, index.get("https://a.com/upload").size)
+        assertFalse(index.remove("https://a.com/*", pattern))
+        index.add("https://a.com/*", pattern, true)
+        assertTrue(index.clear("https://a.com/*"))
+        assertEquals(0, index.get("https://a.com/*").size)
+        assertEquals(0, index.get("https://a.com/upload").size)
+
+        // 从全部匹配的规则中移除
+        index.add("https://a.com/upload", exact)
+        index.add("https://a.com/*", exact, true)
+        index.add("https://a.com/*", pattern, true)
+        assertTrue(index.removeMatched("https://a.com/upload", listOf(exact)))
+        assertArrayEquals(arrayOf(pattern), index.get("https://a.com/upload"))
+        index.clear()
+        assertEquals(0, index.get("https://a.com/upload").size)
+    }
+
+    // ==========
+    // = 内部类 =
+    // ==========
+
+    /**
+     * detail: 测试回调
+     * @author Ttt
+     */
+    private class TestCallback(private val name: String) : Progress.Callback {
+
+        override fun onStart(progress: Progress) {
+        }
+
+        override fun onProgress(progress: Progress) {
+        }
+
+        override fun onError(progress: Progress) {
+        }
+
+        override fun onFinish(progress: Progress) {
+        }
+
+        override fun onEnd(progress: Progress) {
+        }
+
+        override fun toString(): String {
+            return name
+        }
+    }
+}
@@ -5,6 +5,7 @@ import java.math.BigInteger;
 
 import dev.utils.DevFinal;
 import dev.utils.JCLogUtils;
+import dev.utils.common.assist.FixedDecimal;
 
 /**
  * detail: 资金运算工具类
@@ -94,6 +95,28 @@ public final class BigDecimalUtils {
         return new Operation(value, config);
     }
 
+    /**
+     * 获取 FixedDecimal ( long 定点小数可变累加器, 溢出自动提升为 BigDecimal )
+     * @param value Value
+     * @return {@link FixedDecimal}
+     */
+    public static FixedDecimal fixed(final Object value) {
+        return FixedDecimal.of(value);
+    }
+
+    /**
+     * 获取 FixedDecimal ( long 定点小数可变累加器, 溢出自动提升为 BigDecimal )
+     * @param value  Value
+     * @param config {@link Config}
+     * @return {@link FixedDecimal}
+     */
+    public static FixedDecimal fixed(
+            final Object value,
+            final Config config
+    ) {
+        return FixedDecimal.of(value, config);
+    }
+
     // ========
     // = 包装类 =
     // ========
@@ -9,6 +9,7 @@ import java.util.LinkedList;
 import java.util.List;
 
 import dev.utils.JCLogUtils;
+import dev.utils.common.assist.ReflectCache;
 
 /**
  * detail: 变量字段工具类
@@ -90,7 +91,7 @@ public final class FieldUtils {
     ) {
         if (clazz != null && name != null) {
             try {
-                return clazz.getDeclaredField(name);
+                return ReflectCache.getDeclaredField(clazz, name);
             } catch (Exception e) {
                 JCLogUtils.eTag(TAG, e, "getDeclaredField");
             }
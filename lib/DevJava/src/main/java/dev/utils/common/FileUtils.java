@@ -18,10 +18,13 @@ import java.net.URL;
 import java.text.DecimalFormat;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
 
 import dev.utils.DevFinal;
 import dev.utils.JCLogUtils;
 import dev.utils.common.encrypt.MD5Utils;
+import dev.utils.common.file.FileLineReader;
 
 /**
  * detail: 文件操作工具类
@@ -818,32 +821,28 @@ public final class FileUtils {
      * @return 文件行数
      */
     public static int getFileLines(final File file) {
+        return getFileLines(file, null);
+    }
+
+    /**
+     * 获取文件行数
+     * <pre>
+     *     每次比较 8 字节, 传入 {@link Executor} 则按文件分片并行统计
+     *     文件不存在返回 0, 读取失败返回已读取部分的行数 ( 是否并行结果一致 )
+     * </pre>
+     * @param file     文件
+     * @param executor 并行处理 {@link Executor} ( 可为 null )
+     * @return 文件行数
+     */
+    public static int getFileLines(
+            final File file,
+            final Executor executor
+    ) {
         if (!isFileExists(file)) return 0;
-        int         lineCount = 1;
-        InputStream is        = null;
-        try {
-            is = new BufferedInputStream(new FileInputStream(file));
-            byte[] buffer = new byte[1024];
-            int    readChars;
-            if (DevFinal.SYMBOL.NEW_LINE.endsWith("\n")) {
-                while ((readChars = is.read(buffer, 0, 1024)) != -1) {
-                    for (int i = 0; i < readChars; ++i) {
-                        if (buffer[i] == '\n') ++lineCount;
-                    }
-                }
-            } else {
-                while ((readChars = is.read(buffer, 0, 1024)) != -1) {
-                    for (int i = 0; i < readChars; ++i) {
-                        if (buffer[i] == '\r') ++lineCount;
-                    }
-                }
-            }
-        } catch (Exception e) {
-            JCLogUtils.eTag(TAG, e, "getFileLines");
-        } finally {
-            CloseUtils.closeIOQuietly(is);
-        }
-        return lineCount;
+        byte       value   = DevFinal.SYMBOL.NEW_LINE.endsWith("\n") ? (byte) '\n' : (byte) '\r';
+        AtomicLong counted = new AtomicLong();
+        FileLineReader.count(file, value, executor, counted);
+        return (int) Math.min(Integer.MAX_VALUE, counted.get() + 1L);
     }
 
     // =
@@ -1,12 +1,23 @@
 package dev.utils.common;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
 
 import dev.utils.JCLogUtils;
+import dev.utils.common.thread.CalcThreadPool;
 
 /**
  * detail: 随机工具类
  * @author Ttt
+ * <pre>
+ *     未传入 Random 时使用 {@link ThreadLocalRandom} ( 各线程独立, 无竞争, 无需每次创建对象 )
+ *     批量生成 ( fillXxx ) 每个 64 位随机数生成两个 int 值或多个字符, 区间映射使用 Lemire 无偏乘法移位
+ *     @see <a href="https://arxiv.org/abs/1805.10941"/>
+ * </pre>
  */
 public final class RandomUtils {
 
@@ -55,7 +66,7 @@ public final class RandomUtils {
      * @return 随机 boolean 值
      */
     public static boolean nextBoolean(final Random random) {
-        return random != null ? random.nextBoolean() : new Random().nextBoolean();
+        return random != null ? random.nextBoolean() : ThreadLocalRandom.current().nextBoolean();
     }
 
     /**
@@ -82,7 +93,7 @@ public final class RandomUtils {
      * @return 随机 double 值
      */
     public static double nextDouble(final Random random) {
-        return random != null ? random.nextDouble() : new Random().nextDouble();
+        return random != null ? random.nextDouble() : ThreadLocalRandom.current().nextDouble();
     }
 
     /**
@@ -91,7 +102,7 @@ public final class RandomUtils {
      * @return 伪随机高斯分布值
      */
     public static double nextGaussian(final Random random) {
-        return random != null ? random.nextGaussian() : new Random().nextGaussian();
+        return random != null ? random.nextGaussian() : ThreadLocalRandom.current().nextGaussian();
     }
 
     /**
@@ -100,7 +111,7 @@ public final class RandomUtils {
      * @return 随机 float 值
      */
     public static float nextFloat(final Random random) {
-        return random != null ? random.nextFloat() : new Random().nextFloat();
+        return random != null ? random.nextFloat() : ThreadLocalRandom.current().nextFloat();
     }
 
     /**
@@ -109,7 +120,7 @@ public final class RandomUtils {
      * @return 随机 int 值
      */
     public static int nextInt(final Random random) {
-        return random != null ? random.nextInt() : new Random().nextInt();
+        return random != null ? random.nextInt() : ThreadLocalRandom.current().nextInt();
     }
 
     /**
@@ -123,7 +134,7 @@ public final class RandomUtils {
             final int number
     ) {
         if (number <= 0) return 0;
-        return random != null ? random.nextInt(number) : new Random().nextInt(number);
+        return random != null ? random.nextInt(number) : ThreadLocalRandom.current().nextInt(number);
     }
 
     /**
@@ -132,7 +143,7 @@ public final class RandomUtils {
      * @return 随机 long 值
      */
     public static long nextLong(final Random random) {
-        return random != null ? random.nextLong() : new Random().nextLong();
+        return random != null ? random.nextLong() : ThreadLocalRandom.current().nextLong();
     }
 
     // =
@@ -142,7 +153,7 @@ public final class RandomUtils {
      * @return 随机 boolean 值
      */
     public static boolean nextBoolean() {
-        return new Random().nextBoolean();
+        return ThreadLocalRandom.current().nextBoolean();
     }
 
     /**
@@ -153,7 +164,7 @@ public final class RandomUtils {
     public static byte[] nextBytes(final byte[] data) {
         if (data == null) return null;
         try {
-            new Random().nextBytes(data);
+            ThreadLocalRandom.current().nextBytes(data);
         } catch (Exception ignored) {
         }
         return data;
@@ -164,7 +175,7 @@ public final class RandomUtils {
      * @return 随机 double 值
      */
     public static double nextDouble() {
-        return new Random().nextDouble();
+        return ThreadLocalRandom.current().nextDouble();
     }
 
     /**
@@ -172,7 +183,7 @@ public final class RandomUtils {
      * @return 伪随机高斯分布值
      */
     public static double nextGaussian() {
-        return new Random().nextGaussian();
+        return ThreadLocalRandom.current().nextGaussian();
     }
 
     /**
@@ -180,7 +191,7 @@ public final class RandomUtils {
      * @return 随机 float 值
      */
     public static float nextFloat() {
-        return new Random().nextFloat();
+        return ThreadLocalRandom.current().nextFloat();
     }
 
     /**
@@ -188,7 +199,7 @@ public final class RandomUtils {
      * @return 随机 int 值
      */
     public static int nextInt() {
-        return new Random().nextInt();
+        return ThreadLocalRandom.current().nextInt();
     }
 
     /**
@@ -198,7 +209,7 @@ public final class RandomUtils {
      */
     public static int nextInt(final int number) {
         if (number <= 0) return 0;
-        return new Random().nextInt(number);
+        return ThreadLocalRandom.current().nextInt(number);
     }
 
     /**
@@ -206,7 +217,7 @@ public final class RandomUtils {
      * @return 随机 long 值
      */
     public static long nextLong() {
-        return new Random().nextLong();
+        return ThreadLocalRandom.current().nextLong();
     }
 
     // =
@@ -281,12 +292,9 @@ public final class RandomUtils {
             final int length
     ) {
         if (length > 0 && chars != null && chars.length != 0) {
-            StringBuilder builder = new StringBuilder(length);
-            Random        random  = new Random();
-            for (int i = 0; i < length; i++) {
-                builder.append(chars[random.nextInt(chars.length)]);
-            }
-            return builder.toString();
+            char[] buffer = new char[length];
+            fillChars(buffer, 0, length, chars, null);
+            return new String(buffer);
         }
         return null;
     }
@@ -303,7 +311,7 @@ public final class RandomUtils {
     ) {
         if (length > 0 && strings != null && strings.length != 0) {
             StringBuilder builder = new StringBuilder(length);
-            Random        random  = new Random();
+            Random        random  = ThreadLocalRandom.current();
             for (int i = 0; i < length; i++) {
                 builder.append(strings[random.nextInt(strings.length)]);
             }
@@ -336,7 +344,7 @@ public final class RandomUtils {
         } else if (min == max) {
             return min;
         }
-        return min + new Random().nextInt(max - min);
+        return min + ThreadLocalRandom.current().nextInt(max - min);
     }
 
     // =
@@ -453,7 +461,7 @@ public final class RandomUtils {
         } else if (origin == bound) {
             return origin;
         }
-        Random random = new Random();
+        Random random = ThreadLocalRandom.current();
         int    n      = bound - origin;
         if (n > 0) {
             return random.nextInt(n) + origin;
@@ -483,7 +491,7 @@ public final class RandomUtils {
         } else if (origin == bound) {
             return origin;
         }
-        Random random = new Random();
+        Random random = ThreadLocalRandom.current();
         long   r      = random.nextLong();
         long   n      = bound - origin, m = n - 1;
         if ((n & m) == 0L) // power of two
@@ -521,7 +529,7 @@ public final class RandomUtils {
         } else if (origin == bound) {
             return origin;
         }
-        double r = new Random().nextDouble();
+        double r = ThreadLocalRandom.current().nextDouble();
         r = r * (bound - origin) + origin;
         if (r >= bound) // correct for rounding
         {
@@ -547,13 +555,11 @@ public final class RandomUtils {
         } else if (streamSize < 0) {
             return null;
         }
-//        IntStream intStream = new Random().ints(streamSize, randomNumberOrigin, randomNumberBound);
+//        IntStream intStream = ThreadLocalRandom.current().ints(streamSize, randomNumberOrigin, randomNumberBound);
 //        return intStream.toArray();
         try {
             int[] ints = new int[streamSize];
-            for (int i = 0; i < streamSize; i++) {
-                ints[i] = nextIntRange(randomNumberOrigin, randomNumberBound);
-            }
+            fillInts(ints, 0, streamSize, randomNumberOrigin, randomNumberBound, null);
             return ints;
         } catch (Exception e) {
             JCLogUtils.eTag(TAG, e, "ints");
@@ -578,13 +584,11 @@ public final class RandomUtils {
         } else if (streamSize < 0) {
             return null;
         }
-//        LongStream longStream = new Random().longs(streamSize, randomNumberOrigin, randomNumberBound);
+//        LongStream longStream = ThreadLocalRandom.current().longs(streamSize, randomNumberOrigin, randomNumberBound);
 //        return longStream.toArray();
         try {
             long[] longs = new long[streamSize];
-            for (int i = 0; i < streamSize; i++) {
-                longs[i] = nextLongRange(randomNumberOrigin, randomNumberBound);
-            }
+            fillLongs(longs, 0, streamSize, randomNumberOrigin, randomNumberBound, null);
             return longs;
         } catch (Exception e) {
             JCLogUtils.eTag(TAG, e, "longs");
@@ -609,17 +613,528 @@ public final class RandomUtils {
         } else if (streamSize < 0) {
             return null;
         }
-//        DoubleStream doubleStream = new Random().doubles(streamSize, randomNumberOrigin, randomNumberBound);
+//        DoubleStream doubleStream = ThreadLocalRandom.current().doubles(streamSize, randomNumberOrigin, randomNumberBound);
 //        return doubleStream.toArray();
         try {
             double[] doubles = new double[streamSize];
-            for (int i = 0; i < streamSize; i++) {
-                doubles[i] = nextDoubleRange(randomNumberOrigin, randomNumberBound);
-            }
+            fillDoubles(doubles, 0, streamSize, randomNumberOrigin, randomNumberBound, null);
             return doubles;
         } catch (Exception e) {
             JCLogUtils.eTag(TAG, e, "doubles");
         }
         return null;
     }
+
+    // ==========
+    // = 批量生成 =
+    // ==========
+
+    /**
+     * 填充随机 int[] ( 介于 [origin, bound) 的区间 )
+     * @param out    待填充数组
+     * @param origin 开始值
+     * @param bound  结束值 ( 不包含 )
+     * @return {@code true} success, {@code false} fail
+     */
+    public static boolean fillInts(
+            final int[] out,
+            final int origin,
+            final int bound
+    ) {
+        if (out == null) return false;
+        return fillInts(out, 0, out.length, origin, bound, null);
+    }
+
+    /**
+     * 填充随机 int[] ( 介于 [origin, bound) 的区间 )
+     * <pre>
+     *     每个 64 位随机数的高、低 32 位分别生成一个值 ( Lemire 无偏乘法移位 )
+     * </pre>
+     * @param out    待填充数组
+     * @param offset 开始索引
+     * @param length 填充数量
+     * @param origin 开始值
+     * @param bound  结束值 ( 不包含 )
+     * @param random Random, 为 null 则使用 ThreadLocalRandom
+     * @return {@code true} success, {@code false} fail
+     */
+    public static boolean fillInts(
+            final int[] out,
+            final int offset,
+            final int length,
+            final int origin,
+            final int bound,
+            final Random random
+    ) {
+        if (out == null || !isValidRange(out.length, offset, length) || origin >= bound) return false;
+        Random rnd       = random != null ? random : ThreadLocalRandom.current();
+        long   n         = (long) bound - origin; // [1, 2^32 - 1]
+        long   threshold = (1L << 32) % n; // 低 32 位小于该值需拒绝 ( 否则存在偏差 )
+        int    i         = offset;
+        int    end       = offset + length;
+        while (i < end) {
+            long bits = rnd.nextLong();
+            long m    = (bits >>> 32) * n;
+            if ((m & MASK_32) >= threshold) {
+                out[i++] = (int) (origin + (m >>> 32));
+            }
+            if (i < end) {
+                m = (bits & MASK_32) * n;
+                if ((m & MASK_32) >= threshold) {
+                    out[i++] = (int) (origin + (m >>> 32));
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 填充随机 long[] ( 介于 [origin, bound) 的区间 )
+     * @param out    待填充数组
+     * @param origin 开始值
+     * @param bound  结束值 ( 不包含 )
+     * @return {@code true} success, {@code false} fail
+     */
+    public static boolean fillLongs(
+            final long[] out,
+            final long origin,
+            final long bound
+    ) {
+        if (out == null) return false;
+        return fillLongs(out, 0, out.length, origin, bound, null);
+    }
+
+    /**
+     * 填充随机 long[] ( 介于 [origin, bound) 的区间 )
+     * <pre>
+     *     区间长度不超过 Long.MAX_VALUE 时使用 Lemire 无偏乘法移位 ( 128 位乘法取高位 )
+     *     否则直接拒绝区间外的值 ( 接受率大于 50% )
+     * </pre>
+     * @param out    待填充数组
+     * @param offset 开始索引
+     * @param length 填充数量
+     * @param origin 开始值
+     * @param bound  结束值 ( 不包含 )
+     * @param random Random, 为 null 则使用 ThreadLocalRandom
+     * @return {@code true} success, {@code false} fail
+     */
+    public static boolean fillLongs(
+            final long[] out,
+            final int offset,
+            final int length,
+            final long origin,
+            final long bound,
+            final Random random
+    ) {
+        if (out == null || !isValidRange(out.length, offset, length) || origin >= bound) return false;
+        Random rnd = random != null ? random : ThreadLocalRandom.current();
+        long   n   = bound - origin;
+        int    end = offset + length;
+        if (n > 0L) {
+            // 2^64 % n, 低 64 位 ( 无符号 ) 小于该值需拒绝
+            long half      = (Long.MAX_VALUE % n + 1L) % n; // 2^63 % n
+            long threshold = half >= n - half ? half - (n - half) : half + half;
+            for (int i = offset; i < end; i++) {
+                long bits;
+                do {
+                    bits = rnd.nextLong();
+                } while ((bits * n ^ Long.MIN_VALUE) < (threshold ^ Long.MIN_VALUE));
+                out[i] = origin + multiplyHighUnsigned(bits, n);
+            }
+        } else {
+            for (int i = offset; i < end; i++) {
+                long bits;
+                do {
+                    bits = rnd.nextLong();
+                } while (bits < origin || bits >= bound);
+                out[i] = bits;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 填充随机 double[] ( 介于 [origin, bound) 的区间 )
+     * @param out    待填充数组
+     * @param origin 开始值
+     * @param bound  结束值 ( 不包含 )
+     * @return {@code true} success, {@code false} fail
+     */
+    public static boolean fillDoubles(
+            final double[] out,
+            final double origin,
+            final double bound
+    ) {
+        if (out == null) return false;
+        return fillDoubles(out, 0, out.length, origin, bound, null);
+    }
+
+    /**
+     * 填充随机 double[] ( 介于 [origin, bound) 的区间 )
+     * <pre>
+     *     每个 64 位随机数取高 53 位生成 [0, 1) 后映射
+     * </pre>
+     * @param out    待填充数组
+     * @param offset 开始索引
+     * @param length 填充数量
+     * @param origin 开始值
+     * @param bound  结束值 ( 不包含 )
+     * @param random Random, 为 null 则使用 ThreadLocalRandom
+     * @return {@code true} success, {@code false} fail
+     */
+    public static boolean fillDoubles(
+            final double[] out,
+            final int offset,
+            final int length,
+            final double origin,
+            final double bound,
+            final Random random
+    ) {
+        if (out == null || !isValidRange(out.length, offset, length) || !(origin < bound)) return false;
+        Random rnd   = random != null ? random : ThreadLocalRandom.current();
+        double range = bound - origin;
+        double max   = Math.nextAfter(bound, Double.NEGATIVE_INFINITY);
+        for (int i = offset, end = offset + length; i < end; i++) {
+            double r = (rnd.nextLong() >>> 11) * DOUBLE_UNIT * range + origin;
+            out[i] = r < bound ? r : max; // 修正舍入误差
+        }
+        return true;
+    }
+
+    /**
+     * 填充随机字符
+     * <pre>
+     *     数据源长度为 k 时, 每 32 位随机数无偏生成 [0, k^c) 的值 ( k^c <= 2^32 ) 并拆分为 c 个字符
+     *     如数字、字母 ( 62 个 ) 每个 64 位随机数可生成 10 个字符
+     * </pre>
+     * @param out    待填充数组
+     * @param offset 开始索引
+     * @param length 填充数量
+     * @param source 随机的数据源
+     * @param random Random, 为 null 则使用 ThreadLocalRandom
+     * @return {@code true} success, {@code false} fail
+     */
+    public static boolean fillChars(
+            final char[] out,
+            final int offset,
+            final int length,
+            final char[] source,
+            final Random random
+    ) {
+        if (out == null || source == null || source.length == 0
+                || !isValidRange(out.length, offset, length)) return false;
+        int k   = source.length;
+        int end = offset + length;
+        if (k == 1) {
+            for (int i = offset; i < end; i++) {
+                out[i] = source[0];
+            }
+            return true;
+        }
+        Random rnd = random != null ? random : ThreadLocalRandom.current();
+        // 每 32 位随机数生成字符数
+        int  per = 0;
+        long pow = 1L;
+        while (pow * k <= (1L << 32)) {
+            pow *= k;
+            per++;
+        }
+        long threshold = (1L << 32) % pow;
+        int  i         = offset;
+        while (i < end) {
+            long bits = rnd.nextLong();
+            for (int half = 0; half < 2 && i < end; half++) {
+                long m = (half == 0 ? bits >>> 32 : bits & MASK_32) * pow;
+                if ((m & MASK_32) < threshold) continue;
+                long value = m >>> 32; // [0, pow)
+                for (int j = 0; j < per && i < end; j++) {
+                    out[i++] = source[(int) (value % k)];
+                    value /= k;
+                }
+            }
+        }
+        return true;
+    }
+
+    // =
+
+    /**
+     * 并行填充随机 int[] ( 介于 [origin, bound) 的区间 )
+     * <pre>
+     *     数组长度大于 {@link #PARALLEL_THRESHOLD} 时使用共享线程池 {@link CalcThreadPool} 分块填充
+     *     失败 ( 含调用线程中断 ) 返回 false, 此时数组内容不完整
+     * </pre>
+     * @param out    待填充数组
+     * @param origin 开始值
+     * @param bound  结束值 ( 不包含 )
+     * @return {@code true} success, {@code false} fail
+     */
+    public static boolean parallelFillInts(
+            final int[] out,
+            final int origin,
+            final int bound
+    ) {
+        return parallelFill(out == null ? -1 : out.length, new RangeFiller() {
+            @Override
+            public boolean fill(
+                    int offset,
+                    int length
+            ) {
+                return fillInts(out, offset, length, origin, bound, null);
+            }
+        });
+    }
+
+    /**
+     * 并行填充随机 int[] ( 介于 [origin, bound) 的区间 )
+     * @param out      待填充数组
+     * @param origin   开始值
+     * @param bound    结束值 ( 不包含 )
+     * @param executor 线程池, 为 null 则在当前线程填充
+     * @return {@code true} success, {@code false} fail
+     */
+    public static boolean parallelFillInts(
+            final int[] out,
+            final int origin,
+            final int bound,
+            final ExecutorService executor
+    ) {
+        return parallelFill(out == null ? -1 : out.length, executor, new RangeFiller() {
+            @Override
+            public boolean fill(
+                    int offset,
+                    int length
+            ) {
+                return fillInts(out, offset, length, origin, bound, null);
+            }
+        });
+    }
+
+    /**
+     * 并行填充随机 long[] ( 介于 [origin, bound) 的区间 )
+     * @param out    待填充数组
+     * @param origin 开始值
+     * @param bound  结束值 ( 不包含 )
+     * @return {@code true} success, {@code false} fail
+     */
+    public static boolean parallelFillLongs(
+            final long[] out,
+            final long origin,
+            final long bound
+    ) {
+        return parallelFill(out == null ? -1 : out.length, new RangeFiller() {
+            @Override
+            public boolean fill(
+                    int offset,
+                    int length
+            ) {
+                return fillLongs(out, offset, length, origin, bound, null);
+            }
+        });
+    }
+
+    /**
+     * 并行填充随机 long[] ( 介于 [origin, bound) 的区间 )
+     * @param out      待填充数组
+     * @param origin   开始值
+     * @param bound    结束值 ( 不包含 )
+     * @param executor 线程池, 为 null 则在当前线程填充
+     * @return {@code true} success, {@code false} fail
+     */
+    public static boolean parallelFillLongs(
+            final long[] out,
+            final long origin,
+            final long bound,
+            final ExecutorService executor
+    ) {
+        return parallelFill(out == null ? -1 : out.length, executor, new RangeFiller() {
+            @Override
+            public boolean fill(
+                    int offset,
+                    int length
+            ) {
+                return fillLongs(out, offset, length, origin, bound, null);
+            }
+        });
+    }
+
+    /**
+     * 并行填充随机 double[] ( 介于 [origin, bound) 的区间 )
+     * @param out    待填充数组
+     * @param origin 开始值
+     * @param bound  结束值 ( 不包含 )
+     * @return {@code true} success, {@code false} fail
+     */
+    public static boolean parallelFillDoubles(
+            final double[] out,
+            final double origin,
+            final double bound
+    ) {
+        return parallelFill(out == null ? -1 : out.length, new RangeFiller() {
+            @Override
+            public boolean fill(
+                    int offset,
+                    int length
+            ) {
+                return fillDoubles(out, offset, length, origin, bound, null);
+            }
+        });
+    }
+
+    /**
+     * 并行填充随机 double[] ( 介于 [origin, bound) 的区间 )
+     * @param out      待填充数组
+     * @param origin   开始值
+     * @param bound    结束值 ( 不包含 )
+     * @param executor 线程池, 为 null 则在当前线程填充
+     * @return {@code true} success, {@code false} fail
+     */
+    public static boolean parallelFillDoubles(
+            final double[] out,
+            final double origin,
+            final double bound,
+            final ExecutorService executor
+    ) {
+        return parallelFill(out == null ? -1 : out.length, executor, new RangeFiller() {
+            @Override
+            public boolean fill(
+                    int offset,
+                    int length
+            ) {
+                return fillDoubles(out, offset, length, origin, bound, null);
+            }
+        });
+    }
+
+    // ==========
+    // = 内部方法 =
+    // ==========
+
+    // 低 32 位掩码
+    private static final long   MASK_32            = 0xFFFFFFFFL;
+    // 2^-53
+    private static final double DOUBLE_UNIT        = 0x1.0p-53;
+    // 并行填充数组长度阈值
+    private static final int    PARALLEL_THRESHOLD = 1 << 20;
+    // 并行填充最小分块长度
+    private static final int    PARALLEL_CHUNK     = 1 << 16;
+
+    /**
+     * detail: 区间填充接口
+     * @author Ttt
+     */
+    private interface RangeFiller {
+
+        /**
+         * 填充区间
+         * @param offset 开始索引
+         * @param length 填充数量
+         * @return {@code true} success, {@code false} fail
+         */
+        boolean fill(
+                int offset,
+                int length
+        );
+    }
+
+    /**
+     * 校验填充区间
+     * @param size   数组长度
+     * @param offset 开始索引
+     * @param length 填充数量
+     * @return {@code true} yes, {@code false} no
+     */
+    private static boolean isValidRange(
+            final int size,
+            final int offset,
+            final int length
+    ) {
+        return offset >= 0 && length >= 0 && offset <= size - length;
+    }
+
+    /**
+     * 并行填充 ( 使用共享线程池 )
+     * @param size   数组长度, 小于 0 表示数组为 null
+     * @param filler 区间填充接口
+     * @return {@code true} success, {@code false} fail
+     */
+    private static boolean parallelFill(
+            final int size,
+            final RangeFiller filler
+    ) {
+        if (size < 0) return false;
+        if (CalcThreadPool.getThreads() <= 1 || size < PARALLEL_THRESHOLD) {
+            return filler.fill(0, size);
+        }
+        return parallelFill(size, CalcThreadPool.getExecutor(), filler);
+    }
+
+    /**
+     * 并行填充
+     * <pre>
+     *     各分块在线程池线程 ( 及调用线程 ) 中使用各自的 ThreadLocalRandom
+     *     任一分块失败或调用线程中断时取消剩余分块, 等待执行中的分块结束后返回 ( 保留中断标记 )
+     * </pre>
+     * @param size     数组长度, 小于 0 表示数组为 null
+     * @param executor 线程池, 为 null 则在当前线程填充
+     * @param filler   区间填充接口
+     * @return {@code true} success, {@code false} fail
+     */
+    private static boolean parallelFill(
+            final int size,
+            final ExecutorService executor,
+            final RangeFiller filler
+    ) {
+        if (size < 0) return false;
+        if (executor == null || size < PARALLEL_CHUNK << 1) {
+            return filler.fill(0, size);
+        }
+        try {
+            int chunks = Math.min(CalcThreadPool.getThreads() << 2, size / PARALLEL_CHUNK);
+            int chunk  = (size + chunks - 1) / chunks;
+
+            List<Callable<Boolean>> tasks = new ArrayList<>();
+            for (int offset = 0; offset < size; offset += chunk) {
+                final int start  = offset;
+                final int length = Math.min(chunk, size - offset);
+                tasks.add(new Callable<Boolean>() {
+                    @Override
+                    public Boolean call() {
+                        return filler.fill(start, length);
+                    }
+                });
+            }
+            boolean result = true;
+            for (Boolean value : CalcThreadPool.invokeAll(executor, tasks)) {
+                result &= value;
+            }
+            return result;
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "parallelFill");
+        }
+        return false;
+    }
+
+    /**
+     * 无符号 64 位乘法取高 64 位
+     * <pre>
+     *     Math.multiplyHigh 需 JDK 9 以上
+     * </pre>
+     * @param x 乘数
+     * @param y 乘数
+     * @return 128 位乘积高 64 位
+     */
+    private static long multiplyHighUnsigned(
+            final long x,
+            final long y
+    ) {
+        long x0     = x & MASK_32;
+        long x1     = x >>> 32;
+        long y0     = y & MASK_32;
+        long y1     = y >>> 32;
+        long p01    = x0 * y1;
+        long p10    = x1 * y0;
+        long middle = ((x0 * y0) >>> 32) + (p01 & MASK_32) + (p10 & MASK_32);
+        return x1 * y1 + (p01 >>> 32) + (p10 >>> 32) + (middle >>> 32);
+    }
 }
\ No newline at end of file
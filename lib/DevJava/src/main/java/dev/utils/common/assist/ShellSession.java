@@ -0,0 +1,524 @@
+package dev.utils.common.assist;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import dev.utils.DevFinal;
+import dev.utils.JCLogUtils;
+import dev.utils.common.CloseUtils;
+
+/**
+ * detail: 常驻 Shell 会话
+ * @author Ttt
+ * <pre>
+ *     复用同一个 sh、su 进程执行命令, 避免每次执行都创建进程 ( su 还需重新授权 )
+ *     <p></p>
+ *     每组命令通过 ( eval '命令' ) </dev/null 在子 Shell 中执行
+ *     cd、exit、变量等不会影响后续命令, 命令也无法读取会话输入流
+ *     执行后向 stdout、stderr 分别输出唯一结束标记 ( stdout 附带状态码 ), 以此拆分每组命令输出
+ *     <p></p>
+ *     同一会话同时只执行一组请求, 并发执行使用 {@link Pool}
+ *     执行超时、进程退出后会话不可再使用 ( 自动销毁 )
+ * </pre>
+ */
+public final class ShellSession
+        implements Closeable {
+
+    // 日志 TAG
+    private static final String TAG = ShellSession.class.getSimpleName();
+
+    // 执行失败状态码 ( 会话不可用 )
+    public static final int RESULT_FAIL    = -1;
+    // 执行超时状态码
+    public static final int RESULT_TIMEOUT = -2;
+
+    // 流结束标记 ( 按引用比较 )
+    private static final String  END_OF_STREAM = new String("EOF");
+    // 输出编码
+    private static final Charset CHARSET       = Charset.forName(DevFinal.ENCODE.UTF_8);
+
+    // Shell 命令 ( sh、su 等 )
+    private final    String                mShell;
+    // 结束标记前缀
+    private final    String                mMarker;
+    // stdout 行数据
+    private final    BlockingQueue<String> mStdout = new LinkedBlockingQueue<>();
+    // stderr 行数据
+    private final    BlockingQueue<String> mStderr = new LinkedBlockingQueue<>();
+    // 命令序号
+    private          long                  mSequence;
+    // Shell 进程
+    private volatile Process               mProcess;
+    // 进程输入流
+    private volatile OutputStream          mOutputStream;
+    // 是否已关闭
+    private volatile boolean               mClosed;
+
+    /**
+     * 构造函数
+     * @param shell Shell 命令 ( sh、su、/bin/sh 等 )
+     */
+    public ShellSession(final String shell) {
+        this.mShell  = shell;
+        this.mMarker = "__DEV_SHELL_" + Long.toHexString(new Random().nextLong()) + "_";
+    }
+
+    // ==========
+    // = 对外方法 =
+    // ==========
+
+    /**
+     * 获取 Shell 命令
+     * @return Shell 命令
+     */
+    public String getShell() {
+        return mShell;
+    }
+
+    /**
+     * 判断会话是否可用 ( 未启动或进程运行中 )
+     * @return {@code true} yes, {@code false} no
+     */
+    public boolean isAlive() {
+        if (mClosed) return false;
+        Process process = mProcess;
+        if (process == null) return true;
+        try {
+            process.exitValue();
+            return false;
+        } catch (IllegalThreadStateException e) {
+            return true;
+        }
+    }
+
+    /**
+     * 执行 shell 命令 ( 多条命令合并执行, 状态码为最后一条命令状态码 )
+     * @param commands        多条待执行命令
+     * @param isNeedResultMsg 是否需要结果消息
+     * @param timeout         超时时间 ( 毫秒 ), 小于等于 0 则不超时
+     * @return {@link Result}
+     */
+    public Result exec(
+            final String[] commands,
+            final boolean isNeedResultMsg,
+            final long timeout
+    ) {
+        StringBuilder builder = new StringBuilder();
+        if (commands != null) {
+            for (String command : commands) {
+                if (command == null) continue;
+                if (builder.length() != 0) builder.append('\n');
+                builder.append(command);
+            }
+        }
+        if (builder.length() == 0) {
+            return new Result(RESULT_FAIL, null, null);
+        }
+        return run(new String[]{builder.toString()}, isNeedResultMsg, timeout).get(0);
+    }
+
+    /**
+     * 批量执行 shell 命令 ( 每条命令单独返回结果 )
+     * <pre>
+     *     全部命令一次性写入, 按顺序读取结果
+     *     某条命令超时或会话退出后, 剩余命令返回 {@link #RESULT_FAIL}
+     * </pre>
+     * @param commands        多条待执行命令
+     * @param isNeedResultMsg 是否需要结果消息
+     * @param timeout         全部命令超时时间 ( 毫秒 ), 小于等于 0 则不超时
+     * @return 每条命令执行结果
+     */
+    public List<Result> execBatch(
+            final List<String> commands,
+            final boolean isNeedResultMsg,
+            final long timeout
+    ) {
+        if (commands == null || commands.isEmpty()) return new ArrayList<>();
+        String[] groups = new String[commands.size()];
+        for (int i = 0; i < groups.length; i++) {
+            String command = commands.get(i);
+            groups[i] = (command != null) ? command : "";
+        }
+        return run(groups, isNeedResultMsg, timeout);
+    }
+
+    /**
+     * 关闭会话 ( 销毁进程 )
+     * <pre>
+     *     可在其他线程调用, 用于中断正在执行的命令
+     * </pre>
+     */
+    @Override
+    public void close() {
+        mClosed = true;
+        Process process = mProcess;
+        CloseUtils.closeIOQuietly(mOutputStream);
+        if (process != null) {
+            process.destroy();
+        }
+    }
+
+    // ==========
+    // = 内部方法 =
+    // ==========
+
+    /**
+     * 执行多组命令
+     * @param groups          多组命令 ( 每组在单独子 Shell 中执行 )
+     * @param isNeedResultMsg 是否需要结果消息
+     * @param timeout         超时时间 ( 毫秒 )
+     * @return 每组命令执行结果
+     */
+    private synchronized List<Result> run(
+            final String[] groups,
+            final boolean isNeedResultMsg,
+            final long timeout
+    ) {
+        List<Result> results  = new ArrayList<>(groups.length);
+        long         deadline = (timeout > 0L) ? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout) : 0L;
+        String[]     markers  = new String[groups.length];
+        if (!start()) {
+            fill(results, groups.length);
+            return results;
+        }
+        try {
+            StringBuilder script = new StringBuilder();
+            for (int i = 0; i < groups.length; i++) {
+                markers[i] = mMarker + (++mSequence) + "__";
+                script.append("( eval ").append(quote(groups[i])).append(" ) </dev/null\n")
+                        .append("printf '%s %d\\n' ").append(markers[i]).append(" \"$?\"\n")
+                        .append("printf '%s\\n' ").append(markers[i]).append(" >&2\n");
+            }
+            mOutputStream.write(script.toString().getBytes(CHARSET));
+            mOutputStream.flush();
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "run");
+            close();
+            fill(results, groups.length);
+            return results;
+        }
+        for (String marker : markers) {
+            StringBuilder successMsg = isNeedResultMsg ? new StringBuilder() : null;
+            StringBuilder errorMsg   = isNeedResultMsg ? new StringBuilder() : null;
+            int           result     = read(mStdout, marker, successMsg, deadline);
+            if (result >= 0 && read(mStderr, marker, errorMsg, deadline) == RESULT_TIMEOUT) {
+                result = RESULT_TIMEOUT;
+            }
+            results.add(new Result(
+                    result,
+                    isNeedResultMsg ? successMsg.toString() : null,
+                    isNeedResultMsg ? errorMsg.toString() : null
+            ));
+            if (result < 0) {
+                // 超时命令仍在执行或进程已退出, 会话不可再使用
+                close();
+                fill(results, groups.length);
+                break;
+            }
+        }
+        return results;
+    }
+
+    /**
+     * 启动进程
+     * @return {@code true} success, {@code false} fail
+     */
+    private boolean start() {
+        if (mClosed) return false;
+        if (mProcess != null) return true;
+        try {
+            Process process = Runtime.getRuntime().exec(mShell);
+            mOutputStream = process.getOutputStream();
+            mProcess      = process;
+            pump(process.getInputStream(), mStdout, "stdout");
+            pump(process.getErrorStream(), mStderr, "stderr");
+            // 启动期间被关闭
+            if (mClosed) close();
+            return !mClosed;
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "start");
+            close();
+        }
+        return false;
+    }
+
+    /**
+     * 持续读取输出流数据 ( 避免 stdout、stderr 缓冲区写满互相阻塞 )
+     * @param stream 输出流
+     * @param queue  行数据
+     * @param name   线程名后缀
+     */
+    private static void pump(
+            final InputStream stream,
+            final BlockingQueue<String> queue,
+            final String name
+    ) {
+        Thread thread = new Thread(() -> {
+            BufferedReader br = new BufferedReader(new InputStreamReader(stream, CHARSET));
+            try {
+                String line;
+                while ((line = br.readLine()) != null) {
+                    queue.offer(line);
+                }
+            } catch (Exception ignored) {
+                // 进程销毁时流被关闭
+            } finally {
+                CloseUtils.closeIOQuietly(br);
+                queue.offer(END_OF_STREAM);
+            }
+        }, TAG + "-" + name);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * 读取行数据直到结束标记
+     * <pre>
+     *     命令输出末尾无换行时, 结束标记与最后一行在同一行
+     *     拼接方式与 ShellUtils 一致 ( 行之间使用换行符, 末尾无换行符 )
+     * </pre>
+     * @param queue    行数据
+     * @param marker   结束标记
+     * @param builder  拼接数据 ( 为 null 则丢弃 )
+     * @param deadline 截止时间 ( nanoTime ), 0 则不超时
+     * @return stdout 状态码 ( stderr 为 0 ), 超时返回 {@link #RESULT_TIMEOUT}、流结束返回 {@link #RESULT_FAIL}
+     */
+    private static int read(
+            final BlockingQueue<String> queue,
+            final String marker,
+            final StringBuilder builder,
+            final long deadline
+    ) {
+        boolean first = true;
+        try {
+            while (true) {
+                String line;
+                if (deadline == 0L) {
+                    line = queue.take();
+                } else {
+                    line = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (line == null) return RESULT_TIMEOUT;
+                }
+                if (line == END_OF_STREAM) {
+                    // 保留结束标记, 供后续读取判断
+                    queue.offer(END_OF_STREAM);
+                    return RESULT_FAIL;
+                }
+                int index = line.indexOf(marker);
+                int end   = (index >= 0) ? index : line.length();
+                // 结束标记所在行仅在标记前存在内容时拼接
+                if (builder != null && index != 0) {
+                    if (!first) builder.append('\n');
+                    builder.append(line, 0, end);
+                }
+                if (index >= 0) {
+                    String code = line.substring(index + marker.length()).trim();
+                    return (code.length() != 0) ? Integer.parseInt(code) : 0;
+                }
+                first = false;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return RESULT_TIMEOUT;
+        } catch (NumberFormatException e) {
+            return RESULT_FAIL;
+        }
+    }
+
+    /**
+     * 填充失败结果
+     * @param results 执行结果
+     * @param count   结果总数
+     */
+    private static void fill(
+            final List<Result> results,
+            final int count
+    ) {
+        while (results.size() < count) {
+            results.add(new Result(RESULT_FAIL, null, null));
+        }
+    }
+
+    /**
+     * 转为 Shell 单引号字符串
+     * @param command 命令
+     * @return 单引号字符串
+     */
+    private static String quote(final String command) {
+        return "'" + command.replace("'", "'\\''") + "'";
+    }
+
+    // ==========
+    // = 会话池 =
+    // ==========
+
+    /**
+     * detail: Shell 会话池
+     * @author Ttt
+     * <pre>
+     *     获取空闲会话执行命令, 执行后归还, 最多保留 maxIdle 个空闲会话
+     *     不可用的会话直接销毁
+     * </pre>
+     */
+    public static final class Pool
+            implements Closeable {
+
+        // Shell 命令
+        private final String                   mShell;
+        // 最大空闲会话数量
+        private final int                      mMaxIdle;
+        // 空闲会话
+        private final ArrayDeque<ShellSession> mIdles = new ArrayDeque<>();
+
+        /**
+         * 构造函数
+         * @param shell   Shell 命令 ( sh、su、/bin/sh 等 )
+         * @param maxIdle 最大空闲会话数量
+         */
+        public Pool(
+                final String shell,
+                final int maxIdle
+        ) {
+            this.mShell   = shell;
+            this.mMaxIdle = Math.max(1, maxIdle);
+        }
+
+        /**
+         * 获取会话 ( 使用后需调用 {@link #release(ShellSession)} 归还 )
+         * @return {@link ShellSession}
+         */
+        public ShellSession acquire() {
+            synchronized (mIdles) {
+                ShellSession session;
+                while ((session = mIdles.pollFirst()) != null) {
+                    if (session.isAlive()) return session;
+                    session.close();
+                }
+            }
+            return new ShellSession(mShell);
+        }
+
+        /**
+         * 归还会话
+         * @param session {@link ShellSession}
+         */
+        public void release(final ShellSession session) {
+            if (session == null) return;
+            if (session.isAlive()) {
+                synchronized (mIdles) {
+                    if (mIdles.size() < mMaxIdle) {
+                        mIdles.offerFirst(session);
+                        return;
+                    }
+                }
+            }
+            session.close();
+        }
+
+        /**
+         * 执行 shell 命令
+         * @param commands        多条待执行命令
+         * @param isNeedResultMsg 是否需要结果消息
+         * @param timeout         超时时间 ( 毫秒 ), 小于等于 0 则不超时
+         * @return {@link Result}
+         */
+        public Result exec(
+                final String[] commands,
+                final boolean isNeedResultMsg,
+                final long timeout
+        ) {
+            ShellSession session = acquire();
+            try {
+                return session.exec(commands, isNeedResultMsg, timeout);
+            } finally {
+                release(session);
+            }
+        }
+
+        /**
+         * 批量执行 shell 命令 ( 每条命令单独返回结果 )
+         * @param commands        多条待执行命令
+         * @param isNeedResultMsg 是否需要结果消息
+         * @param timeout         全部命令超时时间 ( 毫秒 ), 小于等于 0 则不超时
+         * @return 每条命令执行结果
+         */
+        public List<Result> execBatch(
+                final List<String> commands,
+                final boolean isNeedResultMsg,
+                final long timeout
+        ) {
+            ShellSession session = acquire();
+            try {
+                return session.execBatch(commands, isNeedResultMsg, timeout);
+            } finally {
+                release(session);
+            }
+        }
+
+        /**
+         * 关闭全部空闲会话
+         */
+        @Override
+        public void close() {
+            synchronized (mIdles) {
+                ShellSession session;
+                while ((session = mIdles.pollFirst()) != null) {
+                    session.close();
+                }
+            }
+        }
+    }
+
+    // ============
+    // = 对外实体类 =
+    // ============
+
+    /**
+     * detail: 命令执行结果
+     * @author Ttt
+     */
+    public static final class Result {
+
+        // 执行结果状态码
+        public final int    result;
+        // 成功信息
+        public final String successMsg;
+        // 错误信息
+        public final String errorMsg;
+
+        /**
+         * 构造函数
+         * @param result     执行结果状态码
+         * @param successMsg 成功信息
+         * @param errorMsg   错误信息
+         */
+        public Result(
+                final int result,
+                final String successMsg,
+                final String errorMsg
+        ) {
+            this.result     = result;
+            this.successMsg = successMsg;
+            this.errorMsg   = errorMsg;
+        }
+
+        /**
+         * 判断是否执行超时
+         * @return {@code true} yes, {@code false} no
+         */
+        public boolean isTimeout() {
+            return result == RESULT_TIMEOUT;
+        }
+    }
+}
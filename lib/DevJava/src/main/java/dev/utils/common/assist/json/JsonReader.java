@@ -0,0 +1,808 @@
+package dev.utils.common.assist.json;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+/**
+ * detail: JSON 流式读取 ( 拉取式解析 )
+ * @author Ttt
+ * <pre>
+ *     严格遵循 RFC 8259, 只解析单个顶层值, 无需构建完整 JSON 树
+ *     内部固定大小字符缓存, 不含转义字符的字符串直接从缓存创建
+ *     <p></p>
+ *     JsonReader reader = new JsonReader(new StringReader(json));
+ *     reader.beginObject();
+ *     while (reader.hasNext()) {
+ *         String name = reader.nextName();
+ *         if ("id".equals(name)) {
+ *             long id = reader.nextLong();
+ *         } else {
+ *             reader.skipValue();
+ *         }
+ *     }
+ *     reader.endObject();
+ * </pre>
+ */
+public final class JsonReader
+        implements Closeable {
+
+    // ==========
+    // = Token =
+    // ==========
+
+    // {
+    public static final int BEGIN_OBJECT = 1;
+    // }
+    public static final int END_OBJECT   = 2;
+    // [
+    public static final int BEGIN_ARRAY  = 3;
+    // ]
+    public static final int END_ARRAY    = 4;
+    // 键名
+    public static final int NAME         = 5;
+    // 字符串
+    public static final int STRING       = 6;
+    // 数值
+    public static final int NUMBER       = 7;
+    // true / false
+    public static final int BOOLEAN      = 8;
+    // null
+    public static final int NULL         = 9;
+    // 读取结束
+    public static final int END_DOCUMENT = 10;
+
+    // =============
+    // = 内部解析状态 =
+    // =============
+
+    // 未预读
+    private static final int PEEKED_NONE  = 0;
+    // 预读为 true
+    private static final int PEEKED_TRUE  = 11;
+    // 预读为 false
+    private static final int PEEKED_FALSE = 12;
+
+    // 空数组
+    private static final int SCOPE_EMPTY_ARRAY       = 1;
+    // 非空数组
+    private static final int SCOPE_NONEMPTY_ARRAY    = 2;
+    // 空对象
+    private static final int SCOPE_EMPTY_OBJECT      = 3;
+    // 已读取键名待读取值
+    private static final int SCOPE_DANGLING_NAME     = 4;
+    // 非空对象
+    private static final int SCOPE_NONEMPTY_OBJECT   = 5;
+    // 空文档
+    private static final int SCOPE_EMPTY_DOCUMENT    = 6;
+    // 已读取顶层值
+    private static final int SCOPE_NONEMPTY_DOCUMENT = 7;
+
+    // 字符缓存大小
+    private static final int BUFFER_SIZE = 8192;
+
+    // 数据源
+    private final Reader        mIn;
+    // 字符缓存
+    private final char[]        mBuffer  = new char[BUFFER_SIZE];
+    // 字符串拼接 ( 复用 )
+    private final StringBuilder mBuilder = new StringBuilder();
+    // 当前读取位置
+    private       int           mPos;
+    // 缓存有效长度
+    private       int           mLimit;
+    // 缓存起始位置在数据源中的偏移量
+    private       long          mOffset;
+    // 预读 Token
+    private       int           mPeeked  = PEEKED_NONE;
+    // 预读数值字面量
+    private       String        mPeekedNumber;
+
+    // 嵌套层级
+    private int[]    mStack       = new int[32];
+    // 嵌套层数
+    private int      mStackSize   = 0;
+    // 各层级当前键名
+    private String[] mPathNames   = new String[32];
+    // 各层级当前数组下标
+    private int[]    mPathIndices = new int[32];
+
+    /**
+     * 构造函数
+     * @param in {@link Reader}
+     */
+    public JsonReader(final Reader in) {
+        if (in == null) throw new NullPointerException("in == null");
+        this.mIn = in;
+        mStack[mStackSize++] = SCOPE_EMPTY_DOCUMENT;
+    }
+
+    // =============
+    // = 对外公开方法 =
+    // =============
+
+    /**
+     * 获取下一个 Token 类型 ( 不消费 )
+     * @return Token 类型
+     * @throws IOException 读取异常、格式错误
+     */
+    public int peek() throws IOException {
+        int peeked = mPeeked;
+        if (peeked == PEEKED_NONE) peeked = doPeek();
+        if (peeked == PEEKED_TRUE || peeked == PEEKED_FALSE) return BOOLEAN;
+        return peeked;
+    }
+
+    /**
+     * 是否存在下一个元素 ( 当前对象、数组内 )
+     * @return {@code true} yes, {@code false} no
+     * @throws IOException 读取异常、格式错误
+     */
+    public boolean hasNext() throws IOException {
+        int peeked = peek();
+        return peeked != END_OBJECT && peeked != END_ARRAY && peeked != END_DOCUMENT;
+    }
+
+    /**
+     * 开始读取对象
+     * @throws IOException 读取异常、格式错误
+     */
+    public void beginObject() throws IOException {
+        expect(BEGIN_OBJECT);
+        push(SCOPE_EMPTY_OBJECT);
+        mPeeked = PEEKED_NONE;
+    }
+
+    /**
+     * 结束读取对象
+     * @throws IOException 读取异常、格式错误
+     */
+    public void endObject() throws IOException {
+        expect(END_OBJECT);
+        mStackSize--;
+        mPathNames[mStackSize] = null;
+        mPathIndices[mStackSize - 1]++;
+        mPeeked = PEEKED_NONE;
+    }
+
+    /**
+     * 开始读取数组
+     * @throws IOException 读取异常、格式错误
+     */
+    public void beginArray() throws IOException {
+        expect(BEGIN_ARRAY);
+        push(SCOPE_EMPTY_ARRAY);
+        mPathIndices[mStackSize - 1] = 0;
+        mPeeked = PEEKED_NONE;
+    }
+
+    /**
+     * 结束读取数组
+     * @throws IOException 读取异常、格式错误
+     */
+    public void endArray() throws IOException {
+        expect(END_ARRAY);
+        mStackSize--;
+        mPathIndices[mStackSize - 1]++;
+        mPeeked = PEEKED_NONE;
+    }
+
+    /**
+     * 读取键名
+     * @return 键名
+     * @throws IOException 读取异常、格式错误
+     */
+    public String nextName() throws IOException {
+        expect(NAME);
+        String name = readString();
+        mPathNames[mStackSize - 1] = name;
+        mPeeked = PEEKED_NONE;
+        return name;
+    }
+
+    /**
+     * 读取字符串
+     * <pre>
+     *     数值返回原始字面量
+     * </pre>
+     * @return 字符串
+     * @throws IOException 读取异常、格式错误
+     */
+    public String nextString() throws IOException {
+        int    peeked = peek();
+        String value;
+        if (peeked == STRING) {
+            value = readString();
+        } else if (peeked == NUMBER) {
+            value = mPeekedNumber;
+        } else {
+            throw syntaxError("Expected STRING but was " + tokenName(peeked));
+        }
+        consumeValue();
+        return value;
+    }
+
+    /**
+     * 读取 boolean
+     * @return boolean
+     * @throws IOException 读取异常、格式错误
+     */
+    public boolean nextBoolean() throws IOException {
+        expect(BOOLEAN);
+        boolean value = (mPeeked == PEEKED_TRUE);
+        consumeValue();
+        return value;
+    }
+
+    /**
+     * 读取 null
+     * @throws IOException 读取异常、格式错误
+     */
+    public void nextNull() throws IOException {
+        expect(NULL);
+        consumeValue();
+    }
+
+    /**
+     * 读取数值
+     * <pre>
+     *     整数在 int 范围内返回 Integer, long 范围内返回 Long, 其他返回 Double
+     * </pre>
+     * @return {@link Number}
+     * @throws IOException 读取异常、格式错误
+     */
+    public Number nextNumber() throws IOException {
+        expect(NUMBER);
+        Number value = parseNumber(mPeekedNumber);
+        consumeValue();
+        return value;
+    }
+
+    /**
+     * 读取 long
+     * @return long
+     * @throws IOException 读取异常、格式错误
+     */
+    public long nextLong() throws IOException {
+        expect(NUMBER);
+        long value;
+        try {
+            value = Long.parseLong(mPeekedNumber);
+        } catch (NumberFormatException e) {
+            double number = Double.parseDouble(mPeekedNumber);
+            value = (long) number;
+            if (value != number) {
+                throw syntaxError("Expected a long but was " + mPeekedNumber);
+            }
+        }
+        consumeValue();
+        return value;
+    }
+
+    /**
+     * 读取 int
+     * @return int
+     * @throws IOException 读取异常、格式错误
+     */
+    public int nextInt() throws IOException {
+        expect(NUMBER);
+        Number number = parseNumber(mPeekedNumber);
+        if (!(number instanceof Integer)) {
+            throw syntaxError("Expected an int but was " + mPeekedNumber);
+        }
+        consumeValue();
+        return (Integer) number;
+    }
+
+    /**
+     * 读取 double
+     * @return double
+     * @throws IOException 读取异常、格式错误
+     */
+    public double nextDouble() throws IOException {
+        expect(NUMBER);
+        double value = Double.parseDouble(mPeekedNumber);
+        consumeValue();
+        return value;
+    }
+
+    /**
+     * 跳过下一个值 ( 包括嵌套对象、数组, 不创建字符串 )
+     * @throws IOException 读取异常、格式错误
+     */
+    public void skipValue() throws IOException {
+        int depth = 0;
+        do {
+            int peeked = peek();
+            switch (peeked) {
+                case BEGIN_OBJECT:
+                    beginObject();
+                    depth++;
+                    break;
+                case BEGIN_ARRAY:
+                    beginArray();
+                    depth++;
+                    break;
+                case END_OBJECT:
+                    endObject();
+                    depth--;
+                    break;
+                case END_ARRAY:
+                    endArray();
+                    depth--;
+                    break;
+                case NAME:
+                    skipString();
+                    mPathNames[mStackSize - 1] = null;
+                    mPeeked = PEEKED_NONE;
+                    break;
+                case STRING:
+                    skipString();
+                    consumeValue();
+                    break;
+                case END_DOCUMENT:
+                    throw syntaxError("Unexpected end of document");
+                default:
+                    consumeValue();
+                    break;
+            }
+        } while (depth > 0);
+    }
+
+    /**
+     * 获取当前位置路径
+     * @return 当前位置路径 ( 如 $.data.list[2] )
+     */
+    public String getPath() {
+        StringBuilder builder = new StringBuilder("$");
+        for (int i = 1; i < mStackSize; i++) {
+            int scope = mStack[i];
+            if (scope == SCOPE_EMPTY_ARRAY || scope == SCOPE_NONEMPTY_ARRAY) {
+                builder.append('[').append(mPathIndices[i]).append(']');
+            } else {
+                builder.append('.');
+                if (mPathNames[i] != null) builder.append(mPathNames[i]);
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 关闭数据源
+     * @throws IOException 关闭异常
+     */
+    @Override
+    public void close() throws IOException {
+        mPeeked    = PEEKED_NONE;
+        mStackSize = 0;
+        mIn.close();
+    }
+
+    // ==========
+    // = 内部方法 =
+    // ==========
+
+    /**
+     * 校验下一个 Token 类型
+     * @param expected 所需 Token 类型
+     * @throws IOException 读取异常、格式错误
+     */
+    private void expect(final int expected) throws IOException {
+        int peeked = peek();
+        if (peeked != expected) {
+            throw syntaxError(
+                    "Expected " + tokenName(expected) + " but was " + tokenName(peeked)
+            );
+        }
+    }
+
+    /**
+     * 消费当前值
+     */
+    private void consumeValue() {
+        mPeeked       = PEEKED_NONE;
+        mPeekedNumber = null;
+        mPathIndices[mStackSize - 1]++;
+    }
+
+    /**
+     * 压入嵌套层级
+     * @param scope 层级类型
+     */
+    private void push(final int scope) {
+        if (mStackSize == mStack.length) {
+            int newLength = mStackSize * 2;
+            mStack       = Arrays.copyOf(mStack, newLength);
+            mPathIndices = Arrays.copyOf(mPathIndices, newLength);
+            mPathNames   = Arrays.copyOf(mPathNames, newLength);
+        }
+        mStack[mStackSize++] = scope;
+    }
+
+    /**
+     * 预读下一个 Token
+     * @return Token 类型
+     * @throws IOException 读取异常、格式错误
+     */
+    private int doPeek() throws IOException {
+        int top   = mStackSize - 1;
+        int scope = mStack[top];
+        if (scope == SCOPE_EMPTY_ARRAY) {
+            mStack[top] = SCOPE_NONEMPTY_ARRAY;
+        } else if (scope == SCOPE_NONEMPTY_ARRAY) {
+            int c = nextNonWhitespace();
+            if (c == ']') return mPeeked = END_ARRAY;
+            if (c != ',') throw syntaxError("Expected ',' or ']'");
+        } else if (scope == SCOPE_EMPTY_OBJECT || scope == SCOPE_NONEMPTY_OBJECT) {
+            mStack[top] = SCOPE_DANGLING_NAME;
+            int c = nextNonWhitespace();
+            if (scope == SCOPE_NONEMPTY_OBJECT) {
+                if (c == '}') return mPeeked = END_OBJECT;
+                if (c != ',') throw syntaxError("Expected ',' or '}'");
+                c = nextNonWhitespace();
+            } else if (c == '}') {
+                return mPeeked = END_OBJECT;
+            }
+            if (c != '"') throw syntaxError("Expected name");
+            return mPeeked = NAME;
+        } else if (scope == SCOPE_DANGLING_NAME) {
+            mStack[top] = SCOPE_NONEMPTY_OBJECT;
+            if (nextNonWhitespace() != ':') throw syntaxError("Expected ':'");
+        } else if (scope == SCOPE_EMPTY_DOCUMENT) {
+            mStack[top] = SCOPE_NONEMPTY_DOCUMENT;
+        } else if (scope == SCOPE_NONEMPTY_DOCUMENT) {
+            if (nextNonWhitespaceOrEnd() == -1) return mPeeked = END_DOCUMENT;
+            throw syntaxError("Expected end of document");
+        }
+
+        int c = nextNonWhitespace();
+        switch (c) {
+            case ']':
+                if (scope == SCOPE_EMPTY_ARRAY) return mPeeked = END_ARRAY;
+                throw syntaxError("Unexpected value");
+            case '"':
+                return mPeeked = STRING;
+            case '{':
+                return mPeeked = BEGIN_OBJECT;
+            case '[':
+                return mPeeked = BEGIN_ARRAY;
+            case 't':
+                readKeyword("rue");
+                return mPeeked = PEEKED_TRUE;
+            case 'f':
+                readKeyword("alse");
+                return mPeeked = PEEKED_FALSE;
+            case 'n':
+                readKeyword("ull");
+                return mPeeked = NULL;
+            default:
+                if (c == '-' || (c >= '0' && c <= '9')) {
+                    mPos--;
+                    mPeekedNumber = readNumber();
+                    return mPeeked = NUMBER;
+                }
+                throw syntaxError("Unexpected character '" + (char) c + "'");
+        }
+    }
+
+    /**
+     * 读取缓存 ( 保留未读取字符 )
+     * @param minimum 所需最少可读字符数
+     * @return {@code true} 满足所需字符数, {@code false} 数据源已结束
+     * @throws IOException 读取异常
+     */
+    private boolean fill(final int minimum) throws IOException {
+        char[] buffer = mBuffer;
+        mOffset += mPos;
+        if (mLimit != mPos) {
+            mLimit -= mPos;
+            System.arraycopy(buffer, mPos, buffer, 0, mLimit);
+        } else {
+            mLimit = 0;
+        }
+        mPos = 0;
+        int total;
+        while ((total = mIn.read(buffer, mLimit, buffer.length - mLimit)) != -1) {
+            mLimit += total;
+            if (mLimit >= minimum) return true;
+        }
+        return false;
+    }
+
+    /**
+     * 读取下一个非空白字符
+     * @return 非空白字符, 数据源已结束返回 -1
+     * @throws IOException 读取异常
+     */
+    private int nextNonWhitespaceOrEnd() throws IOException {
+        while (true) {
+            if (mPos == mLimit && !fill(1)) return -1;
+            char c = mBuffer[mPos++];
+            if (c != ' ' && c != '\n' && c != '\r' && c != '\t') return c;
+        }
+    }
+
+    /**
+     * 读取下一个非空白字符
+     * @return 非空白字符
+     * @throws IOException 读取异常、数据源已结束
+     */
+    private int nextNonWhitespace() throws IOException {
+        int c = nextNonWhitespaceOrEnd();
+        if (c == -1) throw syntaxError("Unexpected end of input");
+        return c;
+    }
+
+    /**
+     * 读取关键字剩余部分
+     * @param rest 关键字剩余部分
+     * @throws IOException 读取异常、格式错误
+     */
+    private void readKeyword(final String rest) throws IOException {
+        int length = rest.length();
+        if (mPos + length > mLimit && !fill(length)) {
+            throw syntaxError("Unexpected end of input");
+        }
+        for (int i = 0; i < length; i++) {
+            if (mBuffer[mPos + i] != rest.charAt(i)) throw syntaxError("Unexpected literal");
+        }
+        mPos += length;
+        // 关键字后不能紧跟字母、数字
+        if (mPos < mLimit || fill(1)) {
+            char c = mBuffer[mPos];
+            if (Character.isLetterOrDigit(c) || c == '_') {
+                throw syntaxError("Unexpected literal");
+            }
+        }
+    }
+
+    /**
+     * 读取数值字面量
+     * @return 数值字面量
+     * @throws IOException 读取异常、格式错误
+     */
+    private String readNumber() throws IOException {
+        int length = 0;
+        while (true) {
+            if (mPos + length == mLimit) {
+                if (length == mBuffer.length) throw syntaxError("Number too long");
+                if (!fill(length + 1)) break;
+            }
+            char c = mBuffer[mPos + length];
+            if ((c >= '0' && c <= '9') || c == '-' || c == '+'
+                    || c == '.' || c == 'e' || c == 'E') {
+                length++;
+            } else {
+                break;
+            }
+        }
+        if (!isValidNumber(mBuffer, mPos, length)) {
+            throw syntaxError("Malformed number");
+        }
+        String number = new String(mBuffer, mPos, length);
+        mPos += length;
+        return number;
+    }
+
+    /**
+     * 读取字符串剩余部分 ( 起始引号已读取 )
+     * @return 字符串
+     * @throws IOException 读取异常、格式错误
+     */
+    private String readString() throws IOException {
+        StringBuilder builder = null;
+        while (true) {
+            char[] buffer = mBuffer;
+            int    p      = mPos;
+            int    l      = mLimit;
+            int    start  = p;
+            while (p < l) {
+                char c = buffer[p++];
+                if (c == '"') {
+                    mPos = p;
+                    if (builder == null) return new String(buffer, start, p - start - 1);
+                    builder.append(buffer, start, p - start - 1);
+                    return builder.toString();
+                } else if (c == '\\') {
+                    if (builder == null) {
+                        builder = mBuilder;
+                        builder.setLength(0);
+                    }
+                    builder.append(buffer, start, p - start - 1);
+                    mPos = p;
+                    builder.append(readEscape());
+                    p     = mPos;
+                    l     = mLimit;
+                    start = p;
+                } else if (c < 0x20) {
+                    mPos = p;
+                    throw syntaxError("Unescaped control character");
+                }
+            }
+            if (builder == null) {
+                builder = mBuilder;
+                builder.setLength(0);
+            }
+            builder.append(buffer, start, p - start);
+            mPos = p;
+            if (!fill(1)) throw syntaxError("Unterminated string");
+        }
+    }
+
+    /**
+     * 跳过字符串剩余部分 ( 起始引号已读取 )
+     * @throws IOException 读取异常、格式错误
+     */
+    private void skipString() throws IOException {
+        while (true) {
+            char[] buffer = mBuffer;
+            int    p      = mPos;
+            int    l      = mLimit;
+            while (p < l) {
+                char c = buffer[p++];
+                if (c == '"') {
+                    mPos = p;
+                    return;
+                } else if (c == '\\') {
+                    mPos = p;
+                    readEscape();
+                    p = mPos;
+                    l = mLimit;
+                } else if (c < 0x20) {
+                    mPos = p;
+                    throw syntaxError("Unescaped control character");
+                }
+            }
+            mPos = p;
+            if (!fill(1)) throw syntaxError("Unterminated string");
+        }
+    }
+
+    /**
+     * 读取转义字符 ( 反斜杠已读取 )
+     * @return 转义后字符
+     * @throws IOException 读取异常、格式错误
+     */
+    private char readEscape() throws IOException {
+        if (mPos == mLimit && !fill(1)) throw syntaxError("Unterminated escape sequence");
+        char c = mBuffer[mPos++];
+        switch (c) {
+            case '"':
+            case '\\':
+            case '/':
+                return c;
+            case 'b':
+                return '\b';
+            case 'f':
+                return '\f';
+            case 'n':
+                return '\n';
+            case 'r':
+                return '\r';
+            case 't':
+                return '\t';
+            case 'u':
+                if (mPos + 4 > mLimit && !fill(4)) {
+                    throw syntaxError("Unterminated escape sequence");
+                }
+                int value = 0;
+                for (int i = 0; i < 4; i++) {
+                    int digit = Character.digit(mBuffer[mPos + i], 16);
+                    if (digit < 0) throw syntaxError("Malformed unicode escape");
+                    value = (value << 4) | digit;
+                }
+                mPos += 4;
+                return (char) value;
+            default:
+                throw syntaxError("Invalid escape sequence");
+        }
+    }
+
+    /**
+     * 创建格式错误异常
+     * @param message 错误信息
+     * @return {@link IOException}
+     */
+    private IOException syntaxError(final String message) {
+        return new IOException(
+                message + " at offset " + (mOffset + mPos) + " path " + getPath()
+        );
+    }
+
+    // =
+
+    /**
+     * 校验数值字面量格式
+     * <pre>
+     *     -?(0|[1-9][0-9]*)(\.[0-9]+)?([eE][+-]?[0-9]+)?
+     * </pre>
+     * @param chars  字符数组
+     * @param start  起始位置
+     * @param length 长度
+     * @return {@code true} yes, {@code false} no
+     */
+    private static boolean isValidNumber(
+            final char[] chars,
+            final int start,
+            final int length
+    ) {
+        int i   = start;
+        int end = start + length;
+        if (i < end && chars[i] == '-') i++;
+        if (i == end) return false;
+        if (chars[i] == '0') {
+            i++;
+        } else if (chars[i] >= '1' && chars[i] <= '9') {
+            while (i < end && chars[i] >= '0' && chars[i] <= '9') i++;
+        } else {
+            return false;
+        }
+        if (i < end && chars[i] == '.') {
+            int digits = ++i;
+            while (i < end && chars[i] >= '0' && chars[i] <= '9') i++;
+            if (i == digits) return false;
+        }
+        if (i < end && (chars[i] == 'e' || chars[i] == 'E')) {
+            i++;
+            if (i < end && (chars[i] == '+' || chars[i] == '-')) i++;
+            int digits = i;
+            while (i < end && chars[i] >= '0' && chars[i] <= '9') i++;
+            if (i == digits) return false;
+        }
+        return i == end;
+    }
+
+    /**
+     * 转换数值字面量
+     * @param number 数值字面量
+     * @return {@link Number}
+     */
+    private static Number parseNumber(final String number) {
+        boolean decimal = number.indexOf('.') >= 0
+                || number.indexOf('e') >= 0 || number.indexOf('E') >= 0;
+        if (!decimal && number.length() <= 20) {
+            try {
+                long value = Long.parseLong(number);
+                if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+                    return (int) value;
+                }
+                return value;
+            } catch (NumberFormatException ignored) {
+            }
+        }
+        return Double.parseDouble(number);
+    }
+
+    /**
+     * 获取 Token 名称
+     * @param token Token 类型
+     * @return Token 名称
+     */
+    private static String tokenName(final int token) {
+        switch (token) {
+            case BEGIN_OBJECT:
+                return "BEGIN_OBJECT";
+            case END_OBJECT:
+                return "END_OBJECT";
+            case BEGIN_ARRAY:
+                return "BEGIN_ARRAY";
+            case END_ARRAY:
+                return "END_ARRAY";
+            case NAME:
+                return "NAME";
+            case STRING:
+                return "STRING";
+            case NUMBER:
+                return "NUMBER";
+            case BOOLEAN:
+                return "BOOLEAN";
+            case NULL:
+                return "NULL";
+            case END_DOCUMENT:
+                return "END_DOCUMENT";
+            default:
+                return "UNKNOWN";
+        }
+    }
+}
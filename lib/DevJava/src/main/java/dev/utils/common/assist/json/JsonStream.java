@@ -0,0 +1,517 @@
+package dev.utils.common.assist.json;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * detail: JSON 流式处理
+ * @author Ttt
+ * <pre>
+ *     基于 {@link JsonReader} 单次遍历完成转换、遍历、格式化、路径查询
+ *     全部方法不会关闭传入的 Reader、Writer
+ *     <p></p>
+ *     路径格式: $.data.list[2].name、data.list[2]、['a.b'][0]
+ * </pre>
+ */
+public final class JsonStream {
+
+    private JsonStream() {
+    }
+
+    // 路径查询结果不存在标记
+    private static final Object MISSING = new Object();
+
+    // ==========
+    // = 转换对象 =
+    // ==========
+
+    /**
+     * 读取 JSON 值
+     * @param in        {@link Reader}
+     * @param nullValue JSON null 对应值
+     * @return Map、List、String、Number、Boolean、nullValue
+     * @throws IOException 读取异常、格式错误
+     */
+    public static Object read(
+            final Reader in,
+            final Object nullValue
+    ) throws IOException {
+        JsonReader reader = new JsonReader(in);
+        Object     value  = readValue(reader, nullValue);
+        if (reader.peek() != JsonReader.END_DOCUMENT) {
+            throw new IOException("Expected end of document");
+        }
+        return value;
+    }
+
+    /**
+     * 读取 JSON 对象
+     * @param in {@link Reader}
+     * @return {@link Map}
+     * @throws IOException 读取异常、格式错误、非 JSON 对象
+     */
+    public static Map<String, Object> readMap(final Reader in) throws IOException {
+        Object value = read(in, null);
+        if (value instanceof Map) return cast(value);
+        throw new IOException("Expected BEGIN_OBJECT");
+    }
+
+    /**
+     * 读取 JSON 数组
+     * @param in {@link Reader}
+     * @return {@link List}
+     * @throws IOException 读取异常、格式错误、非 JSON 数组
+     */
+    public static List<Object> readList(final Reader in) throws IOException {
+        Object value = read(in, null);
+        if (value instanceof List) return cast(value);
+        throw new IOException("Expected BEGIN_ARRAY");
+    }
+
+    /**
+     * 读取下一个 JSON 值
+     * <pre>
+     *     非递归实现, 嵌套层级不受线程栈大小限制
+     * </pre>
+     * @param reader    {@link JsonReader}
+     * @param nullValue JSON null 对应值
+     * @return Map、List、String、Number、Boolean、nullValue
+     * @throws IOException 读取异常、格式错误
+     */
+    public static Object readValue(
+            final JsonReader reader,
+            final Object nullValue
+    ) throws IOException {
+        ArrayDeque<Object> containers = new ArrayDeque<>();
+        ArrayDeque<String> names      = new ArrayDeque<>();
+        while (true) {
+            Object  value;
+            boolean container = false;
+            switch (reader.peek()) {
+                case JsonReader.BEGIN_OBJECT:
+                    reader.beginObject();
+                    value     = new LinkedHashMap<String, Object>();
+                    container = true;
+                    break;
+                case JsonReader.BEGIN_ARRAY:
+                    reader.beginArray();
+                    value     = new ArrayList<>();
+                    container = true;
+                    break;
+                case JsonReader.END_OBJECT:
+                    reader.endObject();
+                    value = containers.pop();
+                    if (containers.isEmpty()) return value;
+                    continue;
+                case JsonReader.END_ARRAY:
+                    reader.endArray();
+                    value = containers.pop();
+                    if (containers.isEmpty()) return value;
+                    continue;
+                case JsonReader.NAME:
+                    names.push(reader.nextName());
+                    continue;
+                case JsonReader.STRING:
+                    value = reader.nextString();
+                    break;
+                case JsonReader.NUMBER:
+                    value = reader.nextNumber();
+                    break;
+                case JsonReader.BOOLEAN:
+                    value = reader.nextBoolean();
+                    break;
+                case JsonReader.NULL:
+                    reader.nextNull();
+                    value = nullValue;
+                    break;
+                default:
+                    throw new IOException("Unexpected end of document");
+            }
+            Object parent = containers.peek();
+            if (parent instanceof Map) {
+                JsonStream.<Map<String, Object>>cast(parent).put(names.pop(), value);
+            } else if (parent != null) {
+                JsonStream.<List<Object>>cast(parent).add(value);
+            } else if (!container) {
+                return value;
+            }
+            if (container) containers.push(value);
+        }
+    }
+
+    // ==========
+    // = 遍历处理 =
+    // ==========
+
+    /**
+     * 遍历 JSON
+     * @param in      {@link Reader}
+     * @param visitor {@link JsonVisitor}
+     * @return {@code true} 遍历完成, {@code false} 中途停止
+     * @throws IOException 读取异常、格式错误
+     */
+    public static boolean visit(
+            final Reader in,
+            final JsonVisitor visitor
+    ) throws IOException {
+        JsonReader reader = new JsonReader(in);
+        while (true) {
+            boolean next;
+            switch (reader.peek()) {
+                case JsonReader.BEGIN_OBJECT:
+                    next = visitor.onBeginObject(reader.getPath());
+                    reader.beginObject();
+                    break;
+                case JsonReader.END_OBJECT:
+                    reader.endObject();
+                    next = visitor.onEndObject(reader.getPath());
+                    break;
+                case JsonReader.BEGIN_ARRAY:
+                    next = visitor.onBeginArray(reader.getPath());
+                    reader.beginArray();
+                    break;
+                case JsonReader.END_ARRAY:
+                    reader.endArray();
+                    next = visitor.onEndArray(reader.getPath());
+                    break;
+                case JsonReader.NAME:
+                    next = visitor.onName(reader.nextName());
+                    break;
+                case JsonReader.STRING:
+                    next = visitor.onValue(reader.getPath(), reader.nextString());
+                    break;
+                case JsonReader.NUMBER:
+                    next = visitor.onValue(reader.getPath(), reader.nextNumber());
+                    break;
+                case JsonReader.BOOLEAN:
+                    next = visitor.onValue(reader.getPath(), reader.nextBoolean());
+                    break;
+                case JsonReader.NULL:
+                    next = visitor.onValue(reader.getPath(), null);
+                    reader.nextNull();
+                    break;
+                default:
+                    return true;
+            }
+            if (!next) return false;
+        }
+    }
+
+    // ==========
+    // = 格式处理 =
+    // ==========
+
+    /**
+     * 格式化 JSON ( 单次遍历 )
+     * <pre>
+     *     读取同时校验格式, 格式错误时已写入部分内容
+     * </pre>
+     * @param in     {@link Reader}
+     * @param out    {@link Writer}
+     * @param indent 缩进空格数 ( 小于等于 0 则压缩 )
+     * @throws IOException 读取、写入异常、格式错误
+     */
+    public static void format(
+            final Reader in,
+            final Writer out,
+            final int indent
+    ) throws IOException {
+        JsonReader reader = new JsonReader(in);
+        // 各层级是否已写入元素
+        boolean[] written   = new boolean[32];
+        int       depth     = 0;
+        boolean   afterName = false;
+        while (true) {
+            int token = reader.peek();
+            if (token == JsonReader.END_DOCUMENT) break;
+            if (token == JsonReader.END_OBJECT || token == JsonReader.END_ARRAY) {
+                if (token == JsonReader.END_OBJECT) {
+                    reader.endObject();
+                } else {
+                    reader.endArray();
+                }
+                boolean nonEmpty = written[depth--];
+                if (nonEmpty) writeNewLine(out, indent, depth);
+                out.write(token == JsonReader.END_OBJECT ? '}' : ']');
+                continue;
+            }
+            // 元素起始位置 ( 键值对以键名为起始 )
+            if (!afterName && depth > 0) {
+                if (written[depth]) out.write(',');
+                written[depth] = true;
+                writeNewLine(out, indent, depth);
+            }
+            afterName = false;
+            switch (token) {
+                case JsonReader.BEGIN_OBJECT:
+                case JsonReader.BEGIN_ARRAY:
+                    if (token == JsonReader.BEGIN_OBJECT) {
+                        reader.beginObject();
+                        out.write('{');
+                    } else {
+                        reader.beginArray();
+                        out.write('[');
+                    }
+                    if (++depth == written.length) {
+                        written = Arrays.copyOf(written, depth * 2);
+                    }
+                    written[depth] = false;
+                    break;
+                case JsonReader.NAME:
+                    writeString(out, reader.nextName());
+                    out.write(indent > 0 ? ": " : ":");
+                    afterName = true;
+                    break;
+                case JsonReader.STRING:
+                    writeString(out, reader.nextString());
+                    break;
+                case JsonReader.NUMBER:
+                    // 保留原始字面量
+                    out.write(reader.nextString());
+                    break;
+                case JsonReader.BOOLEAN:
+                    out.write(reader.nextBoolean() ? "true" : "false");
+                    break;
+                default:
+                    reader.nextNull();
+                    out.write("null");
+                    break;
+            }
+        }
+        out.flush();
+    }
+
+    /**
+     * 压缩 JSON ( 单次遍历 )
+     * @param in  {@link Reader}
+     * @param out {@link Writer}
+     * @throws IOException 读取、写入异常、格式错误
+     */
+    public static void minify(
+            final Reader in,
+            final Writer out
+    ) throws IOException {
+        format(in, out, 0);
+    }
+
+    /**
+     * 写入 JSON 字符串 ( 包含引号并转义 )
+     * @param out   {@link Writer}
+     * @param value 字符串
+     * @throws IOException 写入异常
+     */
+    public static void writeString(
+            final Writer out,
+            final String value
+    ) throws IOException {
+        out.write('"');
+        int start  = 0;
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char   c       = value.charAt(i);
+            String replace = null;
+            if (c == '"') {
+                replace = "\\\"";
+            } else if (c == '\\') {
+                replace = "\\\\";
+            } else if (c < 0x20 || c == '\u2028' || c == '\u2029') {
+                switch (c) {
+                    case '\b':
+                        replace = "\\b";
+                        break;
+                    case '\f':
+                        replace = "\\f";
+                        break;
+                    case '\n':
+                        replace = "\\n";
+                        break;
+                    case '\r':
+                        replace = "\\r";
+                        break;
+                    case '\t':
+                        replace = "\\t";
+                        break;
+                    default:
+                        replace = String.format("\\u%04x", (int) c);
+                        break;
+                }
+            }
+            if (replace != null) {
+                if (i > start) out.write(value, start, i - start);
+                out.write(replace);
+                start = i + 1;
+            }
+        }
+        if (length > start) out.write(value, start, length - start);
+        out.write('"');
+    }
+
+    // ==========
+    // = 路径查询 =
+    // ==========
+
+    /**
+     * 查询指定路径的值
+     * <pre>
+     *     只构建目标值, 其他内容直接跳过
+     *     重复键名以最后一个为准 ( 与 {@link #read(Reader, Object)} 一致 ), 因此命中后仍读取到文档末尾
+     *     与 read 一致校验完整文档格式, 目标值之后的内容格式错误同样抛出异常
+     * </pre>
+     * @param in        {@link Reader}
+     * @param path      路径
+     * @param nullValue JSON null 对应值
+     * @return 目标值, 不存在则返回 null
+     * @throws IOException 读取异常、格式错误
+     */
+    public static Object query(
+            final Reader in,
+            final String path,
+            final Object nullValue
+    ) throws IOException {
+        List<Object> segments = parsePath(path);
+        JsonReader   reader   = new JsonReader(in);
+        Object       value    = queryValue(reader, segments, 0, nullValue);
+        if (reader.peek() != JsonReader.END_DOCUMENT) {
+            throw new IOException("Expected end of document");
+        }
+        return (value != MISSING) ? value : null;
+    }
+
+    /**
+     * 查询路径值 ( 完整读取当前值 )
+     * @param reader    {@link JsonReader}
+     * @param segments  路径片段
+     * @param index     当前片段索引
+     * @param nullValue JSON null 对应值
+     * @return 目标值, 不存在则返回 {@link #MISSING}
+     * @throws IOException 读取异常、格式错误
+     */
+    private static Object queryValue(
+            final JsonReader reader,
+            final List<Object> segments,
+            final int index,
+            final Object nullValue
+    ) throws IOException {
+        if (index == segments.size()) {
+            return readValue(reader, nullValue);
+        }
+        Object segment = segments.get(index);
+        Object result  = MISSING;
+        if (segment instanceof String) {
+            if (reader.peek() != JsonReader.BEGIN_OBJECT) {
+                reader.skipValue();
+                return MISSING;
+            }
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if (segment.equals(reader.nextName())) {
+                    // 后出现的重复键名覆盖之前的结果
+                    result = queryValue(reader, segments, index + 1, nullValue);
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+        } else {
+            if (reader.peek() != JsonReader.BEGIN_ARRAY) {
+                reader.skipValue();
+                return MISSING;
+            }
+            reader.beginArray();
+            int target = (Integer) segment;
+            for (int i = 0; reader.hasNext(); i++) {
+                if (i == target) {
+                    result = queryValue(reader, segments, index + 1, nullValue);
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endArray();
+        }
+        return result;
+    }
+
+    /**
+     * 解析路径
+     * @param path 路径
+     * @return 路径片段 ( String 为键名, Integer 为数组下标 )
+     */
+    private static List<Object> parsePath(final String path) {
+        List<Object> segments = new ArrayList<>();
+        if (path == null) return segments;
+        int length = path.length();
+        int i      = path.startsWith("$") ? 1 : 0;
+        while (i < length) {
+            char c = path.charAt(i);
+            if (c == '.') {
+                i++;
+                continue;
+            }
+            if (c == '[') {
+                int end = path.indexOf(']', i);
+                if (end < 0) throw new IllegalArgumentException("Unterminated '[' in path " + path);
+                String content = path.substring(i + 1, end).trim();
+                if (content.length() >= 2 && (content.charAt(0) == '\'' || content.charAt(0) == '"')
+                        && content.charAt(content.length() - 1) == content.charAt(0)) {
+                    segments.add(content.substring(1, content.length() - 1));
+                } else {
+                    int index;
+                    try {
+                        index = Integer.parseInt(content);
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("Invalid index in path " + path);
+                    }
+                    if (index < 0) throw new IllegalArgumentException("Invalid index in path " + path);
+                    segments.add(index);
+                }
+                i = end + 1;
+                continue;
+            }
+            int start = i;
+            while (i < length && path.charAt(i) != '.' && path.charAt(i) != '[') i++;
+            segments.add(path.substring(start, i));
+        }
+        return segments;
+    }
+
+    // ==========
+    // = 内部方法 =
+    // ==========
+
+    /**
+     * 转换 Map、List 泛型 ( 由 {@link #readValue(JsonReader, Object)} 创建, 类型确定 )
+     * @param object 待转换对象
+     * @param <T>    泛型
+     * @return 转换后的对象
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T cast(final Object object) {
+        return (T) object;
+    }
+
+    /**
+     * 写入换行及缩进
+     * @param out    {@link Writer}
+     * @param indent 缩进空格数
+     * @param depth  嵌套层级
+     * @throws IOException 写入异常
+     */
+    private static void writeNewLine(
+            final Writer out,
+            final int indent,
+            final int depth
+    ) throws IOException {
+        if (indent <= 0) return;
+        out.write('\n');
+        for (int i = 0, len = indent * depth; i < len; i++) {
+            out.write(' ');
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package dev.utils.common.assist.json;
+
+/**
+ * detail: JSON 流式遍历回调
+ * @author Ttt
+ * <pre>
+ *     配合 {@link JsonStream#visit} 使用, 按文档顺序回调, 无需构建完整 JSON 树
+ *     各方法返回 {@code false} 则停止遍历
+ * </pre>
+ */
+public interface JsonVisitor {
+
+    /**
+     * 开始对象
+     * @param path 当前位置路径
+     * @return {@code true} 继续遍历, {@code false} 停止遍历
+     */
+    boolean onBeginObject(String path);
+
+    /**
+     * 结束对象
+     * @param path 当前位置路径
+     * @return {@code true} 继续遍历, {@code false} 停止遍历
+     */
+    boolean onEndObject(String path);
+
+    /**
+     * 开始数组
+     * @param path 当前位置路径
+     * @return {@code true} 继续遍历, {@code false} 停止遍历
+     */
+    boolean onBeginArray(String path);
+
+    /**
+     * 结束数组
+     * @param path 当前位置路径
+     * @return {@code true} 继续遍历, {@code false} 停止遍历
+     */
+    boolean onEndArray(String path);
+
+    /**
+     * 键名
+     * @param name 键名
+     * @return {@code true} 继续遍历, {@code false} 停止遍历
+     */
+    boolean onName(String name);
+
+    /**
+     * 基础类型值
+     * @param path  当前位置路径
+     * @param value String、Number、Boolean, null 值为 null
+     * @return {@code true} 继续遍历, {@code false} 停止遍历
+     */
+    boolean onValue(
+            String path,
+            Object value
+    );
+}
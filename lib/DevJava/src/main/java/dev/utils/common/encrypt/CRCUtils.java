@@ -1,11 +1,26 @@
 package dev.utils.common.encrypt;
 
-import java.io.FileInputStream;
+import java.io.EOFException;
+import java.io.File;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.zip.Adler32;
 import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+import java.util.zip.Checksum;
 
 import dev.utils.JCLogUtils;
 import dev.utils.common.CloseUtils;
+import dev.utils.common.thread.CalcThreadPool;
 
 /**
  * detail: CRC 工具类
@@ -13,6 +28,8 @@ import dev.utils.common.CloseUtils;
  * <pre>
  *     Cyclic Redundancy Check 循环冗余校验
  *     CRC 是一种根据网络数据包或电脑文件等数据产生简短固定位数校验码的一种散列函数
+ *     文件校验通过内存映射读取, 大文件分块并行计算后按 CRC 合并算法 ( zlib crc32_combine ) 合并
+ *     映射区域需等待 GC 才会释放, 32 位虚拟机地址空间有限, 改为按位置分段读取
  * </pre>
  */
 public final class CRCUtils {
@@ -64,21 +81,396 @@ public final class CRCUtils {
      */
     public static String getFileCRC32(final String filePath) {
         if (filePath == null) return null;
-        InputStream is = null;
+        long value = getFileChecksum(new File(filePath), ChecksumType.CRC32);
+        return value != -1L ? Long.toHexString(value) : null;
+    }
+
+    // ==========
+    // = 校验计算 =
+    // ==========
+
+    /**
+     * detail: 校验算法类型
+     * @author Ttt
+     */
+    public enum ChecksumType {
+
+        CRC32, // java.util.zip.CRC32
+
+        CRC32C, // CRC32C ( Castagnoli )
+
+        ADLER32, // java.util.zip.Adler32
+    }
+
+    /**
+     * 创建校验对象
+     * @param type 校验算法类型
+     * @return {@link Checksum}
+     */
+    public static Checksum newChecksum(final ChecksumType type) {
+        if (type == null) return null;
+        switch (type) {
+            case CRC32C:
+                return new CRC32C();
+            case ADLER32:
+                return new Adler32();
+            default:
+                return new CRC32();
+        }
+    }
+
+    /**
+     * 获取数据校验值
+     * @param data 数据
+     * @param type 校验算法类型
+     * @return 校验值
+     */
+    public static long getChecksum(
+            final byte[] data,
+            final ChecksumType type
+    ) {
+        if (data == null || type == null) return -1L;
+        Checksum checksum = newChecksum(type);
+        checksum.update(data, 0, data.length);
+        return checksum.getValue();
+    }
+
+    /**
+     * 获取输入流校验值
+     * <pre>
+     *     读取至流末尾, 不会关闭输入流
+     * </pre>
+     * @param inputStream 输入流
+     * @param type        校验算法类型
+     * @return 校验值
+     */
+    public static long getChecksum(
+            final InputStream inputStream,
+            final ChecksumType type
+    ) {
+        if (inputStream == null || type == null) return -1L;
         try {
-            is = new FileInputStream(filePath);
-            byte[] buffer = new byte[1024];
-            CRC32  crc32  = new CRC32();
-            int    numRead;
-            while ((numRead = is.read(buffer)) > 0) {
-                crc32.update(buffer, 0, numRead);
+            Checksum checksum = newChecksum(type);
+            byte[]   buffer   = new byte[BUFFER_SIZE];
+            int      numRead;
+            while ((numRead = inputStream.read(buffer)) != -1) {
+                checksum.update(buffer, 0, numRead);
             }
-            return Long.toHexString(crc32.getValue());
+            return checksum.getValue();
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "getChecksum");
+        }
+        return -1L;
+    }
+
+    /**
+     * 包装输入流, 读取时增量计算校验值
+     * <pre>
+     *     通过 {@link CheckedInputStream#getChecksum()} 获取校验值
+     * </pre>
+     * @param inputStream 输入流
+     * @param type        校验算法类型
+     * @return {@link CheckedInputStream}
+     */
+    public static CheckedInputStream checkedInputStream(
+            final InputStream inputStream,
+            final ChecksumType type
+    ) {
+        if (inputStream == null || type == null) return null;
+        return new CheckedInputStream(inputStream, newChecksum(type));
+    }
+
+    /**
+     * 包装输出流, 写入时增量计算校验值
+     * <pre>
+     *     通过 {@link CheckedOutputStream#getChecksum()} 获取校验值
+     * </pre>
+     * @param outputStream 输出流
+     * @param type         校验算法类型
+     * @return {@link CheckedOutputStream}
+     */
+    public static CheckedOutputStream checkedOutputStream(
+            final OutputStream outputStream,
+            final ChecksumType type
+    ) {
+        if (outputStream == null || type == null) return null;
+        return new CheckedOutputStream(outputStream, newChecksum(type));
+    }
+
+    /**
+     * 合并校验值
+     * <pre>
+     *     已知数据 A 校验值 checksum1、数据 B 校验值 checksum2 及 B 长度
+     *     无需重新读取数据即可得到 A + B 的校验值
+     * </pre>
+     * @param type      校验算法类型
+     * @param checksum1 前段数据校验值
+     * @param checksum2 后段数据校验值
+     * @param length2   后段数据长度
+     * @return 合并后校验值
+     */
+    public static long combine(
+            final ChecksumType type,
+            final long checksum1,
+            final long checksum2,
+            final long length2
+    ) {
+        if (type == null) return -1L;
+        switch (type) {
+            case CRC32C:
+                return crcCombine(checksum1, checksum2, length2, CRC32C.POLY);
+            case ADLER32:
+                return adler32Combine(checksum1, checksum2, length2);
+            default:
+                return crcCombine(checksum1, checksum2, length2, CRC32_POLY);
+        }
+    }
+
+    // =
+
+    /**
+     * 获取文件校验值
+     * <pre>
+     *     通过内存映射读取, 文件大于 {@link #PARALLEL_THRESHOLD} 时使用共享线程池 {@link CalcThreadPool} 分块并行计算
+     * </pre>
+     * @param file 文件
+     * @param type 校验算法类型
+     * @return 文件校验值, 失败返回 -1
+     */
+    public static long getFileChecksum(
+            final File file,
+            final ChecksumType type
+    ) {
+        if (file == null || type == null) return -1L;
+        if (CalcThreadPool.getThreads() <= 1 || file.length() < PARALLEL_THRESHOLD) {
+            return getFileChecksum(file, type, null);
+        }
+        return getFileChecksum(file, type, CalcThreadPool.getExecutor());
+    }
+
+    /**
+     * 获取文件校验值
+     * <pre>
+     *     executor 为 null 则在当前线程顺序计算
+     *     否则按 {@link #CHUNK_SIZE} 分块提交到 executor 计算后合并 ( 调用线程同时参与计算 )
+     *     任一分块失败或调用线程中断时取消剩余分块, 等待执行中的分块结束后才关闭文件
+     * </pre>
+     * @param file     文件
+     * @param type     校验算法类型
+     * @param executor 线程池
+     * @return 文件校验值, 失败返回 -1
+     */
+    public static long getFileChecksum(
+            final File file,
+            final ChecksumType type,
+            final ExecutorService executor
+    ) {
+        if (file == null || type == null) return -1L;
+        RandomAccessFile randomAccessFile = null;
+        try {
+            randomAccessFile = new RandomAccessFile(file, "r");
+            final FileChannel channel = randomAccessFile.getChannel();
+            final long        size    = channel.size();
+            if (executor == null || size <= CHUNK_SIZE) {
+                return checksumRegion(channel, 0, size, type);
+            }
+            List<Callable<Long>> tasks = new ArrayList<>();
+            for (long position = 0; position < size; position += CHUNK_SIZE) {
+                final long start  = position;
+                final long length = Math.min(CHUNK_SIZE, size - position);
+                tasks.add(new Callable<Long>() {
+                    @Override
+                    public Long call()
+                            throws Exception {
+                        return checksumRegion(channel, start, length, type);
+                    }
+                });
+            }
+            List<Long> results  = CalcThreadPool.invokeAll(executor, tasks);
+            long       value    = newChecksum(type).getValue();
+            long       position = 0;
+            for (Long result : results) {
+                long length = Math.min(CHUNK_SIZE, size - position);
+                value = combine(type, value, result, length);
+                position += length;
+            }
+            return value;
         } catch (Exception e) {
-            JCLogUtils.eTag(TAG, e, "getFileCRC32");
+            JCLogUtils.eTag(TAG, e, "getFileChecksum");
         } finally {
-            CloseUtils.closeIOQuietly(is);
+            CloseUtils.closeIOQuietly(randomAccessFile);
         }
-        return null;
+        return -1L;
+    }
+
+    // ==========
+    // = 内部方法 =
+    // ==========
+
+    // 读取缓冲区大小
+    private static final int  BUFFER_SIZE        = 64 * 1024;
+    // 内存映射窗口大小
+    private static final long MAP_SIZE           = 64L * 1024 * 1024;
+    // 并行计算分块大小
+    private static final long CHUNK_SIZE         = 8L * 1024 * 1024;
+    // 并行计算文件大小阈值
+    private static final long PARALLEL_THRESHOLD = 32L * 1024 * 1024;
+    // CRC32 反射多项式
+    private static final int  CRC32_POLY         = 0xEDB88320;
+    // Adler32 模数
+    private static final long ADLER_BASE         = 65521L;
+
+    // 是否使用内存映射 ( 32 位虚拟机不使用 )
+    private static final boolean USE_MAPPED = is64BitVM();
+
+    /**
+     * 计算文件区域校验值
+     * <pre>
+     *     按 {@link #MAP_SIZE} 窗口映射, 拷贝至堆内缓冲区后计算
+     *     ( Checksum#update(ByteBuffer) 需 Android API 26 )
+     *     映射区域无法主动释放, 连续映射可能耗尽 32 位地址空间, 32 位虚拟机改为按位置读取
+     * </pre>
+     * @param channel  文件通道
+     * @param position 开始位置
+     * @param length   区域长度
+     * @param type     校验算法类型
+     * @return 区域校验值
+     * @throws Exception 映射、读取异常
+     */
+    private static long checksumRegion(
+            final FileChannel channel,
+            final long position,
+            final long length,
+            final ChecksumType type
+    )
+            throws Exception {
+        Checksum checksum = newChecksum(type);
+        byte[]   buffer   = new byte[(int) Math.min(BUFFER_SIZE, Math.max(length, 1))];
+        long     offset   = 0;
+        if (!USE_MAPPED) {
+            ByteBuffer wrap = ByteBuffer.wrap(buffer);
+            while (offset < length) {
+                wrap.clear();
+                wrap.limit((int) Math.min(buffer.length, length - offset));
+                int count = channel.read(wrap, position + offset);
+                if (count < 0) throw new EOFException();
+                checksum.update(buffer, 0, count);
+                offset += count;
+            }
+            return checksum.getValue();
+        }
+        while (offset < length) {
+            long             mapLength = Math.min(MAP_SIZE, length - offset);
+            MappedByteBuffer mapped    = channel.map(
+                    FileChannel.MapMode.READ_ONLY, position + offset, mapLength
+            );
+            while (mapped.hasRemaining()) {
+                int count = Math.min(buffer.length, mapped.remaining());
+                mapped.get(buffer, 0, count);
+                checksum.update(buffer, 0, count);
+            }
+            offset += mapLength;
+        }
+        return checksum.getValue();
+    }
+
+    /**
+     * 判断是否 64 位虚拟机
+     * @return {@code true} yes, {@code false} no
+     */
+    private static boolean is64BitVM() {
+        String model = System.getProperty("sun.arch.data.model");
+        if (model != null) return model.equals("64");
+        String arch = System.getProperty("os.arch");
+        return arch != null && arch.contains("64");
+    }
+
+    /**
+     * CRC 合并 ( zlib crc32_combine, GF(2) 矩阵 )
+     * @param crc1   前段 CRC
+     * @param crc2   后段 CRC
+     * @param length 后段数据长度
+     * @param poly   反射多项式
+     * @return 合并后 CRC
+     */
+    private static long crcCombine(
+            long crc1,
+            final long crc2,
+            long length,
+            final int poly
+    ) {
+        if (length <= 0) return crc1;
+        long[] even = new long[32]; // 偶数次幂 ( 2^n 个零位 ) 算子
+        long[] odd  = new long[32]; // 奇数次幂算子
+
+        // 单个零位算子
+        odd[0] = poly & 0xFFFFFFFFL;
+        long row = 1;
+        for (int n = 1; n < 32; n++) {
+            odd[n] = row;
+            row <<= 1;
+        }
+        gf2MatrixSquare(even, odd); // 2 个零位
+        gf2MatrixSquare(odd, even); // 4 个零位
+
+        // 按 length 字节 ( length * 8 零位 ) 逐位应用算子
+        do {
+            gf2MatrixSquare(even, odd);
+            if ((length & 1) != 0) crc1 = gf2MatrixTimes(even, crc1);
+            length >>= 1;
+            if (length == 0) break;
+            gf2MatrixSquare(odd, even);
+            if ((length & 1) != 0) crc1 = gf2MatrixTimes(odd, crc1);
+            length >>= 1;
+        } while (length != 0);
+        return (crc1 ^ crc2) & 0xFFFFFFFFL;
+    }
+
+    private static long gf2MatrixTimes(
+            final long[] mat,
+            long vec
+    ) {
+        long sum = 0;
+        int  i   = 0;
+        while (vec != 0) {
+            if ((vec & 1) != 0) sum ^= mat[i];
+            vec >>>= 1;
+            i++;
+        }
+        return sum;
+    }
+
+    private static void gf2MatrixSquare(
+            final long[] square,
+            final long[] mat
+    ) {
+        for (int n = 0; n < 32; n++) {
+            square[n] = gf2MatrixTimes(mat, mat[n]);
+        }
+    }
+
+    /**
+     * Adler32 合并 ( zlib adler32_combine )
+     * @param adler1 前段 Adler32
+     * @param adler2 后段 Adler32
+     * @param length 后段数据长度
+     * @return 合并后 Adler32
+     */
+    private static long adler32Combine(
+            final long adler1,
+            final long adler2,
+            final long length
+    ) {
+        if (length < 0) return adler1;
+        long rem  = length % ADLER_BASE;
+        long sum1 = adler1 & 0xFFFF;
+        long sum2 = (rem * sum1) % ADLER_BASE;
+        sum1 += (adler2 & 0xFFFF) + ADLER_BASE - 1;
+        sum2 += ((adler1 >>> 16) & 0xFFFF) + ((adler2 >>> 16) & 0xFFFF) + ADLER_BASE - rem;
+        if (sum1 >= ADLER_BASE) sum1 -= ADLER_BASE;
+        if (sum1 >= ADLER_BASE) sum1 -= ADLER_BASE;
+        if (sum2 >= (ADLER_BASE << 1)) sum2 -= (ADLER_BASE << 1);
+        if (sum2 >= ADLER_BASE) sum2 -= ADLER_BASE;
+        return sum1 | (sum2 << 16);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,366 @@
+package dev.utils.common.random;
+
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * detail: 随机概率采样 ( 别名法, 基本类型实现 )
+ * @author Ttt
+ * <pre>
+ *     与 {@link AliasMethod} 算法一致 ( Vose ), 区别在于
+ *     权重使用 double[]、float[] 传入 ( 无需归一化 ), 构建时使用 int 数组栈, 不产生装箱
+ *     每次采样仅消耗一个 64 位随机数: 高 32 位选择列, 低 32 位作为硬币 ( 概率精度 2^-32 )
+ *     默认使用 {@link ThreadLocalRandom} ( 各线程独立, 无竞争 )
+ *     也可传入 {@link Random} 或自行生成的 64 位随机数 ( 如 SplittableRandom#nextLong() )
+ *     <p></p>
+ *     修改权重后标记失效, 下次采样时重建概率表 ( O(n) ), 多次修改只重建一次
+ *     采样线程安全, 概率表重建期间其他线程继续使用旧表
+ *     <p></p>
+ *     AliasSampler sampler = new AliasSampler(new double[]{ 15, 85 });
+ *     int index = sampler.next(); // 0 = 15%, 1 = 85%
+ * </pre>
+ */
+public final class AliasSampler {
+
+    // 2^32
+    private static final long COIN_RANGE = 1L << 32;
+
+    // 权重
+    private final    double[]   mWeights;
+    // 大于 0 的权重数量
+    private          int        mPositiveCount;
+    // 当前概率表
+    private volatile AliasTable mTable;
+    // 权重是否已修改 ( 概率表失效 )
+    private volatile boolean    mDirty;
+
+    /**
+     * 构造函数
+     * @param weights 权重 ( 非负, 总和大于 0 )
+     */
+    public AliasSampler(final double[] weights) {
+        if (weights == null) throw new NullPointerException();
+        if (weights.length == 0) {
+            throw new IllegalArgumentException("Weight vector must be nonempty.");
+        }
+        this.mWeights = weights.clone();
+        for (double weight : mWeights) {
+            checkWeight(weight);
+            if (weight > 0D) mPositiveCount++;
+        }
+        this.mTable = build(mWeights);
+    }
+
+    /**
+     * 构造函数
+     * @param weights 权重 ( 非负, 总和大于 0 )
+     */
+    public AliasSampler(final float[] weights) {
+        this(toDoubles(weights));
+    }
+
+    // =============
+    // = 对外公开方法 =
+    // =============
+
+    /**
+     * 获取权重数量
+     * @return 权重数量
+     */
+    public int size() {
+        return mWeights.length;
+    }
+
+    /**
+     * 获取权重
+     * @param index 索引
+     * @return 权重
+     */
+    public synchronized double getWeight(final int index) {
+        return mWeights[index];
+    }
+
+    /**
+     * 获取概率
+     * @param index 索引
+     * @return 概率 ( 权重 / 权重总和 )
+     */
+    public double getProbability(final int index) {
+        AliasTable table = table();
+        return table.weights[index] / table.sum;
+    }
+
+    /**
+     * 修改权重
+     * <pre>
+     *     下次采样时重建概率表
+     * </pre>
+     * @param index  索引
+     * @param weight 权重 ( 非负, 修改后至少保留一个大于 0 的权重 )
+     * @return {@link AliasSampler}
+     */
+    public synchronized AliasSampler setWeight(
+            final int index,
+            final double weight
+    ) {
+        checkWeight(weight);
+        int count = mPositiveCount - (mWeights[index] > 0D ? 1 : 0) + (weight > 0D ? 1 : 0);
+        if (count == 0) {
+            throw new IllegalArgumentException("At least one weight must be positive.");
+        }
+        mWeights[index] = weight;
+        mPositiveCount  = count;
+        mDirty          = true;
+        return this;
+    }
+
+    /**
+     * 修改全部权重
+     * @param weights 权重 ( 长度需一致 )
+     * @return {@link AliasSampler}
+     */
+    public synchronized AliasSampler setWeights(final double[] weights) {
+        if (weights == null) throw new NullPointerException();
+        if (weights.length != mWeights.length) {
+            throw new IllegalArgumentException("Weight vector length mismatch.");
+        }
+        int count = 0;
+        for (double weight : weights) {
+            checkWeight(weight);
+            if (weight > 0D) count++;
+        }
+        if (count == 0) {
+            throw new IllegalArgumentException("At least one weight must be positive.");
+        }
+        System.arraycopy(weights, 0, mWeights, 0, weights.length);
+        mPositiveCount = count;
+        mDirty         = true;
+        return this;
+    }
+
+    // =
+
+    /**
+     * 获取随机索引 ( 使用 ThreadLocalRandom )
+     * @return 随机索引
+     */
+    public int next() {
+        return sample(table(), ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * 获取随机索引
+     * @param random 随机数生成器
+     * @return 随机索引
+     */
+    public int next(final Random random) {
+        return sample(table(), random.nextLong());
+    }
+
+    /**
+     * 获取随机索引
+     * <pre>
+     *     由调用方提供 64 位均匀随机数, 便于接入任意随机数生成器
+     * </pre>
+     * @param randomBits 64 位随机数
+     * @return 随机索引
+     */
+    public int nextFromBits(final long randomBits) {
+        return sample(table(), randomBits);
+    }
+
+    /**
+     * 批量采样 ( 使用 ThreadLocalRandom )
+     * @param out 存储数组
+     */
+    public void fill(final int[] out) {
+        fill(out, 0, out.length, ThreadLocalRandom.current());
+    }
+
+    /**
+     * 批量采样
+     * @param out    存储数组
+     * @param random 随机数生成器
+     */
+    public void fill(
+            final int[] out,
+            final Random random
+    ) {
+        fill(out, 0, out.length, random);
+    }
+
+    /**
+     * 批量采样
+     * <pre>
+     *     同一批次使用同一概率表
+     * </pre>
+     * @param out    存储数组
+     * @param offset 开始索引
+     * @param length 采样数量
+     * @param random 随机数生成器
+     */
+    public void fill(
+            final int[] out,
+            final int offset,
+            final int length,
+            final Random random
+    ) {
+        if (random == null) throw new NullPointerException();
+        if (offset < 0 || length < 0 || offset > out.length - length) {
+            throw new ArrayIndexOutOfBoundsException();
+        }
+        AliasTable table     = table();
+        int[]      alias     = table.alias;
+        long[]     threshold = table.threshold;
+        long       n         = alias.length;
+        for (int i = offset, end = offset + length; i < end; i++) {
+            long bits   = random.nextLong();
+            int  column = (int) (((bits >>> 32) * n) >>> 32);
+            out[i] = (bits & 0xFFFFFFFFL) < threshold[column] ? column : alias[column];
+        }
+    }
+
+    // ==========
+    // = 内部方法 =
+    // ==========
+
+    /**
+     * detail: 概率表 ( 不可变 )
+     * @author Ttt
+     */
+    private static final class AliasTable {
+
+        // 别名
+        final int[]    alias;
+        // 硬币阈值 ( 0 - 2^32 )
+        final long[]   threshold;
+        // 构建时权重快照
+        final double[] weights;
+        // 权重总和
+        final double   sum;
+
+        AliasTable(
+                final int[] alias,
+                final long[] threshold,
+                final double[] weights,
+                final double sum
+        ) {
+            this.alias     = alias;
+            this.threshold = threshold;
+            this.weights   = weights;
+            this.sum       = sum;
+        }
+    }
+
+    /**
+     * 获取概率表 ( 权重修改后重建 )
+     * @return {@link AliasTable}
+     */
+    private AliasTable table() {
+        if (mDirty) {
+            synchronized (this) {
+                if (mDirty) {
+                    mTable = build(mWeights);
+                    mDirty = false;
+                }
+            }
+        }
+        return mTable;
+    }
+
+    /**
+     * 采样
+     * @param table 概率表
+     * @param bits  64 位随机数
+     * @return 随机索引
+     */
+    private static int sample(
+            final AliasTable table,
+            final long bits
+    ) {
+        int column = (int) (((bits >>> 32) * table.alias.length) >>> 32);
+        return (bits & 0xFFFFFFFFL) < table.threshold[column] ? column : table.alias[column];
+    }
+
+    /**
+     * 构建概率表 ( Vose )
+     * <pre>
+     *     small 栈从数组头部、large 栈从数组尾部共用一个 int 数组
+     * </pre>
+     * @param weights 权重
+     * @return {@link AliasTable}
+     */
+    private static AliasTable build(final double[] weights) {
+        int    n   = weights.length;
+        double sum = 0D;
+        for (double weight : weights) {
+            sum += weight;
+        }
+        if (!(sum > 0D) || Double.isInfinite(sum)) {
+            throw new IllegalArgumentException("Sum of weights must be positive and finite.");
+        }
+
+        double[] scaled    = new double[n];
+        int[]    alias     = new int[n];
+        long[]   threshold = new long[n];
+        int[]    stack     = new int[n];
+        int      small     = 0; // small 栈大小 ( stack[0, small) )
+        int      large     = n; // large 栈栈顶 ( stack[large, n) )
+        for (int i = 0; i < n; i++) {
+            scaled[i] = weights[i] * n / sum;
+            if (scaled[i] < 1D) {
+                stack[small++] = i;
+            } else {
+                stack[--large] = i;
+            }
+        }
+        while (small > 0 && large < n) {
+            int less = stack[--small];
+            int more = stack[large++];
+            threshold[less] = (long) (scaled[less] * COIN_RANGE);
+            alias[less]     = more;
+            scaled[more]    = (scaled[more] + scaled[less]) - 1D;
+            if (scaled[more] < 1D) {
+                stack[small++] = more;
+            } else {
+                stack[--large] = more;
+            }
+        }
+        // 剩余项概率应为 1 ( 浮点误差可能留在任一栈中 )
+        while (small > 0) {
+            int index = stack[--small];
+            threshold[index] = COIN_RANGE;
+            alias[index]     = index;
+        }
+        while (large < n) {
+            int index = stack[large++];
+            threshold[index] = COIN_RANGE;
+            alias[index]     = index;
+        }
+        return new AliasTable(alias, threshold, weights.clone(), sum);
+    }
+
+    /**
+     * 校验权重
+     * @param weight 权重
+     */
+    private static void checkWeight(final double weight) {
+        if (!(weight >= 0D) || Double.isInfinite(weight)) {
+            throw new IllegalArgumentException("Weight must be non-negative and finite: " + weight);
+        }
+    }
+
+    /**
+     * float[] 转 double[]
+     * @param weights 权重
+     * @return double[]
+     */
+    private static double[] toDoubles(final float[] weights) {
+        if (weights == null) throw new NullPointerException();
+        double[] values = new double[weights.length];
+        for (int i = 0; i < weights.length; i++) {
+            values[i] = weights[i];
+        }
+        return values;
+    }
+}
@@ -0,0 +1,118 @@
+package dev.utils.common;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * detail: CalendarUtils 批量计算测试
+ * @author Ttt
+ * <pre>
+ *     批量每日信息与逐日 solarToLunar、getSolarTermsIndex 结果对比
+ * </pre>
+ */
+public class CalendarUtilsTest {
+
+    @After
+    public void tearDown() {
+        CalendarUtils.releaseDayTable();
+    }
+
+    @Test
+    public void yearDayInfosMatchPerDay() {
+        for (int year = CalendarUtils.MIN_SOLAR_YEAR; year <= CalendarUtils.MAX_YEAR; year++) {
+            assertYear(year, CalendarUtils.getYearDayInfos(year));
+        }
+    }
+
+    @Test
+    public void monthDayInfosMatchPerDay() {
+        for (int year = CalendarUtils.MIN_SOLAR_YEAR; year <= CalendarUtils.MAX_YEAR; year += 7) {
+            for (int month = 1; month <= 12; month++) {
+                int[] infos = CalendarUtils.getMonthDayInfos(year, month);
+                assertEquals(DateUtils.getMonthDayNumberAll(year, month), infos.length);
+                for (int day = 1; day <= infos.length; day++) {
+                    assertDay(year, month, day, infos[day - 1]);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void dayTableMatchesForwardPass() {
+        int[][] expected = new int[CalendarUtils.MAX_YEAR - CalendarUtils.MIN_SOLAR_YEAR + 1][];
+        for (int year = CalendarUtils.MIN_SOLAR_YEAR; year <= CalendarUtils.MAX_YEAR; year++) {
+            expected[year - CalendarUtils.MIN_SOLAR_YEAR] = CalendarUtils.getYearDayInfos(year);
+        }
+        CalendarUtils.prepareDayTable();
+        for (int year = CalendarUtils.MIN_SOLAR_YEAR; year <= CalendarUtils.MAX_YEAR; year++) {
+            int[] infos = CalendarUtils.getYearDayInfos(year);
+            assertArrayEquals(expected[year - CalendarUtils.MIN_SOLAR_YEAR], infos);
+            assertEquals(infos[0], CalendarUtils.getDayInfo(year, 1, 1));
+        }
+    }
+
+    @Test
+    public void rangeEdges() {
+        // 跨越最大年份后填充 0
+        int[] infos = CalendarUtils.getDayInfos(CalendarUtils.MAX_YEAR, 12, 30, 4);
+        assertDay(CalendarUtils.MAX_YEAR, 12, 30, infos[0]);
+        assertDay(CalendarUtils.MAX_YEAR, 12, 31, infos[1]);
+        assertEquals(0, infos[2]);
+        assertEquals(0, infos[3]);
+        // 不支持的日期
+        assertEquals(0, CalendarUtils.getDayInfo(CalendarUtils.MIN_SOLAR_YEAR - 1, 12, 31));
+        assertEquals(0, CalendarUtils.getDayInfo(2020, 2, 30));
+        assertEquals(0, CalendarUtils.getDayInfo(2020, 13, 1));
+    }
+
+    // ==========
+    // = 内部方法 =
+    // ==========
+
+    /**
+     * 校验公历年份每日信息
+     * @param year  公历年
+     * @param infos 每日信息
+     */
+    private static void assertYear(
+            final int year,
+            final int[] infos
+    ) {
+        int index = 0;
+        for (int month = 1; month <= 12; month++) {
+            for (int day = 1, days = DateUtils.getMonthDayNumberAll(year, month); day <= days; day++) {
+                assertDay(year, month, day, infos[index++]);
+            }
+        }
+        assertEquals(infos.length, index);
+    }
+
+    /**
+     * 校验单日信息
+     * @param year  公历年
+     * @param month 公历月
+     * @param day   公历日
+     * @param info  每日信息
+     */
+    private static void assertDay(
+            final int year,
+            final int month,
+            final int day,
+            final int info
+    ) {
+        String date  = year + "-" + month + "-" + day;
+        int[]  lunar = CalendarUtils.solarToLunar(year, month, day);
+        assertEquals(date, lunar[0], CalendarUtils.getDayInfoLunarYear(info));
+        assertEquals(date, lunar[1], CalendarUtils.getDayInfoLunarMonth(info));
+        assertEquals(date, lunar[2], CalendarUtils.getDayInfoLunarDay(info));
+        assertEquals(date, lunar[3] == 1, CalendarUtils.isDayInfoLunarLeap(info));
+        assertEquals(date, day, CalendarUtils.getDayInfoSolarDay(info));
+        assertEquals(
+                date, CalendarUtils.getSolarTermsIndex(month, day),
+                CalendarUtils.getDayInfoSolarTermsIndex(info)
+        );
+    }
+}
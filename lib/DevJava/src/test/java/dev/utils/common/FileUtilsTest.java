@@ -0,0 +1,138 @@
+package dev.utils.common;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * detail: FileUtils 测试
+ * @author Ttt
+ * <pre>
+ *     getFileLines 串行、并行与逐字节统计结果一致 ( 包含文件不存在、读取失败 )
+ * </pre>
+ */
+public class FileUtilsTest {
+
+    @Rule
+    public final TemporaryFolder mFolder = new TemporaryFolder();
+
+    // 并行统计线程池
+    private final ExecutorService mExecutor = Executors.newFixedThreadPool(4);
+
+    @After
+    public void tearDown() {
+        mExecutor.shutdownNow();
+        // 清除读取失败测试设置的中断状态
+        Thread.interrupted();
+    }
+
+    @Test
+    public void linesMatchByteCount()
+            throws IOException {
+        String[] contents = {"", "a", "a\n", "a\nb", "\n\n\n", "a\r\nb\r\n"};
+        for (String content : contents) {
+            File file = write(content.getBytes("UTF-8"));
+            assertLines(file);
+        }
+        // 超过并行分片最小大小, 换行位于 8 字节边界两侧
+        byte[] data   = new byte[5 * 1024 * 1024 + 13];
+        Random random = new Random(32L);
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (random.nextInt(40) == 0) ? (byte) '\n' : (byte) ('a' + random.nextInt(26));
+        }
+        assertLines(write(data));
+    }
+
+    @Test
+    public void missingFileAndDirectory()
+            throws IOException {
+        File missing = new File(mFolder.getRoot(), "missing.txt");
+        assertEquals(0, FileUtils.getFileLines(missing));
+        assertEquals(0, FileUtils.getFileLines(missing, mExecutor));
+        assertEquals(0, FileUtils.getFileLines((File) null, mExecutor));
+        // 目录无法读取, 与逐字节读取失败时一致返回 1
+        File dir = mFolder.newFolder();
+        assertEquals(1, FileUtils.getFileLines(dir));
+        assertEquals(1, FileUtils.getFileLines(dir, mExecutor));
+    }
+
+    @Test
+    public void failureKeepsPartialCount()
+            throws IOException {
+        byte[] data = new byte[8 * 1024 * 1024];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (i % 64 == 63) ? (byte) '\n' : (byte) 'x';
+        }
+        File file = write(data);
+        int  full = FileUtils.getFileLines(file);
+        assertEquals(data.length / 64 + 1, full);
+
+        // 从头读取失败 ( 中断关闭 FileChannel ) 返回 1
+        Thread.currentThread().interrupt();
+        assertEquals(1, FileUtils.getFileLines(file));
+        Thread.interrupted();
+
+        // 并行分片需要多核
+        assumeTrue(Runtime.getRuntime().availableProcessors() >= 2);
+        assertEquals(1, FileUtils.getFileLines(file, command -> {
+            Thread.currentThread().interrupt();
+            command.run();
+        }));
+        Thread.interrupted();
+        // 第二个分片读取失败, 保留第一个分片的行数
+        final AtomicInteger calls   = new AtomicInteger();
+        int                 partial = FileUtils.getFileLines(file, command -> {
+            if (calls.getAndIncrement() == 1) Thread.currentThread().interrupt();
+            command.run();
+        });
+        Thread.interrupted();
+        assertTrue(String.valueOf(partial), partial > 1 && partial < full);
+    }
+
+    // ==========
+    // = 内部方法 =
+    // ==========
+
+    /**
+     * 校验串行、并行行数与逐字节统计一致
+     * @param file 文件
+     */
+    private void assertLines(final File file) {
+        int    expected = 1;
+        byte[] bytes    = FileIOUtils.readFileToBytesByStream(file);
+        for (byte value : bytes) {
+            if (value == '\n') expected++;
+        }
+        assertEquals(expected, FileUtils.getFileLines(file));
+        assertEquals(expected, FileUtils.getFileLines(file, mExecutor));
+    }
+
+    /**
+     * 写入临时文件
+     * @param data 文件内容
+     * @return 文件
+     * @throws IOException 写入异常
+     */
+    private File write(final byte[] data)
+            throws IOException {
+        File file = mFolder.newFile();
+        try (OutputStream outputStream = new FileOutputStream(file)) {
+            outputStream.write(data);
+        }
+        return file;
+    }
+}
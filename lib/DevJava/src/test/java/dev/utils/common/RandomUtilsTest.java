@@ -0,0 +1,197 @@
+package dev.utils.common;
+
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * detail: RandomUtils 批量生成分布测试
+ * @author Ttt
+ * <pre>
+ *     各分桶频率卡方检验 ( 显著性 1e-6, 除并行填充外使用固定种子 )
+ * </pre>
+ */
+public class RandomUtilsTest {
+
+    // 生成数量
+    private static final int SAMPLES = 1_000_000;
+
+    @Test
+    public void fillIntsUniform() {
+        Random  random = new Random(50L);
+        int[][] ranges = {
+                {0, 7}, {-3, 97}, {0, 1 << 16}, {Integer.MIN_VALUE, Integer.MAX_VALUE}, {-5, (1 << 30) + 7}
+        };
+        for (int[] range : ranges) {
+            int[] out = new int[SAMPLES];
+            assertTrue(RandomUtils.fillInts(out, 0, out.length, range[0], range[1], random));
+            long   n       = (long) range[1] - range[0];
+            // 小区间逐值分桶, 大区间 64 个分桶 ( 宽度差异可忽略 )
+            int    buckets = (int) (n <= 1024L ? n : 64L);
+            long[] counts  = new long[buckets];
+            for (int value : out) {
+                assertTrue(value >= range[0] && value < range[1]);
+                counts[(int) (((long) value - range[0]) * buckets / n)]++;
+            }
+            assertUniform(counts);
+        }
+    }
+
+    @Test
+    public void fillLongsUniform() {
+        Random random = new Random(5050L);
+        // [0, 10)
+        long[] out = new long[SAMPLES];
+        assertTrue(RandomUtils.fillLongs(out, 0, out.length, 0L, 10L, random));
+        long[] counts = new long[10];
+        for (long value : out) {
+            counts[(int) value]++;
+        }
+        assertUniform(counts);
+
+        // 非 2 的幂大区间 ( 3 * 2^61 )
+        long origin = -(1L << 61);
+        long n      = 3L << 61;
+        assertTrue(RandomUtils.fillLongs(out, 0, out.length, origin, origin + n, random));
+        counts = new long[3];
+        for (long value : out) {
+            assertTrue(value >= origin && value < origin + n);
+            counts[(int) ((value - origin) >>> 61)]++;
+        }
+        assertUniform(counts);
+
+        // 超过 Long.MAX_VALUE 的区间
+        assertTrue(RandomUtils.fillLongs(out, 0, out.length, Long.MIN_VALUE + 1, Long.MAX_VALUE, random));
+        counts = new long[16];
+        for (long value : out) {
+            assertTrue(value > Long.MIN_VALUE && value < Long.MAX_VALUE);
+            counts[(int) ((value - Long.MIN_VALUE) >>> 60)]++;
+        }
+        assertUniform(counts);
+    }
+
+    @Test
+    public void fillDoublesUniform() {
+        Random   random = new Random(505050L);
+        double[] out    = new double[SAMPLES];
+        assertTrue(RandomUtils.fillDoubles(out, 0, out.length, -2.5D, 7.5D, random));
+        long[] counts = new long[50];
+        for (double value : out) {
+            assertTrue(value >= -2.5D && value < 7.5D);
+            counts[(int) ((value + 2.5D) * 5D)]++;
+        }
+        assertUniform(counts);
+
+        // 极小区间不超出 bound
+        double origin = 1D;
+        double bound  = Math.nextUp(origin);
+        assertTrue(RandomUtils.fillDoubles(out, 0, 1000, origin, bound, random));
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(origin, out[i], 0D);
+        }
+    }
+
+    @Test
+    public void fillCharsUniform() {
+        Random   random  = new Random(50505050L);
+        String[] sources = {"ab", "abc", "0123456789", "0123456789abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ"};
+        for (String source : sources) {
+            char[] chars  = source.toCharArray();
+            int    k      = chars.length;
+            char[] out    = new char[SAMPLES];
+            int[]  lookup = new int[128];
+            for (int i = 0; i < k; i++) {
+                lookup[chars[i]] = i;
+            }
+            assertTrue(RandomUtils.fillChars(out, 0, out.length, chars, random));
+            // 各位置 ( 按打包周期 ) 频率
+            int      period = 20;
+            long[][] counts = new long[period][k];
+            for (int i = 0; i < out.length; i++) {
+                counts[i % period][lookup[out[i]]]++;
+            }
+            for (long[] count : counts) {
+                assertUniform(count);
+            }
+            // 相邻字符独立
+            long[] pairs = new long[k * k];
+            for (int i = 0; i + 1 < out.length; i += 2) {
+                pairs[lookup[out[i]] * k + lookup[out[i + 1]]]++;
+            }
+            assertUniform(pairs);
+        }
+    }
+
+    @Test
+    public void parallelFillUniform() {
+        int[]           out      = new int[(1 << 21) + 5];
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            assertTrue(RandomUtils.parallelFillInts(out, 1, 11, executor));
+        } finally {
+            executor.shutdownNow();
+        }
+        long[] counts = new long[10];
+        for (int value : out) {
+            assertTrue(value >= 1 && value < 11);
+            counts[value - 1]++;
+        }
+        assertUniform(counts);
+
+        double[] doubles = new double[(1 << 21) + 5];
+        assertTrue(RandomUtils.parallelFillDoubles(doubles, 1D, 2D));
+        counts = new long[10];
+        for (double value : doubles) {
+            assertTrue(value >= 1D && value < 2D);
+            counts[(int) ((value - 1D) * 10D)]++;
+        }
+        assertUniform(counts);
+    }
+
+    @Test
+    public void rangeAndArguments() {
+        int[] out = new int[10];
+        assertTrue(RandomUtils.fillInts(out, 2, 5, 100, 101, new Random(5L)));
+        for (int i = 0; i < out.length; i++) {
+            assertEquals(i >= 2 && i < 7 ? 100 : 0, out[i]);
+        }
+        assertFalse(RandomUtils.fillInts(out, 6, 5, 0, 10, null));
+        assertFalse(RandomUtils.fillInts(out, -1, 5, 0, 10, null));
+        assertFalse(RandomUtils.fillInts(out, 0, 5, 10, 10, null));
+        assertFalse(RandomUtils.fillLongs(new long[1], 0, 1, 5L, 4L, null));
+        assertFalse(RandomUtils.fillDoubles(new double[1], 0, 1, 0D, Double.NaN, null));
+        assertFalse(RandomUtils.fillChars(new char[1], 0, 1, new char[0], null));
+        assertFalse(RandomUtils.fillInts(null, 0, 1));
+    }
+
+    // ==========
+    // = 内部方法 =
+    // ==========
+
+    /**
+     * 均匀分布卡方检验
+     * @param counts 各分桶次数
+     */
+    private static void assertUniform(final long[] counts) {
+        long total = 0L;
+        for (long count : counts) {
+            total += count;
+        }
+        double expected = (double) total / counts.length;
+        double chi      = 0D;
+        for (long count : counts) {
+            chi += (count - expected) * (count - expected) / expected;
+        }
+        int df = counts.length - 1;
+        // Wilson-Hilferty 近似 ( z = 4.75, p ≈ 1e-6 )
+        double v     = 2D / (9D * df);
+        double limit = df * Math.pow(1D - v + 4.75 * Math.sqrt(v), 3);
+        assertTrue("chi-square " + chi + " > " + limit + " ( df " + df + " )", chi < limit);
+    }
+}
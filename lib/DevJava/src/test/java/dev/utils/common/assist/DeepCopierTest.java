@@ -0,0 +1,317 @@
+package dev.utils.common.assist;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import dev.utils.common.CloneUtils;
+import dev.utils.common.ConvertUtils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * detail: DeepCopier 测试
+ * @author Ttt
+ * <pre>
+ *     与序列化克隆结果对比 ( 构造函数、transient、引用关系、不可序列化变量 ) 及耗时对比
+ * </pre>
+ */
+public class DeepCopierTest {
+
+    @After
+    public void tearDown() {
+        DeepCopier.clearCache();
+        Counted.sCreated = 0;
+    }
+
+    @Test
+    public void constructorIsNotRun() {
+        Counted source = new Counted();
+        source.value = 7;
+        int created = Counted.sCreated;
+
+        Counted clone  = CloneUtils.deepClone(source);
+        Counted copy   = CloneUtils.deepCopy(source);
+        Counted serial = serialClone(source);
+        assertEquals(created, Counted.sCreated);
+        assertEquals(serial.value, clone.value);
+        assertEquals(serial.value, copy.value);
+    }
+
+    @Test
+    public void transientFieldsAreReset() {
+        Counted source = new Counted();
+        source.cache = "cached";
+        source.hits  = 3;
+
+        Counted serial = serialClone(source);
+        for (Counted copy : new Counted[]{CloneUtils.<Counted>deepClone(source), CloneUtils.deepCopy(source)}) {
+            assertEquals(serial.cache, copy.cache);
+            assertEquals(serial.hits, copy.hits);
+            assertNull(copy.cache);
+            assertEquals(0, copy.hits);
+        }
+    }
+
+    @Test
+    public void objectSentinelIsNotShared() {
+        Holder source = new Holder();
+        source.lock  = new Object();
+        source.first = source.lock;
+        Holder copy = CloneUtils.deepCopy(source);
+        assertNotNull(copy.lock);
+        assertNotSame(source.lock, copy.lock);
+        assertSame(copy.lock, copy.first);
+    }
+
+    @Test
+    public void identityIsKeptAcrossCustomNodes() {
+        Custom shared = new Custom();
+        shared.name = "shared";
+        Graph source = new Graph();
+        source.custom = shared;
+        source.list.add(shared);
+        source.list.add(shared);
+
+        Graph serial = serialClone(source);
+        assertSame(serial.custom, serial.list.get(0));
+        for (Graph copy : new Graph[]{CloneUtils.<Graph>deepClone(source), CloneUtils.deepCopy(source)}) {
+            assertNotSame(shared, copy.custom);
+            assertEquals("shared!", copy.custom.name);
+            assertSame(copy.custom, copy.list.get(0));
+            assertSame(copy.custom, copy.list.get(1));
+        }
+    }
+
+    @Test
+    public void nonSerializableFieldMatchesBaseline() {
+        Graph source = new Graph();
+        source.other = new Plain();
+        // 序列化失败返回 null, 逐字段拷贝不得绕过
+        assertNull(serialClone(source));
+        assertNull(CloneUtils.deepClone(source));
+        // deepCopy 无需实现 Serializable
+        Graph copy = CloneUtils.deepCopy(source);
+        assertNotNull(copy);
+        assertNotSame(source.other, copy.other);
+    }
+
+    @Test
+    public void nonSerializableSuperRunsConstructor() {
+        Child source = new Child();
+        source.base  = 5;
+        source.child = 6;
+        Child serial = serialClone(source);
+        Child clone  = CloneUtils.deepClone(source);
+        // 不可序列化父类变量由其无参构造函数初始化
+        assertEquals(serial.base, clone.base);
+        assertEquals(-1, clone.base);
+        assertEquals(serial.child, clone.child);
+    }
+
+    @Test
+    public void cyclesAreKept() {
+        Node first  = new Node();
+        Node second = new Node();
+        first.next  = second;
+        second.next = first;
+        Node copy = CloneUtils.deepClone(first);
+        assertNotSame(first, copy);
+        assertSame(copy, copy.next.next);
+    }
+
+    @Test
+    public void collectionsKeepOrderAndComparator() {
+        TreeSet<String> set = new TreeSet<>(new Reverse());
+        set.add("a");
+        set.add("c");
+        set.add("b");
+        LinkedHashMap<String, Integer> access = new LinkedHashMap<>(16, .75f, true);
+        access.put("x", 1);
+        access.put("y", 2);
+        access.get("x");
+        TreeMap<String, List<String>> tree = new TreeMap<>();
+        tree.put("k", new ArrayList<>(set));
+
+        TreeSet<String> setCopy = CloneUtils.deepClone(set);
+        assertEquals(new ArrayList<>(set), new ArrayList<>(setCopy));
+        assertTrue(setCopy.comparator() instanceof Reverse);
+        assertNotSame(set.comparator(), setCopy.comparator());
+        // deepCopy 共享 Comparator
+        assertSame(set.comparator(), CloneUtils.<TreeSet<String>>deepCopy(set).comparator());
+
+        LinkedHashMap<String, Integer> accessCopy = CloneUtils.deepClone(access);
+        assertEquals("[y, x]", accessCopy.keySet().toString());
+        // 保留 accessOrder
+        accessCopy.get("y");
+        assertEquals("[x, y]", accessCopy.keySet().toString());
+
+        TreeMap<String, List<String>> treeCopy = CloneUtils.deepClone(tree);
+        assertEquals(tree, treeCopy);
+        assertNotSame(tree.get("k"), treeCopy.get("k"));
+    }
+
+    @Test
+    public void lambdaComparatorFallsBack() {
+        Comparator<String> comparator = (Comparator<String> & Serializable) (a, b) -> b.compareTo(a);
+        TreeSet<String>    set        = new TreeSet<>(comparator);
+        set.add("a");
+        set.add("b");
+        assertFalse(DeepCopier.isSupport(comparator.getClass()));
+        assertNull(DeepCopier.copySerializable(set));
+        TreeSet<String> clone = CloneUtils.deepClone(set);
+        assertEquals("[b, a]", clone.toString());
+        // deepCopy 共享 Comparator
+        assertSame(comparator, CloneUtils.<TreeSet<String>>deepCopy(set).comparator());
+    }
+
+    @Test
+    public void benchmark() {
+        HashMap<String, Node> nodes = new HashMap<>();
+        for (int i = 0; i < 200; i++) {
+            nodes.put("key" + i, new Node());
+        }
+        for (int i = 0; i < 20; i++) {
+            serialClone(nodes);
+            CloneUtils.deepClone(nodes);
+        }
+        int  rounds = 200;
+        long start  = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            serialClone(nodes);
+        }
+        long serial = System.nanoTime() - start;
+        start = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            CloneUtils.deepClone(nodes);
+        }
+        long copier = System.nanoTime() - start;
+        System.out.println(String.format(
+                "DeepCopier benchmark: serialize %.2f ms, copier %.2f ms ( %d rounds )",
+                serial / 1e6, copier / 1e6, rounds
+        ));
+        assertEquals(nodes.size(), CloneUtils.<HashMap<String, Node>>deepClone(nodes).size());
+    }
+
+    // ==========
+    // = 内部方法 =
+    // ==========
+
+    /**
+     * 序列化克隆 ( 基准结果 )
+     * @param data 待克隆对象
+     * @param <T>  泛型
+     * @return 克隆后的对象
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T serialClone(final Serializable data) {
+        return (T) ConvertUtils.bytesToObject(CloneUtils.serializableToBytes(data));
+    }
+
+    // ==========
+    // = 内部类 =
+    // ==========
+
+    public static class Counted
+            implements Serializable {
+
+        static int sCreated;
+
+        int              value;
+        transient String cache = "init";
+        transient int    hits  = 1;
+
+        public Counted() {
+            sCreated++;
+        }
+    }
+
+    public static class Holder {
+
+        Object lock;
+        Object first;
+    }
+
+    public static class Custom
+            implements Serializable {
+
+        String name;
+
+        private void writeObject(final ObjectOutputStream stream)
+                throws IOException {
+            stream.defaultWriteObject();
+        }
+
+        private void readObject(final ObjectInputStream stream)
+                throws IOException, ClassNotFoundException {
+            stream.defaultReadObject();
+            if (name != null) name += "!";
+        }
+    }
+
+    public static class Plain {
+
+        int value = 1;
+    }
+
+    public static class Graph
+            implements Serializable {
+
+        Custom            custom;
+        ArrayList<Object> list = new ArrayList<>();
+        Object            other;
+    }
+
+    public static class Base {
+
+        int base;
+
+        public Base() {
+            base = -1;
+        }
+    }
+
+    public static class Child
+            extends Base
+            implements Serializable {
+
+        int child;
+    }
+
+    public static class Node
+            implements Serializable {
+
+        Node   next;
+        String text  = "node";
+        int[]  array = {1, 2, 3};
+    }
+
+    public static class Reverse
+            implements Comparator<String>, Serializable {
+
+        @Override
+        public int compare(
+                final String a,
+                final String b
+        ) {
+            return b.compareTo(a);
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package dev.utils.common.assist;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import dev.utils.common.BigDecimalUtils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * detail: FixedDecimal 测试
+ * @author Ttt
+ * <pre>
+ *     与 BigDecimal 对比数值及 scale ( 随机运算、溢出提升、全部舍入模式 )
+ * </pre>
+ */
+public class FixedDecimalTest {
+
+    // 全部舍入模式
+    private static final int[] ROUNDING_MODES = {
+            BigDecimal.ROUND_UP, BigDecimal.ROUND_DOWN, BigDecimal.ROUND_CEILING,
+            BigDecimal.ROUND_FLOOR, BigDecimal.ROUND_HALF_UP, BigDecimal.ROUND_HALF_DOWN,
+            BigDecimal.ROUND_HALF_EVEN, BigDecimal.ROUND_UNNECESSARY
+    };
+
+    @Test
+    public void parseMatchesBigDecimal() {
+        String[] values = {
+                "0", "-0", "1.2300", "-0.5", "0.000001", "123456789012345678",
+                "9223372036854775807", "-9223372036854775808", "92233720368547758070.5"
+        };
+        for (String value : values) {
+            assertSame(new BigDecimal(value), FixedDecimal.of(value));
+        }
+        assertSame(new BigDecimal("12"), FixedDecimal.of(12));
+        assertSame(new BigDecimal("-3"), FixedDecimal.of(-3L));
+        assertEquals(null, FixedDecimal.of("abc"));
+    }
+
+    @Test
+    public void randomOperationsMatchBigDecimal() {
+        Random random = new Random(28L);
+        for (int i = 0; i < 20000; i++) {
+            BigDecimal   expected = randomDecimal(random);
+            FixedDecimal actual   = FixedDecimal.of(expected);
+            for (int step = 0; step < 8; step++) {
+                BigDecimal operand = randomDecimal(random);
+                switch (random.nextInt(5)) {
+                    case 0:
+                        expected = expected.add(operand);
+                        actual.add(operand.toPlainString());
+                        break;
+                    case 1:
+                        expected = expected.subtract(operand);
+                        actual.subtract(FixedDecimal.of(operand));
+                        break;
+                    case 2:
+                        expected = expected.multiply(operand);
+                        actual.multiply(operand);
+                        break;
+                    case 3:
+                        if (operand.signum() == 0) continue;
+                        int scale = random.nextInt(8);
+                        int mode  = ROUNDING_MODES[random.nextInt(ROUNDING_MODES.length - 1)];
+                        expected = expected.divide(operand, scale, mode);
+                        actual.divide(operand, scale, mode);
+                        break;
+                    default:
+                        if (operand.signum() == 0) continue;
+                        expected = expected.remainder(operand);
+                        actual.remainder(operand);
+                        break;
+                }
+                assertSame(expected, actual);
+            }
+        }
+    }
+
+    @Test
+    public void everyRoundingModeMatches() {
+        Random random = new Random(280L);
+        for (int roundingMode : ROUNDING_MODES) {
+            for (int i = 0; i < 5000; i++) {
+                BigDecimal value = randomDecimal(random);
+                BigDecimal other = randomDecimal(random);
+                int        scale = random.nextInt(6);
+                assertRounding(value, roundingMode, scale, null);
+                if (other.signum() != 0) {
+                    assertRounding(value, roundingMode, scale, other);
+                }
+            }
+            // 舍入边界 ( .5 及负数 )
+            for (String text : new String[]{"2.5", "-2.5", "1.5", "-1.5", "0.05", "-0.05", "2.51", "-2.49"}) {
+                assertRounding(new BigDecimal(text), roundingMode, 0, null);
+                assertRounding(new BigDecimal(text), roundingMode, 1, new BigDecimal("3"));
+            }
+        }
+    }
+
+    @Test
+    public void overflowPromotesToBigDecimal() {
+        FixedDecimal add = FixedDecimal.of(Long.MAX_VALUE).add(1L);
+        assertFalse(add.isCompact());
+        assertSame(BigDecimal.valueOf(Long.MAX_VALUE).add(BigDecimal.ONE), add);
+
+        FixedDecimal subtract = FixedDecimal.of(0L).subtract(Long.MIN_VALUE);
+        assertSame(BigDecimal.valueOf(Long.MIN_VALUE).negate(), subtract);
+
+        FixedDecimal negate = FixedDecimal.of(Long.MIN_VALUE).negate();
+        assertFalse(negate.isCompact());
+        assertSame(BigDecimal.valueOf(Long.MIN_VALUE).negate(), negate);
+
+        BigDecimal   big      = new BigDecimal("3037000500.25");
+        FixedDecimal multiply = FixedDecimal.of(big).multiply(big);
+        assertFalse(multiply.isCompact());
+        assertSame(big.multiply(big), multiply);
+
+        // 小数位对齐溢出
+        FixedDecimal rescale = FixedDecimal.of(Long.MAX_VALUE / 10).add("0.000000001");
+        assertSame(BigDecimal.valueOf(Long.MAX_VALUE / 10).add(new BigDecimal("0.000000001")), rescale);
+
+        // 提升后继续运算并舍入
+        BigDecimal expected = BigDecimal.valueOf(Long.MAX_VALUE).add(BigDecimal.ONE)
+                .divide(new BigDecimal("7"), 3, BigDecimal.ROUND_HALF_EVEN)
+                .setScale(1, BigDecimal.ROUND_DOWN);
+        FixedDecimal actual = FixedDecimal.of(Long.MAX_VALUE).add(1L)
+                .divide(7L, 3, BigDecimal.ROUND_HALF_EVEN)
+                .setScale(1, BigDecimal.ROUND_DOWN);
+        assertSame(expected, actual);
+    }
+
+    @Test
+    public void configScaleAndErrors() {
+        BigDecimalUtils.Config config  = new BigDecimalUtils.Config(2, BigDecimal.ROUND_HALF_UP);
+        FixedDecimal           decimal = BigDecimalUtils.fixed("10", config).divide(3L);
+        assertSame(new BigDecimal("3.33"), decimal);
+        assertEquals(
+                BigDecimalUtils.operation("10", config).divide(3L).getBigDecimal(),
+                decimal.toBigDecimal()
+        );
+
+        // 默认不抛出异常, 保留原值
+        FixedDecimal ignore = FixedDecimal.of("1.25").divide(0L, 2, BigDecimal.ROUND_HALF_UP);
+        assertSame(new BigDecimal("1.25"), ignore);
+        try {
+            FixedDecimal.of("1.25").setThrowError(true).setScale(1, BigDecimal.ROUND_UNNECESSARY);
+            fail();
+        } catch (BigDecimalUtils.CalculateException expected) {
+        }
+        try {
+            FixedDecimal.of("1").setThrowError(true).divide(0L, 2, BigDecimal.ROUND_HALF_UP);
+            fail();
+        } catch (BigDecimalUtils.CalculateException expected) {
+        }
+    }
+
+    // ==========
+    // = 内部方法 =
+    // ==========
+
+    /**
+     * 校验 setScale ( divisor 为 null ) 或 divide 舍入结果
+     * @param value        数值
+     * @param roundingMode 舍入模式
+     * @param scale        小数点位数
+     * @param divisor      除数
+     */
+    private static void assertRounding(
+            final BigDecimal value,
+            final int roundingMode,
+            final int scale,
+            final BigDecimal divisor
+    ) {
+        BigDecimal expected;
+        try {
+            expected = (divisor == null) ? value.setScale(scale, roundingMode)
+                    : value.divide(divisor, scale, roundingMode);
+        } catch (ArithmeticException e) {
+            expected = null;
+        }
+        FixedDecimal actual = FixedDecimal.of(value).setThrowError(true);
+        try {
+            if (divisor == null) {
+                actual.setScale(scale, roundingMode);
+            } else {
+                actual.divide(divisor, scale, roundingMode);
+            }
+        } catch (BigDecimalUtils.CalculateException e) {
+            assertEquals("rounding " + roundingMode + " " + value + " / " + divisor, null, expected);
+            return;
+        }
+        assertTrue("rounding " + roundingMode + " " + value + " / " + divisor, expected != null);
+        assertSame(expected, actual);
+    }
+
+    /**
+     * 校验数值及 scale 一致
+     * @param expected 预期值
+     * @param actual   {@link FixedDecimal}
+     */
+    private static void assertSame(
+            final BigDecimal expected,
+            final FixedDecimal actual
+    ) {
+        BigDecimal value = actual.toBigDecimal();
+        assertEquals(expected.toPlainString(), value.toPlainString());
+        assertEquals(expected.scale(), value.scale());
+        assertEquals(expected.toPlainString(), actual.toPlainString());
+        assertEquals(expected.signum(), actual.signum());
+    }
+
+    /**
+     * 获取随机小数 ( 覆盖小数值、long 边界附近及超出 long 的数值 )
+     * @param random {@link Random}
+     * @return {@link BigDecimal}
+     */
+    private static BigDecimal randomDecimal(final Random random) {
+        int scale = random.nextInt(7);
+        switch (random.nextInt(4)) {
+            case 0:
+                return BigDecimal.valueOf(random.nextInt(2001) - 1000, scale);
+            case 1:
+                return BigDecimal.valueOf(random.nextLong() >> random.nextInt(63), scale);
+            case 2:
+                return BigDecimal.valueOf(random.nextBoolean() ? Long.MAX_VALUE - random.nextInt(3)
+                        : Long.MIN_VALUE + random.nextInt(3), scale);
+            default:
+                return new BigDecimal(random.nextLong() + "" + random.nextInt(1000)).movePointLeft(scale);
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package dev.utils.common.assist;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import dev.utils.common.StringUtils;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * detail: KeywordMatcher 差分测试
+ * @author Ttt
+ * <pre>
+ *     随机文本、关键字与 StringUtils、逐位置朴素匹配结果对比
+ * </pre>
+ */
+public class KeywordMatcherTest {
+
+    // 测试轮数
+    private static final int ROUNDS = 2000;
+
+    @Test
+    public void singleKeywordMatchesStringUtils() {
+        Random random = new Random(48L);
+        for (int round = 0; round < ROUNDS; round++) {
+            String         text    = randomText(random, "abcAB", random.nextInt(64));
+            String         keyword = randomText(random, "abcAB", 1 + random.nextInt(4));
+            KeywordMatcher matcher = KeywordMatcher.compile(keyword);
+
+            assertEquals(text.contains(keyword), matcher.containsAny(text));
+            assertEquals(StringUtils.isStartsWith(text, keyword), matcher.startsWithAny(text));
+            assertEquals(StringUtils.isEndsWith(text, keyword), matcher.endsWithAny(text));
+            assertEquals(StringUtils.countMatches2(text, keyword), matcher.count(text));
+            assertEquals(text.replace(keyword, "#"), matcher.replace(text, "#"));
+        }
+    }
+
+    @Test
+    public void ignoreCaseMatchesStringUtils() {
+        Random random = new Random(4848L);
+        for (int round = 0; round < ROUNDS; round++) {
+            String         text     = randomText(random, "abcAB", random.nextInt(64));
+            String[]       keywords = randomKeywords(random, "abcAB");
+            KeywordMatcher matcher  = KeywordMatcher.compile(true, keywords);
+
+            assertEquals(StringUtils.isStartsWith(true, text, keywords), matcher.startsWithAny(text));
+            assertEquals(StringUtils.isEndsWith(true, text, keywords), matcher.endsWithAny(text));
+
+            String   lower        = text.toLowerCase(Locale.ROOT);
+            String[] lowerKeyword = new String[keywords.length];
+            for (int i = 0; i < keywords.length; i++) {
+                lowerKeyword[i] = keywords[i].toLowerCase(Locale.ROOT);
+            }
+            assertEquals(naiveCount(lower, lowerKeyword), matcher.count(text));
+        }
+    }
+
+    @Test
+    public void multiKeywordMatchesNaiveScan() {
+        Random random = new Random(484848L);
+        for (int round = 0; round < ROUNDS; round++) {
+            String         text     = randomText(random, "abc", random.nextInt(64));
+            String[]       keywords = randomKeywords(random, "abc");
+            KeywordMatcher matcher  = KeywordMatcher.compile(keywords);
+
+            boolean contains = false, startsWith = false, endsWith = false;
+            for (String keyword : keywords) {
+                contains |= text.contains(keyword);
+                startsWith |= text.startsWith(keyword);
+                endsWith |= text.endsWith(keyword);
+            }
+            assertEquals(contains, matcher.containsAny(text));
+            assertEquals(startsWith, matcher.startsWithAny(text));
+            assertEquals(endsWith, matcher.endsWithAny(text));
+
+            // 最左最长不重叠
+            List<KeywordMatcher.Match> matches = matcher.findAll(text);
+            int[]                      counts  = new int[keywords.length];
+            int                        index   = 0;
+            int                        found   = 0;
+            while (index < text.length()) {
+                int best = longestAt(text, index, keywords);
+                if (best == -1) {
+                    index++;
+                    continue;
+                }
+                KeywordMatcher.Match match = matches.get(found++);
+                assertEquals(index, match.start);
+                assertEquals(index + keywords[best].length(), match.end);
+                assertEquals(keywords[best], keywords[match.index]);
+                counts[match.index]++;
+                index = match.end;
+            }
+            assertEquals(found, matches.size());
+            assertArrayEquals(counts, matcher.countEach(text));
+
+            // 重叠匹配
+            int overlapping = 0;
+            for (int i = 0; i < text.length(); i++) {
+                for (int k = 0; k < keywords.length; k++) {
+                    if (isFirst(keywords, k) && text.startsWith(keywords[k], i)) overlapping++;
+                }
+            }
+            assertEquals(overlapping, matcher.findAllOverlapping(text).size());
+        }
+    }
+
+    // ==========
+    // = 内部方法 =
+    // ==========
+
+    /**
+     * 生成随机文本
+     * @param random   随机数生成器
+     * @param alphabet 字符集
+     * @param length   文本长度
+     * @return 随机文本
+     */
+    private static String randomText(
+            final Random random,
+            final String alphabet,
+            final int length
+    ) {
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 生成随机关键字 ( 1 - 5 个, 长度 1 - 4 )
+     * @param random   随机数生成器
+     * @param alphabet 字符集
+     * @return 随机关键字
+     */
+    private static String[] randomKeywords(
+            final Random random,
+            final String alphabet
+    ) {
+        String[] keywords = new String[1 + random.nextInt(5)];
+        for (int i = 0; i < keywords.length; i++) {
+            keywords[i] = randomText(random, alphabet, 1 + random.nextInt(4));
+        }
+        return keywords;
+    }
+
+    /**
+     * 获取指定位置最长匹配关键字索引 ( 重复关键字取首个 )
+     * @param text     文本
+     * @param index    开始索引
+     * @param keywords 关键字
+     * @return 关键字索引, 无匹配返回 -1
+     */
+    private static int longestAt(
+            final String text,
+            final int index,
+            final String[] keywords
+    ) {
+        int best = -1;
+        for (int k = 0; k < keywords.length; k++) {
+            if (!text.startsWith(keywords[k], index)) continue;
+            if (best == -1 || keywords[k].length() > keywords[best].length()) best = k;
+        }
+        return best;
+    }
+
+    /**
+     * 朴素统计最左最长不重叠匹配个数
+     * @param text     文本
+     * @param keywords 关键字
+     * @return 匹配个数
+     */
+    private static int naiveCount(
+            final String text,
+            final String[] keywords
+    ) {
+        int count = 0;
+        int index = 0;
+        while (index < text.length()) {
+            int best = longestAt(text, index, keywords);
+            if (best == -1) {
+                index++;
+            } else {
+                count++;
+                index += keywords[best].length();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 是否首次出现的关键字
+     * @param keywords 关键字
+     * @param index    关键字索引
+     * @return {@code true} yes, {@code false} no
+     */
+    private static boolean isFirst(
+            final String[] keywords,
+            final int index
+    ) {
+        for (int i = 0; i < index; i++) {
+            if (keywords[i].equals(keywords[index])) return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,214 @@
+package dev.utils.common.assist;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+import dev.utils.common.ReflectUtils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * detail: ReflectCache 测试
+ * @author Ttt
+ * <pre>
+ *     缓存命中、未找到结果缓存、LRU 上限及 ClassLoader 释放
+ * </pre>
+ */
+public class ReflectCacheTest {
+
+    @After
+    public void tearDown() {
+        ReflectCache.clear();
+    }
+
+    @Test
+    public void membersAreCached()
+            throws Exception {
+        Field field = ReflectCache.getField(Sample.class, "value");
+        assertSame(field, ReflectCache.getField(Sample.class, "value"));
+
+        Method method = ReflectCache.getMethod(Sample.class, "add", int.class);
+        assertSame(method, ReflectCache.getMethod(Sample.class, "add", int.class));
+        Method declared = ReflectCache.getDeclaredMethod(Sample.class, "add", int.class);
+        assertSame(declared, ReflectCache.getDeclaredMethod(Sample.class, "add", int.class));
+        assertSame(ReflectCache.getMethods(Sample.class), ReflectCache.getMethods(Sample.class));
+
+        // 参数类型数组修改不影响缓存 Key
+        Class<?>[] types = {int.class};
+        Method     first = ReflectCache.getMethod(Sample.class, "add", types);
+        types[0] = long.class;
+        assertSame(first, ReflectCache.getMethod(Sample.class, "add", int.class));
+    }
+
+    @Test
+    public void missingMembersAreCached() {
+        for (int i = 0; i < 2; i++) {
+            try {
+                ReflectCache.getField(Sample.class, "missing");
+                fail();
+            } catch (NoSuchFieldException expected) {
+            }
+            try {
+                ReflectCache.getDeclaredMethod(Sample.class, "add", String.class);
+                fail();
+            } catch (NoSuchMethodException expected) {
+            }
+        }
+    }
+
+    @Test
+    public void finalFieldKeepsCachedModifiers()
+            throws Exception {
+        Sample sample = new Sample();
+        ReflectUtils.reflect(sample).field("CONSTANT", "changed");
+        assertEquals("changed", ReflectUtils.reflect(sample).field("CONSTANT").get());
+        assertTrue(Modifier.isFinal(ReflectCache.getField(Sample.class, "CONSTANT").getModifiers()));
+    }
+
+    @Test
+    public void similarMethodsUseClassCache()
+            throws Exception {
+        Sample sample = new Sample();
+        // Integer 实参匹配 int 形参 ( 相似参数方法 )
+        ReflectUtils.reflect(sample).method("add", Integer.valueOf(3));
+        ReflectUtils.reflect(sample).method("add", Integer.valueOf(4));
+        assertEquals(7, sample.value);
+        assertEquals(1, ReflectCache.getSimilarMethods(Sample.class).size());
+
+        ReflectCache.remove(Sample.class);
+        assertTrue(ReflectCache.getSimilarMethods(Sample.class).isEmpty());
+    }
+
+    @Test
+    public void cacheIsBounded()
+            throws Exception {
+        byte[] bytes = sampleBytes();
+        for (int i = 0; i < ReflectCache.MAX_CLASS_COUNT * 2; i++) {
+            ReflectCache.getField(new IsolatedLoader().define(bytes), "value");
+        }
+        assertEquals(ReflectCache.MAX_CLASS_COUNT, ReflectCache.size());
+    }
+
+    @Test
+    public void evictedLoaderIsCollected()
+            throws Exception {
+        byte[]                     bytes     = sampleBytes();
+        WeakReference<ClassLoader> reference = cacheIsolated(bytes);
+        // 超出上限后最久未使用的 Class 被移除
+        for (int i = 0; i < ReflectCache.MAX_CLASS_COUNT; i++) {
+            ReflectCache.getField(new IsolatedLoader().define(bytes), "value");
+        }
+        awaitCollected(reference);
+    }
+
+    @Test
+    public void clearReleasesLoader()
+            throws Exception {
+        WeakReference<ClassLoader> reference = cacheIsolated(sampleBytes());
+        ReflectCache.clear();
+        awaitCollected(reference);
+    }
+
+    // ==========
+    // = 内部方法 =
+    // ==========
+
+    /**
+     * 使用独立 ClassLoader 加载 Sample 并写入全部缓存
+     * @param bytes Sample class 字节
+     * @return ClassLoader 弱引用
+     * @throws Exception 反射异常
+     */
+    private static WeakReference<ClassLoader> cacheIsolated(final byte[] bytes)
+            throws Exception {
+        IsolatedLoader loader = new IsolatedLoader();
+        Class<?>       clazz  = loader.define(bytes);
+        ReflectCache.getField(clazz, "value");
+        ReflectCache.getDeclaredConstructors(clazz);
+        ReflectUtils.reflect(clazz).newInstance().method("add", Integer.valueOf(1));
+        assertEquals(1, ReflectCache.getSimilarMethods(clazz).size());
+        return new WeakReference<ClassLoader>(loader);
+    }
+
+    /**
+     * 等待 ClassLoader 被回收
+     * @param reference ClassLoader 弱引用
+     * @throws InterruptedException 中断异常
+     */
+    private static void awaitCollected(final WeakReference<ClassLoader> reference)
+            throws InterruptedException {
+        for (int i = 0; i < 50 && reference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(20L);
+        }
+        assertNull(reference.get());
+    }
+
+    /**
+     * 获取 Sample class 字节
+     * @return class 字节
+     * @throws IOException 读取异常
+     */
+    private static byte[] sampleBytes()
+            throws IOException {
+        String name = Sample.class.getName();
+        try (InputStream inputStream = ReflectCacheTest.class.getResourceAsStream(
+                name.substring(name.lastIndexOf('.') + 1) + ".class"
+        )) {
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            byte[]                buffer       = new byte[4096];
+            int                   length;
+            while ((length = inputStream.read(buffer)) != -1) {
+                outputStream.write(buffer, 0, length);
+            }
+            return outputStream.toByteArray();
+        }
+    }
+
+    // ==========
+    // = 内部类 =
+    // ==========
+
+    /**
+     * detail: 反射测试对象
+     * @author Ttt
+     */
+    public static class Sample {
+
+        private final String CONSTANT = new String("constant");
+
+        public int value;
+
+        public void add(final int number) {
+            value += number;
+        }
+    }
+
+    /**
+     * detail: 独立 ClassLoader ( 重复定义 Sample 得到不同 Class )
+     * @author Ttt
+     */
+    private static final class IsolatedLoader
+            extends ClassLoader {
+
+        IsolatedLoader() {
+            super(ReflectCacheTest.class.getClassLoader());
+        }
+
+        Class<?> define(final byte[] bytes) {
+            return defineClass(Sample.class.getName(), bytes, 0, bytes.length);
+        }
+    }
+}
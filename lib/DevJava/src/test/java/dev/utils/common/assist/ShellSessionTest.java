@@ -0,0 +1,197 @@
+package dev.utils.common.assist;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+
+import dev.utils.common.StreamUtils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * detail: ShellSession 测试
+ * @author Ttt
+ * <pre>
+ *     使用 /bin/sh 校验输出拆分、状态码、子 Shell 隔离、超时及会话池复用
+ *     以及每次创建进程与常驻会话耗时对比
+ * </pre>
+ */
+public class ShellSessionTest {
+
+    // Shell 命令
+    private static final String SHELL = "/bin/sh";
+
+    private ShellSession mSession;
+
+    @Before
+    public void setUp() {
+        assumeTrue(new File(SHELL).canExecute());
+        mSession = new ShellSession(SHELL);
+    }
+
+    @After
+    public void tearDown() {
+        if (mSession != null) mSession.close();
+    }
+
+    @Test
+    public void outputAndStatus() {
+        ShellSession.Result result = mSession.exec(
+                new String[]{"echo one", "echo two", "echo err >&2", "exit 3"}, true, 5000L
+        );
+        assertEquals(3, result.result);
+        assertEquals("one\ntwo", result.successMsg);
+        assertEquals("err", result.errorMsg);
+
+        // 末尾无换行、单引号及空输出
+        result = mSession.exec(new String[]{"printf 'a\\nb'"}, true, 5000L);
+        assertEquals(0, result.result);
+        assertEquals("a\nb", result.successMsg);
+        assertEquals("", result.errorMsg);
+        result = mSession.exec(new String[]{"echo \"it's\""}, true, 5000L);
+        assertEquals("it's", result.successMsg);
+        result = mSession.exec(new String[]{"true"}, true, 5000L);
+        assertEquals("", result.successMsg);
+
+        // 不需要结果消息
+        result = mSession.exec(new String[]{"echo ignored", "false"}, false, 5000L);
+        assertEquals(1, result.result);
+        assertEquals(null, result.successMsg);
+        assertEquals(ShellSession.RESULT_FAIL, mSession.exec(new String[]{null}, true, 0L).result);
+        assertTrue(mSession.isAlive());
+    }
+
+    @Test
+    public void commandsRunInSubShell() {
+        String              dir    = mSession.exec(new String[]{"pwd"}, true, 5000L).successMsg;
+        ShellSession.Result result = mSession.exec(
+                new String[]{"cd /tmp", "VALUE=1", "exit 0"}, true, 5000L
+        );
+        assertEquals(0, result.result);
+        // cd、变量、exit 不影响后续命令及会话
+        result = mSession.exec(new String[]{"pwd", "echo \"[$VALUE]\""}, true, 5000L);
+        assertEquals(dir + "\n[]", result.successMsg);
+        // 无法读取会话输入流
+        result = mSession.exec(new String[]{"cat", "echo done"}, true, 5000L);
+        assertEquals("done", result.successMsg);
+        assertTrue(mSession.isAlive());
+    }
+
+    @Test
+    public void batchReturnsEachResult() {
+        List<ShellSession.Result> results = mSession.execBatch(
+                Arrays.asList("echo a", "exit 2", null, "echo b >&2"), true, 5000L
+        );
+        assertEquals(4, results.size());
+        assertEquals("a", results.get(0).successMsg);
+        assertEquals(2, results.get(1).result);
+        assertEquals(0, results.get(2).result);
+        assertEquals("b", results.get(3).errorMsg);
+        assertEquals("", results.get(3).successMsg);
+    }
+
+    @Test
+    public void timeoutClosesSession() {
+        List<ShellSession.Result> results = mSession.execBatch(
+                Arrays.asList("echo fast", "sleep 5", "echo never"), true, 500L
+        );
+        assertEquals(0, results.get(0).result);
+        assertTrue(results.get(1).isTimeout());
+        assertEquals(ShellSession.RESULT_FAIL, results.get(2).result);
+        assertFalse(mSession.isAlive());
+        assertEquals(ShellSession.RESULT_FAIL, mSession.exec(new String[]{"echo"}, true, 0L).result);
+    }
+
+    @Test
+    public void closeFromOtherThread()
+            throws InterruptedException {
+        Thread thread = new Thread(() -> {
+            try {
+                Thread.sleep(300L);
+            } catch (InterruptedException ignored) {
+            }
+            mSession.close();
+        });
+        thread.start();
+        ShellSession.Result result = mSession.exec(new String[]{"sleep 5"}, true, 0L);
+        thread.join();
+        assertEquals(ShellSession.RESULT_FAIL, result.result);
+        assertFalse(mSession.isAlive());
+    }
+
+    @Test
+    public void poolReusesLiveSessions() {
+        ShellSession.Pool pool = new ShellSession.Pool(SHELL, 1);
+        try {
+            ShellSession first = pool.acquire();
+            assertEquals("1", first.exec(new String[]{"echo 1"}, true, 5000L).successMsg);
+            pool.release(first);
+            assertSame(first, pool.acquire());
+
+            // 不可用会话不归还
+            first.exec(new String[]{"sleep 5"}, true, 200L);
+            pool.release(first);
+            ShellSession second = pool.acquire();
+            assertNotSame(first, second);
+            pool.release(second);
+            assertEquals("ok", pool.exec(new String[]{"echo ok"}, true, 5000L).successMsg);
+        } finally {
+            pool.close();
+        }
+    }
+
+    @Test
+    public void benchmark()
+            throws Exception {
+        int rounds = 50;
+        for (int i = 0; i < 5; i++) {
+            spawn("echo warm");
+            mSession.exec(new String[]{"echo warm"}, true, 5000L);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            assertEquals("x" + i, spawn("echo x" + i));
+        }
+        long spawn = System.nanoTime() - start;
+        start = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            assertEquals("x" + i, mSession.exec(new String[]{"echo x" + i}, true, 5000L).successMsg);
+        }
+        long session = System.nanoTime() - start;
+        System.out.println(String.format(
+                "ShellSession benchmark: spawn %.2f ms/cmd, session %.2f ms/cmd ( %d rounds )",
+                spawn / 1e6 / rounds, session / 1e6 / rounds, rounds
+        ));
+    }
+
+    // ==========
+    // = 内部方法 =
+    // ==========
+
+    /**
+     * 创建进程执行命令 ( 与 ShellUtils 默认方式一致 )
+     * @param command 命令
+     * @return 输出内容 ( 去除末尾换行 )
+     * @throws Exception 执行异常
+     */
+    private static String spawn(final String command)
+            throws Exception {
+        Process process = Runtime.getRuntime().exec(new String[]{SHELL, "-c", command});
+        try {
+            String output = new String(StreamUtils.inputStreamToBytes(process.getInputStream()), "UTF-8");
+            process.waitFor();
+            return output.trim();
+        } finally {
+            process.destroy();
+        }
+    }
+}
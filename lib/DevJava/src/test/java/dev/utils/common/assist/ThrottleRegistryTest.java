@@ -0,0 +1,211 @@
+package dev.utils.common.assist;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * detail: ThrottleRegistry 测试
+ * @author Ttt
+ * <pre>
+ *     三种限流模式、过期、扩容与容量上限淘汰、无锁读取并发校验及耗时对比
+ * </pre>
+ */
+public class ThrottleRegistryTest {
+
+    @Test
+    public void intervalMode() {
+        ThrottleRegistry registry = new ThrottleRegistry(16, 1000L);
+        assertEquals(0L, registry.getLastTime(1L));
+        assertTrue(registry.tryAcquire(1L, 100L, 10L));
+        assertFalse(registry.tryAcquire(1L, 100L, 109L));
+        assertEquals(10L, registry.getLastTime(1L));
+        assertTrue(registry.tryAcquire(1L, 100L, 110L));
+        assertEquals(110L, registry.getLastTime(1L));
+        // 不同 Key 互不影响
+        assertTrue(registry.tryAcquire(2L, 100L, 111L));
+        registry.remove(1L);
+        assertEquals(0L, registry.getLastTime(1L));
+        assertEquals(111L, registry.getLastTime(2L));
+    }
+
+    @Test
+    public void tokenAndWindowModes() {
+        ThrottleRegistry registry = new ThrottleRegistry(16, 1000L);
+        // 桶容量 3, 每 100 毫秒生成一个令牌
+        assertTrue(registry.tryAcquireToken(1L, 3, 100L, 1000L));
+        assertTrue(registry.tryAcquireToken(1L, 3, 100L, 1000L));
+        assertTrue(registry.tryAcquireToken(1L, 3, 100L, 1000L));
+        assertFalse(registry.tryAcquireToken(1L, 3, 100L, 1000L));
+        assertTrue(registry.tryAcquireToken(1L, 3, 100L, 1100L));
+        assertFalse(registry.tryAcquireToken(1L, 3, 100L, 1100L));
+
+        // 窗口 100 毫秒内 2 次
+        assertTrue(registry.tryAcquireWindow(1L, 2, 100L, 1000L));
+        assertTrue(registry.tryAcquireWindow(1L, 2, 100L, 1010L));
+        assertFalse(registry.tryAcquireWindow(1L, 2, 100L, 1050L));
+        // 上一窗口按剩余占比计入 ( 1110: 2 * 0.9 = 1.8, 1120: 1 + 2 * 0.8 = 2.6, 1160: 1 + 2 * 0.4 = 1.8 )
+        assertTrue(registry.tryAcquireWindow(1L, 2, 100L, 1110L));
+        assertFalse(registry.tryAcquireWindow(1L, 2, 100L, 1120L));
+        assertTrue(registry.tryAcquireWindow(1L, 2, 100L, 1160L));
+        // 同一 Key 不同模式互不影响
+        assertEquals(0L, registry.getLastTime(1L));
+    }
+
+    @Test
+    public void expiredRecordsAreReset() {
+        ThrottleRegistry registry = new ThrottleRegistry(16, 1000L);
+        assertTrue(registry.tryAcquire(1L, 5000L, 10L));
+        // 有效期取过期时间与间隔时间的较大值
+        assertFalse(registry.tryAcquire(1L, 5000L, 4000L));
+        assertTrue(registry.tryAcquire(1L, 5000L, 5010L));
+        assertTrue(registry.tryAcquire(2L, 10L, 5010L));
+        // 超过过期时间未访问, 视为新记录
+        assertTrue(registry.tryAcquire(2L, 3000L, 6100L));
+    }
+
+    @Test
+    public void growsWhileRecordsAreLive() {
+        ThrottleRegistry registry = new ThrottleRegistry(16, 1000L);
+        for (long key = 0; key < 1000; key++) {
+            assertTrue(registry.tryAcquire(key, 1000L, 100L));
+        }
+        assertTrue(registry.getCapacity() >= 1000);
+        // 有效记录未被淘汰
+        for (long key = 0; key < 1000; key++) {
+            assertFalse(registry.tryAcquire(key, 1000L, 200L));
+            assertEquals(100L, registry.getLastTime(key));
+        }
+    }
+
+    @Test
+    public void capEvictsOldestRecords() {
+        ThrottleRegistry registry = new ThrottleRegistry(16, 256, 60000L);
+        int              count    = 4096;
+        for (int i = 1; i <= count; i++) {
+            registry.tryAcquire(i, 1000L, i);
+        }
+        assertEquals(256, registry.getCapacity());
+        assertEquals(256, registry.getMaxCapacity());
+        // 最近写入的记录均保留
+        for (int i = count - 16; i <= count; i++) {
+            assertEquals(i, registry.getLastTime(i));
+        }
+        // 保留的记录均晚于被淘汰的记录
+        int kept = 0;
+        for (int i = 1; i <= count; i++) {
+            long lastTime = registry.getLastTime(i);
+            if (lastTime != 0L) {
+                assertEquals(i, lastTime);
+                assertTrue(String.valueOf(i), i > count - 1024);
+                kept++;
+            }
+        }
+        assertTrue(String.valueOf(kept), kept > 128 && kept <= 256);
+    }
+
+    @Test
+    public void lockFreeReadsNeverSeeOtherKeys()
+            throws InterruptedException {
+        final ThrottleRegistry        registry = new ThrottleRegistry(16, 512, Long.MAX_VALUE / 4);
+        final AtomicBoolean           running  = new AtomicBoolean(true);
+        final AtomicReference<String> error    = new AtomicReference<>();
+        final int                     keys     = 4096;
+        List<Thread>                  threads  = new ArrayList<>();
+        for (int t = 0; t < 2; t++) {
+            final int seed = t;
+            threads.add(new Thread(() -> {
+                // 低 20 位为 Key, 淘汰、扩容持续发生
+                long round = 1;
+                while (running.get()) {
+                    for (int key = seed; key < keys; key += 2) {
+                        registry.tryAcquire(key, 0L, (round << 20) | key);
+                    }
+                    round++;
+                }
+            }));
+        }
+        for (int t = 0; t < 2; t++) {
+            threads.add(new Thread(() -> {
+                while (running.get()) {
+                    for (int key = 0; key < keys; key++) {
+                        long lastTime = registry.getLastTime(key);
+                        if (lastTime != 0L && (lastTime & 0xFFFFF) != key) {
+                            error.compareAndSet(null, key + " -> " + lastTime);
+                        }
+                    }
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        Thread.sleep(1500L);
+        running.set(false);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertNull(error.get());
+        assertEquals(512, registry.getCapacity());
+    }
+
+    @Test
+    public void benchmark() {
+        ThrottleRegistry registry = new ThrottleRegistry(256, 4096, 60000L);
+        int              keys     = 2048;
+        int              rounds   = 500;
+        for (int key = 0; key < keys; key++) {
+            registry.tryAcquire(key, 1000L);
+        }
+        long sink = 0L;
+        for (int i = 0; i < 20; i++) {
+            sink += readAll(registry, keys);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            sink += readAll(registry, keys);
+        }
+        long read = System.nanoTime() - start;
+        start = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            for (int key = 0; key < keys; key++) {
+                if (registry.tryAcquire(key, 1000L)) sink++;
+            }
+        }
+        long write = System.nanoTime() - start;
+        System.out.println(String.format(
+                "ThrottleRegistry benchmark: getLastTime %.1f ns/op, tryAcquire %.1f ns/op ( %d )",
+                (double) read / rounds / keys, (double) write / rounds / keys, sink
+        ));
+        assertTrue(sink > 0L);
+    }
+
+    // ==========
+    // = 内部方法 =
+    // ==========
+
+    /**
+     * 读取全部 Key 最后一次允许时间
+     * @param registry {@link ThrottleRegistry}
+     * @param keys     Key 数量
+     * @return 时间总和
+     */
+    private static long readAll(
+            final ThrottleRegistry registry,
+            final int keys
+    ) {
+        long sum = 0L;
+        for (int key = 0; key < keys; key++) {
+            sum += registry.getLastTime(key);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,479 @@
+package dev.utils.common.assist.json;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * detail: JsonStream 测试
+ * @author Ttt
+ * <pre>
+ *     随机 JSON 与 org.json 解析结果对比 ( read、visit、format、minify、query )
+ *     随机破坏后的文本 JsonStream 接受时 org.json 同样接受且结果一致
+ * </pre>
+ */
+public class JsonStreamTest {
+
+    // 随机文档数量
+    private static final int    ROUNDS = 3000;
+    // 键名、字符串候选字符 ( 含转义字符、Unicode、代理对 )
+    private static final String CHARS  = "abcXYZ019 _-./:\"\\\b\f\n\r\t\u0001\u001fé中 😀";
+
+    @Test
+    public void randomDocumentsMatchOrgJson()
+            throws IOException {
+        Random random = new Random(40L);
+        for (int i = 0; i < ROUNDS; i++) {
+            Object expected = randomValue(random, 0);
+            String text     = write(expected, random);
+            assertSame(text, parseOrgJson(text), JsonStream.read(new StringReader(text), JSONObject.NULL));
+            assertSame(text, expected, JsonStream.read(new StringReader(text), JSONObject.NULL));
+            assertSame(text, expected, visitTree(text));
+
+            // 格式化、压缩后内容不变
+            StringWriter formatted = new StringWriter();
+            JsonStream.format(new StringReader(text), formatted, 2);
+            assertSame(text, expected, parseOrgJson(formatted.toString()));
+            StringWriter minified = new StringWriter();
+            JsonStream.minify(new StringReader(text), minified);
+            assertSame(text, expected, parseOrgJson(minified.toString()));
+            assertFalse(minified.toString().contains("\n"));
+
+            // 随机路径查询
+            StringBuilder path   = new StringBuilder("$");
+            Object        target = randomPath(expected, random, path);
+            assertSame(path.toString(), target, JsonStream.query(
+                    new StringReader(text), path.toString(), JSONObject.NULL
+            ));
+        }
+    }
+
+    @Test
+    public void acceptedMutationsMatchOrgJson() {
+        Random random   = new Random(400L);
+        int    accepted = 0;
+        for (int i = 0; i < ROUNDS * 3; i++) {
+            String text = mutate(write(randomValue(random, 0), random), random);
+            Object value;
+            try {
+                value = JsonStream.read(new StringReader(text), JSONObject.NULL);
+            } catch (IOException e) {
+                continue;
+            }
+            accepted++;
+            Object reference;
+            try {
+                reference = parseOrgJson(text);
+            } catch (JSONException e) {
+                throw new AssertionError("org.json rejected accepted document: " + text, e);
+            }
+            assertSame(text, reference, value);
+        }
+        assertTrue(String.valueOf(accepted), accepted > 0);
+    }
+
+    @Test
+    public void queryValidatesWholeDocument()
+            throws IOException {
+        String json = "{\"a\":{\"b\":[1,{\"c\":true}]},\"a\":{\"b\":[2]}}";
+        // 重复键名以最后一个为准
+        assertEquals(2L, ((Number) JsonStream.query(new StringReader(json), "a.b[0]", null)).longValue());
+        assertNull(JsonStream.query(new StringReader(json), "a.b[1].c", null));
+        assertNull(JsonStream.query(new StringReader("{\"a\":1}"), "$.b", null));
+        // 目标值之后的格式错误、多余内容同样抛出异常
+        for (String invalid : new String[]{"{\"a\":1,\"b\":}", "{\"a\":1} 2", "{\"a\":1", "[1,2,]"}) {
+            try {
+                JsonStream.query(new StringReader(invalid), invalid.startsWith("[") ? "[0]" : "a", null);
+                fail(invalid);
+            } catch (IOException expected) {
+            }
+        }
+        try {
+            JsonStream.query(new StringReader("[1]"), "[-1]", null);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    // ==========
+    // = 内部方法 =
+    // ==========
+
+    /**
+     * 使用 org.json 解析并转为 Map、List
+     * @param text JSON 文本
+     * @return Map、List、String、Number、Boolean、{@link JSONObject#NULL}
+     */
+    private static Object parseOrgJson(final String text) {
+        JSONTokener tokener = new JSONTokener(text);
+        Object      value   = tokener.nextValue();
+        if (tokener.nextClean() != 0) throw new JSONException("Trailing content");
+        return fromOrgJson(value);
+    }
+
+    /**
+     * 转换 org.json 对象
+     * @param value org.json 解析值
+     * @return Map、List、String、Number、Boolean、{@link JSONObject#NULL}
+     */
+    private static Object fromOrgJson(final Object value) {
+        if (value instanceof JSONObject) {
+            JSONObject          object = (JSONObject) value;
+            Map<String, Object> map    = new LinkedHashMap<>();
+            Iterator<String>    keys   = object.keys();
+            while (keys.hasNext()) {
+                String key = keys.next();
+                map.put(key, fromOrgJson(object.get(key)));
+            }
+            return map;
+        }
+        if (value instanceof JSONArray) {
+            JSONArray    array = (JSONArray) value;
+            List<Object> list  = new ArrayList<>();
+            for (int i = 0; i < array.length(); i++) {
+                list.add(fromOrgJson(array.get(i)));
+            }
+            return list;
+        }
+        return value;
+    }
+
+    /**
+     * 通过 {@link JsonVisitor} 回调构建 Map、List
+     * @param text JSON 文本
+     * @return Map、List、String、Number、Boolean、{@link JSONObject#NULL}
+     * @throws IOException 读取异常、格式错误
+     */
+    private static Object visitTree(final String text)
+            throws IOException {
+        final ArrayDeque<Object> containers = new ArrayDeque<>();
+        final ArrayDeque<String> names      = new ArrayDeque<>();
+        final Object[]           root       = new Object[1];
+        assertTrue(JsonStream.visit(new StringReader(text), new JsonVisitor() {
+            @Override
+            public boolean onBeginObject(final String path) {
+                add(new LinkedHashMap<String, Object>());
+                return true;
+            }
+
+            @Override
+            public boolean onEndObject(final String path) {
+                containers.pop();
+                return true;
+            }
+
+            @Override
+            public boolean onBeginArray(final String path) {
+                add(new ArrayList<>());
+                return true;
+            }
+
+            @Override
+            public boolean onEndArray(final String path) {
+                containers.pop();
+                return true;
+            }
+
+            @Override
+            public boolean onName(final String name) {
+                names.push(name);
+                return true;
+            }
+
+            @Override
+            public boolean onValue(
+                    final String path,
+                    final Object value
+            ) {
+                put(value != null ? value : JSONObject.NULL);
+                return true;
+            }
+
+            private void add(final Object container) {
+                put(container);
+                containers.push(container);
+            }
+
+            @SuppressWarnings("unchecked")
+            private void put(final Object value) {
+                Object parent = containers.peek();
+                if (parent instanceof Map) {
+                    ((Map<String, Object>) parent).put(names.pop(), value);
+                } else if (parent != null) {
+                    ((List<Object>) parent).add(value);
+                } else {
+                    root[0] = value;
+                }
+            }
+        }));
+        return root[0];
+    }
+
+    /**
+     * 校验 JSON 值一致 ( 数值按大小比较 )
+     * @param message  错误信息
+     * @param expected 预期值
+     * @param actual   实际值
+     */
+    private static void assertSame(
+            final String message,
+            final Object expected,
+            final Object actual
+    ) {
+        if (expected instanceof Map) {
+            assertTrue(message, actual instanceof Map);
+            Map<?, ?> expectedMap = (Map<?, ?>) expected;
+            Map<?, ?> actualMap   = (Map<?, ?>) actual;
+            assertEquals(message, expectedMap.keySet(), actualMap.keySet());
+            for (Map.Entry<?, ?> entry : expectedMap.entrySet()) {
+                assertSame(message, entry.getValue(), actualMap.get(entry.getKey()));
+            }
+        } else if (expected instanceof List) {
+            assertTrue(message, actual instanceof List);
+            List<?> expectedList = (List<?>) expected;
+            List<?> actualList   = (List<?>) actual;
+            assertEquals(message, expectedList.size(), actualList.size());
+            for (int i = 0; i < expectedList.size(); i++) {
+                assertSame(message, expectedList.get(i), actualList.get(i));
+            }
+        } else if (expected instanceof Number) {
+            assertTrue(message, actual instanceof Number);
+            // org.json 小数可能解析为 double
+            double left  = ((Number) expected).doubleValue();
+            double right = ((Number) actual).doubleValue();
+            assertTrue(message + " " + expected + " != " + actual, left == right && (Double.isInfinite(left)
+                    || new BigDecimal(expected.toString()).compareTo(new BigDecimal(actual.toString())) == 0
+                    || expected instanceof Double || actual instanceof Double));
+        } else if (expected instanceof String && actual instanceof Number
+                && ((String) expected).matches("-?\\d+(\\.\\d+)?[eE][+-]?\\d{10,}")) {
+            // 指数超出 int 范围时 org.json 按字符串返回, JsonStream 与 double 一致
+            assertEquals(message, Double.parseDouble((String) expected), ((Number) actual).doubleValue(), 0D);
+        } else {
+            assertEquals(message, expected, actual);
+        }
+    }
+
+    /**
+     * 获取随机 JSON 值
+     * @param random {@link Random}
+     * @param depth  嵌套层级
+     * @return Map、List、String、Number、Boolean、{@link JSONObject#NULL}
+     */
+    private static Object randomValue(
+            final Random random,
+            final int depth
+    ) {
+        int type = random.nextInt(depth < 4 ? 8 : 6);
+        switch (type) {
+            case 0:
+                return randomString(random);
+            case 1:
+                return (long) random.nextInt();
+            case 2:
+                return random.nextLong();
+            case 3:
+                return BigDecimal.valueOf(random.nextLong(), random.nextInt(12) - 3);
+            case 4:
+                return random.nextBoolean();
+            case 5:
+                return JSONObject.NULL;
+            case 6:
+                Map<String, Object> map = new LinkedHashMap<>();
+                for (int i = random.nextInt(5); i > 0; i--) {
+                    map.put(randomString(random), randomValue(random, depth + 1));
+                }
+                return map;
+            default:
+                List<Object> list = new ArrayList<>();
+                for (int i = random.nextInt(5); i > 0; i--) {
+                    list.add(randomValue(random, depth + 1));
+                }
+                return list;
+        }
+    }
+
+    /**
+     * 获取随机字符串
+     * @param random {@link Random}
+     * @return 字符串
+     */
+    private static String randomString(final Random random) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = random.nextInt(8); i > 0; i--) {
+            int index = random.nextInt(CHARS.length());
+            // 代理对整体添加
+            if (Character.isLowSurrogate(CHARS.charAt(index))) index--;
+            builder.append(CHARS.charAt(index));
+            if (Character.isHighSurrogate(CHARS.charAt(index))) builder.append(CHARS.charAt(index + 1));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 写入 JSON 文本 ( 随机空白、数值写法 )
+     * @param value  JSON 值
+     * @param random {@link Random}
+     * @return JSON 文本
+     */
+    private static String write(
+            final Object value,
+            final Random random
+    ) {
+        StringWriter writer = new StringWriter();
+        try {
+            write(writer, value, random);
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+        return writer.toString();
+    }
+
+    /**
+     * 写入 JSON 值
+     * @param out    {@link StringWriter}
+     * @param value  JSON 值
+     * @param random {@link Random}
+     * @throws IOException 写入异常
+     */
+    private static void write(
+            final StringWriter out,
+            final Object value,
+            final Random random
+    ) throws IOException {
+        space(out, random);
+        if (value instanceof Map) {
+            out.write('{');
+            boolean first = true;
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                if (!first) out.write(',');
+                first = false;
+                space(out, random);
+                JsonStream.writeString(out, (String) entry.getKey());
+                space(out, random);
+                out.write(':');
+                write(out, entry.getValue(), random);
+            }
+            space(out, random);
+            out.write('}');
+        } else if (value instanceof List) {
+            out.write('[');
+            boolean first = true;
+            for (Object item : (List<?>) value) {
+                if (!first) out.write(',');
+                first = false;
+                write(out, item, random);
+            }
+            space(out, random);
+            out.write(']');
+        } else if (value instanceof String) {
+            JsonStream.writeString(out, (String) value);
+        } else if (value instanceof BigDecimal) {
+            BigDecimal decimal = (BigDecimal) value;
+            out.write(random.nextBoolean() ? decimal.toString() : decimal.toPlainString());
+        } else {
+            out.write(value.toString());
+        }
+        space(out, random);
+    }
+
+    /**
+     * 写入随机空白
+     * @param out    {@link StringWriter}
+     * @param random {@link Random}
+     */
+    private static void space(
+            final StringWriter out,
+            final Random random
+    ) {
+        if (random.nextInt(4) != 0) return;
+        String spaces = " \t\n\r";
+        for (int i = random.nextInt(3); i >= 0; i--) {
+            out.write(spaces.charAt(random.nextInt(spaces.length())));
+        }
+    }
+
+    /**
+     * 随机破坏 JSON 文本 ( 删除、插入、替换字符或截断 )
+     * @param text   JSON 文本
+     * @param random {@link Random}
+     * @return 破坏后的文本
+     */
+    private static String mutate(
+            final String text,
+            final Random random
+    ) {
+        String        tokens  = "{}[],:\"\\ 0-+.eEtrufalsn";
+        StringBuilder builder = new StringBuilder(text);
+        for (int i = random.nextInt(3); i >= 0; i--) {
+            int position = (builder.length() == 0) ? 0 : random.nextInt(builder.length());
+            switch (random.nextInt(4)) {
+                case 0:
+                    if (builder.length() > 0) builder.deleteCharAt(position);
+                    break;
+                case 1:
+                    builder.insert(position, tokens.charAt(random.nextInt(tokens.length())));
+                    break;
+                case 2:
+                    if (builder.length() > 0) {
+                        builder.setCharAt(position, tokens.charAt(random.nextInt(tokens.length())));
+                    }
+                    break;
+                default:
+                    builder.setLength(position);
+                    break;
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 随机选择路径
+     * @param value  JSON 值
+     * @param random {@link Random}
+     * @param path   路径 ( 写入 )
+     * @return 路径对应的值
+     */
+    private static Object randomPath(
+            final Object value,
+            final Random random,
+            final StringBuilder path
+    ) {
+        if (random.nextInt(4) == 0) return value;
+        if (value instanceof Map && !((Map<?, ?>) value).isEmpty()) {
+            Map<?, ?>    map  = (Map<?, ?>) value;
+            List<Object> keys = new ArrayList<>(map.keySet());
+            String       key  = (String) keys.get(random.nextInt(keys.size()));
+            // 键名包含引号或 ] 时无法表示, 直接返回当前值
+            if (key.contains("'") || key.contains("]")) return value;
+            path.append("['").append(key).append("']");
+            return randomPath(map.get(key), random, path);
+        }
+        if (value instanceof List && !((List<?>) value).isEmpty()) {
+            List<?> list  = (List<?>) value;
+            int     index = random.nextInt(list.size());
+            path.append('[').append(index).append(']');
+            return randomPath(list.get(index), random, path);
+        }
+        return value;
+    }
+}
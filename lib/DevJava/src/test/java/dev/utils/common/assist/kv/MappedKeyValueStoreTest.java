@@ -0,0 +1,295 @@
+package dev.utils.common.assist.kv;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * detail: MappedKeyValueStore 测试
+ * @author Ttt
+ * <pre>
+ *     读写、批量编辑、整理及崩溃恢复 ( 尾部记录不完整、CRC 校验失败、整理替换文件中断 )
+ * </pre>
+ */
+public class MappedKeyValueStoreTest {
+
+    // 文件头大小
+    private static final int HEADER_SIZE        = 16;
+    // 记录头大小 ( length + crc )
+    private static final int RECORD_HEADER_SIZE = 8;
+
+    @Rule
+    public TemporaryFolder mFolder = new TemporaryFolder();
+
+    @Test
+    public void readWriteAndReopen()
+            throws IOException {
+        File file = mFolder.newFile("store.kv");
+        try (MappedKeyValueStore store = new MappedKeyValueStore(file)) {
+            assertTrue(store.putInt("int", 1));
+            assertTrue(store.putLong("long", 2L));
+            assertTrue(store.putFloat("float", 3.5F));
+            assertTrue(store.putDouble("double", 4.5D));
+            assertTrue(store.putBoolean("boolean", true));
+            assertTrue(store.putString("string", "中文"));
+            assertTrue(store.putBytes("bytes", new byte[]{1, 2, 3}));
+            assertTrue(store.putString("removed", "x"));
+            assertTrue(store.remove("removed"));
+        }
+        try (MappedKeyValueStore store = new MappedKeyValueStore(file)) {
+            assertEquals(7, store.size());
+            assertEquals(1, store.getInt("int", 0));
+            assertEquals(2L, store.getLong("long", 0L));
+            assertEquals(3.5F, store.getFloat("float", 0F), 0F);
+            assertEquals(4.5D, store.getDouble("double", 0D), 0D);
+            assertTrue(store.getBoolean("boolean", false));
+            assertEquals("中文", store.getString("string", null));
+            assertArrayEquals(new byte[]{1, 2, 3}, store.getBytes("bytes", null));
+            assertFalse(store.contains("removed"));
+        }
+    }
+
+    @Test
+    public void editorClearsFirstAndApplies()
+            throws IOException {
+        File file = mFolder.newFile("store.kv");
+        try (MappedKeyValueStore store = new MappedKeyValueStore(file)) {
+            store.putInt("old", 1);
+            byte[] bytes = new byte[]{1};
+            MappedKeyValueStore.Editor editor = store.edit()
+                    .putString("a", "a")
+                    .putBytes("b", bytes)
+                    .clear();
+            bytes[0] = 2;
+            assertTrue(editor.commit());
+            assertFalse(store.contains("old"));
+            assertEquals("a", store.getString("a", null));
+            assertArrayEquals(new byte[]{1}, store.getBytes("b", null));
+
+            // apply 返回后修改立即可读
+            store.edit().remove("a").putLong("c", 3L).apply();
+            assertFalse(store.contains("a"));
+            assertEquals(3L, store.getLong("c", 0L));
+        }
+        try (MappedKeyValueStore store = new MappedKeyValueStore(file)) {
+            assertEquals(2, store.size());
+            assertEquals(3L, store.getLong("c", 0L));
+        }
+    }
+
+    @Test
+    public void compactDropsGarbage()
+            throws IOException {
+        File file = mFolder.newFile("store.kv");
+        try (MappedKeyValueStore store = new MappedKeyValueStore(file)) {
+            for (int i = 0; i < 1000; i++) {
+                store.putInt("key", i);
+            }
+            long garbage = store.getGarbageSize();
+            long fileSize = store.getFileSize();
+            assertTrue(garbage > 0L);
+            assertTrue(store.compact());
+            // 仅剩整理记录头开销
+            assertTrue(store.getGarbageSize() < 64L);
+            assertTrue(store.getFileSize() <= fileSize);
+            assertEquals(999, store.getInt("key", 0));
+        }
+        try (MappedKeyValueStore store = new MappedKeyValueStore(file)) {
+            assertEquals(999, store.getInt("key", 0));
+        }
+    }
+
+    @Test
+    public void tornTailRecordIsDropped()
+            throws IOException {
+        File file = mFolder.newFile("store.kv");
+        try (MappedKeyValueStore store = new MappedKeyValueStore(file)) {
+            store.putString("a", "a");
+            store.edit().putString("b", "b").putString("c", "c").commit();
+        }
+        // 最后一条记录只写入一半 ( 文件在记录中间截断 )
+        List<Integer> records = records(file);
+        int           last    = records.get(records.size() - 1);
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(last + RECORD_HEADER_SIZE + recordLength(file, last) / 2);
+        }
+        try (MappedKeyValueStore store = new MappedKeyValueStore(file)) {
+            assertEquals("a", store.getString("a", null));
+            // 批量修改整条丢弃
+            assertFalse(store.contains("b"));
+            assertFalse(store.contains("c"));
+            // 丢弃后可继续写入
+            assertTrue(store.putString("d", "d"));
+        }
+        try (MappedKeyValueStore store = new MappedKeyValueStore(file)) {
+            assertEquals(2, store.size());
+            assertEquals("d", store.getString("d", null));
+        }
+    }
+
+    @Test
+    public void badChecksumRecordIsDropped()
+            throws IOException {
+        File file = mFolder.newFile("store.kv");
+        try (MappedKeyValueStore store = new MappedKeyValueStore(file)) {
+            store.putString("a", "a");
+            store.putString("b", "b");
+            store.putString("c", "c");
+        }
+        // 第二条记录内容损坏, 其后记录一并丢弃 ( 无法确认后续记录写入顺序 )
+        List<Integer> records = records(file);
+        int           second  = records.get(1);
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            long position = second + RECORD_HEADER_SIZE + recordLength(file, second) - 1;
+            raf.seek(position);
+            int value = raf.read();
+            raf.seek(position);
+            raf.write(value ^ 0xFF);
+        }
+        try (MappedKeyValueStore store = new MappedKeyValueStore(file)) {
+            assertEquals(1, store.size());
+            assertEquals("a", store.getString("a", null));
+            assertNull(store.getString("b", null));
+            assertNull(store.getString("c", null));
+        }
+        // 恢复时已整理, 再次打开结果一致
+        assertEquals(1, records(file).size());
+        try (MappedKeyValueStore store = new MappedKeyValueStore(file)) {
+            assertEquals(1, store.size());
+        }
+    }
+
+    @Test
+    public void compactionInterruptedBeforeRename()
+            throws IOException {
+        File file = mFolder.newFile("store.kv");
+        File temp = new File(file.getAbsolutePath() + ".tmp");
+        try (MappedKeyValueStore store = new MappedKeyValueStore(file)) {
+            store.putString("a", "old");
+            store.putString("a", "new");
+            store.putString("b", "b");
+        }
+        // 临时文件只写入一半时崩溃 ( 原文件未被替换 )
+        byte[] original = Files.readAllBytes(file.toPath());
+        Files.write(temp.toPath(), Arrays.copyOf(original, HEADER_SIZE + 5));
+        assertReopenIgnoresTemp(file, temp);
+
+        // 临时文件已完整写入但 rename 前崩溃
+        File other = mFolder.newFile("other.kv");
+        try (MappedKeyValueStore store = new MappedKeyValueStore(other)) {
+            store.putString("a", "compacted");
+            store.compact();
+        }
+        Files.copy(other.toPath(), temp.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        assertReopenIgnoresTemp(file, temp);
+    }
+
+    @Test
+    public void staleRecordAfterCompactionIsRejected()
+            throws IOException {
+        File file = mFolder.newFile("store.kv");
+        try (MappedKeyValueStore store = new MappedKeyValueStore(file)) {
+            store.putString("a", "a");
+            store.putString("b", "b");
+        }
+        // 整理前的记录 ( 旧 generation )
+        byte[] before = Files.readAllBytes(file.toPath());
+        int    second = records(file).get(1);
+        int    length = RECORD_HEADER_SIZE + recordLength(file, second);
+        try (MappedKeyValueStore store = new MappedKeyValueStore(file)) {
+            store.remove("b");
+            assertTrue(store.compact());
+        }
+        // 替换文件后残留旧记录 ( 紧接有效记录之后 ), CRC 包含 generation 不会被重放
+        List<Integer> records = records(file);
+        int           end     = records.get(records.size() - 1);
+        end += RECORD_HEADER_SIZE + recordLength(file, end);
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.seek(end);
+            raf.write(before, second, length);
+        }
+        try (MappedKeyValueStore store = new MappedKeyValueStore(file)) {
+            assertEquals(1, store.size());
+            assertFalse(store.contains("b"));
+        }
+    }
+
+    // ==========
+    // = 内部方法 =
+    // ==========
+
+    /**
+     * 校验重新打开时忽略并删除整理临时文件
+     * @param file 存储文件
+     * @param temp 整理临时文件
+     * @throws IOException 打开失败
+     */
+    private static void assertReopenIgnoresTemp(
+            final File file,
+            final File temp
+    )
+            throws IOException {
+        assertTrue(temp.exists());
+        try (MappedKeyValueStore store = new MappedKeyValueStore(file)) {
+            assertFalse(temp.exists());
+            assertEquals(2, store.size());
+            assertEquals("new", store.getString("a", null));
+            assertEquals("b", store.getString("b", null));
+        }
+    }
+
+    /**
+     * 获取全部有效记录起始位置
+     * @param file 存储文件
+     * @return 记录起始位置
+     * @throws IOException 读取失败
+     */
+    private static List<Integer> records(final File file)
+            throws IOException {
+        List<Integer> records = new ArrayList<>();
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            long position = HEADER_SIZE;
+            while (position + RECORD_HEADER_SIZE <= raf.length()) {
+                raf.seek(position);
+                int length = raf.readInt();
+                if (length == 0) break;
+                records.add((int) position);
+                position += RECORD_HEADER_SIZE + length;
+            }
+        }
+        return records;
+    }
+
+    /**
+     * 获取记录内容长度
+     * @param file     存储文件
+     * @param position 记录起始位置
+     * @return 记录内容长度
+     * @throws IOException 读取失败
+     */
+    private static int recordLength(
+            final File file,
+            final int position
+    )
+            throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            raf.seek(position);
+            return raf.readInt();
+        }
+    }
+}
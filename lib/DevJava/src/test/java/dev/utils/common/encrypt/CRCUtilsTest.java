@@ -0,0 +1,131 @@
+package dev.utils.common.encrypt;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.Adler32;
+import java.util.zip.CRC32;
+import java.util.zip.Checksum;
+
+import dev.utils.common.encrypt.CRCUtils.ChecksumType;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * detail: CRCUtils 校验值合并测试
+ * @author Ttt
+ * <pre>
+ *     合并结果、分块文件校验值与 java.util.zip 整体计算结果对比
+ * </pre>
+ */
+public class CRCUtilsTest {
+
+    @Rule
+    public TemporaryFolder mFolder = new TemporaryFolder();
+
+    @Test
+    public void combineMatchesZip() {
+        Random random = new Random(47L);
+        for (int round = 0; round < 500; round++) {
+            byte[] data  = new byte[random.nextInt(4096)];
+            int    split = data.length == 0 ? 0 : random.nextInt(data.length + 1);
+            random.nextBytes(data);
+
+            assertCombine(new CRC32(), ChecksumType.CRC32, data, split);
+            assertCombine(new Adler32(), ChecksumType.ADLER32, data, split);
+            assertCombine(new CRC32C(), ChecksumType.CRC32C, data, split);
+        }
+    }
+
+    @Test
+    public void combineAdler32LargeLength() {
+        // 后段长度超过 Adler32 模数 65521
+        byte[] data = new byte[200_000];
+        new Random(4747L).nextBytes(data);
+        assertCombine(new Adler32(), ChecksumType.ADLER32, data, 3);
+        assertCombine(new CRC32(), ChecksumType.CRC32, data, 3);
+    }
+
+    @Test
+    public void crc32cCheckValue() {
+        byte[] data = "123456789".getBytes(StandardCharsets.US_ASCII);
+        assertEquals(0xE3069283L, CRCUtils.getChecksum(data, ChecksumType.CRC32C));
+    }
+
+    @Test
+    public void fileChecksumMatchesZip()
+            throws IOException {
+        // 跨越多个分块且末块不足
+        byte[] data = new byte[(int) (2.5 * 8 * 1024 * 1024) + 13];
+        new Random(474747L).nextBytes(data);
+        File file = mFolder.newFile("checksum.bin");
+        try (FileOutputStream outputStream = new FileOutputStream(file)) {
+            outputStream.write(data);
+        }
+
+        CRC32 crc32 = new CRC32();
+        crc32.update(data, 0, data.length);
+        Adler32 adler32 = new Adler32();
+        adler32.update(data, 0, data.length);
+
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            assertEquals(crc32.getValue(), CRCUtils.getFileChecksum(file, ChecksumType.CRC32, executor));
+            assertEquals(adler32.getValue(), CRCUtils.getFileChecksum(file, ChecksumType.ADLER32, executor));
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(crc32.getValue(), CRCUtils.getFileChecksum(file, ChecksumType.CRC32, null));
+        assertEquals(crc32.getValue(), CRCUtils.getFileChecksum(file, ChecksumType.CRC32));
+        assertEquals(
+                CRCUtils.getChecksum(data, ChecksumType.CRC32C),
+                CRCUtils.getFileChecksum(file, ChecksumType.CRC32C)
+        );
+    }
+
+    @Test
+    public void emptyFile()
+            throws IOException {
+        File file = mFolder.newFile("empty.bin");
+        assertEquals(0L, CRCUtils.getFileChecksum(file, ChecksumType.CRC32, null));
+        assertEquals(1L, CRCUtils.getFileChecksum(file, ChecksumType.ADLER32, null));
+    }
+
+    // ==========
+    // = 内部方法 =
+    // ==========
+
+    /**
+     * 校验合并结果与整体计算结果一致
+     * @param whole 整体计算校验对象
+     * @param type  校验算法类型
+     * @param data  数据
+     * @param split 分割位置
+     */
+    private static void assertCombine(
+            final Checksum whole,
+            final ChecksumType type,
+            final byte[] data,
+            final int split
+    ) {
+        whole.update(data, 0, data.length);
+
+        Checksum first = CRCUtils.newChecksum(type);
+        first.update(data, 0, split);
+        Checksum second = CRCUtils.newChecksum(type);
+        second.update(data, split, data.length - split);
+
+        assertEquals(
+                type + " split " + split + "/" + data.length, whole.getValue(),
+                CRCUtils.combine(type, first.getValue(), second.getValue(), data.length - split)
+        );
+    }
+}
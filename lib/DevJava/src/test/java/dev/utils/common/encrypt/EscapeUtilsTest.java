@@ -0,0 +1,282 @@
+package dev.utils.common.encrypt;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * detail: EscapeUtils 测试
+ * @author Ttt
+ * <pre>
+ *     随机字符串与逐字符参考实现对比 ( 含格式错误的 % 转义、分段读取流式处理 ) 及耗时对比
+ * </pre>
+ */
+public class EscapeUtilsTest {
+
+    // 随机字符来源 ( 安全字符、需编码 ASCII、转义相关字符 )
+    private static final String ALPHABET = "aZ09-_.!~*'() %u%4F+/&=?#\t\nAFaf";
+    // 测试轮数
+    private static final int    ROUNDS   = 100000;
+
+    @Test
+    public void malformedEscapeThrowsArrayIndexOutOfBounds() {
+        String[] texts = {"%", "%4", "a%", "%u", "%u1", "%u12", "%u123", "abc%u12", "%中1", "%u中111"};
+        for (String text : texts) {
+            try {
+                EscapeUtils.unescape(text);
+                fail(text);
+            } catch (ArrayIndexOutOfBoundsException expected) {
+                // 格式错误统一抛出数组越界
+            }
+            assertFalse(text, EscapeUtils.unescape(new StringReader(text), new StringWriter()));
+        }
+        // 非十六进制 ASCII 字符按 0x3F 处理 ( 与原实现一致 )
+        assertEquals("\u03FF\u3FFF", EscapeUtils.unescape("%xx%u0zzz"));
+    }
+
+    @Test
+    public void unchangedInputIsReturned() {
+        String safe = "Az09-_.!~*'()";
+        assertSame(safe, EscapeUtils.escape(safe));
+        String plain = "中文 + /";
+        assertSame(plain, EscapeUtils.unescape(plain));
+    }
+
+    @Test
+    public void fuzzMatchesReference()
+            throws IOException {
+        Random random = new Random(46L);
+        for (int round = 0; round < ROUNDS; round++) {
+            String text    = randomText(random);
+            String escaped = EscapeUtils.escape(text);
+            assertEquals(text, referenceEscape(text), escaped);
+            assertEquals(text, text, EscapeUtils.unescape(escaped));
+
+            // 未经编码的原始数据 ( 可能存在格式错误的 % 转义 )
+            String expected;
+            try {
+                expected = referenceUnescape(text);
+            } catch (ArrayIndexOutOfBoundsException e) {
+                expected = null;
+            }
+            String actual;
+            try {
+                actual = EscapeUtils.unescape(text);
+            } catch (ArrayIndexOutOfBoundsException e) {
+                actual = null;
+            }
+            assertEquals(text, expected, actual);
+
+            // 流式处理, 每次读取 1-9 个字符
+            int          chunk  = 1 + random.nextInt(9);
+            StringWriter writer = new StringWriter();
+            assertTrue(EscapeUtils.escape(new ChunkReader(text, chunk), writer));
+            assertEquals(escaped, writer.toString());
+            writer = new StringWriter();
+            boolean success = EscapeUtils.unescape(new ChunkReader(text, chunk), writer);
+            assertEquals(text, expected != null, success);
+            if (success) assertEquals(text, expected, writer.toString());
+        }
+    }
+
+    @Test
+    public void benchmark() {
+        Random        random  = new Random(4646L);
+        StringBuilder builder = new StringBuilder();
+        while (builder.length() < 100000) {
+            builder.append(randomText(random)).append("plain_text-");
+        }
+        String text    = builder.toString();
+        String escaped = EscapeUtils.escape(text);
+        int    rounds  = 50;
+        long   sink    = 0L;
+        for (int i = 0; i < 10; i++) {
+            sink += EscapeUtils.escape(text).length() + referenceEscape(text).length();
+            sink += EscapeUtils.unescape(escaped).length() + referenceUnescape(escaped).length();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            sink += referenceEscape(text).length();
+        }
+        long referenceEscape = System.nanoTime() - start;
+        start = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            sink += EscapeUtils.escape(text).length();
+        }
+        long escape = System.nanoTime() - start;
+        start = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            sink += referenceUnescape(escaped).length();
+        }
+        long referenceUnescape = System.nanoTime() - start;
+        start = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            sink += EscapeUtils.unescape(escaped).length();
+        }
+        long unescape = System.nanoTime() - start;
+        System.out.println(String.format(
+                "EscapeUtils benchmark: escape %.2f -> %.2f ms, unescape %.2f -> %.2f ms ( %d chars, %d )",
+                referenceEscape / 1e6 / rounds, escape / 1e6 / rounds,
+                referenceUnescape / 1e6 / rounds, unescape / 1e6 / rounds, text.length(), sink
+        ));
+        assertTrue(sink > 0L);
+    }
+
+    // ==========
+    // = 内部方法 =
+    // ==========
+
+    /**
+     * 获取随机字符串 ( 0-31 个字符 )
+     * @param random 随机数生成器
+     * @return 随机字符串
+     */
+    private static String randomText(final Random random) {
+        int    length = random.nextInt(32);
+        char[] chars  = new char[length];
+        for (int i = 0; i < length; i++) {
+            int kind = random.nextInt(10);
+            if (kind < 7) {
+                chars[i] = ALPHABET.charAt(random.nextInt(ALPHABET.length()));
+            } else if (kind < 8) {
+                chars[i] = (char) random.nextInt(128);
+            } else if (kind < 9) {
+                chars[i] = (char) (0x4E00 + random.nextInt(0x5000));
+            } else {
+                chars[i] = (char) random.nextInt(0x10000);
+            }
+        }
+        return new String(chars);
+    }
+
+    /**
+     * 参考实现编码 ( 逐字符判断 )
+     * @param data 待编码数据
+     * @return 编码后的字符串
+     */
+    private static String referenceEscape(final String data) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0, len = data.length(); i < len; i++) {
+            char ch = data.charAt(i);
+            if (('A' <= ch && ch <= 'Z') || ('a' <= ch && ch <= 'z') || ('0' <= ch && ch <= '9')
+                    || "-_.!~*'()".indexOf(ch) >= 0) {
+                builder.append(ch);
+            } else if (ch <= 0x007F) {
+                builder.append('%').append(hex(ch, 2));
+            } else {
+                builder.append("%u").append(hex(ch, 4));
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 参考实现解码 ( 逐字符判断 )
+     * @param data 待解码数据
+     * @return 解码后的字符串
+     */
+    private static String referenceUnescape(final String data) {
+        StringBuilder builder = new StringBuilder();
+        int           i       = 0;
+        int           len     = data.length();
+        while (i < len) {
+            char ch = data.charAt(i);
+            if (ch != '%') {
+                builder.append(ch);
+                i++;
+                continue;
+            }
+            boolean unicode = (i + 1 < len && data.charAt(i + 1) == 'u');
+            int     digits  = unicode ? 4 : 2;
+            int     start   = i + (unicode ? 2 : 1);
+            if (start + digits > len) throw new ArrayIndexOutOfBoundsException(i);
+            int value = 0;
+            for (int j = start; j < start + digits; j++) {
+                value = (value << 4) | digit(data.charAt(j));
+            }
+            builder.append((char) value);
+            i = start + digits;
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 十六进制字符转值 ( 非十六进制 ASCII 字符为 0x3F )
+     * @param ch 字符
+     * @return 对应值
+     */
+    private static int digit(final char ch) {
+        if (ch > 0xFF) throw new ArrayIndexOutOfBoundsException(ch);
+        int value = (ch < 128) ? Character.digit(ch, 16) : -1;
+        return value >= 0 ? value : 0x3F;
+    }
+
+    /**
+     * 获取大写十六进制字符串
+     * @param value  值
+     * @param digits 位数
+     * @return 十六进制字符串
+     */
+    private static String hex(
+            final int value,
+            final int digits
+    ) {
+        String hex = Integer.toHexString(value).toUpperCase();
+        while (hex.length() < digits) hex = "0" + hex;
+        return hex;
+    }
+
+    // ==========
+    // = 内部类 =
+    // ==========
+
+    /**
+     * detail: 每次最多读取指定字符数的 Reader
+     * @author Ttt
+     */
+    private static final class ChunkReader
+            extends Reader {
+
+        // 数据
+        private final String mData;
+        // 每次最多读取字符数
+        private final int    mChunk;
+        // 读取位置
+        private       int    mPosition;
+
+        ChunkReader(
+                final String data,
+                final int chunk
+        ) {
+            this.mData  = data;
+            this.mChunk = chunk;
+        }
+
+        @Override
+        public int read(
+                final char[] buffer,
+                final int offset,
+                final int length
+        ) {
+            if (mPosition >= mData.length()) return -1;
+            int count = Math.min(Math.min(length, mChunk), mData.length() - mPosition);
+            mData.getChars(mPosition, mPosition + count, buffer, offset);
+            mPosition += count;
+            return count;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
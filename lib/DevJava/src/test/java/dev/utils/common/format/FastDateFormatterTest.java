@@ -0,0 +1,165 @@
+package dev.utils.common.format;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.text.ParsePosition;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Random;
+import java.util.TimeZone;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * detail: FastDateFormatter 差分测试
+ * @author Ttt
+ * <pre>
+ *     随机时间与 SimpleDateFormat 格式化、解析结果对比 ( 含夏令时时区 )
+ * </pre>
+ */
+public class FastDateFormatterTest {
+
+    // 测试时区
+    private static final String[] TIME_ZONES = {
+            "UTC", "Asia/Shanghai", "America/New_York", "Australia/Lord_Howe"
+    };
+    // 测试格式
+    private static final String[] PATTERNS   = {
+            "yyyy-MM-dd HH:mm:ss", "yyyy-MM-dd HH:mm:ss.SSS", "yyyyMMdd_HHmmss",
+            "yyyy年M月d日 H时m分s秒", "yy/M/d", "HH:mm", "'T'yyyy'T'", "EEE, d MMM yyyy"
+    };
+    // 测试轮数
+    private static final int      ROUNDS     = 5000;
+
+    // 默认时区
+    private TimeZone mDefaultTimeZone;
+
+    @Before
+    public void setUp() {
+        mDefaultTimeZone = TimeZone.getDefault();
+    }
+
+    @After
+    public void tearDown() {
+        TimeZone.setDefault(mDefaultTimeZone);
+        FastDateFormatter.clearCache();
+    }
+
+    @Test
+    public void formatMatchesSimpleDateFormat() {
+        Random random = new Random(44L);
+        for (String timeZone : TIME_ZONES) {
+            TimeZone.setDefault(TimeZone.getTimeZone(timeZone));
+            for (String pattern : PATTERNS) {
+                FastDateFormatter formatter = FastDateFormatter.create(pattern);
+                SimpleDateFormat  format    = new SimpleDateFormat(pattern);
+                for (int round = 0; round < ROUNDS; round++) {
+                    long millis = randomMillis(random);
+                    String expected = format.format(new Date(millis));
+                    assertEquals(pattern + " " + millis, expected, formatter.format(millis));
+                    assertEquals(expected, formatter.format(millis, new StringBuilder()).toString());
+                    // 同一秒缓存
+                    long next = millis - Math.floorMod(millis, 1000L) + random.nextInt(1000);
+                    assertEquals(format.format(new Date(next)), formatter.format(next));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void parseMatchesSimpleDateFormat() {
+        Random random = new Random(4444L);
+        for (String timeZone : TIME_ZONES) {
+            TimeZone.setDefault(TimeZone.getTimeZone(timeZone));
+            for (String pattern : PATTERNS) {
+                FastDateFormatter formatter = FastDateFormatter.create(pattern);
+                SimpleDateFormat  format    = new SimpleDateFormat(pattern);
+                for (int round = 0; round < ROUNDS; round++) {
+                    String text = format.format(new Date(randomMillis(random)));
+                    assertEquals(pattern + " " + text, parse(format, text), formatter.parse(text));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void parseLenientMatchesSimpleDateFormat() {
+        TimeZone.setDefault(TimeZone.getTimeZone("Asia/Shanghai"));
+        String            pattern   = "yyyy-MM-dd HH:mm:ss";
+        FastDateFormatter formatter = FastDateFormatter.create(pattern);
+        SimpleDateFormat  format    = new SimpleDateFormat(pattern);
+        String[]          texts     = {
+                "2020-13-01 00:00:00", "2020-02-30 25:61:61", "2020-1-1 1:1:1",
+                "2020-01-01 00:00:00 tail", "abc", "", "1500-06-01 12:00:00"
+        };
+        for (String text : texts) {
+            assertEquals(text, parse(format, text), formatter.parse(text));
+        }
+    }
+
+    @Test
+    public void cachedInstance() {
+        FastDateFormatter formatter = FastDateFormatter.getInstance("yyyy-MM-dd");
+        assertTrue(formatter == FastDateFormatter.getInstance("yyyy-MM-dd"));
+        assertTrue(formatter.isFast());
+        assertEquals(null, FastDateFormatter.getInstance("yyyy-MM-dd'"));
+    }
+
+    @Test
+    public void cachedInstanceFollowsDefaultTimeZone() {
+        String pattern = "yyyy-MM-dd HH:mm:ss";
+        long   millis  = 1600000000000L;
+        TimeZone.setDefault(TimeZone.getTimeZone("Asia/Shanghai"));
+        FastDateFormatter shanghai = FastDateFormatter.getInstance(pattern);
+        assertEquals("2020-09-13 20:26:40", shanghai.format(millis));
+
+        // 切换默认时区后无需清空缓存
+        TimeZone.setDefault(TimeZone.getTimeZone("America/New_York"));
+        FastDateFormatter newYork = FastDateFormatter.getInstance(pattern);
+        assertTrue(shanghai != newYork);
+        assertEquals("America/New_York", newYork.getTimeZone().getID());
+        assertEquals("2020-09-13 08:26:40", newYork.format(millis));
+        assertEquals(new SimpleDateFormat(pattern).format(new Date(millis)), newYork.format(millis));
+
+        // 切换回原时区复用原实例
+        TimeZone.setDefault(TimeZone.getTimeZone("Asia/Shanghai"));
+        assertTrue(shanghai == FastDateFormatter.getInstance(pattern));
+        assertEquals("2020-09-13 20:26:40", FastDateFormatter.getInstance(pattern).format(millis));
+    }
+
+    // ==========
+    // = 内部方法 =
+    // ==========
+
+    /**
+     * 获取随机时间 ( 1600 - 9000 年, 偏向近年 )
+     * @param random 随机数生成器
+     * @return 时间毫秒
+     */
+    private static long randomMillis(final Random random) {
+        long min = -11676096000000L; // 1600-01-01
+        long max = 221845392000000L; // 9000-01-01
+        if (random.nextBoolean()) {
+            min = 0L;
+            max = 4102444800000L; // 2100-01-01
+        }
+        return min + (long) (random.nextDouble() * (max - min));
+    }
+
+    /**
+     * SimpleDateFormat 解析
+     * @param format SimpleDateFormat
+     * @param text   时间字符串
+     * @return 时间毫秒, 解析失败返回 -1
+     */
+    private static long parse(
+            final SimpleDateFormat format,
+            final String text
+    ) {
+        Date date = format.parse(text, new ParsePosition(0));
+        return (date != null) ? date.getTime() : -1L;
+    }
+}
@@ -0,0 +1,134 @@
+package dev.utils.common.random;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * detail: AliasSampler 分布测试
+ * @author Ttt
+ * <pre>
+ *     采样频率卡方检验 ( 显著性 1e-6, 固定种子 )
+ * </pre>
+ */
+public class AliasSamplerTest {
+
+    // 采样次数
+    private static final int SAMPLES = 1_000_000;
+
+    @Test
+    public void nextFollowsWeights() {
+        double[]     weights = {1, 2, 3, 4, 0, 10, 0.5};
+        AliasSampler sampler = new AliasSampler(weights);
+        Random       random  = new Random(49L);
+        long[]       counts  = new long[weights.length];
+        for (int i = 0; i < SAMPLES; i++) {
+            counts[sampler.next(random)]++;
+        }
+        assertEquals(0L, counts[4]);
+        assertChiSquare(weights, counts);
+    }
+
+    @Test
+    public void fillFollowsWeights() {
+        float[]      weights = {5, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 0};
+        AliasSampler sampler = new AliasSampler(weights);
+        int[]        out     = new int[SAMPLES];
+        sampler.fill(out, new Random(4949L));
+        long[] counts = new long[weights.length];
+        for (int index : out) {
+            counts[index]++;
+        }
+        assertEquals(0L, counts[11]);
+        double[] expected = new double[weights.length];
+        for (int i = 0; i < weights.length; i++) {
+            expected[i] = weights[i];
+            assertEquals(weights[i] / 15D, sampler.getProbability(i), 1e-12);
+        }
+        assertChiSquare(expected, counts);
+    }
+
+    @Test
+    public void setWeightRebuildsTable() {
+        AliasSampler sampler = new AliasSampler(new double[]{1, 1, 1});
+        sampler.setWeight(0, 0).setWeight(2, 3);
+        Random random = new Random(494949L);
+        long[] counts = new long[3];
+        for (int i = 0; i < SAMPLES; i++) {
+            counts[sampler.nextFromBits(random.nextLong())]++;
+        }
+        assertEquals(0L, counts[0]);
+        assertChiSquare(new double[]{0, 1, 3}, counts);
+
+        sampler.setWeights(new double[]{2, 0, 2});
+        int[] out = new int[SAMPLES];
+        sampler.fill(out, 0, out.length, random);
+        counts = new long[3];
+        for (int index : out) {
+            counts[index]++;
+        }
+        assertChiSquare(new double[]{2, 0, 2}, counts);
+    }
+
+    @Test
+    public void invalidWeights() {
+        assertThrows(new double[0]);
+        assertThrows(new double[]{0, 0});
+        assertThrows(new double[]{1, -1});
+        assertThrows(new double[]{1, Double.NaN});
+        try {
+            new AliasSampler(new double[]{1, 0}).setWeight(0, 0);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    // ==========
+    // = 内部方法 =
+    // ==========
+
+    /**
+     * 校验构造函数抛出 IllegalArgumentException
+     * @param weights 权重
+     */
+    private static void assertThrows(final double[] weights) {
+        try {
+            new AliasSampler(weights);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    /**
+     * 卡方检验 ( 忽略权重为 0 的项 )
+     * @param weights 权重
+     * @param counts  各项采样次数
+     */
+    private static void assertChiSquare(
+            final double[] weights,
+            final long[] counts
+    ) {
+        double sum   = 0D;
+        long   total = 0L;
+        for (int i = 0; i < weights.length; i++) {
+            sum += weights[i];
+            total += counts[i];
+        }
+        double chi = 0D;
+        int    df  = -1;
+        for (int i = 0; i < weights.length; i++) {
+            if (weights[i] == 0D) continue;
+            double expected = total * weights[i] / sum;
+            chi += (counts[i] - expected) * (counts[i] - expected) / expected;
+            df++;
+        }
+        // Wilson-Hilferty 近似 ( z = 4.75, p ≈ 1e-6 )
+        double v     = 2D / (9D * df);
+        double limit = df * Math.pow(1D - v + 4.75 * Math.sqrt(v), 3);
+        assertTrue("chi-square " + chi + " > " + limit + " ( df " + df + " )", chi < limit);
+    }
+}